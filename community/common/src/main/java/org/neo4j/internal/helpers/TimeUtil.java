@@ -36,7 +36,12 @@ public final class TimeUtil
 
     public static final String VALID_TIME_DESCRIPTION = "Valid units are: 'ns', 'μs', 'ms', 's', 'm', 'h' and 'd'; default unit is 's'";
 
-    public static final Function<String,Long> parseTimeMillis = timeWithOrWithoutUnit ->
+    public static final Function<String,Long> parseTimeMillis = timeWithOrWithoutUnit -> NANOSECONDS.toMillis( parseTimeNanos( timeWithOrWithoutUnit ) );
+
+    /**
+     * Like {@link #parseTimeMillis}, but without rounding down to whole milliseconds.
+     */
+    public static long parseTimeNanos( String timeWithOrWithoutUnit )
     {
         int unitIndex = -1;
         for ( int i = 0; i < timeWithOrWithoutUnit.length(); i++ )
@@ -50,7 +55,7 @@ public final class TimeUtil
         }
         if ( unitIndex == -1 )
         {
-            return DEFAULT_TIME_UNIT.toMillis( Integer.parseInt( timeWithOrWithoutUnit ) );
+            return DEFAULT_TIME_UNIT.toNanos( Integer.parseInt( timeWithOrWithoutUnit ) );
         }
 
         if ( unitIndex == 0 )
@@ -89,8 +94,8 @@ public final class TimeUtil
                 }
             }
         }
-        return NANOSECONDS.toMillis( timeInNanos );
-    };
+        return timeInNanos;
+    }
 
     private static long toNanos( String unit, int amount )
     {
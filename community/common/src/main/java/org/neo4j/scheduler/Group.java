@@ -34,6 +34,8 @@ public enum Group
     PAGE_CACHE_EVICTION( "PageCacheEviction" ),
     /* Page cache background eviction. */
     PAGE_CACHE_PRE_FETCHER( "PageCachePreFetcher", ExecutorServiceFactory.cachedWithDiscard() ),
+    /** Page cache warmup from, and profiling into, the page cache profiles of a database. */
+    PAGE_CACHE_WARMUP( "PageCacheWarmup" ),
     /** Watch out for, and report, external manipulation of store files. */
     FILE_WATCHER( "FileWatcher", ExecutorServiceFactory.unschedulable() ),
     /** Monitor and report system-wide pauses, in case they lead to service interruption. */
@@ -44,6 +46,10 @@ public enum Group
     CHECKPOINT( "CheckPoint" ),
     /** Various little periodic tasks that need to be done on a regular basis to keep the store in good shape. */
     STORAGE_MAINTENANCE( "StorageMaintenance" ),
+    /** Writes the record changes of large transactions to the different stores in parallel. */
+    STORAGE_APPLY( "StorageApply" ),
+    /** Reads and decodes transactions ahead of the recovery apply loop. */
+    RECOVERY_READ_AHEAD( "RecoveryReadAhead" ),
     /** Index recovery cleanup. */
     INDEX_CLEANUP( "IndexCleanup" ),
     /** Index recovery cleanup work. */
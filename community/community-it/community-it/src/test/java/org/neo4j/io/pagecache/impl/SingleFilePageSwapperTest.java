@@ -19,10 +19,12 @@
  */
 package org.neo4j.io.pagecache.impl;
 
+import com.sun.nio.file.ExtendedOpenOption;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.function.ThrowingSupplier;
 
@@ -708,6 +710,65 @@ public class SingleFilePageSwapperTest extends PageSwapperTest
         }
     }
 
+    @Test
+    @EnabledOnOs( OS.LINUX )
+    void swapperFactoryPreferringDirectIOMustOpenBlockAlignedFilesWithDirectIO() throws Exception
+    {
+        BlockSizeFileSystem fs = new BlockSizeFileSystem( getFs(), 512 );
+        PageSwapperFactory factory = new SingleFilePageSwapperFactory( fs, true );
+        PageSwapper swapper = createSwapper( factory, getPath(), 8192, NO_CALLBACK, true );
+        swapper.close();
+
+        assertThat( fs.openOptions ).contains( ExtendedOpenOption.DIRECT );
+    }
+
+    @Test
+    void swapperFactoryPreferringDirectIOMustFallBackToBufferedIOForFilesThatAreNotBlockAligned() throws Exception
+    {
+        BlockSizeFileSystem fs = new BlockSizeFileSystem( getFs(), 4096 );
+        PageSwapperFactory factory = new SingleFilePageSwapperFactory( fs, true );
+        PageSwapper swapper = createSwapper( factory, getPath(), 1000, NO_CALLBACK, true );
+        swapper.close();
+
+        assertThat( fs.openOptions ).isNotEmpty().doesNotContain( ExtendedOpenOption.DIRECT );
+    }
+
+    @Test
+    void swapperFactoryMustNotUseDirectIOUnlessPreferredOrRequested() throws Exception
+    {
+        BlockSizeFileSystem fs = new BlockSizeFileSystem( getFs(), 512 );
+        PageSwapperFactory factory = new SingleFilePageSwapperFactory( fs );
+        PageSwapper swapper = createSwapper( factory, getPath(), 8192, NO_CALLBACK, true );
+        swapper.close();
+
+        assertThat( fs.openOptions ).isNotEmpty().doesNotContain( ExtendedOpenOption.DIRECT );
+    }
+
+    private static class BlockSizeFileSystem extends DelegatingFileSystemAbstraction
+    {
+        private final long blockSize;
+        private final Set<OpenOption> openOptions = newKeySet();
+
+        BlockSizeFileSystem( FileSystemAbstraction delegate, long blockSize )
+        {
+            super( delegate );
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public long getBlockSize( Path file )
+        {
+            return blockSize;
+        }
+
+        @Override
+        public StoreChannel open( Path fileName, Set<OpenOption> options ) throws IOException
+        {
+            openOptions.addAll( options );
+            return super.open( fileName, options );
+        }
+    }
+
     private static class ThreadRegistryFactory extends NamedThreadFactory
     {
         private final Set<Thread> threads = newKeySet();
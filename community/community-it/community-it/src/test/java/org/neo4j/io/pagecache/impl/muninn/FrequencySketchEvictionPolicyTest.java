@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencySketchEvictionPolicyTest
+{
+    private static final int SWAPPER_ID = 1;
+
+    @Test
+    void shouldEstimateAccessFrequencyOfPages()
+    {
+        FrequencySketchEvictionPolicy policy = new FrequencySketchEvictionPolicy( 1024 );
+
+        for ( int i = 0; i < 5; i++ )
+        {
+            policy.accessed( SWAPPER_ID, 42 );
+        }
+        policy.accessed( SWAPPER_ID, 43 );
+
+        assertThat( policy.frequency( SWAPPER_ID, 42 ) ).isGreaterThanOrEqualTo( 5 );
+        assertThat( policy.frequency( SWAPPER_ID, 43 ) ).isGreaterThanOrEqualTo( 1 );
+        assertThat( policy.frequency( SWAPPER_ID + 1, 42 ) ).isLessThan( 5 );
+    }
+
+    @Test
+    void shouldEvictPagesUsedOnceAndKeepFrequentlyUsedPages()
+    {
+        FrequencySketchEvictionPolicy policy = new FrequencySketchEvictionPolicy( 1024 );
+        for ( int i = 0; i < 5; i++ )
+        {
+            policy.accessed( SWAPPER_ID, 1 );
+        }
+        // A scan touching lots of other pages once
+        for ( long filePageId = 100; filePageId < 600; filePageId++ )
+        {
+            policy.accessed( SWAPPER_ID, filePageId );
+        }
+
+        assertThat( policy.shouldEvict( SWAPPER_ID, 1 ) ).isFalse();
+        for ( long filePageId = 100; filePageId < 600; filePageId++ )
+        {
+            assertThat( policy.shouldEvict( SWAPPER_ID, filePageId ) ).isTrue();
+        }
+    }
+
+    @Test
+    void shouldStopProtectingPagesThatAreNoLongerUsed()
+    {
+        int maxPages = 16;
+        FrequencySketchEvictionPolicy policy = new FrequencySketchEvictionPolicy( maxPages );
+        for ( int i = 0; i < 15; i++ )
+        {
+            policy.accessed( SWAPPER_ID, 1 );
+        }
+        assertThat( policy.shouldEvict( SWAPPER_ID, 1 ) ).isFalse();
+
+        // Every time the page is kept counts towards halving the frequencies, so the sweep eventually gets to evict it
+        int sweeps = 0;
+        while ( !policy.shouldEvict( SWAPPER_ID, 1 ) )
+        {
+            sweeps++;
+            assertThat( sweeps ).isLessThan( maxPages * 10 * 4 );
+        }
+    }
+}
@@ -36,6 +36,9 @@ import org.neo4j.time.Clocks;
 public class MuninnPageCacheFixture extends PageCacheTestSupport.Fixture<MuninnPageCache>
 {
     CountDownLatch backgroundFlushLatch;
+    EvictionPolicy.Factory evictionPolicy = EvictionPolicy.CLOCK;
+    PagedFileReservations reservations = PagedFileReservations.NONE;
+    long maxPageVersionsMemory = MuninnPageCache.DEFAULT_MAX_PAGE_VERSIONS_MEMORY;
     private MemoryAllocator allocator;
 
     @Override
@@ -46,7 +49,8 @@ public class MuninnPageCacheFixture extends PageCacheTestSupport.Fixture<MuninnP
         var memoryTracker = new LocalMemoryTracker();
         allocator = MemoryAllocator.createAllocator( memory, memoryTracker );
         var usedBufferFactory = selectBufferFactory( bufferFactory, memoryTracker );
-        return new MuninnPageCache( swapperFactory, allocator, tracer, contextSupplier, jobScheduler, Clocks.nanoClock(), memoryTracker, usedBufferFactory );
+        return new MuninnPageCache( swapperFactory, allocator, tracer, contextSupplier, jobScheduler, Clocks.nanoClock(), memoryTracker, usedBufferFactory,
+                evictionPolicy, reservations, maxPageVersionsMemory );
     }
 
     private static IOBufferFactory selectBufferFactory( IOBufferFactory bufferFactory, LocalMemoryTracker memoryTracker )
@@ -20,6 +20,7 @@
 package org.neo4j.io.pagecache.impl.muninn;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -53,6 +54,7 @@ import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.PageSwapperFactory;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.DelegatingPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
@@ -63,6 +65,7 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer.Fault;
 import org.neo4j.memory.ScopedMemoryTracker;
@@ -80,6 +83,7 @@ import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_buffered_flush_enabled;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_flush_buffer_size_in_pages;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_GROW;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.buffer.IOBufferFactory.DISABLED_BUFFER_FACTORY;
@@ -195,6 +199,129 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    void pagedFileCountersMustCountHitsFaultsAndEvictions() throws Exception
+    {
+        writeInitialDataTo( file( "a" ) );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, blockCacheFlush( PageCacheTracer.NULL ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            pinPage( pagedFile, 0 );
+            pinPage( pagedFile, 0 );
+            pinPage( pagedFile, 1 );
+            evictAllPages( pageCache );
+
+            PagedFileCounters counters = pagedFile.counters();
+            assertEquals( 1, counters.hits() );
+            assertEquals( 2, counters.faults() );
+            assertEquals( 2, counters.evictions() );
+            assertEquals( 1.0 / 3, counters.hitRatio(), 0.0001 );
+        }
+    }
+
+    @Test
+    void frequencySketchEvictionMustKeepFrequentlyUsedPageOverPageUsedOnce() throws Exception
+    {
+        fixture.evictionPolicy = EvictionPolicy.FREQUENCY_SKETCH;
+        writeInitialDataTo( file( "a" ) );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, blockCacheFlush( PageCacheTracer.NULL ) );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            // File page 0 goes into cache page 0 and is used three times, file page 1 goes into cache page 1 and is used once
+            pinPage( pagedFile, 0 );
+            pinPage( pagedFile, 0 );
+            pinPage( pagedFile, 0 );
+            pinPage( pagedFile, 1 );
+            PageList pages = pageCache.pages;
+            long frequentlyUsedPage = pages.deref( 0 );
+            long usedOncePage = pages.deref( 1 );
+            // Let a few sweeps pass over the frequently used page, so that both pages are now up for eviction as far as their usage goes
+            pages.decrementUsage( frequentlyUsedPage );
+            pages.decrementUsage( frequentlyUsedPage );
+
+            pageCache.evictPages( 1, 0, EvictionRunEvent.NULL );
+
+            assertTrue( pages.isLoaded( frequentlyUsedPage ) );
+            assertFalse( pages.isLoaded( usedOncePage ) );
+        }
+    }
+
+    @Test
+    void evictionMustKeepPagesOfFileWithinItsReservation() throws Exception
+    {
+        fixture.reservations = ( path, databaseName ) -> path.getFileName().toString().equals( "a" ) ? 0.25 : 0;
+        writeInitialDataTo( file( "a" ) );
+        writeInitialDataTo( file( "b" ) );
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, blockCacheFlush( tracer ) );
+                PagedFile reservedFile = map( pageCache, file( "a" ), 8 );
+                PagedFile otherFile = map( pageCache, file( "b" ), 8 ) )
+        {
+            // File a goes into cache page 0, file b goes into cache page 1
+            pinPage( reservedFile, 0 );
+            pinPage( otherFile, 0 );
+            PageList pages = pageCache.pages;
+            long reservedPage = pages.deref( 0 );
+            long otherPage = pages.deref( 1 );
+
+            pageCache.evictPages( 1, 0, EvictionRunEvent.NULL );
+
+            assertTrue( pages.isLoaded( reservedPage ) );
+            assertFalse( pages.isLoaded( otherPage ) );
+            PagedFileCounters reservedCounters = tracer.mappedFileCounters().get( file( "a" ) );
+            assertEquals( 1, reservedCounters.reservedPages() );
+            assertEquals( 1, reservedCounters.residentPages() );
+            PagedFileCounters otherCounters = tracer.mappedFileCounters().get( file( "b" ) );
+            assertEquals( 0, otherCounters.reservedPages() );
+            assertEquals( 0, otherCounters.residentPages() );
+        }
+        assertTrue( tracer.mappedFileCounters().isEmpty() );
+    }
+
+    @Test
+    void scanWithReadAheadMustFaultInFollowingPagesWithVectoredReads() throws Exception
+    {
+        int pageCount = 64;
+        try ( MuninnPageCache pageCache = createPageCache( fs, 1024, PageCacheTracer.NULL );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+            {
+                for ( int pageId = 0; pageId < pageCount; pageId++ )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( pageId );
+                }
+            }
+            pagedFile.flushAndForce();
+            evictAllPages( pageCache );
+
+            DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+            // Take the cursor directly from a cursor factory, to not have a pre-fetcher race with it
+            CursorFactory cursorFactory = new CursorFactory( (MuninnPagedFile) pagedFile, EMPTY );
+            try ( PageCursorTracer cursorTracer = tracer.createPageCursorTracer( "scanWithReadAhead" );
+                    MuninnReadPageCursor cursor = cursorFactory.takeReadCursor( 0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, cursorTracer ) )
+            {
+                cursor.rewind();
+                for ( int pageId = 0; pageId < pageCount; pageId++ )
+                {
+                    assertTrue( cursor.next() );
+                    long value;
+                    do
+                    {
+                        value = cursor.getLong();
+                    }
+                    while ( cursor.shouldRetry() );
+                    assertEquals( pageId, value );
+                }
+                assertFalse( cursor.next() );
+                // Pages 0, 1, 6, 15 and 32 are faulted in by the cursor, and each of those faults after the first is followed by a
+                // vectored read of the next 4, 8, 16 and 31 pages.
+                assertEquals( 9, cursorTracer.faults() );
+            }
+        }
+    }
+
     @Test
     void mustFlushDirtyPagesOnEvictingFirstPage() throws Exception
     {
@@ -1099,6 +1226,127 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    void readRetainedPageVersionWhenPageWasModifiedByMoreRecentTransaction() throws IOException
+    {
+        TestVersionContext cursorContext = new TestVersionContext( () -> 5 );
+        ConfiguredVersionContextSupplier versionContextSupplier = new ConfiguredVersionContextSupplier( cursorContext );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, PageCacheTracer.NULL, versionContextSupplier );
+                MuninnPagedFile pagedFile = (MuninnPagedFile) map( pageCache, file( "a" ), 8 ) )
+        {
+            writeLong( pagedFile, cursorContext, 3, 3 );
+
+            cursorContext.initRead();
+            versionContextSupplier.oldestReadTransactionId = 5;
+            writeLong( pagedFile, cursorContext, 7, 7 );
+            assertEquals( 1, pagedFile.retainedPageVersions() );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( 3, cursor.getLong() );
+                assertFalse( cursorContext.isDirty() );
+            }
+        }
+    }
+
+    @Test
+    void doNotReadRetainedPageVersionMissingModificationsOfOlderTransactionAppliedLater() throws IOException
+    {
+        MutableInt lastClosedTxId = new MutableInt( 5 );
+        TestVersionContext cursorContext = new TestVersionContext( lastClosedTxId::intValue );
+        ConfiguredVersionContextSupplier versionContextSupplier = new ConfiguredVersionContextSupplier( cursorContext );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, PageCacheTracer.NULL, versionContextSupplier );
+                MuninnPagedFile pagedFile = (MuninnPagedFile) map( pageCache, file( "a" ), 8 ) )
+        {
+            writeLong( pagedFile, cursorContext, 3, 3 );
+            versionContextSupplier.oldestReadTransactionId = 5;
+            writeLong( pagedFile, cursorContext, 7, 7 );
+            // Transaction 6 is applied after transaction 7, so the retained version is only valid for readers older than 6.
+            writeLong( pagedFile, cursorContext, 6, 6 );
+
+            cursorContext.initRead();
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( 3, cursor.getLong() );
+                assertFalse( cursorContext.isDirty() );
+            }
+
+            lastClosedTxId.setValue( 6 );
+            cursorContext.initRead();
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( 6, cursor.getLong() );
+                assertTrue( cursorContext.isDirty() );
+            }
+        }
+    }
+
+    @Test
+    void reclaimRetainedPageVersionsWhenOldestReadIsClosed() throws IOException
+    {
+        TestVersionContext cursorContext = new TestVersionContext( () -> 5 );
+        ConfiguredVersionContextSupplier versionContextSupplier = new ConfiguredVersionContextSupplier( cursorContext );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, PageCacheTracer.NULL, versionContextSupplier );
+                MuninnPagedFile pagedFile = (MuninnPagedFile) map( pageCache, file( "a" ), 8 ) )
+        {
+            writeLong( pagedFile, cursorContext, 3, 3 );
+            versionContextSupplier.oldestReadTransactionId = 5;
+            writeLong( pagedFile, cursorContext, 7, 7 );
+            assertEquals( 1, pagedFile.retainedPageVersions() );
+
+            versionContextSupplier.oldestReadTransactionId = Long.MAX_VALUE;
+            writeLong( pagedFile, cursorContext, 9, 9 );
+            assertEquals( 0, pagedFile.retainedPageVersions() );
+        }
+    }
+
+    @Test
+    void reclaimRetainedPageVersionsWhenReadIsClosedWithoutFurtherModifications() throws IOException
+    {
+        TestVersionContext cursorContext = new TestVersionContext( () -> 5 );
+        ConfiguredVersionContextSupplier versionContextSupplier = new ConfiguredVersionContextSupplier( cursorContext );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, PageCacheTracer.NULL, versionContextSupplier );
+                MuninnPagedFile pagedFile = (MuninnPagedFile) map( pageCache, file( "a" ), 8 ) )
+        {
+            writeLong( pagedFile, cursorContext, 3, 3 );
+            versionContextSupplier.oldestReadTransactionId = 5;
+            writeLong( pagedFile, cursorContext, 7, 7 );
+            assertEquals( 1, pagedFile.retainedPageVersions() );
+
+            versionContextSupplier.closeRead();
+            assertEquals( 0, pagedFile.retainedPageVersions() );
+            assertEquals( 0, pageCache.getPageVersionsMemoryLimit().usedBytes() );
+        }
+    }
+
+    @Test
+    void markReadAsDirtyWhenPageVersionsMemoryIsUsedUp() throws IOException
+    {
+        fixture.maxPageVersionsMemory = 0;
+        TestVersionContext cursorContext = new TestVersionContext( () -> 5 );
+        ConfiguredVersionContextSupplier versionContextSupplier = new ConfiguredVersionContextSupplier( cursorContext );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, PageCacheTracer.NULL, versionContextSupplier );
+                MuninnPagedFile pagedFile = (MuninnPagedFile) map( pageCache, file( "a" ), 8 ) )
+        {
+            writeLong( pagedFile, cursorContext, 3, 3 );
+
+            cursorContext.initRead();
+            versionContextSupplier.oldestReadTransactionId = 5;
+            writeLong( pagedFile, cursorContext, 7, 7 );
+            assertEquals( 0, pagedFile.retainedPageVersions() );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK, NULL ) )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( 7, cursor.getLong() );
+                assertTrue( cursorContext.isDirty() );
+            }
+        }
+    }
+
     @Test
     void closingTheCursorMustUnlockModifiedPage() throws Exception
     {
@@ -1363,6 +1611,24 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    private static void writeLong( PagedFile pagedFile, VersionContext cursorContext, long committingTxId, long value ) throws IOException
+    {
+        cursorContext.initWrite( committingTxId );
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+        {
+            assertTrue( cursor.next() );
+            cursor.putLong( value );
+        }
+    }
+
+    private static void pinPage( PagedFile pagedFile, long pageId ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK, NULL ) )
+        {
+            assertTrue( cursor.next() );
+        }
+    }
+
     private void writeInitialDataTo( Path path ) throws IOException
     {
         try ( StoreChannel channel = fs.write( path ) )
@@ -1390,6 +1656,8 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
     {
 
         private final VersionContext versionContext;
+        private final List<Runnable> readClosedListeners = new ArrayList<>();
+        private long oldestReadTransactionId = Long.MAX_VALUE;
 
         ConfiguredVersionContextSupplier( VersionContext versionContext )
         {
@@ -1406,6 +1674,30 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         {
             return versionContext;
         }
+
+        @Override
+        public long oldestReadTransactionId()
+        {
+            return oldestReadTransactionId;
+        }
+
+        @Override
+        public void addReadClosedListener( Runnable listener )
+        {
+            readClosedListeners.add( listener );
+        }
+
+        @Override
+        public void removeReadClosedListener( Runnable listener )
+        {
+            readClosedListeners.remove( listener );
+        }
+
+        void closeRead()
+        {
+            oldestReadTransactionId = Long.MAX_VALUE;
+            readClosedListeners.forEach( Runnable::run );
+        }
     }
 
     private static class TestVersionContext implements VersionContext
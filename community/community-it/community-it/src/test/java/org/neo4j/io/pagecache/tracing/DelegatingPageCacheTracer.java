@@ -20,8 +20,10 @@
 package org.neo4j.io.pagecache.tracing;
 
 import java.nio.file.Path;
+import java.util.Map;
 
 import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
 /**
@@ -104,12 +106,36 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         return delegate.filesUnmapped();
     }
 
+    @Override
+    public void mappedFile( Path path, PagedFileCounters counters )
+    {
+        delegate.mappedFile( path, counters );
+    }
+
     @Override
     public void unmappedFile( Path path )
     {
         delegate.unmappedFile( path );
     }
 
+    @Override
+    public void pagesWarmedUp( Path path, long pageCount )
+    {
+        delegate.pagesWarmedUp( path, pageCount );
+    }
+
+    @Override
+    public long pagesWarmedUp()
+    {
+        return delegate.pagesWarmedUp();
+    }
+
+    @Override
+    public Map<Path,PagedFileCounters> mappedFileCounters()
+    {
+        return delegate.mappedFileCounters();
+    }
+
     @Override
     public long evictionExceptions()
     {
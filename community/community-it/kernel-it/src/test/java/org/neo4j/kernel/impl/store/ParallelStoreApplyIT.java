@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.kernel.api.IndexReadSession;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.impl.coreapi.InternalTransaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.ExtensionCallback;
+import org.neo4j.test.extension.ImpermanentDbmsExtension;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.values.storable.Values;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.internal.kernel.api.IndexQuery.exact;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
+
+/**
+ * Large transactions that are written to the record stores in parallel, see
+ * {@link GraphDatabaseInternalSettings#parallel_apply_threads}, must still update indexes from the records they have written.
+ */
+@ImpermanentDbmsExtension( configurationCallback = "configure" )
+class ParallelStoreApplyIT
+{
+    private static final Label LABEL = Label.label( "Label" );
+    private static final String INDEX_NAME = "composite";
+    private static final int NODES = 2_000;
+
+    @Inject
+    private GraphDatabaseAPI db;
+
+    @ExtensionCallback
+    void configure( TestDatabaseManagementServiceBuilder builder )
+    {
+        builder.setConfig( GraphDatabaseInternalSettings.parallel_apply_threads, 4 );
+    }
+
+    @Test
+    void shouldUpdateIndexWhenChangingPropertiesInLargeTransaction() throws Exception
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.schema().indexFor( LABEL ).on( "a" ).on( "b" ).withName( INDEX_NAME ).create();
+            tx.commit();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.schema().awaitIndexesOnline( 1, MINUTES );
+        }
+
+        long[] nodeIds = new long[NODES];
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int i = 0; i < NODES; i++ )
+            {
+                Node node = tx.createNode( LABEL );
+                node.setProperty( "a", i );
+                node.setProperty( "b", "b" + i );
+                nodeIds[i] = node.getId();
+            }
+            tx.commit();
+        }
+
+        // Only "a" changes, so the index updates read the unchanged "b" of every node from the store
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int i = 0; i < NODES; i++ )
+            {
+                tx.getNodeById( nodeIds[i] ).setProperty( "a", NODES + i );
+            }
+            tx.commit();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            KernelTransaction ktx = ((InternalTransaction) tx).kernelTransaction();
+            IndexDescriptor index = ktx.schemaRead().indexGetForName( INDEX_NAME );
+            int a = ktx.tokenRead().propertyKey( "a" );
+            int b = ktx.tokenRead().propertyKey( "b" );
+            IndexReadSession session = ktx.dataRead().indexReadSession( index );
+            try ( NodeValueIndexCursor cursor = ktx.cursors().allocateNodeValueIndexCursor( ktx.pageCursorTracer(), ktx.memoryTracker() ) )
+            {
+                for ( int i = 0; i < NODES; i++ )
+                {
+                    ktx.dataRead().nodeIndexSeek( session, cursor, unconstrained(),
+                            exact( a, Values.intValue( NODES + i ) ), exact( b, Values.stringValue( "b" + i ) ) );
+                    assertTrue( cursor.next() );
+                    assertEquals( nodeIds[i], cursor.nodeReference() );
+                    assertFalse( cursor.next() );
+
+                    ktx.dataRead().nodeIndexSeek( session, cursor, unconstrained(),
+                            exact( a, Values.intValue( i ) ), exact( b, Values.stringValue( "b" + i ) ) );
+                    assertFalse( cursor.next() );
+                }
+            }
+        }
+    }
+}
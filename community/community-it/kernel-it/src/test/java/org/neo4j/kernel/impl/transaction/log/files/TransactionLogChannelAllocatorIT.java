@@ -122,6 +122,6 @@ class TransactionLogChannelAllocatorIT
                 SimpleLogVersionRepository::new, fileSystem, NullLogProvider.getInstance(), DatabaseTracers.EMPTY, () -> StoreId.UNKNOWN,
                 NativeAccessProvider.getNativeAccess(), EmptyMemoryTracker.INSTANCE, new Monitors(), true,
                 new DatabaseHealth( PanicEventGenerator.NO_OP, NullLog.getInstance() ), TransactionLogVersionSelector.LATEST::version,
-                Clock.systemUTC(), Config.defaults() );
+                Clock.systemUTC(), Config.defaults(), null );
     }
 }
@@ -21,11 +21,13 @@ package org.neo4j.configuration;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 
 import org.neo4j.annotations.service.ServiceProvider;
 import org.neo4j.graphdb.config.Setting;
 import org.neo4j.logging.FormattedLogFormat;
 
+import static java.lang.String.format;
 import static java.time.Duration.ofMillis;
 import static java.time.Duration.ofMinutes;
 import static java.time.Duration.ofSeconds;
@@ -42,6 +44,7 @@ import static org.neo4j.configuration.SettingValueParsers.INT;
 import static org.neo4j.configuration.SettingValueParsers.LONG;
 import static org.neo4j.configuration.SettingValueParsers.PATH;
 import static org.neo4j.configuration.SettingValueParsers.STRING;
+import static org.neo4j.configuration.SettingValueParsers.listOf;
 import static org.neo4j.configuration.SettingValueParsers.ofEnum;
 import static org.neo4j.io.ByteUnit.kibiBytes;
 import static org.neo4j.io.ByteUnit.mebiBytes;
@@ -337,6 +340,12 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> fail_on_corrupted_log_files =
             newBuilder("unsupported.dbms.tx_log.fail_on_corrupted_log_files", BOOL, true ).build();
 
+    @Internal
+    @Description( "Number of transactions that recovery reads and decodes from the transaction log ahead of the transaction currently " +
+            "being applied, on a separate thread. Zero, the default, reads and applies transactions on the same thread." )
+    public static final Setting<Integer> recovery_read_ahead_transactions =
+            newBuilder( "unsupported.dbms.recovery.read_ahead_transactions", INT, 0 ).addConstraint( min( 0 ) ).build();
+
     @Internal
     @Description( "Specifies if engine should run cypher query based on a snapshot of accessed data. " +
             "Query will be restarted in case if concurrent modification of data will be detected." )
@@ -347,6 +356,12 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Integer> snapshot_query_retries =
             newBuilder( "unsupported.dbms.query.snapshot.retries", INT, 5 ).addConstraint( range( 1, Integer.MAX_VALUE ) ).build();
 
+    @Internal
+    @Description( "Maximum amount of memory used to retain older versions of modified pages for snapshot queries. Once it is used up, " +
+            "modifications no longer retain page versions, and snapshot queries that would have needed them are retried instead." )
+    public static final Setting<Long> snapshot_query_max_page_versions_memory =
+            newBuilder( "unsupported.dbms.query.snapshot.max_page_versions_memory", BYTES, mebiBytes( 256 ) ).addConstraint( min( 0L ) ).build();
+
     /**
      * Block size properties values depends from selected record format.
      * We can't figured out record format until it will be selected by corresponding edition.
@@ -480,6 +495,131 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> consistency_check_on_apply =
             newBuilder( "unsupported.dbms.storage.consistency_check_on_apply", BOOL, Boolean.FALSE ).build();
 
+    @Internal
+    @Description( "Number of threads used to write the record changes of a large committed transaction to the different record stores " +
+            "in parallel. Changes to any single store are still written in command order. Zero, the default, applies all changes on " +
+            "the committing thread." )
+    public static final Setting<Integer> parallel_apply_threads =
+            newBuilder( "unsupported.dbms.storage.parallel_apply_threads", INT, 0 ).addConstraint( min( 0 ) ).build();
+
+    public enum PageCacheEvictionPolicy
+    {
+        CLOCK,
+        FREQUENCY_SKETCH
+    }
+
+    @Internal
+    @Description( "Policy deciding which pages the page cache evicts when it needs room for new pages. `CLOCK` evicts pages that have not " +
+            "been used for a few sweeps of the eviction clock. `FREQUENCY_SKETCH` additionally keeps pages that have been used frequently, " +
+            "as estimated by a compact frequency sketch, which protects the working set from being flushed out by large scans." )
+    public static final Setting<PageCacheEvictionPolicy> pagecache_eviction_policy =
+            newBuilder( "unsupported.dbms.memory.pagecache.eviction_policy", ofEnum( PageCacheEvictionPolicy.class ), PageCacheEvictionPolicy.CLOCK )
+                    .build();
+
+    @Internal
+    @Description( "Advise the operating system to back page cache memory with transparent huge pages, which reduces TLB misses when " +
+            "accessing a large page cache. Only supported on Linux, and only effective when transparent huge pages are enabled in " +
+            "`madvise` or `always` mode." )
+    public static final Setting<Boolean> pagecache_huge_pages =
+            newBuilder( "unsupported.dbms.memory.pagecache.huge_pages", BOOL, false ).build();
+
+    public enum PageCacheNumaPolicy
+    {
+        NONE,
+        INTERLEAVE,
+        BIND
+    }
+
+    @Internal
+    @Description( "How page cache memory is placed on the NUMA nodes of the machine. `NONE` leaves placement to the operating system, which " +
+            "places memory on the node of the thread that first touches it. `INTERLEAVE` interleaves the memory pages over all nodes, which " +
+            "spreads memory bandwidth evenly. `BIND` binds each slab of page cache memory to a single node, assigning slabs to nodes round " +
+            "robin. Only supported on Linux." )
+    public static final Setting<PageCacheNumaPolicy> pagecache_numa_policy =
+            newBuilder( "unsupported.dbms.memory.pagecache.numa_policy", ofEnum( PageCacheNumaPolicy.class ), PageCacheNumaPolicy.NONE ).build();
+
+    public static final class PageCacheReservation
+    {
+        private final String fileName;
+        private final double fraction;
+
+        PageCacheReservation( String fileName, double fraction )
+        {
+            this.fileName = fileName;
+            this.fraction = fraction;
+        }
+
+        public String fileName()
+        {
+            return fileName;
+        }
+
+        public double fraction()
+        {
+            return fraction;
+        }
+
+        @Override
+        public String toString()
+        {
+            return fileName + "=" + fraction;
+        }
+    }
+
+    private static final SettingValueParser<PageCacheReservation> PAGECACHE_RESERVATION = new SettingValueParser<>()
+    {
+        @Override
+        public PageCacheReservation parse( String value )
+        {
+            String[] parts = value.split( "=" );
+            if ( parts.length != 2 )
+            {
+                throw new IllegalArgumentException( format( "'%s' is not a valid page cache reservation, expected %s", value, getDescription() ) );
+            }
+            String fileName = parts[0].trim();
+            if ( fileName.isEmpty() || fileName.contains( "/" ) || fileName.contains( "\\" ) )
+            {
+                throw new IllegalArgumentException(
+                        format( "'%s' is not a valid page cache reservation, '%s' is not a file name", value, fileName ) );
+            }
+            double fraction = DOUBLE.parse( parts[1] );
+            if ( fraction < 0 || fraction > 1 )
+            {
+                throw new IllegalArgumentException( format( "'%s' is not a valid page cache reservation, fraction must be between 0 and 1", value ) );
+            }
+            return new PageCacheReservation( fileName, fraction );
+        }
+
+        @Override
+        public String getDescription()
+        {
+            return "<store file name>=<fraction>";
+        }
+
+        @Override
+        public Class<PageCacheReservation> getType()
+        {
+            return PageCacheReservation.class;
+        }
+    };
+
+    @Internal
+    @Description( "Part of the page cache to reserve for the pages of specific store files of user databases, as a comma separated list of " +
+            "`<store file name>=<fraction>` entries, e.g. `neostore.nodestore.db=0.1,neostore.relationshipstore.db=0.2`. The page cache " +
+            "does not evict pages of a file while it has fewer pages in memory than are reserved for it, which keeps hot stores resident " +
+            "when other files are scanned. Files of the system database get no reservations. All reservations together are capped at half " +
+            "of the page cache." )
+    public static final Setting<List<PageCacheReservation>> pagecache_reservations =
+            newBuilder( "unsupported.dbms.memory.pagecache.reservations", listOf( PAGECACHE_RESERVATION ), List.of() ).build();
+
+    @Internal
+    @Description( "Open all files mapped by the page cache with direct I/O where possible, bypassing the operating system page cache so that " +
+            "file data is not cached twice. Unlike `dbms.memory.pagecache.directio`, which only applies to record formats with platform " +
+            "aligned page sizes and fails when direct I/O is not possible, this falls back to buffered I/O for files that cannot use direct I/O, " +
+            "e.g. when not running on Linux or when the page size is not a multiple of the file system block size." )
+    public static final Setting<Boolean> pagecache_swapper_direct_io =
+            newBuilder( "unsupported.dbms.memory.pagecache.swapper.directio", BOOL, false ).build();
+
     @Internal
     @Description( "Time interval of inactivity after which a driver will be closed." )
     public static final Setting<Duration> routing_driver_idle_timeout =
@@ -510,6 +650,49 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> restrict_upgrade =
             newBuilder( "unsupported.dbms.upgrade_restriction_enabled", BOOL, false ).build();
 
+    @Internal
+    @Description( "Compress rotated transaction log files with ZSTD in the background, once they are older than the log of the latest " +
+            "checkpoint. Compressed log files keep their names, and are decompressed transparently when read, e.g. by recovery or when " +
+            "transactions are pulled from the log. Logs that are compressed can not be read by versions that do not support compression." )
+    public static final Setting<Boolean> compress_rotated_logical_logs =
+            newBuilder( "unsupported.dbms.tx_log.compress_rotated", BOOL, false ).build();
+
+    @Internal
+    @Description( "Number of spare transaction log files to keep preallocated and zero-filled, so that log rotation can move a spare file " +
+            "in place instead of creating and allocating a new file while transactions wait. Spare files are filled in the background, " +
+            "partly by recycling the log files that are pruned, and take up the log rotation threshold in size each. 0 disables the pool." )
+    public static final Setting<Integer> preallocated_logical_log_files =
+            newBuilder( "unsupported.dbms.tx_log.preallocated_files", INT, 0 ).addConstraint( min( 0 ) ).build();
+
+    @Internal
+    @Description( "Interval between background flushes of dirty pages, in between checkpoints. Every background flush writes out the pages " +
+            "dirtied since the previous one, with an IO limit that adapts to the amount of dirtied pages, so that a flush is spread over about " +
+            "half the interval. This leaves checkpoints with fewer dirty pages to flush, and thereby smooths out their impact on writes. " +
+            "0 disables background flushing." )
+    public static final Setting<Duration> check_point_background_flush_interval =
+            newBuilder( "unsupported.dbms.checkpoint.background_flush.interval", DURATION, Duration.ZERO ).build();
+
+    @Internal
+    @Description( "The highest number of IOs per second that the IO limit of background flushing of dirty pages can adapt to." )
+    public static final Setting<Integer> check_point_background_flush_max_iops =
+            newBuilder( "unsupported.dbms.checkpoint.background_flush.max_iops", INT, 10_000 ).addConstraint( min( 100 ) ).build();
+
+    @Internal
+    @Description( "Amount of property values that the state of a single transaction can keep in off-heap memory, before further values are " +
+            "spilled to a temporary file in `unsupported.dbms.directories.tx_state_spill`. Spilled values are mapped into memory, and are " +
+            "paged in and out by the operating system rather than counted towards transaction memory limits. Only used when " +
+            "dbms.tx_state.memory_allocation is set to 'OFF_HEAP'. 0 disables spilling." )
+    public static final Setting<Long> tx_state_values_spill_threshold =
+            newBuilder( "unsupported.dbms.tx_state.values_spill_threshold", BYTES, 0L ).addConstraint( min( 0L ) ).build();
+
+    @Internal
+    @Description( "Directory where the state of large transactions is spilled to temporary files." )
+    public static final Setting<Path> tx_state_spill_directory =
+            newBuilder( "unsupported.dbms.directories.tx_state_spill", PATH, Path.of( "tx-state-spill" ) )
+                    .setDependency( GraphDatabaseSettings.data_directory )
+                    .immutable()
+                    .build();
+
     @Description( "Specifies at which file size the checkpoint log will auto-rotate. Minimum accepted value is 1 KiB. " )
     public static final Setting<Long> checkpoint_logical_log_rotation_threshold =
             newBuilder( "unsupported.dbms.checkpoint_log.rotation.size", BYTES, mebiBytes( 1 ) ).addConstraint( min( kibiBytes( 1 ) ) ).build();
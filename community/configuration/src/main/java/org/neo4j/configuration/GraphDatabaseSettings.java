@@ -60,6 +60,7 @@ import static org.neo4j.configuration.SettingValueParsers.DURATION;
 import static org.neo4j.configuration.SettingValueParsers.INT;
 import static org.neo4j.configuration.SettingValueParsers.LONG;
 import static org.neo4j.configuration.SettingValueParsers.PATH;
+import static org.neo4j.configuration.SettingValueParsers.PRECISE_DURATION;
 import static org.neo4j.configuration.SettingValueParsers.SOCKET_ADDRESS;
 import static org.neo4j.configuration.SettingValueParsers.STRING;
 import static org.neo4j.configuration.SettingValueParsers.TIMEZONE;
@@ -545,6 +546,20 @@ public class GraphDatabaseSettings implements SettingsDeclaration
     @Description( "Specify if Neo4j should try to preallocate logical log file in advance." )
     public static final Setting<Boolean> preallocate_logical_logs = newBuilder( "dbms.tx_log.preallocate", BOOL, true ).dynamic().build();
 
+    @Description( "The longest time a committing transaction forcing the transaction log will wait for other concurrently committing " +
+            "transactions to join the same force. Many small transactions can then share a single fsync, which raises write " +
+            "throughput on storage where the number of fsyncs rather than bandwidth is the limit, at the cost of commit latency. " +
+            "The wait ends early when `dbms.tx_log.group_commit.max_batch` transactions are waiting. " +
+            "Zero, the default, forces the log without waiting, only batching transactions that queue up during a force. " +
+            "The window is kept at microsecond precision, e.g. `500us`, since a force on fast storage can take well below a millisecond." )
+    public static final Setting<Duration> group_commit_max_wait =
+            newBuilder( "dbms.tx_log.group_commit.max_wait", PRECISE_DURATION, Duration.ZERO ).addConstraint( max( ofSeconds( 1 ) ) ).build();
+
+    @Description( "The number of transactions waiting for a transaction log force that ends the group commit window early. " +
+            "Only used when `dbms.tx_log.group_commit.max_wait` is greater than zero." )
+    public static final Setting<Integer> group_commit_max_batch =
+            newBuilder( "dbms.tx_log.group_commit.max_batch", INT, 64 ).addConstraint( min( 1 ) ).build();
+
     @Description( "If `true`, Neo4j will abort recovery if transaction log files are missing. Setting " +
             "this to `false` will allow Neo4j to create new empty missing files for the already existing  " +
             "database, but the integrity of the database might be compromised." )
@@ -582,15 +597,13 @@ public class GraphDatabaseSettings implements SettingsDeclaration
             newBuilder( "dbms.memory.pagecache.flush.buffer.size_in_pages", INT, 128 ).addConstraint( range( 1, 512 ) ).dynamic().build();
 
     @Description( "The profiling frequency for the page cache. Accurate profiles allow the page cache to do active " +
-            "warmup after a restart, reducing the mean time to performance. " +
-            "This feature available in Neo4j Enterprise Edition." )
+            "warmup after a restart, reducing the mean time to performance." )
     public static final Setting<Duration> pagecache_warmup_profiling_interval =
             newBuilder( "dbms.memory.pagecache.warmup.profile.interval", DURATION, ofMinutes( 1 ) ).build();
 
     @Description( "Page cache can be configured to perform usage sampling of loaded pages that can be used to construct active load profile. " +
             "According to that profile pages can be reloaded on the restart, replication, etc. " +
-            "This setting allows disabling that behavior. " +
-            "This feature available in Neo4j Enterprise Edition." )
+            "This setting allows disabling that behavior." )
     public static final Setting<Boolean> pagecache_warmup_enabled =
             newBuilder( "dbms.memory.pagecache.warmup.enable", BOOL, true ).build();
 
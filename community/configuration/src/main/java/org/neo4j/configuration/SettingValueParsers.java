@@ -396,6 +396,36 @@ public final class SettingValueParsers
         }
     };
 
+    /**
+     * Like {@link #DURATION}, but keeps the parsed value at nanosecond precision instead of rounding it down to whole milliseconds.
+     */
+    public static final SettingValueParser<Duration> PRECISE_DURATION = new SettingValueParser<>()
+    {
+        @Override
+        public Duration parse( String value )
+        {
+            return Duration.ofNanos( TimeUtil.parseTimeNanos( value.trim() ) );
+        }
+
+        @Override
+        public String getDescription()
+        {
+            return "a duration (" + TimeUtil.VALID_TIME_DESCRIPTION + ")";
+        }
+
+        @Override
+        public Class<Duration> getType()
+        {
+            return Duration.class;
+        }
+
+        @Override
+        public String valueToString( Duration value )
+        {
+            return Duration.ZERO.equals( value ) ? "0s" : TimeUtil.nanosToString( value.toNanos() );
+        }
+    };
+
     public static final SettingValueParser<DurationRange> DURATION_RANGE = new SettingValueParser<>()
     {
         @Override
@@ -22,6 +22,7 @@ package org.neo4j.configuration;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -69,6 +70,17 @@ class GraphDatabaseSettingsTest
         assertThat( Config.defaults( setting, "string" ).get( setting ) ).isEqualTo( "string" );
     }
 
+    @Test
+    void groupCommitWindowMustKeepSubMillisecondValues()
+    {
+        Setting<Duration> setting = GraphDatabaseSettings.group_commit_max_wait;
+        Config config = Config.newBuilder().setRaw( Map.of( setting.name(), "500us" ) ).build();
+        assertEquals( Duration.ofNanos( TimeUnit.MICROSECONDS.toNanos( 500 ) ), config.get( setting ) );
+        config = Config.newBuilder().setRaw( Map.of( setting.name(), "1ms500μs" ) ).build();
+        assertEquals( Duration.ofNanos( TimeUnit.MICROSECONDS.toNanos( 1500 ) ), config.get( setting ) );
+        assertThrows( IllegalArgumentException.class, () -> Config.newBuilder().setRaw( Map.of( setting.name(), "2s" ) ).build() );
+    }
+
     @Test
     void noDuplicateSettingsAreAllowed() throws Exception
     {
@@ -76,6 +76,7 @@ import static org.neo4j.configuration.SettingValueParsers.INT;
 import static org.neo4j.configuration.SettingValueParsers.LONG;
 import static org.neo4j.configuration.SettingValueParsers.NORMALIZED_RELATIVE_URI;
 import static org.neo4j.configuration.SettingValueParsers.PATH;
+import static org.neo4j.configuration.SettingValueParsers.PRECISE_DURATION;
 import static org.neo4j.configuration.SettingValueParsers.SECURE_STRING;
 import static org.neo4j.configuration.SettingValueParsers.SOCKET_ADDRESS;
 import static org.neo4j.configuration.SettingValueParsers.STRING;
@@ -243,6 +244,21 @@ class SettingTest
         assertEquals( expected, descriptionWithConstraint );
     }
 
+    @Test
+    void testPreciseDuration()
+    {
+        var setting = (SettingImpl<Duration>) setting( "setting", PRECISE_DURATION );
+        assertEquals( 60, setting.parse( "1m" ).toSeconds() );
+        assertEquals( 1000, setting.parse( "1s" ).toMillis() );
+        assertThrows( IllegalArgumentException.class, () -> setting.parse( "foo" ) );
+
+        // Nothing is rounded down to whole milliseconds
+        assertEquals( 500_000, setting.parse( "500us" ).toNanos() );
+        assertEquals( 999, setting.parse( "999ns" ).toNanos() );
+        assertEquals( "500μs", setting.valueToString( setting.parse( "500μs" ) ) );
+        assertEquals( "0s", setting.valueToString( setting.parse( "0s" ) ) );
+    }
+
     @Test
     void testDurationRange()
     {
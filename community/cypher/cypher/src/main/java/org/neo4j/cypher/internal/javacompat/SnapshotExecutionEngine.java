@@ -91,37 +91,45 @@ public class SnapshotExecutionEngine extends ExecutionEngine
         EagerResult eagerResult;
         int attempt = 0;
         boolean dirtySnapshot;
-        do
+        try
         {
-            if ( attempt == maxQueryExecutionAttempts )
+            do
             {
-                throw new QueryExecutionKernelException( new UnstableSnapshotException( "Unable to get clean data snapshot for query '%s' after %d attempts.",
-                                                                                        query, attempt ) );
-            }
-
-            if ( attempt > 0 )
-            {
-                context.executingQuery().onRetryAttempted();
-            }
-
-            attempt++;
-            versionContext.initRead();
-
-            ResultSubscriber resultSubscriber = getResultSubscriber( context );
-
-            queryExecution = executor.execute( resultSubscriber );
-            resultSubscriber.init( queryExecution );
-
-            eagerResult = getEagerResult( versionContext, resultSubscriber );
-            eagerResult.consume();
-            dirtySnapshot = versionContext.isDirty();
-            if ( dirtySnapshot && resultSubscriber.getQueryStatistics().containsUpdates() )
-            {
-                throw new QueryExecutionKernelException( new UnstableSnapshotException(
-                        "Unable to get clean data snapshot for query '%s' that performs updates.", query, attempt ) );
+                if ( attempt == maxQueryExecutionAttempts )
+                {
+                    throw new QueryExecutionKernelException( new UnstableSnapshotException( "Unable to get clean data snapshot for query '%s' after %d attempts.",
+                                                                                            query, attempt ) );
+                }
+
+                if ( attempt > 0 )
+                {
+                    context.executingQuery().onRetryAttempted();
+                }
+
+                attempt++;
+                versionContext.initRead();
+
+                ResultSubscriber resultSubscriber = getResultSubscriber( context );
+
+                queryExecution = executor.execute( resultSubscriber );
+                resultSubscriber.init( queryExecution );
+
+                eagerResult = getEagerResult( versionContext, resultSubscriber );
+                eagerResult.consume();
+                dirtySnapshot = versionContext.isDirty();
+                if ( dirtySnapshot && resultSubscriber.getQueryStatistics().containsUpdates() )
+                {
+                    throw new QueryExecutionKernelException( new UnstableSnapshotException(
+                            "Unable to get clean data snapshot for query '%s' that performs updates.", query, attempt ) );
+                }
             }
+            while ( dirtySnapshot );
+        }
+        finally
+        {
+            // The result is fully materialised at this point, so page versions retained for this read are no longer needed.
+            versionContext.closeRead();
         }
-        while ( dirtySnapshot );
 
         return Pair.of(queryExecution, eagerResult);
     }
@@ -49,6 +49,11 @@ class CommunityCompilerFactory(graph: GraphDatabaseQueryService,
 
   private val log: Log = logProvider.getLog(getClass)
 
+  /**
+   * Worker pool of the parallel runtime, started on the first query compiled with `runtime=parallel`.
+   */
+  private lazy val parallelExecution: Option[ParallelExecution] = ParallelExecution(graph.getDependencyResolver, runtimeConfig.workers)
+
   override def supportsAdministrativeCommands(): Boolean = plannerConfig.planSystemCommands
 
   override def createCompiler(cypherVersion: CypherVersion,
@@ -86,7 +91,7 @@ class CommunityCompilerFactory(graph: GraphDatabaseQueryService,
     CypherCurrentCompiler(
       planner,
       runtime,
-      CommunityRuntimeContextManager(log, runtimeConfig),
+      CommunityRuntimeContextManager(log, runtimeConfig, if (cypherRuntime == CypherRuntimeOption.parallel) () => parallelExecution else () => None),
       kernelMonitors)
   }
 }
@@ -68,7 +68,8 @@ object CypherConfiguration {
       config.get(GraphDatabaseInternalSettings.cypher_pipelined_operator_fusion_over_pipeline_limit).intValue(),
       new ConfigMemoryTrackingController(config),
       config.get(GraphDatabaseInternalSettings.cypher_enable_runtime_monitors),
-      config.get(GraphDatabaseInternalSettings.cypher_parser) != GraphDatabaseInternalSettings.CypherParser.PARBOILED
+      config.get(GraphDatabaseInternalSettings.cypher_parser) != GraphDatabaseInternalSettings.CypherParser.PARBOILED,
+      config.get(GraphDatabaseInternalSettings.cypher_worker_count)
     )
   }
 
@@ -134,7 +135,8 @@ case class CypherConfiguration(version: CypherVersion,
                                operatorFusionOverPipelineLimit: Int,
                                memoryTrackingController: MemoryTrackingController,
                                enableMonitors: Boolean,
-                               useJavaCCParser: Boolean) {
+                               useJavaCCParser: Boolean,
+                               workers: Int) {
 
   def toCypherRuntimeConfiguration: CypherRuntimeConfiguration =
     CypherRuntimeConfiguration(
@@ -144,7 +146,8 @@ case class CypherConfiguration(version: CypherVersion,
       schedulerTracing = toSchedulerTracingConfiguration(doSchedulerTracing, schedulerTracingFile),
       lenientCreateRelationship = lenientCreateRelationship,
       memoryTrackingController = memoryTrackingController,
-      enableMonitors
+      enableMonitors,
+      workers = workers
     )
 
   def toSchedulerTracingConfiguration(doSchedulerTracing: Boolean,
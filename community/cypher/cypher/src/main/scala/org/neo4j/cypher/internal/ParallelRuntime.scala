@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal
+
+import java.util.concurrent.Executor
+
+import org.neo4j.common.DependencyResolver
+import org.neo4j.cypher.internal.InterpretedRuntime.InterpretedExecutionPlan
+import org.neo4j.cypher.internal.runtime.QueryIndexRegistrator
+import org.neo4j.cypher.internal.runtime.ResourceManager
+import org.neo4j.cypher.internal.runtime.ResourceMonitor
+import org.neo4j.cypher.internal.runtime.ThreadSafeResourceManager
+import org.neo4j.cypher.internal.runtime.expressionVariableAllocation
+import org.neo4j.cypher.internal.runtime.expressionVariableAllocation.Result
+import org.neo4j.cypher.internal.runtime.interpreted.InterpretedExecutionResultBuilderFactory
+import org.neo4j.cypher.internal.runtime.interpreted.InterpretedPipeMapper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.CommunityExpressionConverter
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.runtime.interpreted.parallel.ParallelAggregationPipe
+import org.neo4j.cypher.internal.runtime.interpreted.parallel.ParallelPipeMapper
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NestedPipeExpressions
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeTreeBuilder
+import org.neo4j.cypher.internal.runtime.slottedParameters
+import org.neo4j.exceptions.CantCompileQueryException
+import org.neo4j.internal.kernel.api.CursorFactory
+import org.neo4j.kernel.api.Kernel
+import org.neo4j.scheduler.Group
+import org.neo4j.scheduler.JobScheduler
+
+/**
+ * The resources needed to run queries in parallel.
+ *
+ * @param executor    runs the worker tasks
+ * @param cursors     a cursor factory that can be used from several threads at once
+ * @param parallelism the number of workers per parallel pipe, including the thread running the query
+ */
+case class ParallelExecution(executor: Executor, cursors: CursorFactory, parallelism: Int)
+
+object ParallelExecution {
+
+  /**
+   * @param workers the configured number of workers, 0 for one per available processor and -1 to disable parallel execution
+   */
+  def apply(resolver: DependencyResolver, workers: Int): Option[ParallelExecution] =
+    if (workers < 0) {
+      None
+    } else {
+      val jobScheduler = resolver.resolveDependency(classOf[JobScheduler])
+      val parallelism = if (workers == 0) Runtime.getRuntime.availableProcessors() else workers
+      try {
+        jobScheduler.setParallelism(Group.CYPHER_WORKER, parallelism)
+      } catch {
+        // The pool is shared by all databases, and was already started by another one
+        case _: IllegalStateException =>
+      }
+      val cursors = resolver.resolveDependency(classOf[Kernel]).cursors()
+      Some(ParallelExecution(jobScheduler.executor(Group.CYPHER_WORKER), cursors, parallelism))
+    }
+}
+
+/**
+ * Runs read-only queries with the interpreted pipes, where node scans feeding an eager aggregation are split into
+ * morsels that are processed concurrently by a pool of workers. Queries without such a pipeline are not supported,
+ * and are left to the next runtime.
+ */
+object ParallelRuntime extends CypherRuntime[RuntimeContext] {
+  override def name: String = "parallel"
+
+  override def compileToExecutable(query: LogicalQuery, context: RuntimeContext): ExecutionPlan = {
+    val parallelExecution = context match {
+      case CommunityRuntimeContext(_, _, _, _, _, Some(execution)) => execution
+      case _ => throw new CantCompileQueryException("Parallel runtime has no workers configured")
+    }
+    if (!query.readOnly) {
+      throw new CantCompileQueryException("Parallel runtime only supports read-only queries")
+    }
+
+    val Result(logicalPlan, nExpressionSlots, availableExpressionVars) = expressionVariableAllocation.allocate(query.logicalPlan)
+    val (withSlottedParameters, parameterMapping) = slottedParameters(logicalPlan)
+
+    val converters = new ExpressionConverters(CommunityExpressionConverter(context.tokenContext))
+    val queryIndexRegistrator = new QueryIndexRegistrator(context.schemaRead)
+    val interpretedPipeMapper = InterpretedPipeMapper(query.readOnly, converters, context.tokenContext, queryIndexRegistrator, context.compileExpressions)(query.semanticTable)
+    val pipeMapper = ParallelPipeMapper(interpretedPipeMapper, parallelExecution.executor, parallelExecution.parallelism, context.config.pipelinedBatchSizeBig)
+    val pipeTreeBuilder = PipeTreeBuilder(pipeMapper)
+    val logicalPlanWithConvertedNestedPlans = NestedPipeExpressions.build(pipeTreeBuilder, withSlottedParameters, availableExpressionVars)
+    val pipe = pipeTreeBuilder.build(logicalPlanWithConvertedNestedPlans)
+    if (!containsParallelPipe(pipe)) {
+      throw new CantCompileQueryException("Parallel runtime found no part of the query to run in parallel")
+    }
+    val columns = query.resultColumns
+    val resultBuilderFactory = InterpretedExecutionResultBuilderFactory(pipe,
+      queryIndexRegistrator.result(),
+      nExpressionSlots,
+      parameterMapping,
+      query.readOnly,
+      columns,
+      withSlottedParameters,
+      context.config.lenientCreateRelationship,
+      context.config.memoryTrackingController,
+      query.hasLoadCSV)
+
+    new InterpretedExecutionPlan(query.periodicCommitInfo,
+      resultBuilderFactory,
+      ParallelRuntimeName,
+      query.readOnly,
+      IndexedSeq.empty) {
+
+      override def threadSafeExecutionResources(): Option[(CursorFactory, ResourceManagerFactory)] =
+        Some((parallelExecution.cursors, new ResourceManagerFactory {
+          override def apply(monitor: ResourceMonitor): ResourceManager = new ThreadSafeResourceManager(monitor)
+        }))
+    }
+  }
+
+  private def containsParallelPipe(pipe: Pipe): Boolean = pipe match {
+    case _: ParallelAggregationPipe => true
+    case product: Product => product.productIterator.exists {
+      case child: Pipe => containsParallelPipe(child)
+      case _ => false
+    }
+    case _ => false
+  }
+}
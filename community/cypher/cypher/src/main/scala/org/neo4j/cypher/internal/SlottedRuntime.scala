@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal
+
+import org.neo4j.cypher.internal.InterpretedRuntime.InterpretedExecutionPlan
+import org.neo4j.cypher.internal.runtime.QueryIndexRegistrator
+import org.neo4j.cypher.internal.runtime.expressionVariableAllocation
+import org.neo4j.cypher.internal.runtime.expressionVariableAllocation.Result
+import org.neo4j.cypher.internal.runtime.interpreted.InterpretedExecutionResultBuilderFactory
+import org.neo4j.cypher.internal.runtime.interpreted.InterpretedPipeMapper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.CommunityExpressionConverter
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NestedPipeExpressions
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeTreeBuilder
+import org.neo4j.cypher.internal.runtime.interpreted.slotted.SlottedExpressionConverter
+import org.neo4j.cypher.internal.runtime.interpreted.slotted.SlottedPipeMapper
+import org.neo4j.cypher.internal.runtime.interpreted.slotted.slotAllocation
+import org.neo4j.cypher.internal.runtime.slottedParameters
+
+/**
+ * Runs the interpreted pipes over array backed rows. Variables and cached properties are assigned to slots at plan time,
+ * so reading a variable is an array access and copying a row is an array copy instead of a hash map clone.
+ */
+object SlottedRuntime extends CypherRuntime[RuntimeContext] {
+  override def name: String = "slotted"
+
+  override def compileToExecutable(query: LogicalQuery, context: RuntimeContext): ExecutionPlan = {
+    val Result(logicalPlan, nExpressionSlots, availableExpressionVars) = expressionVariableAllocation.allocate(query.logicalPlan)
+    val (withSlottedParameters, parameterMapping) = slottedParameters(logicalPlan)
+    val slots = slotAllocation.allocate(withSlottedParameters)
+
+    val converters = new ExpressionConverters(
+      SlottedExpressionConverter(slots, context.tokenContext),
+      CommunityExpressionConverter(context.tokenContext))
+    val queryIndexRegistrator = new QueryIndexRegistrator(context.schemaRead)
+    val interpretedPipeMapper = InterpretedPipeMapper(query.readOnly, converters, context.tokenContext, queryIndexRegistrator, context.compileExpressions)(query.semanticTable)
+    val pipeTreeBuilder = PipeTreeBuilder(SlottedPipeMapper(interpretedPipeMapper, slots))
+    val logicalPlanWithConvertedNestedPlans = NestedPipeExpressions.build(pipeTreeBuilder, withSlottedParameters, availableExpressionVars)
+    val pipe = pipeTreeBuilder.build(logicalPlanWithConvertedNestedPlans)
+    val columns = query.resultColumns
+    val resultBuilderFactory = InterpretedExecutionResultBuilderFactory(pipe,
+      queryIndexRegistrator.result(),
+      nExpressionSlots,
+      parameterMapping,
+      query.readOnly,
+      columns,
+      withSlottedParameters,
+      context.config.lenientCreateRelationship,
+      context.config.memoryTrackingController,
+      query.hasLoadCSV)
+
+    new InterpretedExecutionPlan(query.periodicCommitInfo,
+      resultBuilderFactory,
+      SlottedRuntimeName,
+      query.readOnly,
+      IndexedSeq.empty)
+  }
+}
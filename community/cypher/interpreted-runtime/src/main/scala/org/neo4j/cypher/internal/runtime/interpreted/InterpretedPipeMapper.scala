@@ -131,6 +131,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expres
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ShortestPathExpression
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.compiled.ExpressionCompiler
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.AllNodesScanPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.AllOrderedDistinctPipe
@@ -242,12 +243,14 @@ import org.neo4j.values.virtual.RelationshipValue
 case class InterpretedPipeMapper(readOnly: Boolean,
                                  expressionConverters: ExpressionConverters,
                                  tokenContext: TokenContext,
-                                 indexRegistrator: QueryIndexRegistrator)
+                                 indexRegistrator: QueryIndexRegistrator,
+                                 compileExpressions: Boolean = false)
                                 (implicit semanticTable: SemanticTable) extends PipeMapper {
 
   private def getBuildExpression(id: Id): internal.expressions.Expression => Expression =
     ((e: internal.expressions.Expression) => expressionConverters.toCommandExpression(id, e)) andThen
-      (expression => expression.rewrite(KeyTokenResolver.resolveExpressions(_, tokenContext)))
+      (expression => expression.rewrite(KeyTokenResolver.resolveExpressions(_, tokenContext))) andThen
+      (expression => if (compileExpressions) ExpressionCompiler.compile(expression) else expression)
 
   def onLeaf(plan: LogicalPlan): Pipe = {
     val id = plan.id
@@ -728,10 +731,12 @@ case class InterpretedPipeMapper(readOnly: Boolean,
     }
   }
 
-  private def buildPredicate(id: Id, expr: internal.expressions.Expression): Predicate =
-    expressionConverters.toCommandPredicate(id, expr)
+  private def buildPredicate(id: Id, expr: internal.expressions.Expression): Predicate = {
+    val predicate = expressionConverters.toCommandPredicate(id, expr)
       .rewrite(KeyTokenResolver.resolveExpressions(_, tokenContext))
       .asInstanceOf[Predicate]
+    if (compileExpressions) ExpressionCompiler.compilePredicate(predicate) else predicate
+  }
 
   private def translateColumnOrder(s: plans.ColumnOrder): org.neo4j.cypher.internal.runtime.interpreted.ColumnOrder = s match {
     case plans.Ascending(name) => org.neo4j.cypher.internal.runtime.interpreted.Ascending(name)
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.compiled
+
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.AstNode
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+
+/**
+ * Interface implemented by the classes generated by [[ExpressionCompiler]].
+ *
+ * Sub-expressions that could not be compiled are passed in as `leaves` and evaluated through the interpreter,
+ * literal values are passed in as `constants`.
+ */
+trait CompiledExpression {
+  def evaluate(row: ReadableRow, state: QueryState, leaves: Array[Expression], constants: Array[AnyValue]): AnyValue
+}
+
+/**
+ * Command expression backed by a generated class. The interpreted expression it was compiled from is kept around,
+ * so that rewriting falls back to interpreted evaluation.
+ */
+case class CompiledCommandExpression(compiled: CompiledExpression,
+                                     leaves: Array[Expression],
+                                     constants: Array[AnyValue],
+                                     original: Expression) extends Expression {
+
+  override def apply(row: ReadableRow, state: QueryState): AnyValue = compiled.evaluate(row, state, leaves, constants)
+
+  override def rewrite(f: Expression => Expression): Expression = original.rewrite(f)
+
+  override def arguments: Seq[Expression] = Seq(original)
+
+  override def children: Seq[AstNode[_]] = Seq(original)
+
+  override def toString: String = s"Compiled($original)"
+}
+
+/**
+ * Same as [[CompiledCommandExpression]], for expressions that need to be used as a predicate.
+ */
+case class CompiledCommandPredicate(compiled: CompiledExpression,
+                                    leaves: Array[Expression],
+                                    constants: Array[AnyValue],
+                                    original: Predicate) extends Predicate {
+
+  override def apply(row: ReadableRow, state: QueryState): Value =
+    compiled.evaluate(row, state, leaves, constants).asInstanceOf[Value]
+
+  override def isMatch(ctx: ReadableRow, state: QueryState): Option[Boolean] = {
+    val result = apply(ctx, state)
+    if (result eq Values.TRUE) Some(true)
+    else if (result eq Values.FALSE) Some(false)
+    else None
+  }
+
+  override def containsIsNull: Boolean = original.containsIsNull
+
+  override def rewrite(f: Expression => Expression): Expression = original.rewrite(f)
+
+  override def arguments: Seq[Expression] = Seq(original)
+
+  override def children: Seq[AstNode[_]] = Seq(original)
+
+  override def toString: String = s"Compiled($original)"
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.compiled;
+
+import org.neo4j.cypher.operations.CypherFunctions;
+import org.neo4j.cypher.operations.CypherMath;
+import org.neo4j.util.CalledFromGeneratedCode;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.neo4j.values.storable.Values.NO_VALUE;
+
+/**
+ * Static entry points called by classes generated by {@link ExpressionCompiler}.
+ * <p>
+ * Each method has exactly the null semantics of the corresponding interpreted command, so that a compiled
+ * expression tree can be built from plain nested static calls.
+ */
+public final class CompiledExpressionHelpers
+{
+    private CompiledExpressionHelpers()
+    {
+        throw new UnsupportedOperationException( "do not instantiate" );
+    }
+
+    @CalledFromGeneratedCode
+    public static Value equals( AnyValue lhs, AnyValue rhs )
+    {
+        switch ( lhs.ternaryEquals( rhs ) )
+        {
+        case TRUE:
+            return Values.TRUE;
+        case FALSE:
+            return Values.FALSE;
+        default:
+            return NO_VALUE;
+        }
+    }
+
+    @CalledFromGeneratedCode
+    public static Value not( AnyValue in )
+    {
+        if ( in == NO_VALUE )
+        {
+            return NO_VALUE;
+        }
+        return in == Values.TRUE ? Values.FALSE : Values.TRUE;
+    }
+
+    @CalledFromGeneratedCode
+    public static Value isNull( AnyValue in )
+    {
+        return Values.booleanValue( in == NO_VALUE );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue add( AnyValue lhs, AnyValue rhs )
+    {
+        return lhs == NO_VALUE || rhs == NO_VALUE ? NO_VALUE : CypherMath.add( lhs, rhs );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue subtract( AnyValue lhs, AnyValue rhs )
+    {
+        return lhs == NO_VALUE || rhs == NO_VALUE ? NO_VALUE : CypherMath.subtract( lhs, rhs );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue multiply( AnyValue lhs, AnyValue rhs )
+    {
+        return lhs == NO_VALUE || rhs == NO_VALUE ? NO_VALUE : CypherMath.multiply( lhs, rhs );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue divide( AnyValue lhs, AnyValue rhs )
+    {
+        return CypherMath.divideCheckForNull( lhs, rhs ) ? NO_VALUE : CypherMath.divide( lhs, rhs );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue modulo( AnyValue lhs, AnyValue rhs )
+    {
+        return lhs == NO_VALUE || rhs == NO_VALUE ? NO_VALUE : CypherMath.modulo( lhs, rhs );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue pow( AnyValue lhs, AnyValue rhs )
+    {
+        return lhs == NO_VALUE || rhs == NO_VALUE ? NO_VALUE : CypherMath.pow( lhs, rhs );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue abs( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.abs( in );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue toLower( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.toLower( in );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue toUpper( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.toUpper( in );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue trim( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.trim( in );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue ltrim( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.ltrim( in );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue rtrim( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.rtrim( in );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue toFloat( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.toFloat( in );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue toInteger( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.toInteger( in );
+    }
+
+    @CalledFromGeneratedCode
+    public static AnyValue toBoolean( AnyValue in )
+    {
+        return in == NO_VALUE ? NO_VALUE : CypherFunctions.toBoolean( in );
+    }
+}
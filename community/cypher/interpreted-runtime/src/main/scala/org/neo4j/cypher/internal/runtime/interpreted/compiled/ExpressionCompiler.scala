@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.compiled
+
+import java.util.concurrent.atomic.AtomicLong
+
+import org.neo4j.codegen.CodeBlock
+import org.neo4j.codegen.CodeGenerator.generateCode
+import org.neo4j.codegen.Expression.arrayLoad
+import org.neo4j.codegen.Expression.constantInt
+import org.neo4j.codegen.Expression.getStatic
+import org.neo4j.codegen.Expression.invoke
+import org.neo4j.codegen.FieldReference.staticField
+import org.neo4j.codegen.MethodReference.methodReference
+import org.neo4j.codegen.Parameter.param
+import org.neo4j.codegen.bytecode.ByteCode.BYTECODE
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.AbsFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Add
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Divide
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.LTrimFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Modulo
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Multiply
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Null
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Pow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.RTrimFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Subtract
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ToBooleanFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ToFloatFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ToIntegerFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ToLowerFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ToUpperFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.TrimFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Equals
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThanOrEqual
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsNull
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThanOrEqual
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Not
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ors
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.True
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.operations.CypherBoolean
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.BooleanValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+
+import scala.collection.mutable.ArrayBuffer
+import scala.util.control.NonFatal
+
+/**
+ * Turns trees of command expressions into generated classes implementing [[CompiledExpression]].
+ *
+ * Operators, comparisons and simple functions are compiled into direct static calls on [[CypherBoolean]] and
+ * [[CompiledExpressionHelpers]], which removes the virtual `Expression.apply` dispatch for every node of the tree.
+ * Any sub-expression that is not supported is kept as an interpreted leaf. Boolean connectives are not compiled
+ * themselves, since their short-circuit and error deferral semantics live in
+ * [[org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.CompositeBooleanPredicate]]; their operands
+ * are compiled one by one instead.
+ *
+ * If code generation fails for any reason, the interpreted expression is returned unchanged.
+ */
+object ExpressionCompiler {
+
+  private val PACKAGE = "org.neo4j.cypher.internal.runtime.interpreted.compiled.generated"
+  private val CLASS_COUNTER = new AtomicLong()
+
+  private val APPLY = methodReference(classOf[Expression], classOf[AnyValue], "apply", classOf[ReadableRow], classOf[QueryState])
+  private val NO_VALUE = getStatic(staticField(classOf[Values], classOf[Value], "NO_VALUE"))
+  private val TRUE = getStatic(staticField(classOf[Values], classOf[BooleanValue], "TRUE"))
+
+  def compile(expression: Expression): Expression = expression match {
+    case predicate: Predicate => compilePredicate(predicate)
+    case e if isCompilable(e) => generate(e).map {
+      case (compiled, leaves, constants) => CompiledCommandExpression(compiled, leaves, constants, e)
+    }.getOrElse(e)
+    case e => e
+  }
+
+  def compilePredicate(predicate: Predicate): Predicate = predicate match {
+    case Ands(predicates) => Ands(predicates.map(compilePredicate))
+    case Ors(predicates) => Ors(predicates.map(compilePredicate))
+    case p if isCompilable(p) => generate(p).map {
+      case (compiled, leaves, constants) => CompiledCommandPredicate(compiled, leaves, constants, p)
+    }.getOrElse(p)
+    case p => p
+  }
+
+  private def isCompilable(expression: Expression): Boolean = expression match {
+    case _: Not | _: Equals | _: LessThan | _: LessThanOrEqual | _: GreaterThan | _: GreaterThanOrEqual | _: IsNull => true
+    case _: Add | _: Subtract | _: Multiply | _: Divide | _: Modulo | _: Pow => true
+    case _: AbsFunction | _: ToLowerFunction | _: ToUpperFunction | _: TrimFunction | _: LTrimFunction | _: RTrimFunction => true
+    case _: ToFloatFunction | _: ToIntegerFunction | _: ToBooleanFunction => true
+    case _ => false
+  }
+
+  private def generate(expression: Expression): Option[(CompiledExpression, Array[Expression], Array[AnyValue])] =
+    try {
+      val generator = generateCode(classOf[CompiledExpression].getClassLoader, BYTECODE)
+      val classGenerator = generator.generateClass(PACKAGE, "CompiledExpression" + CLASS_COUNTER.incrementAndGet(), classOf[CompiledExpression])
+      val leaves = new ArrayBuffer[Expression]()
+      val constants = new ArrayBuffer[AnyValue]()
+      try {
+        val method = classGenerator.generateMethod(classOf[AnyValue], "evaluate",
+          param(classOf[ReadableRow], "row"),
+          param(classOf[QueryState], "state"),
+          param(classOf[Array[Expression]], "leaves"),
+          param(classOf[Array[AnyValue]], "constants"))
+        try {
+          method.returns(new TreeCompiler(method, leaves, constants).compile(expression))
+        } finally {
+          method.close()
+        }
+      } finally {
+        classGenerator.close()
+      }
+      val compiled = classGenerator.handle().loadClass().getConstructor().newInstance().asInstanceOf[CompiledExpression]
+      Some((compiled, leaves.toArray, constants.toArray))
+    } catch {
+      case NonFatal(_) => None
+    }
+
+  private class TreeCompiler(method: CodeBlock, leaves: ArrayBuffer[Expression], constants: ArrayBuffer[AnyValue]) {
+
+    def compile(expression: Expression): org.neo4j.codegen.Expression = expression match {
+      case Literal(value) =>
+        constants += value
+        arrayLoad(method.load("constants"), constantInt(constants.size - 1))
+      case Null() => NO_VALUE
+      case True() => TRUE
+
+      case Not(a) => helper("not", a)
+      case Equals(a, b) => helper("equals", a, b)
+      case IsNull(a) => helper("isNull", a)
+      case LessThan(a, b) => cypherBoolean("lessThan", a, b)
+      case LessThanOrEqual(a, b) => cypherBoolean("lessThanOrEqual", a, b)
+      case GreaterThan(a, b) => cypherBoolean("greaterThan", a, b)
+      case GreaterThanOrEqual(a, b) => cypherBoolean("greaterThanOrEqual", a, b)
+
+      case Add(a, b) => helper("add", a, b)
+      case Subtract(a, b) => helper("subtract", a, b)
+      case Multiply(a, b) => helper("multiply", a, b)
+      case Divide(a, b) => helper("divide", a, b)
+      case Modulo(a, b) => helper("modulo", a, b)
+      case Pow(a, b) => helper("pow", a, b)
+
+      case AbsFunction(a) => helper("abs", a)
+      case ToLowerFunction(a) => helper("toLower", a)
+      case ToUpperFunction(a) => helper("toUpper", a)
+      case TrimFunction(a) => helper("trim", a)
+      case LTrimFunction(a) => helper("ltrim", a)
+      case RTrimFunction(a) => helper("rtrim", a)
+      case ToFloatFunction(a) => helper("toFloat", a)
+      case ToIntegerFunction(a) => helper("toInteger", a)
+      case ToBooleanFunction(a) => helper("toBoolean", a)
+
+      case leaf =>
+        leaves += leaf
+        invoke(arrayLoad(method.load("leaves"), constantInt(leaves.size - 1)), APPLY, method.load("row"), method.load("state"))
+    }
+
+    private def helper(name: String, arguments: Expression*): org.neo4j.codegen.Expression =
+      call(classOf[CompiledExpressionHelpers], name, arguments)
+
+    private def cypherBoolean(name: String, arguments: Expression*): org.neo4j.codegen.Expression =
+      call(classOf[CypherBoolean], name, arguments)
+
+    private def call(owner: Class[_], name: String, arguments: Seq[Expression]): org.neo4j.codegen.Expression = {
+      val parameterTypes = arguments.map(_ => classOf[AnyValue])
+      val target = owner.getMethod(name, parameterTypes: _*)
+      // arguments are compiled in order, which keeps the interpreted evaluation order of operands
+      val compiledArguments = arguments.map(compile)
+      invoke(methodReference(target), compiledArguments: _*)
+    }
+  }
+}
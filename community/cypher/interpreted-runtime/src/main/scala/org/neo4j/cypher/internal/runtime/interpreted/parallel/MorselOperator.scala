@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.parallel
+
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.InterpretedCommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.values.storable.Values
+
+/**
+ * A streaming operator applied by a worker to every row of a morsel, between the scan and the partial aggregation.
+ */
+sealed trait MorselOperator {
+
+  /**
+   * @return `true` if the row should be passed on to the next operator, `false` if it should be dropped
+   */
+  def apply(row: CypherRow, state: QueryState): Boolean
+
+  /**
+   * @return the expressions evaluated by this operator
+   */
+  def expressions: Seq[Expression]
+}
+
+case class FilterOperator(predicate: Expression) extends MorselOperator {
+  override def apply(row: CypherRow, state: QueryState): Boolean = predicate(row, state) eq Values.TRUE
+
+  override def expressions: Seq[Expression] = Seq(predicate)
+}
+
+case class ProjectOperator(projection: InterpretedCommandProjection) extends MorselOperator {
+  override def apply(row: CypherRow, state: QueryState): Boolean = {
+    projection.project(row, state)
+    true
+  }
+
+  override def expressions: Seq[Expression] = projection.expressions.values.toSeq
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.parallel
+
+import java.util
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.FutureTask
+import java.util.concurrent.atomic.AtomicBoolean
+
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.ExpressionCursors
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregatingCol
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregationTableFactory
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.DistinctPipe.GroupingCol
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.aggregation.AggregationFunction
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.graphdb.TransactionTerminatedException
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer
+import org.neo4j.memory.EmptyMemoryTracker
+import org.neo4j.values.AnyValue
+import org.neo4j.values.virtual.VirtualValues
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Morsel-driven parallel execution of a read-only `scan -> (filter | projection)* -> aggregation` pipeline.
+ *
+ * The scan is split into morsels of `morselSize` nodes. Every worker repeatedly reserves a morsel, runs the
+ * operators over its rows and aggregates them into a worker-local table, using the partial aggregations. Once the
+ * scan is exhausted the partial results of all workers are merged, on the calling thread, by the table obtained from
+ * `mergeTableFactory`.
+ *
+ * The calling thread takes part as one of the workers, and also runs any worker task the executor has not started
+ * yet, so the query makes progress even if the executor is busy.
+ *
+ * Workers only get their own cursors and caches, the query context is shared. [[ParallelPipeMapper]] only creates this
+ * pipe for operators and expressions that are safe to run concurrently on a shared query context.
+ *
+ * When the pipe is run under a decorator (profiling, LOAD CSV), on the RHS of an apply or in a transaction that has
+ * changes of its own, it falls back to the `serial` pipe.
+ *
+ * @param scan                the partitioned leaf scan
+ * @param operators           the operators applied to every scanned row, in order
+ * @param groupingColumns     the grouping columns of the aggregation
+ * @param partialAggregations the aggregations computed by every worker
+ * @param mergeTableFactory   the table merging the partial results of all workers
+ * @param serial              the original, single-threaded pipeline
+ * @param executor            the executor running the workers
+ * @param parallelism         the number of workers, including the calling thread
+ * @param morselSize          the number of nodes reserved from the scan at a time
+ */
+case class ParallelAggregationPipe(scan: PartitionedNodeScan,
+                                   operators: Array[MorselOperator],
+                                   groupingColumns: Array[GroupingCol],
+                                   partialAggregations: Array[AggregatingCol],
+                                   mergeTableFactory: AggregationTableFactory,
+                                   serial: Pipe,
+                                   executor: Executor,
+                                   parallelism: Int,
+                                   morselSize: Int)
+                                  (val id: Id = Id.INVALID_ID) extends Pipe {
+
+  private[this] val groupingFunction = AggregationPipe.computeGroupingFunction(groupingColumns)
+  private[this] val addKeys = AggregationPipe.computeAddKeysToResultRowFunction(groupingColumns)
+  private[this] val newAggregators = AggregationPipe.computeNewAggregatorsFunction[AnyValue](partialAggregations.map(_.expression))
+
+  override def createResults(state: QueryState): ClosingIterator[CypherRow] =
+    if (runSerially(state)) serial.createResults(state) else super.createResults(state)
+
+  private def runSerially(state: QueryState): Boolean =
+    state.initialContext.isDefined ||
+      (state.decorator ne NullPipeDecorator) ||
+      state.query.transactionalContext.dataRead.transactionStateHasChanges
+
+  protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] = {
+    val table = mergeTableFactory.table(state, rowFactory, id)
+    table.clear()
+    scan.scan(state).foreach { morselScan =>
+      val partials = runWorkers(state, morselScan)
+      var i = 0
+      while (i < partials.length) {
+        partials(i).foreach(table.processRow)
+        i += 1
+      }
+    }
+    table.result()
+  }
+
+  private def runWorkers(state: QueryState, morselScan: MorselScan): Array[Seq[CypherRow]] = {
+    val failed = new AtomicBoolean(false)
+    val tasks = Array.fill(parallelism)(new FutureTask[Seq[CypherRow]](() => {
+      try {
+        work(state, morselScan, failed)
+      } catch {
+        case t: Throwable =>
+          failed.set(true)
+          throw t
+      }
+    }))
+
+    var i = 1
+    while (i < tasks.length) {
+      executor.execute(tasks(i))
+      i += 1
+    }
+
+    // A FutureTask runs at most once, so running a task here that a worker thread has already picked up is a no-op.
+    val partials = new Array[Seq[CypherRow]](tasks.length)
+    var error: Throwable = null
+    i = 0
+    while (i < tasks.length) {
+      tasks(i).run()
+      try {
+        partials(i) = tasks(i).get()
+      } catch {
+        case e: ExecutionException =>
+          if (error == null) error = e.getCause else if (error ne e.getCause) error.addSuppressed(e.getCause)
+      }
+      i += 1
+    }
+    if (error != null) {
+      throw error
+    }
+    partials
+  }
+
+  private def work(state: QueryState, morselScan: MorselScan, failed: AtomicBoolean): Seq[CypherRow] = {
+    val transactionalContext = state.query.transactionalContext
+    val workerState = state.forWorker(new ExpressionCursors(transactionalContext.cursors, PageCursorTracer.NULL, EmptyMemoryTracker.INSTANCE))
+    val cursor = morselScan.cursor(transactionalContext.cursors)
+    val partials = new util.HashMap[AnyValue, Array[AggregationFunction]]()
+    if (groupingColumns.isEmpty) {
+      // Every worker reports a partial result, so that the merged result is defined even if no rows were scanned
+      partials.put(null, newAggregators.value(null, EmptyMemoryTracker.INSTANCE))
+    }
+    try {
+      while (!failed.get() && cursor.nextMorsel(morselSize)) {
+        if (transactionalContext.transaction.isTerminated) {
+          throw new TransactionTerminatedException(transactionalContext.transaction.getReasonIfTerminated.get())
+        }
+        while (cursor.next()) {
+          val row = workerState.newRow(rowFactory)
+          // A plain reference, so that the node is never loaded through the transaction shared with the other workers
+          row.set(scan.ident, VirtualValues.node(cursor.nodeReference))
+          if (applyOperators(row, workerState)) {
+            val groupingValue = groupingFunction(row, workerState)
+            var functions = partials.get(groupingValue)
+            if (functions == null) {
+              functions = newAggregators.value(groupingValue, EmptyMemoryTracker.INSTANCE)
+              partials.put(groupingValue, functions)
+            }
+            var i = 0
+            while (i < functions.length) {
+              functions(i)(row, workerState)
+              i += 1
+            }
+          }
+        }
+      }
+      partialResults(partials, workerState)
+    } finally {
+      cursor.close()
+      workerState.close()
+    }
+  }
+
+  private def applyOperators(row: CypherRow, workerState: QueryState): Boolean = {
+    var i = 0
+    while (i < operators.length) {
+      if (!operators(i)(row, workerState)) {
+        return false
+      }
+      i += 1
+    }
+    true
+  }
+
+  private def partialResults(partials: util.HashMap[AnyValue, Array[AggregationFunction]], workerState: QueryState): Seq[CypherRow] = {
+    val rows = new ArrayBuffer[CypherRow](partials.size())
+    partials.forEach { (groupingValue, functions) =>
+      val row = rowFactory.newRow()
+      addKeys(row, groupingValue)
+      var i = 0
+      while (i < functions.length) {
+        row.set(partialAggregations(i).key, functions(i).result(workerState))
+        i += 1
+      }
+      rows += row
+    }
+    rows
+  }
+}
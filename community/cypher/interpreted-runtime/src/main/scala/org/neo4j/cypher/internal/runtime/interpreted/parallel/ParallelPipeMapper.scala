@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.parallel
+
+import java.util.concurrent.Executor
+
+import org.neo4j.cypher.internal.logical.plans.IndexOrderNone
+import org.neo4j.cypher.internal.logical.plans.LogicalPlan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.InterpretedCommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Add
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.CoalesceFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Count
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.CountStar
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Divide
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Max
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Min
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Modulo
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Multiply
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Null
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ParameterFromSlot
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Property
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Subtract
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Sum
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Variable
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.And
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.CoercedPredicate
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Equals
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThanOrEqual
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.HasLabel
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsNull
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThanOrEqual
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Not
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Or
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ors
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.PropertyExists
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.True
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Xor
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregatingCol
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregationTableFactory
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AllNodesScanPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.DistinctPipe.GroupingCol
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.EagerAggregationPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.FilterPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NodeByLabelScanPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeMapper
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ProjectionPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.aggregation.GroupingAggTable
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.aggregation.NonGroupingAggTable
+
+import scala.annotation.tailrec
+
+/**
+ * Decorates a [[PipeMapper]] so that eager aggregations over a node scan, possibly followed by filters and
+ * projections, are executed in parallel by a [[ParallelAggregationPipe]]. All other pipes are left as created by
+ * the inner mapper.
+ *
+ * Workers share the query context of the transaction, which is not thread-safe. A pipeline is therefore only run in
+ * parallel if all of its expressions are known to use nothing but the row, parameters and, for the scanned node, the
+ * kernel read operations with the cursors of the worker. See [[isWorkerSafe]].
+ */
+case class ParallelPipeMapper(inner: PipeMapper, executor: Executor, parallelism: Int, morselSize: Int) extends PipeMapper {
+
+  override def onLeaf(plan: LogicalPlan): Pipe = inner.onLeaf(plan)
+
+  override def onOneChildPlan(plan: LogicalPlan, source: Pipe): Pipe = inner.onOneChildPlan(plan, source) match {
+    case pipe@EagerAggregationPipe(input, tableFactory) => parallelize(pipe, input, tableFactory).getOrElse(pipe)
+    case pipe => pipe
+  }
+
+  override def onTwoChildPlan(plan: LogicalPlan, lhs: Pipe, rhs: Pipe): Pipe = inner.onTwoChildPlan(plan, lhs, rhs)
+
+  private def parallelize(aggregation: EagerAggregationPipe,
+                          input: Pipe,
+                          tableFactory: AggregationTableFactory): Option[ParallelAggregationPipe] = {
+    val columns = tableFactory match {
+      case NonGroupingAggTable.Factory(aggregations) => Some((Array.empty[GroupingCol], aggregations))
+      case GroupingAggTable.Factory(groupingColumns, _, aggregations) => Some((groupingColumns, aggregations))
+      case _ => None
+    }
+    for {
+      (groupingColumns, aggregations) <- columns
+      (scan, operators) <- pipeline(input, Nil)
+      split = aggregations.map(col => PartialAggregation.split(col.expression, Variable(col.key)))
+      expressions = operators.flatMap(_.expressions) ++ groupingColumns.map(_.expression) ++ aggregations.map(_.expression)
+      if split.forall(_.isDefined) && expressions.forall(isWorkerSafe(_, scan.ident))
+    } yield {
+      val partialAggregations = aggregations.zip(split).map { case (col, parts) => AggregatingCol(col.key, parts.get._1) }
+      val mergeAggregations = aggregations.zip(split).map { case (col, parts) => AggregatingCol(col.key, parts.get._2) }
+      val mergeTableFactory =
+        if (groupingColumns.isEmpty) {
+          NonGroupingAggTable.Factory(mergeAggregations)
+        } else {
+          val mergeGroupingColumns = groupingColumns.map(col => GroupingCol(col.key, Variable(col.key)))
+          GroupingAggTable.Factory(mergeGroupingColumns, AggregationPipe.computeGroupingFunction(mergeGroupingColumns), mergeAggregations)
+        }
+      ParallelAggregationPipe(scan, operators.toArray, groupingColumns, partialAggregations, mergeTableFactory,
+        aggregation, executor, parallelism, morselSize)(aggregation.id)
+    }
+  }
+
+  @tailrec
+  private def pipeline(pipe: Pipe, operators: List[MorselOperator]): Option[(PartitionedNodeScan, List[MorselOperator])] = pipe match {
+    case FilterPipe(source, predicate) =>
+      pipeline(source, FilterOperator(predicate) :: operators)
+    case ProjectionPipe(source, projection: InterpretedCommandProjection) =>
+      pipeline(source, ProjectOperator(projection) :: operators)
+    case AllNodesScanPipe(ident) =>
+      Some((AllNodesPartitionedScan(ident), operators))
+    case NodeByLabelScanPipe(ident, label, IndexOrderNone) =>
+      Some((NodeByLabelPartitionedScan(ident, label), operators))
+    case _ =>
+      None
+  }
+
+  /**
+   * Whether a worker can evaluate the expression concurrently with other workers. Only a fixed set of expressions,
+   * which read the row, literals and parameters, qualifies. The scanned node may only be used for reading its
+   * properties and labels, which go through the kernel [[org.neo4j.internal.kernel.api.Read]] with the cursors of the
+   * worker, or be counted. It must never escape into a projected, grouped or aggregated value, where it could later be
+   * used through the shared transaction.
+   */
+  private def isWorkerSafe(expression: Expression, scanIdent: String): Boolean = expression match {
+    case Property(Variable(name), _) if name == scanIdent => true
+    case PropertyExists(Variable(name), _) if name == scanIdent => true
+    case HasLabel(Variable(name), _) if name == scanIdent => true
+    case Count(Variable(name)) if name == scanIdent => true
+    case Variable(name) => name != scanIdent
+    case _: Literal | _: Null | _: ParameterFromSlot | _: True | _: CountStar => true
+    case _: Property | _: PropertyExists | _: HasLabel |
+         _: Add | _: Subtract | _: Multiply | _: Divide | _: Modulo | _: CoalesceFunction |
+         _: Equals | _: LessThan | _: LessThanOrEqual | _: GreaterThan | _: GreaterThanOrEqual |
+         _: Not | _: And | _: Ands | _: Or | _: Ors | _: Xor | _: IsNull | _: CoercedPredicate |
+         _: Count | _: Sum | _: Min | _: Max =>
+      expression.arguments.forall(isWorkerSafe(_, scanIdent))
+    case _ => false
+  }
+}
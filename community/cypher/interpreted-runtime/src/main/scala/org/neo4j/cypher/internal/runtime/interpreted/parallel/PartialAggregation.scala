@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.parallel
+
+import org.neo4j.cypher.internal.runtime.interpreted.commands.AstNode
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.AggregationExpression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.AggregationWithInnerExpression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Count
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.CountStar
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Max
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Min
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Sum
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.aggregation.AggregationFunction
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.aggregation.SumFunction
+import org.neo4j.cypher.internal.util.symbols.CTNumber
+import org.neo4j.cypher.internal.util.symbols.CypherType
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Values
+
+/**
+ * Splits an aggregation into a partial aggregation, computed by every worker over its own share of the input rows,
+ * and a merging aggregation, which combines the partial results of all workers into the final result.
+ */
+object PartialAggregation {
+
+  /**
+   * @param aggregation the aggregation to split
+   * @param partialResult expression reading the partial result of one worker
+   * @return the partial and merging aggregations, or `None` if the aggregation cannot be computed in parts
+   */
+  def split(aggregation: AggregationExpression, partialResult: Expression): Option[(AggregationExpression, AggregationExpression)] =
+    aggregation match {
+      case _: CountStar | _: Count => Some((aggregation, Sum(partialResult)))
+      case Sum(inner) => Some((PartialSum(inner), Sum(partialResult)))
+      case _: Min => Some((aggregation, Min(partialResult)))
+      case _: Max => Some((aggregation, Max(partialResult)))
+      case _ => None
+    }
+}
+
+/**
+ * Like [[Sum]], but yields null instead of zero when no values were aggregated. Merging then does not mix the
+ * zero of an empty partial sum with durations summed by other workers.
+ */
+case class PartialSum(anInner: Expression) extends AggregationWithInnerExpression(anInner) {
+  override def createAggregationFunction(memoryTracker: MemoryTracker): AggregationFunction = new PartialSumFunction(anInner)
+
+  override def expectedInnerType: CypherType = CTNumber
+
+  override def rewrite(f: Expression => Expression): Expression = f(PartialSum(anInner.rewrite(f)))
+
+  override def children: Seq[AstNode[_]] = Seq(anInner)
+}
+
+class PartialSumFunction(inner: Expression) extends SumFunction(inner) {
+
+  override def result(state: QueryState): AnyValue =
+    if (aggregatingType.isEmpty) Values.NO_VALUE else super.result(state)
+}
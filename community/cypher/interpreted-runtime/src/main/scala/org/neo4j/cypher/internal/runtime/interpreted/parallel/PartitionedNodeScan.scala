@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.parallel
+
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyLabel
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyLabel.UNKNOWN
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.internal.kernel.api.Cursor
+import org.neo4j.internal.kernel.api.CursorFactory
+import org.neo4j.internal.kernel.api.NodeCursor
+import org.neo4j.internal.kernel.api.NodeLabelIndexCursor
+import org.neo4j.internal.kernel.api.Scan
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer
+
+/**
+ * A node scan that can be split into morsels and consumed by several workers concurrently.
+ */
+sealed trait PartitionedNodeScan {
+
+  /**
+   * The variable the scanned nodes are bound to.
+   */
+  def ident: String
+
+  /**
+   * @return the scan to share among all workers, or `None` if the scan cannot produce any nodes.
+   */
+  def scan(state: QueryState): Option[MorselScan]
+}
+
+case class AllNodesPartitionedScan(ident: String) extends PartitionedNodeScan {
+
+  override def scan(state: QueryState): Option[MorselScan] =
+    Some(new KernelMorselScan[NodeCursor](
+      state.query.transactionalContext.dataRead.allNodesScan(),
+      _.allocateNodeCursor(PageCursorTracer.NULL),
+      _.nodeReference()))
+}
+
+case class NodeByLabelPartitionedScan(ident: String, label: LazyLabel) extends PartitionedNodeScan {
+
+  override def scan(state: QueryState): Option[MorselScan] = {
+    val labelId = label.getId(state.query)
+    if (labelId == UNKNOWN) {
+      None
+    } else {
+      Some(new KernelMorselScan[NodeLabelIndexCursor](
+        state.query.transactionalContext.dataRead.nodeLabelScan(labelId),
+        _.allocateNodeLabelIndexCursor(PageCursorTracer.NULL),
+        _.nodeReference()))
+    }
+  }
+}
+
+/**
+ * A scan shared among workers. Every worker reads through its own cursor, obtained from [[cursor]].
+ */
+trait MorselScan {
+  def cursor(cursors: CursorFactory): MorselCursor
+}
+
+class KernelMorselScan[C <: Cursor](scan: Scan[C], allocate: CursorFactory => C, reference: C => Long) extends MorselScan {
+
+  override def cursor(cursors: CursorFactory): MorselCursor = new MorselCursor {
+    private[this] val cursor = allocate(cursors)
+
+    override def nextMorsel(morselSize: Int): Boolean = scan.reserveBatch(cursor, morselSize)
+
+    override def next(): Boolean = cursor.next()
+
+    override def nodeReference: Long = reference(cursor)
+
+    override def close(): Unit = cursor.close()
+  }
+}
+
+/**
+ * Worker-local cursor over a [[MorselScan]]. A call to `nextMorsel` reserves the next morsel, which is then consumed
+ * by calling `next` until it returns false.
+ */
+trait MorselCursor extends AutoCloseable {
+  def nextMorsel(morselSize: Int): Boolean
+
+  def next(): Boolean
+
+  def nodeReference: Long
+
+  override def close(): Unit
+}
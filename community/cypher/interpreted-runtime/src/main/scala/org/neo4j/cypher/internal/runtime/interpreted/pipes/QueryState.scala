@@ -24,6 +24,7 @@ import org.neo4j.cypher.internal.runtime.ExpressionCursors
 import org.neo4j.cypher.internal.runtime.InputDataStream
 import org.neo4j.cypher.internal.runtime.MapCypherRow
 import org.neo4j.cypher.internal.runtime.NoInput
+import org.neo4j.cypher.internal.runtime.NoOpQueryMemoryTracker
 import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.QueryMemoryTracker
 import org.neo4j.cypher.internal.runtime.QueryStatistics
@@ -91,6 +92,14 @@ class QueryState(val query: QueryContext,
     new QueryState(query, resources, params, cursors, queryIndexes, expressionVariables, subscriber, memoryTracker, decorator, initialContext,
       cachedIn, lenientCreateRelationship, prePopulateResults, input)
 
+  /**
+   * Creates a state to be used by a worker thread. The worker gets its own cursors, caches and expression variables,
+   * and does not track memory, since memory trackers must not be shared between threads.
+   */
+  def forWorker(workerCursors: ExpressionCursors): QueryState =
+    new QueryState(query, resources, params, workerCursors, queryIndexes, expressionVariables.clone(), subscriber, NoOpQueryMemoryTracker, decorator,
+      initialContext, new SingleThreadedLRUCache(maxSize = 16), lenientCreateRelationship, prePopulateResults, input)
+
   def setExecutionContextFactory(rowFactory: CypherRowFactory): Unit = {
     _rowFactory = rowFactory
   }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.slotted
+
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.AstNode
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.VariableCommand
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.graphdb.NotFoundException
+import org.neo4j.values.AnyValue
+
+/**
+ * Reads a variable from the slot it was assigned at plan time, without looking up its name.
+ */
+case class ReferenceFromSlot(offset: Int, name: String) extends VariableCommand(name) {
+
+  override def apply(row: ReadableRow, state: QueryState): AnyValue = {
+    val value = row.getRefAt(offset)
+    if (value == null) {
+      throw new NotFoundException(s"Unknown variable `$name`.")
+    }
+    value
+  }
+
+  override def children: Seq[AstNode[_]] = Seq.empty
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.slotted
+
+import org.neo4j.cypher.internal.expressions.ASTCachedProperty
+
+import scala.collection.mutable
+
+object SlotConfiguration {
+  final val NOT_ALLOCATED = -1
+
+  def newBuilder(): Builder = new Builder
+
+  class Builder {
+    private val refs = mutable.LinkedHashMap[String, Int]()
+    private val cachedProperties = mutable.LinkedHashMap[ASTCachedProperty, Int]()
+    private val cachedPropertyEntities = mutable.ArrayBuffer[mutable.Set[String]]()
+
+    def newReference(name: String): Builder = {
+      if (!refs.contains(name)) {
+        refs.put(name, refs.size)
+      }
+      this
+    }
+
+    def newCachedProperty(key: ASTCachedProperty): Builder = {
+      val index = cachedProperties.getOrElseUpdate(key, {
+        cachedPropertyEntities += mutable.Set[String]()
+        cachedPropertyEntities.size - 1
+      })
+      // Keys are equal by original entity name, but a renamed entity can still carry the same cached value
+      cachedPropertyEntities(index) += key.originalEntityName += key.entityName
+      newReference(key.originalEntityName)
+      newReference(key.entityName)
+    }
+
+    def build(): SlotConfiguration = {
+      val nRefs = refs.size
+      val cachedOffsets = cachedProperties.mapValues(_ + nRefs).toMap
+      val entityOffsets = cachedPropertyEntities.map(_.toArray.map(refs)).toArray
+      new SlotConfiguration(refs.toMap, cachedOffsets, entityOffsets)
+    }
+  }
+}
+
+/**
+ * Plan time assignment of variables and cached properties to offsets in the reference array of a [[SlottedRow]].
+ *
+ * Variables occupy the offsets `[0, numberOfReferences)`, cached properties are stored after them. A single
+ * configuration is shared by all rows of a query, so copying a row is a plain array copy.
+ */
+class SlotConfiguration private (refOffsets: Map[String, Int],
+                                 cachedPropertyOffsets: Map[ASTCachedProperty, Int],
+                                 cachedPropertyEntityOffsets: Array[Array[Int]]) {
+
+  val numberOfReferences: Int = refOffsets.size
+
+  val numberOfCachedProperties: Int = cachedPropertyOffsets.size
+
+  /**
+   * Total size of the reference array of a row using this configuration.
+   */
+  val size: Int = numberOfReferences + numberOfCachedProperties
+
+  def refOffset(name: String): Int = refOffsets.getOrElse(name, SlotConfiguration.NOT_ALLOCATED)
+
+  def cachedPropertyOffset(key: ASTCachedProperty): Int = cachedPropertyOffsets.getOrElse(key, SlotConfiguration.NOT_ALLOCATED)
+
+  def variables: Iterable[(String, Int)] = refOffsets
+
+  /**
+   * @return the offsets of all variables that may hold the entity of the cached property at `cachedPropertyOffset`.
+   */
+  def entityOffsetsOfCachedPropertyAt(cachedPropertyOffset: Int): Array[Int] =
+    cachedPropertyEntityOffsets(cachedPropertyOffset - numberOfReferences)
+
+  override def toString: String = s"SlotConfiguration(refs=$refOffsets, cachedProperties=$cachedPropertyOffsets)"
+}
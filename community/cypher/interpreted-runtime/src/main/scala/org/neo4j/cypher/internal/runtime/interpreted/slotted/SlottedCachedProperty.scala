@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.slotted
+
+import org.neo4j.cypher.internal.expressions.ASTCachedProperty
+import org.neo4j.cypher.internal.planner.spi.TokenContext
+import org.neo4j.cypher.internal.runtime.IsNoValue
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.AstNode
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.AbstractCachedNodeProperty
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.AbstractCachedRelationshipProperty
+import org.neo4j.cypher.internal.runtime.interpreted.commands.values.KeyToken
+import org.neo4j.exceptions.CypherTypeException
+import org.neo4j.kernel.api.StatementConstants
+import org.neo4j.values.storable.Value
+import org.neo4j.values.virtual.VirtualNodeValue
+import org.neo4j.values.virtual.VirtualRelationshipValue
+
+case class SlottedCachedNodeProperty(nodeOffset: Int, propertyKey: KeyToken, cachedPropertyOffset: Int, key: ASTCachedProperty)
+  extends AbstractCachedNodeProperty
+{
+  override def toString: String = key.propertyAccessString
+
+  override def getId(ctx: ReadableRow): Long =
+    ctx.getRefAt(nodeOffset) match {
+      case IsNoValue() => StatementConstants.NO_SUCH_NODE
+      case n: VirtualNodeValue => n.id()
+      case other => throw new CypherTypeException(s"Type mismatch: expected a node but was $other")
+    }
+
+  override def getCachedProperty(ctx: ReadableRow): Value = ctx.getCachedPropertyAt(cachedPropertyOffset)
+
+  override def setCachedProperty(ctx: ReadableRow, value: Value): Unit = ctx.setCachedPropertyAt(cachedPropertyOffset, value)
+
+  override def getPropertyKey(tokenContext: TokenContext): Int = propertyKey.getOptId(tokenContext).getOrElse(StatementConstants.NO_SUCH_PROPERTY_KEY)
+
+  override def children: Seq[AstNode[_]] = Seq(propertyKey)
+}
+
+case class SlottedCachedRelationshipProperty(relOffset: Int, propertyKey: KeyToken, cachedPropertyOffset: Int, key: ASTCachedProperty)
+  extends AbstractCachedRelationshipProperty
+{
+  override def toString: String = key.propertyAccessString
+
+  override def getId(ctx: ReadableRow): Long =
+    ctx.getRefAt(relOffset) match {
+      case IsNoValue() => StatementConstants.NO_SUCH_RELATIONSHIP
+      case r: VirtualRelationshipValue => r.id()
+      case other => throw new CypherTypeException(s"Type mismatch: expected a relationship but was $other")
+    }
+
+  override def getCachedProperty(ctx: ReadableRow): Value = ctx.getCachedPropertyAt(cachedPropertyOffset)
+
+  override def setCachedProperty(ctx: ReadableRow, value: Value): Unit = ctx.setCachedPropertyAt(cachedPropertyOffset, value)
+
+  override def getPropertyKey(tokenContext: TokenContext): Int = propertyKey.getOptId(tokenContext).getOrElse(StatementConstants.NO_SUCH_PROPERTY_KEY)
+
+  override def children: Seq[AstNode[_]] = Seq(propertyKey)
+}
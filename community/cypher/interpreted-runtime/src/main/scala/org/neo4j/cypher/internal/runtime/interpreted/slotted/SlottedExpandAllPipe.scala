@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.slotted
+
+import org.neo4j.cypher.internal.expressions.SemanticDirection
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.IsNoValue
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RelationshipTypes
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.exceptions.ParameterWrongTypeException
+import org.neo4j.graphdb.NotFoundException
+import org.neo4j.values.virtual.NodeValue
+
+/**
+ * [[org.neo4j.cypher.internal.runtime.interpreted.pipes.ExpandAllPipe]] which reads and writes its variables
+ * at the offsets assigned by the [[SlotConfiguration]] instead of by name.
+ */
+case class SlottedExpandAllPipe(source: Pipe,
+                                fromName: String,
+                                fromOffset: Int,
+                                relOffset: Int,
+                                toOffset: Int,
+                                dir: SemanticDirection,
+                                types: RelationshipTypes)
+                               (val id: Id = Id.INVALID_ID) extends PipeWithSource(source) {
+
+  protected def internalCreateResults(input: ClosingIterator[CypherRow], state: QueryState): ClosingIterator[CypherRow] = {
+    input.flatMap {
+      row =>
+        row.getRefAt(fromOffset) match {
+          case n: NodeValue =>
+            val relationships = state.query.getRelationshipsForIds(n.id(), dir, types.types(state.query))
+            relationships.map { r =>
+              val other = r.otherNode(n)
+              val outputRow = rowFactory.copyWith(row)
+              outputRow.setRefAt(relOffset, r)
+              outputRow.setRefAt(toOffset, other)
+              outputRow
+            }
+          case IsNoValue() => ClosingIterator.empty
+
+          case null => throw new NotFoundException(s"Unknown variable `$fromName`.")
+
+          case value => throw new ParameterWrongTypeException(s"Expected to find a node at '$fromName' but found $value instead")
+        }
+    }
+  }
+}
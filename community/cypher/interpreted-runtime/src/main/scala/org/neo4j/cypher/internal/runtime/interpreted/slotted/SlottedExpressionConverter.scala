@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.slotted
+
+import org.neo4j.cypher.internal
+import org.neo4j.cypher.internal.expressions.ASTCachedProperty
+import org.neo4j.cypher.internal.expressions.Expression
+import org.neo4j.cypher.internal.expressions.NODE_TYPE
+import org.neo4j.cypher.internal.expressions.PropertyKeyName
+import org.neo4j.cypher.internal.expressions.RELATIONSHIP_TYPE
+import org.neo4j.cypher.internal.planner.spi.TokenContext
+import org.neo4j.cypher.internal.runtime.ast.ExpressionVariable
+import org.neo4j.cypher.internal.runtime.interpreted.CommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.GroupingExpression
+import org.neo4j.cypher.internal.runtime.interpreted.commands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverter
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.runtime.interpreted.commands.values.TokenType.PropertyKey
+import org.neo4j.cypher.internal.runtime.interpreted.slotted.SlotConfiguration.NOT_ALLOCATED
+import org.neo4j.cypher.internal.util.attribution.Id
+
+/**
+ * Converts variable and cached property accesses to direct slot accesses. Everything else is left to the
+ * converters that follow this one.
+ */
+case class SlottedExpressionConverter(slots: SlotConfiguration, tokenContext: TokenContext) extends ExpressionConverter {
+
+  override def toCommandProjection(id: Id, projections: Map[String, Expression],
+                                   self: ExpressionConverters): Option[CommandProjection] = None
+
+  override def toGroupingExpression(id: Id,
+                                    groupings: Map[String, Expression],
+                                    orderToLeverage: Seq[Expression],
+                                    self: ExpressionConverters): Option[GroupingExpression] = None
+
+  override def toCommandExpression(id: Id, expression: Expression,
+                                   self: ExpressionConverters): Option[commands.expressions.Expression] =
+    expression match {
+      case _: ExpressionVariable =>
+        None
+
+      case e: internal.expressions.Variable =>
+        slots.refOffset(e.name) match {
+          case NOT_ALLOCATED => None
+          case offset => Some(ReferenceFromSlot(offset, e.name))
+        }
+
+      case e: ASTCachedProperty =>
+        (slots.refOffset(e.entityName), slots.cachedPropertyOffset(e)) match {
+          case (NOT_ALLOCATED, _) | (_, NOT_ALLOCATED) => None
+          case (entityOffset, cachedPropertyOffset) if e.entityType == NODE_TYPE =>
+            Some(SlottedCachedNodeProperty(entityOffset, getPropertyKey(e.propertyKey), cachedPropertyOffset, e))
+          case (entityOffset, cachedPropertyOffset) if e.entityType == RELATIONSHIP_TYPE =>
+            Some(SlottedCachedRelationshipProperty(entityOffset, getPropertyKey(e.propertyKey), cachedPropertyOffset, e))
+        }
+
+      case _ =>
+        None
+    }
+
+  private def getPropertyKey(propertyKey: PropertyKeyName) = tokenContext.getOptPropertyKeyId(propertyKey.name) match {
+    case Some(propertyKeyId) =>
+      PropertyKey(propertyKey.name, propertyKeyId)
+    case _ =>
+      PropertyKey(propertyKey.name)
+  }
+}
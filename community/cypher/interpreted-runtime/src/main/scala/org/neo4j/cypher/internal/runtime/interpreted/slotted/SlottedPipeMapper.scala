@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.slotted
+
+import org.neo4j.cypher.internal.logical.plans.LogicalPlan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.InterpretedCommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ExpandAllPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeMapper
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ProjectionPipe
+import org.neo4j.cypher.internal.runtime.interpreted.slotted.SlotConfiguration.NOT_ALLOCATED
+
+/**
+ * Decorates a [[PipeMapper]] so that every pipe it creates produces [[SlottedRow]]s.
+ *
+ * A single logical plan may map to several pipes, e.g. [[org.neo4j.cypher.internal.logical.plans.MultiNodeIndexSeek]],
+ * so all pipes reachable from the returned one that do not yet use the slotted row factory are updated as well.
+ *
+ * Pipes on the hot path of most queries, expand and projection, are replaced by variants which read and write
+ * their variables at slot offsets. All other pipes keep using the name based row API.
+ */
+case class SlottedPipeMapper(inner: PipeMapper, slots: SlotConfiguration) extends PipeMapper {
+
+  private val rowFactory = SlottedCypherRowFactory(slots)
+
+  override def onLeaf(plan: LogicalPlan): Pipe =
+    useSlottedRows(inner.onLeaf(plan))
+
+  override def onOneChildPlan(plan: LogicalPlan, source: Pipe): Pipe =
+    useSlottedRows(useSlotOffsets(inner.onOneChildPlan(plan, source)))
+
+  override def onTwoChildPlan(plan: LogicalPlan, lhs: Pipe, rhs: Pipe): Pipe =
+    useSlottedRows(inner.onTwoChildPlan(plan, lhs, rhs))
+
+  private def useSlotOffsets(pipe: Pipe): Pipe = pipe match {
+    case p@ExpandAllPipe(source, fromName, relName, toName, dir, types) if allocated(fromName, relName, toName) =>
+      SlottedExpandAllPipe(source, fromName, slots.refOffset(fromName), slots.refOffset(relName), slots.refOffset(toName), dir, types)(p.id)
+
+    case p@ProjectionPipe(source, InterpretedCommandProjection(expressions)) if allocated(expressions.keys.toSeq: _*) =>
+      ProjectionPipe(source, SlottedCommandProjection(expressions.map {
+        case (name, expression) => slots.refOffset(name) -> expression
+      }))(p.id)
+
+    case _ =>
+      pipe
+  }
+
+  private def allocated(names: String*): Boolean = names.forall(slots.refOffset(_) != NOT_ALLOCATED)
+
+  private def useSlottedRows(pipe: Pipe): Pipe = {
+    if (!(pipe.rowFactory eq rowFactory)) {
+      pipe.rowFactory = rowFactory
+      pipe match {
+        case product: Product =>
+          product.productIterator.foreach {
+            case child: Pipe => useSlottedRows(child)
+            case _ =>
+          }
+        case _ =>
+      }
+    }
+    pipe
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.slotted
+
+import java.util
+
+import org.neo4j.cypher.internal.expressions.ASTCachedProperty
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.EntityById
+import org.neo4j.cypher.internal.runtime.MutableMaps
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.slotted.SlotConfiguration.NOT_ALLOCATED
+import org.neo4j.exceptions.InternalException
+import org.neo4j.graphdb.NotFoundException
+import org.neo4j.memory.HeapEstimator.shallowSizeOfInstance
+import org.neo4j.memory.HeapEstimator.shallowSizeOfObjectArray
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.VirtualNodeValue
+import org.neo4j.values.virtual.VirtualRelationshipValue
+
+import scala.collection.mutable
+
+object SlottedRow {
+  private final val SHALLOW_SIZE = shallowSizeOfInstance(classOf[SlottedRow])
+
+  def apply(slots: SlotConfiguration): SlottedRow = new SlottedRow(slots, new Array[AnyValue](slots.size), null, null)
+}
+
+/**
+ * Array backed row where variables and cached properties live at offsets assigned at plan time by a [[SlotConfiguration]].
+ *
+ * Unset slots are `null`. Names that were not known at plan time are kept in a lazily created overflow map,
+ * so the row supports the whole name based API that interpreted pipes rely on.
+ */
+class SlottedRow(val slots: SlotConfiguration,
+                 private val refs: Array[AnyValue],
+                 private var overflow: mutable.Map[String, AnyValue],
+                 private var overflowCachedProperties: mutable.Map[ASTCachedProperty, Value]) extends CypherRow {
+
+  override def getByName(name: String): AnyValue = {
+    val offset = slots.refOffset(name)
+    val value =
+      if (offset != NOT_ALLOCATED) refs(offset)
+      else if (overflow != null) overflow.getOrElse(name, null)
+      else null
+    if (value == null) {
+      throw new NotFoundException(s"Unknown variable `$name`.")
+    }
+    value
+  }
+
+  override def containsName(name: String): Boolean = {
+    val offset = slots.refOffset(name)
+    if (offset != NOT_ALLOCATED) refs(offset) != null
+    else overflow != null && overflow.contains(name)
+  }
+
+  override def numberOfColumns: Int = {
+    var count = if (overflow == null) 0 else overflow.size
+    var i = 0
+    while (i < slots.numberOfReferences) {
+      if (refs(i) != null) count += 1
+      i += 1
+    }
+    count
+  }
+
+  override def isNull(key: String): Boolean = {
+    val offset = slots.refOffset(key)
+    val value =
+      if (offset != NOT_ALLOCATED) refs(offset)
+      else if (overflow != null) overflow.getOrElse(key, null)
+      else null
+    value eq Values.NO_VALUE
+  }
+
+  override def getRefAt(offset: Int): AnyValue = refs(offset)
+
+  override def setRefAt(offset: Int, value: AnyValue): Unit = refs(offset) = value
+
+  override def getLongAt(offset: Int): Long = fail()
+
+  override def setLongAt(offset: Int, value: Long): Unit = fail()
+
+  override def set(newEntries: Seq[(String, AnyValue)]): Unit =
+    newEntries.foreach {
+      case (key, value) => set(key, value)
+    }
+
+  override def set(key: String, value: AnyValue): Unit = {
+    val offset = slots.refOffset(key)
+    if (offset != NOT_ALLOCATED) {
+      refs(offset) = value
+    } else {
+      if (overflow == null) {
+        overflow = MutableMaps.empty
+      }
+      overflow.put(key, value)
+    }
+  }
+
+  override def set(key1: String, value1: AnyValue, key2: String, value2: AnyValue): Unit = {
+    set(key1, value1)
+    set(key2, value2)
+  }
+
+  override def set(key1: String, value1: AnyValue, key2: String, value2: AnyValue, key3: String, value3: AnyValue): Unit = {
+    set(key1, value1)
+    set(key2, value2)
+    set(key3, value3)
+  }
+
+  override def copyWith(key: String, value: AnyValue): CypherRow = {
+    val copy = createClone()
+    copy.set(key, value)
+    copy
+  }
+
+  override def copyWith(key1: String, value1: AnyValue, key2: String, value2: AnyValue): CypherRow = {
+    val copy = createClone()
+    copy.set(key1, value1, key2, value2)
+    copy
+  }
+
+  override def copyWith(key1: String, value1: AnyValue,
+                        key2: String, value2: AnyValue,
+                        key3: String, value3: AnyValue): CypherRow = {
+    val copy = createClone()
+    copy.set(key1, value1, key2, value2, key3, value3)
+    copy
+  }
+
+  override def copyWith(newEntries: Seq[(String, AnyValue)]): CypherRow = {
+    val copy = createClone()
+    copy.set(newEntries)
+    copy
+  }
+
+  override def createClone(): SlottedRow = {
+    val copy = new SlottedRow(slots,
+      refs.clone(),
+      if (overflow == null) null else overflow.clone(),
+      if (overflowCachedProperties == null) null else overflowCachedProperties.clone())
+    copy.setLinenumber(getLinenumber)
+    copy
+  }
+
+  override def copyAllFrom(input: ReadableRow): Unit = input match {
+    case other: SlottedRow if other.slots eq slots =>
+      System.arraycopy(other.refs, 0, refs, 0, refs.length)
+      overflow = if (other.overflow == null) null else other.overflow.clone()
+      overflowCachedProperties = if (other.overflowCachedProperties == null) null else other.overflowCachedProperties.clone()
+      setLinenumber(other.getLinenumber)
+    case _ => fail()
+  }
+
+  override def copyFrom(input: ReadableRow, nLongs: Int, nRefs: Int): Unit = input match {
+    case other: SlottedRow if nLongs == 0 && nRefs <= refs.length =>
+      System.arraycopy(other.refs, 0, refs, 0, nRefs)
+    case _ => fail()
+  }
+
+  override def copyFromOffset(input: ReadableRow, sourceLongOffset: Int, sourceRefOffset: Int, targetLongOffset: Int, targetRefOffset: Int): Unit = fail()
+
+  override def mergeWith(other: ReadableRow, entityById: EntityById): Unit = other match {
+    case otherRow: SlottedRow if otherRow.slots eq slots =>
+      var i = 0
+      while (i < refs.length) {
+        val value = otherRow.refs(i)
+        if (value != null) {
+          refs(i) = value
+        }
+        i += 1
+      }
+      if (otherRow.overflow != null) {
+        if (overflow == null) overflow = otherRow.overflow.clone() else overflow ++= otherRow.overflow
+      }
+      if (otherRow.overflowCachedProperties != null) {
+        if (overflowCachedProperties == null) overflowCachedProperties = otherRow.overflowCachedProperties.clone()
+        else overflowCachedProperties ++= otherRow.overflowCachedProperties
+      }
+      setLinenumber(otherRow.getLinenumber)
+    case _ => fail()
+  }
+
+  override def setCachedProperty(key: ASTCachedProperty, value: Value): Unit = {
+    val offset = slots.cachedPropertyOffset(key)
+    if (offset != NOT_ALLOCATED) {
+      refs(offset) = value
+    } else {
+      if (overflowCachedProperties == null) {
+        overflowCachedProperties = mutable.Map.empty
+      }
+      overflowCachedProperties.put(key, value)
+    }
+  }
+
+  override def setCachedPropertyAt(offset: Int, value: Value): Unit = refs(offset) = value
+
+  override def getCachedProperty(key: ASTCachedProperty): Value = {
+    val offset = slots.cachedPropertyOffset(key)
+    if (offset != NOT_ALLOCATED) {
+      refs(offset).asInstanceOf[Value]
+    } else if (overflowCachedProperties == null) {
+      null
+    } else {
+      overflowCachedProperties.getOrElse(key, null)
+    }
+  }
+
+  override def getCachedPropertyAt(offset: Int): Value = refs(offset).asInstanceOf[Value]
+
+  override def invalidateCachedNodeProperties(node: Long): Unit =
+    invalidateCachedProperties {
+      case n: VirtualNodeValue => n.id() == node
+      case _ => false
+    }
+
+  override def invalidateCachedRelationshipProperties(rel: Long): Unit =
+    invalidateCachedProperties {
+      case r: VirtualRelationshipValue => r.id() == rel
+      case _ => false
+    }
+
+  private def invalidateCachedProperties(isEntity: AnyValue => Boolean): Unit = {
+    var offset = slots.numberOfReferences
+    while (offset < refs.length) {
+      if (refs(offset) != null && slots.entityOffsetsOfCachedPropertyAt(offset).exists(e => isEntity(refs(e)))) {
+        refs(offset) = null
+      }
+      offset += 1
+    }
+    if (overflowCachedProperties != null) {
+      overflowCachedProperties.keys.filter(cp => isEntity(getByNameOrNull(cp.entityName))).foreach(cp => overflowCachedProperties.put(cp, null))
+    }
+  }
+
+  private def getByNameOrNull(name: String): AnyValue =
+    if (containsName(name)) getByName(name) else null
+
+  private def fail(): Nothing = throw new InternalException("Tried using a slotted row with an incompatible slot layout")
+
+  override def estimatedHeapUsage: Long = {
+    var total = SlottedRow.SHALLOW_SIZE + shallowSizeOfObjectArray(refs.length)
+    var i = 0
+    while (i < refs.length) {
+      val value = refs(i)
+      if (value != null) {
+        total += value.estimatedHeapUsage()
+      }
+      i += 1
+    }
+    if (overflow != null) {
+      overflow.valuesIterator.foreach(value => if (value != null) total += value.estimatedHeapUsage())
+    }
+    if (overflowCachedProperties != null) {
+      overflowCachedProperties.valuesIterator.foreach(value => if (value != null) total += value.estimatedHeapUsage())
+    }
+    total
+  }
+
+  def canEqual(other: Any): Boolean = other.isInstanceOf[SlottedRow]
+
+  override def equals(other: Any): Boolean = other match {
+    case that: SlottedRow =>
+      (that canEqual this) &&
+        util.Arrays.equals(refs.asInstanceOf[Array[AnyRef]], that.refs.asInstanceOf[Array[AnyRef]]) &&
+        overflow == that.overflow
+    case _ => false
+  }
+
+  override def hashCode(): Int = util.Arrays.hashCode(refs.asInstanceOf[Array[AnyRef]])
+
+  override def toString: String = {
+    val variables = slots.variables.collect {
+      case (name, offset) if refs(offset) != null => s"$name=${refs(offset)}"
+    }
+    s"SlottedRow(${variables.mkString(", ")}, overflow=$overflow)"
+  }
+}
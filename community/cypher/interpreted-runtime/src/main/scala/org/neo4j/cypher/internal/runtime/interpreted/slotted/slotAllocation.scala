@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.slotted
+
+import org.neo4j.cypher.internal.expressions.ASTCachedProperty
+import org.neo4j.cypher.internal.expressions.LogicalVariable
+import org.neo4j.cypher.internal.logical.plans.LogicalPlan
+import org.neo4j.cypher.internal.util.Foldable.FoldableAny
+
+/**
+ * Piece of physical planning which assigns every variable and cached property that occurs anywhere in the
+ * logical plan, including nested plans, to a slot of a single [[SlotConfiguration]].
+ *
+ * Interpreted pipes add variables to incoming rows rather than projecting them away, so one configuration that is
+ * the union of all plans is valid for every row of the query.
+ */
+object slotAllocation {
+
+  def allocate(plan: LogicalPlan): SlotConfiguration = {
+    val builder = SlotConfiguration.newBuilder()
+    plan.fold(()) {
+      case p: LogicalPlan =>
+        _ => p.availableSymbols.toSeq.sorted.foreach(builder.newReference)
+      case v: LogicalVariable =>
+        _ => builder.newReference(v.name)
+      case cp: ASTCachedProperty =>
+        _ => builder.newCachedProperty(cp)
+    }
+    builder.build()
+  }
+}
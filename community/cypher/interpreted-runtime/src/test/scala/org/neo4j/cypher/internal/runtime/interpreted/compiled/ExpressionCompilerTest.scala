@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.compiled
+
+import org.mockito.ArgumentMatchers.any
+import org.mockito.Mockito.when
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.LiteralHelper.literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Add
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Divide
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Multiply
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Null
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ToUpperFunction
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Variable
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Equals
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsNull
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Not
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.util.NonEmptyList
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.exceptions.ArithmeticException
+import org.neo4j.values.storable.Values.FALSE
+import org.neo4j.values.storable.Values.NO_VALUE
+import org.neo4j.values.storable.Values.TRUE
+import org.neo4j.values.storable.Values.longValue
+import org.neo4j.values.storable.Values.stringValue
+
+class ExpressionCompilerTest extends CypherFunSuite {
+
+  private val state = QueryStateHelper.empty
+  private val row = CypherRow.from("x" -> longValue(5), "name" -> stringValue("neo"))
+
+  test("should compile arithmetic") {
+    val compiled = ExpressionCompiler.compile(Add(Multiply(Variable("x"), literal(2)), literal(1)))
+
+    compiled shouldBe a[CompiledCommandExpression]
+    compiled(row, state) should equal(longValue(11))
+  }
+
+  test("should keep null semantics of arithmetic") {
+    ExpressionCompiler.compile(Add(literal(1), Null()))(row, state) should equal(NO_VALUE)
+    ExpressionCompiler.compile(Divide(Null(), literal(2)))(row, state) should equal(NO_VALUE)
+  }
+
+  test("should keep division by zero error") {
+    val compiled = ExpressionCompiler.compile(Divide(Null(), literal(0)))
+
+    an[ArithmeticException] should be thrownBy compiled(row, state)
+  }
+
+  test("should compile comparisons over interpreted leaves") {
+    val compiled = ExpressionCompiler.compile(GreaterThan(Variable("x"), literal(3)))
+
+    compiled shouldBe a[CompiledCommandPredicate]
+    compiled(row, state) should equal(TRUE)
+    compiled.asInstanceOf[Predicate].isMatch(row, state) should equal(Some(true))
+  }
+
+  test("should compile ternary equality and negation") {
+    ExpressionCompiler.compile(Equals(Variable("x"), literal(5)))(row, state) should equal(TRUE)
+    ExpressionCompiler.compile(Not(Equals(Variable("x"), literal(5))))(row, state) should equal(FALSE)
+    ExpressionCompiler.compile(Not(Equals(Variable("x"), Null())))(row, state) should equal(NO_VALUE)
+    ExpressionCompiler.compile(IsNull(Null()))(row, state) should equal(TRUE)
+  }
+
+  test("should compile function calls") {
+    ExpressionCompiler.compile(ToUpperFunction(Variable("name")))(row, state) should equal(stringValue("NEO"))
+    ExpressionCompiler.compile(ToUpperFunction(Null()))(row, state) should equal(NO_VALUE)
+  }
+
+  test("should leave unsupported expressions interpreted") {
+    val variable = Variable("x")
+
+    ExpressionCompiler.compile(variable) should be theSameInstanceAs variable
+  }
+
+  test("should compile operands of AND separately and keep short circuiting") {
+    val explodingPredicate = mock[Predicate]
+    when(explodingPredicate.isMatch(any(), any())).thenThrow(new IllegalStateException("there is something wrong"))
+    val ands = Ands(NonEmptyList(Equals(Variable("x"), literal(4)), explodingPredicate))
+
+    val compiled = ExpressionCompiler.compilePredicate(ands)
+
+    compiled.asInstanceOf[Ands].predicates.head shouldBe a[CompiledCommandPredicate]
+    compiled.isMatch(row, state) should equal(Some(false))
+  }
+
+  test("should fall back to the interpreted expression when rewritten") {
+    val original = Add(Variable("x"), literal(1))
+
+    ExpressionCompiler.compile(original).rewrite(identity) should equal(original)
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.parallel
+
+import org.neo4j.cypher.internal.CommunityRuntimeContext
+import org.neo4j.cypher.internal.CommunityRuntimeFactory
+import org.neo4j.cypher.internal.InterpretedRuntimeName
+import org.neo4j.cypher.internal.LogicalQuery
+import org.neo4j.cypher.internal.ParallelRuntimeName
+import org.neo4j.cypher.internal.RuntimeName
+import org.neo4j.cypher.internal.logical.plans.IndexOrderNone
+import org.neo4j.cypher.internal.runtime.spec.LogicalQueryBuilder
+import org.neo4j.cypher.internal.runtime.spec.RuntimeTestSuite
+import org.neo4j.cypher.internal.runtime.spec.parallel.ParallelSpecSuite.EDITION
+import org.neo4j.cypher.internal.runtime.spec.parallel.ParallelSpecSuite.SIZE_HINT
+
+class ParallelAggregationWithOtherOperatorsTest extends RuntimeTestSuite[CommunityRuntimeContext](EDITION, CommunityRuntimeFactory.parallel) {
+
+  private val sizeHint = SIZE_HINT
+
+  test("should filter and project in parallel before aggregating") {
+    // given
+    given {
+      nodePropertyGraph(sizeHint, {
+        case i: Int => Map("num" -> i)
+      }, "Honey")
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("c", "s")
+      .aggregation(Seq.empty, Seq("count(*) AS c", "sum(y) AS s"))
+      .projection("x.num * 2 AS y")
+      .filter("x.num >= 10", "x.num % 2 = 0")
+      .allNodeScan("x")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeName(logicalQuery) shouldBe ParallelRuntimeName
+    runtimeResult should beColumns("c", "s").withSingleRow((sizeHint - 10) / 2, (10 until sizeHint by 2).map(_ * 2).sum)
+  }
+
+  test("should group on projected property in parallel") {
+    // given
+    given {
+      nodePropertyGraph(sizeHint, {
+        case i: Int => Map("num" -> i)
+      }, "Honey")
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("k", "c", "max")
+      .aggregation(Seq("k AS k"), Seq("count(x) AS c", "max(x.num) AS max"))
+      .projection("x.num % 10 AS k")
+      .nodeByLabelScan("x", "Honey", IndexOrderNone)
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeName(logicalQuery) shouldBe ParallelRuntimeName
+    runtimeResult should beColumns("k", "c", "max").withRows((0 until 10).map { k =>
+      Array[Any](k, sizeHint / 10, sizeHint - 10 + k)
+    })
+  }
+
+  test("should filter on label and property existence in parallel") {
+    // given
+    given {
+      nodePropertyGraph(sizeHint, {
+        case i: Int if i % 2 == 0 => Map("num" -> i)
+      }, "Honey")
+      nodeGraph(sizeHint, "Bee")
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("c")
+      .aggregation(Seq.empty, Seq("count(*) AS c"))
+      .filter("x:Honey", "x.num IS NOT NULL")
+      .allNodeScan("x")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeName(logicalQuery) shouldBe ParallelRuntimeName
+    runtimeResult should beColumns("c").withSingleRow(sizeHint / 2)
+  }
+
+  test("should fall back when grouping on the scanned node") {
+    // given
+    val nodes = given { nodeGraph(sizeHint, "Honey") }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("x", "c")
+      .aggregation(Seq("x AS x"), Seq("count(*) AS c"))
+      .allNodeScan("x")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeName(logicalQuery) shouldBe InterpretedRuntimeName
+    runtimeResult should beColumns("x", "c").withRows(nodes.map(n => Array[Any](n, 1)))
+  }
+
+  test("should fall back when projecting the scanned node") {
+    // given
+    given { nodeGraph(sizeHint, "Honey") }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("c")
+      .aggregation(Seq.empty, Seq("count(y) AS c"))
+      .projection("x AS y")
+      .allNodeScan("x")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeName(logicalQuery) shouldBe InterpretedRuntimeName
+    runtimeResult should beColumns("c").withSingleRow(sizeHint)
+  }
+
+  test("should fall back on expressions not known to be safe for workers") {
+    // given
+    given {
+      nodePropertyGraph(sizeHint, {
+        case i: Int => Map("name" -> s"bee$i")
+      }, "Honey")
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("c")
+      .aggregation(Seq.empty, Seq("count(*) AS c"))
+      .filter("size(keys(x)) = 1")
+      .allNodeScan("x")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeName(logicalQuery) shouldBe InterpretedRuntimeName
+    runtimeResult should beColumns("c").withSingleRow(sizeHint)
+  }
+
+  test("should fall back on aggregations that cannot be computed in parts") {
+    // given
+    given {
+      nodePropertyGraph(sizeHint, {
+        case i: Int => Map("num" -> i)
+      }, "Honey")
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("c")
+      .aggregation(Seq.empty, Seq("count(DISTINCT y) AS c"))
+      .projection("x.num % 10 AS y")
+      .allNodeScan("x")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeName(logicalQuery) shouldBe InterpretedRuntimeName
+    runtimeResult should beColumns("c").withSingleRow(10)
+  }
+
+  private def runtimeName(logicalQuery: LogicalQuery): RuntimeName = buildPlan(logicalQuery, runtime).runtimeName
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.parallel
+
+import java.lang.Boolean.TRUE
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings
+import org.neo4j.configuration.GraphDatabaseSettings
+import org.neo4j.cypher.internal.CommunityRuntimeContext
+import org.neo4j.cypher.internal.CommunityRuntimeContextManager
+import org.neo4j.cypher.internal.CommunityRuntimeFactory
+import org.neo4j.cypher.internal.ParallelExecution
+import org.neo4j.cypher.internal.runtime.spec.Edition
+import org.neo4j.cypher.internal.runtime.spec.parallel.ParallelSpecSuite.EDITION
+import org.neo4j.cypher.internal.runtime.spec.parallel.ParallelSpecSuite.SIZE_HINT
+import org.neo4j.cypher.internal.runtime.spec.tests.AggregationTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.AllNodeScanTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.FilterTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.LabelScanTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ProjectionTestBase
+import org.neo4j.test.TestDatabaseManagementServiceBuilder
+
+object ParallelSpecSuite {
+  val SIZE_HINT = 200
+
+  // Small morsels, so that every worker gets to process several of them
+  val EDITION: Edition[CommunityRuntimeContext] = new Edition(
+    () => new TestDatabaseManagementServiceBuilder,
+    (runtimeConfig, resolver, _, logProvider) => {
+      lazy val parallelExecution = ParallelExecution(resolver, runtimeConfig.workers)
+      CommunityRuntimeContextManager(logProvider.getLog("test"), runtimeConfig, () => parallelExecution)
+    },
+    GraphDatabaseSettings.cypher_hints_error -> TRUE,
+    GraphDatabaseInternalSettings.cypher_worker_count -> Integer.valueOf(4),
+    GraphDatabaseInternalSettings.cypher_pipelined_batch_size_small -> Integer.valueOf(2),
+    GraphDatabaseInternalSettings.cypher_pipelined_batch_size_big -> Integer.valueOf(8))
+}
+
+// Plans that cannot run in parallel fall back to the interpreted runtime
+class ParallelAggregationTest extends AggregationTestBase(EDITION, CommunityRuntimeFactory.parallel, SIZE_HINT)
+class ParallelAllNodeScanTest extends AllNodeScanTestBase(EDITION, CommunityRuntimeFactory.parallel, SIZE_HINT)
+class ParallelLabelScanTest extends LabelScanTestBase(EDITION, CommunityRuntimeFactory.parallel, SIZE_HINT)
+class ParallelFilterTest extends FilterTestBase(EDITION, CommunityRuntimeFactory.parallel, SIZE_HINT)
+class ParallelProjectionTest extends ProjectionTestBase(EDITION, CommunityRuntimeFactory.parallel, SIZE_HINT)
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.slotted
+
+import org.neo4j.cypher.internal.CommunityRuntimeContext
+import org.neo4j.cypher.internal.SlottedRuntime
+import org.neo4j.cypher.internal.runtime.spec.COMMUNITY
+import org.neo4j.cypher.internal.runtime.spec.slotted.SlottedSpecSuite.SIZE_HINT
+import org.neo4j.cypher.internal.runtime.spec.tests.AggregationTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.AllNodeScanTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.AllNodeScanWithOtherOperatorsTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.AntiConditionalApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.AntiSemiApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ArgumentTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ArrayIndexSupport
+import org.neo4j.cypher.internal.runtime.spec.tests.CachePropertiesTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.CartesianProductProvidedOrderTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.CartesianProductTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ConditionalApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.DirectedRelationshipByIdSeekTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.DistinctTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.DropResultTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ExpandAllTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ExpandAllWithOtherOperatorsTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ExpandIntoTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ExpandIntoWithOtherOperatorsTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ExpressionTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ExpressionWithTxStateChangesTests
+import org.neo4j.cypher.internal.runtime.spec.tests.FilterTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.InputTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.LabelScanTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.LeftOuterHashJoinTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.LetAntiSemiApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.LetSelectOrAntiSemiApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.LetSelectOrSemiApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.LetSemiApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.LimitTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.MiscTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.MultiNodeIndexSeekTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NestedPlanExpressionTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeByIdSeekTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeCountFromCountStoreTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeHashJoinTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeIndexContainsScanTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeIndexEndsWithScanTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeIndexPointDistanceSeekTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeIndexScanTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeIndexSeekRangeAndCompositeTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeIndexSeekTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeIndexStartsWithSeekTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NodeLockingUniqueIndexSeekTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NonParallelProfileRowsTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.OptionalExpandAllTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.OptionalExpandIntoTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.OptionalFailureTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.OptionalTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.OrderedAggregationTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.OrderedDistinctTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.PartialSortTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.PartialTop1TestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.PartialTopNTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ProcedureCallTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ProfileRowsTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ProjectEndpointsTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ProjectionTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.NonParallelProvidedOrderTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ProvidedOrderTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.PruningVarLengthExpandTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ReactiveResultTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.RelationshipCountFromCountStoreTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.RightOuterHashJoinTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.RollupApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.SelectOrAntiSemiApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.SelectOrSemiApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.SemiApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ShortestPathTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.SkipTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.SortTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.SubscriberErrorTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ThreadUnsafeExpressionTests
+import org.neo4j.cypher.internal.runtime.spec.tests.TopTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.TriadicSelectionTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.UndirectedRelationshipByIdSeekTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.UnionTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.UnwindTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.UserDefinedAggregationSupport
+import org.neo4j.cypher.internal.runtime.spec.tests.ValueHashJoinTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.VarLengthExpandTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.WriteProcedureCallTestBase
+
+object SlottedSpecSuite {
+  val SIZE_HINT = 200
+}
+
+class SlottedAggregationTest extends AggregationTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT) with UserDefinedAggregationSupport[CommunityRuntimeContext]
+class SlottedOrderedAggregationTest extends OrderedAggregationTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedAllNodeScanTest extends AllNodeScanTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+                                 with AllNodeScanWithOtherOperatorsTestBase[CommunityRuntimeContext]
+class SlottedCartesianProductTest extends CartesianProductTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedApplyTest extends ApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNodeByIdSeekTest extends NodeByIdSeekTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedDirectedRelationshipByIdSeekTest extends DirectedRelationshipByIdSeekTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedUndirectedRelationshipByIdSeekTest extends UndirectedRelationshipByIdSeekTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNodeCountFromCountStoreTest extends NodeCountFromCountStoreTestBase(COMMUNITY.EDITION, SlottedRuntime)
+class SlottedRelationshipCountFromCountStoreTest extends RelationshipCountFromCountStoreTestBase(COMMUNITY.EDITION, SlottedRuntime)
+class SlottedExpandAllTest extends ExpandAllTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+                               with ExpandAllWithOtherOperatorsTestBase[CommunityRuntimeContext]
+class SlottedExpandIntoTest extends ExpandIntoTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+                                with ExpandIntoWithOtherOperatorsTestBase[CommunityRuntimeContext]
+class SlottedOptionalExpandAllTest extends OptionalExpandAllTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedOptionalExpandIntoTest extends OptionalExpandIntoTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedVarExpandAllTest extends VarLengthExpandTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedPruningVarExpandTest extends PruningVarLengthExpandTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedProjectEndpointsTest extends ProjectEndpointsTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedLabelScanTest extends LabelScanTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNodeIndexScanTest extends NodeIndexScanTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNodeIndexContainsScanTest extends NodeIndexContainsScanTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNodeIndexStartsWithSeekTest extends NodeIndexStartsWithSeekTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNodeIndexEndsWithScanTest extends NodeIndexEndsWithScanTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNodeIndexSeekTest extends NodeIndexSeekTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+                                   with NodeIndexSeekRangeAndCompositeTestBase[CommunityRuntimeContext]
+                                   with NodeLockingUniqueIndexSeekTestBase[CommunityRuntimeContext]
+                                   with ArrayIndexSupport[CommunityRuntimeContext]
+class SlottedNodeIndexPointDistanceSeekTest extends NodeIndexPointDistanceSeekTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedMultiNodeIndexSeekTest extends MultiNodeIndexSeekTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedInputTest extends InputTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedPartialSortTest extends PartialSortTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedTopTest extends TopTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedSortTest extends SortTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedPartialTopNTest extends PartialTopNTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedPartialTop1Test extends PartialTop1TestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedFilterTest extends FilterTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedArgumentTest extends ArgumentTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedProjectionTest extends ProjectionTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedCachePropertiesTest extends CachePropertiesTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedUnwindTest extends UnwindTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedDistinctTest extends DistinctTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedOrderedDistinctTest extends OrderedDistinctTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedLimitTest extends LimitTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedSkipTest extends SkipTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNodeHashJoinTest extends NodeHashJoinTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedValueHashJoinTest extends ValueHashJoinTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedRightOuterHashJoinTest extends RightOuterHashJoinTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedLeftOuterHashJoinTest extends LeftOuterHashJoinTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedReactiveResultsTest extends ReactiveResultTestBase(COMMUNITY.EDITION, SlottedRuntime)
+class SlottedMiscTest extends MiscTestBase(COMMUNITY.EDITION, SlottedRuntime)
+class SlottedOptionalTest extends OptionalTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+                              with OptionalFailureTestBase[CommunityRuntimeContext]
+class SlottedProvidedOrderTest extends ProvidedOrderTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+                                   with NonParallelProvidedOrderTestBase[CommunityRuntimeContext]
+                                   with CartesianProductProvidedOrderTestBase[CommunityRuntimeContext]
+class SlottedProfileRowsTest extends ProfileRowsTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT, 1)
+                                 with NonParallelProfileRowsTestBase[CommunityRuntimeContext]
+class SlottedSubscriberErrorTest extends SubscriberErrorTestBase(COMMUNITY.EDITION, SlottedRuntime)
+
+class SlottedExpressionTest extends ExpressionTestBase(COMMUNITY.EDITION, SlottedRuntime)
+                                with ThreadUnsafeExpressionTests[CommunityRuntimeContext]
+                                with ExpressionWithTxStateChangesTests[CommunityRuntimeContext]
+class SlottedProcedureCallTest extends ProcedureCallTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+                                   with WriteProcedureCallTestBase[CommunityRuntimeContext]
+class SlottedShortestPathTest extends ShortestPathTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedUnionTest extends UnionTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedSemiApplyTest extends SemiApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedAntiSemiApplyTest extends AntiSemiApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedLetAntiSemiApplyTest extends LetAntiSemiApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedLetSemiApplyTest extends LetSemiApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedConditionalApplyTest extends ConditionalApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedAntiConditionalApplyTest extends AntiConditionalApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+
+class SlottedSelectOrSemiApplyTest extends SelectOrSemiApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedSelectOrAntiSemiApplyTest extends SelectOrAntiSemiApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedLetSelectOrSemiApplyTest extends LetSelectOrSemiApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedLetSelectOrAntiSemiApplyTest extends LetSelectOrAntiSemiApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedNestedPlanExpressionTest extends NestedPlanExpressionTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedRollupApplyTest extends RollupApplyTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedDropResultTest extends DropResultTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
+class SlottedTriadicSelectionTest extends TriadicSelectionTestBase(COMMUNITY.EDITION, SlottedRuntime, SIZE_HINT)
@@ -1399,6 +1399,40 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
         return writer;
     }
 
+    /**
+     * Returns a {@link BulkLoader} able to build the contents of this tree from entries added in strictly ascending key order.
+     * Nodes are filled one after the other from left to right, each one up to {@code fillFactor} of its capacity, instead of
+     * inserting every entry from root with splits along the way. The tree must be empty when calling this method.
+     * After usage the returned bulk loader must be closed, which is when the built tree replaces the empty one.
+     * <p>
+     * The bulk loader holds the {@link #writer(PageCursorTracer) writer} of this tree while open.
+     *
+     * @param fillFactor how much of each node to fill before starting on the next one, 0=nothing (although at least one key), 1=full nodes.
+     * @param cursorTracer underlying page cursor tracer
+     * @return a {@link BulkLoader} for this index.
+     * @throws IOException on error accessing the index.
+     * @throws IllegalStateException if tree isn't empty, or if the writer is already acquired by someone else.
+     */
+    public BulkLoader<KEY,VALUE> bulkLoader( double fillFactor, PageCursorTracer cursorTracer ) throws IOException
+    {
+        Preconditions.checkArgument( fillFactor > 0 && fillFactor <= 1, "Fill factor must be within (0,1], but was %s", fillFactor );
+        writer( InternalTreeLogic.DEFAULT_SPLIT_RATIO, cursorTracer );
+        boolean success = false;
+        try
+        {
+            TreeBulkLoader bulkLoader = new TreeBulkLoader( fillFactor, cursorTracer );
+            success = true;
+            return bulkLoader;
+        }
+        finally
+        {
+            if ( !success )
+            {
+                writer.close();
+            }
+        }
+    }
+
     private void setRoot( long rootId, long rootGeneration )
     {
         this.root = new Root( rootId, rootGeneration );
@@ -1799,6 +1833,188 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
         }
     }
 
+    /**
+     * Builds the tree bottom-up from sorted entries while holding the {@link SingleWriter}. One cursor per level is kept,
+     * leaves at level 0, each one pinned to the rightmost node of its level. When a node has been filled the next node
+     * on that level is started and a splitter key is appended to the level above, creating a new root level when needed.
+     * All nodes are new nodes in unstable generation and the previously empty root is released when the new root is set.
+     */
+    private class TreeBulkLoader implements BulkLoader<KEY,VALUE>
+    {
+        private final double fillFactor;
+        private final PageCursorTracer cursorTracer;
+        private final long stableGeneration;
+        private final long unstableGeneration;
+        private final List<PageCursor> levels = new ArrayList<>();
+        private final KEY lastKey;
+        private final KEY splitter;
+
+        TreeBulkLoader( double fillFactor, PageCursorTracer cursorTracer )
+        {
+            Preconditions.checkState( TreeNode.isLeaf( writer.cursor ) && TreeNode.keyCount( writer.cursor ) == 0,
+                    "Can only bulk load into an empty tree, but %s has entries", GBPTree.this );
+            this.fillFactor = fillFactor;
+            this.cursorTracer = cursorTracer;
+            this.stableGeneration = writer.stableGeneration;
+            this.unstableGeneration = writer.unstableGeneration;
+            this.lastKey = layout.newKey();
+            this.splitter = layout.newKey();
+        }
+
+        @Override
+        public void add( KEY key, VALUE value )
+        {
+            try
+            {
+                bTreeNode.validateKeyValueSize( key, value );
+                if ( levels.isEmpty() )
+                {
+                    levels.add( openNewNode( TreeNode.Type.LEAF ) );
+                }
+                else
+                {
+                    if ( layout.compare( key, lastKey ) <= 0 )
+                    {
+                        throw new IllegalArgumentException( format( "Bulk loaded keys must be added in strictly ascending order, but %s was added after %s",
+                                key, lastKey ) );
+                    }
+                    PageCursor leaf = levels.get( 0 );
+                    int keyCount = TreeNode.keyCount( leaf );
+                    if ( bTreeNode.reachedFillFactor( leaf, keyCount, TreeNode.Type.LEAF, fillFactor ) ||
+                         bTreeNode.leafOverflow( leaf, keyCount, key, value ) != TreeNode.Overflow.NO )
+                    {
+                        long leftLeaf = leaf.getCurrentPageId();
+                        long rightLeaf = moveToNewRightSibling( leaf, TreeNode.Type.LEAF );
+                        layout.minimalSplitter( lastKey, key, splitter );
+                        appendToInternal( 1, splitter, leftLeaf, rightLeaf );
+                    }
+                }
+
+                PageCursor leaf = levels.get( 0 );
+                int keyCount = TreeNode.keyCount( leaf );
+                bTreeNode.insertKeyValueAt( leaf, key, value, keyCount, keyCount, stableGeneration, unstableGeneration, cursorTracer );
+                TreeNode.setKeyCount( leaf, keyCount + 1 );
+                checkOutOfBounds( leaf );
+                layout.copyKey( key, lastKey );
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+        }
+
+        /**
+         * Appends {@code key} and its right child to the rightmost node on the given internal level. {@code leftChild} is only used
+         * if that level doesn't exist yet, in which case a new root is created with it as its leftmost child.
+         */
+        private void appendToInternal( int level, KEY key, long leftChild, long rightChild ) throws IOException
+        {
+            PageCursor cursor;
+            if ( level == levels.size() )
+            {
+                cursor = openNewNode( TreeNode.Type.INTERNAL );
+                bTreeNode.setChildAt( cursor, leftChild, 0, stableGeneration, unstableGeneration );
+                levels.add( cursor );
+                monitor.treeGrowth();
+            }
+            else
+            {
+                cursor = levels.get( level );
+                int keyCount = TreeNode.keyCount( cursor );
+                if ( bTreeNode.reachedFillFactor( cursor, keyCount, TreeNode.Type.INTERNAL, fillFactor ) ||
+                     bTreeNode.internalOverflow( cursor, keyCount, key ) != TreeNode.Overflow.NO )
+                {
+                    // The key goes to the level above and separates this node from its new right sibling,
+                    // which gets the right child as its leftmost child
+                    long leftNode = cursor.getCurrentPageId();
+                    long rightNode = moveToNewRightSibling( cursor, TreeNode.Type.INTERNAL );
+                    bTreeNode.setChildAt( cursor, rightChild, 0, stableGeneration, unstableGeneration );
+                    checkOutOfBounds( cursor );
+                    appendToInternal( level + 1, key, leftNode, rightNode );
+                    return;
+                }
+            }
+
+            int keyCount = TreeNode.keyCount( cursor );
+            bTreeNode.insertKeyAndRightChildAt( cursor, key, rightChild, keyCount, keyCount, stableGeneration, unstableGeneration, cursorTracer );
+            TreeNode.setKeyCount( cursor, keyCount + 1 );
+            checkOutOfBounds( cursor );
+        }
+
+        private PageCursor openNewNode( TreeNode.Type type ) throws IOException
+        {
+            long newId = freeList.acquireNewId( stableGeneration, unstableGeneration, cursorTracer );
+            PageCursor cursor = pagedFile.io( 0L /*Ignored*/, PagedFile.PF_SHARED_WRITE_LOCK, cursorTracer );
+            try
+            {
+                PageCursorUtil.goTo( cursor, "new node", newId );
+                initializeNode( cursor, type );
+                return cursor;
+            }
+            catch ( Throwable t )
+            {
+                cursor.close();
+                throw t;
+            }
+        }
+
+        private long moveToNewRightSibling( PageCursor cursor, TreeNode.Type type ) throws IOException
+        {
+            long leftId = cursor.getCurrentPageId();
+            long rightId = freeList.acquireNewId( stableGeneration, unstableGeneration, cursorTracer );
+            TreeNode.setRightSibling( cursor, rightId, stableGeneration, unstableGeneration );
+            checkOutOfBounds( cursor );
+
+            PageCursorUtil.goTo( cursor, "new right sibling", rightId );
+            initializeNode( cursor, type );
+            TreeNode.setLeftSibling( cursor, leftId, stableGeneration, unstableGeneration );
+            checkOutOfBounds( cursor );
+            return rightId;
+        }
+
+        private void initializeNode( PageCursor cursor, TreeNode.Type type )
+        {
+            if ( type == TreeNode.Type.LEAF )
+            {
+                bTreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+            }
+            else
+            {
+                bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                if ( !levels.isEmpty() )
+                {
+                    long newRootId = levels.get( levels.size() - 1 ).getCurrentPageId();
+                    IOUtils.closeAll( levels );
+                    levels.clear();
+
+                    long oldRootId = writer.cursor.getCurrentPageId();
+                    PageCursorUtil.goTo( writer.cursor, "new root", newRootId );
+                    writer.setRoot( newRootId );
+                    freeList.releaseId( stableGeneration, unstableGeneration, oldRootId, cursorTracer );
+                }
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+            finally
+            {
+                IOUtils.closeAllSilently( levels );
+                writer.close();
+            }
+        }
+    }
+
     /**
      * Total size limit for key and value.
      * This limit includes storage overhead that is specific to key implementation for example entity id or meta data about type.
@@ -357,6 +357,13 @@ abstract class TreeNode<KEY,VALUE>
 
     abstract boolean leafUnderflow( PageCursor cursor, int keyCount );
 
+    /**
+     * Has node, only ever appended to from the right, been filled up to the given fill factor?
+     * Used when bulk loading sorted entries, where a new node is started once the current one has reached it.
+     * @return true if node has reached fill factor, else false.
+     */
+    abstract boolean reachedFillFactor( PageCursor cursor, int keyCount, Type type, double fillFactor );
+
     /**
      * How do we best rebalance left and right leaf?
      * Can we move keys from underflowing left to right so that none of them underflow?
@@ -43,6 +43,7 @@ import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 import static java.lang.String.format;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer.NULL;
@@ -188,6 +189,61 @@ abstract class GBPTreeReadWriteTestBase<KEY,VALUE>
         }
     }
 
+    @ParameterizedTest
+    @MethodSource( "pageSizes" )
+    void shouldSeeBulkLoadedEntries( int pageSize ) throws Exception
+    {
+        setupTest( pageSize );
+        // GIVEN
+        try ( GBPTree<KEY,VALUE> index = index() )
+        {
+            // WHEN
+            int count = 10_000;
+            double fillFactor = random.among( new Double[]{0.5, 0.75, 1.0} );
+            try ( BulkLoader<KEY,VALUE> bulkLoader = index.bulkLoader( fillFactor, NULL ) )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    bulkLoader.add( key( i * 2 ), value( i * 2 ) );
+                }
+            }
+            // and then insert in between bulk loaded entries
+            try ( Writer<KEY,VALUE> writer = index.writer( NULL ) )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    writer.put( key( i * 2 + 1 ), value( i * 2 + 1 ) );
+                }
+            }
+
+            // THEN
+            index.consistencyCheck( NULL );
+            try ( Seeker<KEY,VALUE> cursor = index.seek( key( 0 ), key( Long.MAX_VALUE ), NULL ) )
+            {
+                for ( int i = 0; i < count * 2; i++ )
+                {
+                    assertTrue( cursor.next() );
+                    assertEqualsKey( key( i ), cursor.key() );
+                }
+                assertFalse( cursor.next() );
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource( "pageSizes" )
+    void shouldNotBulkLoadKeysOutOfOrder( int pageSize ) throws Exception
+    {
+        setupTest( pageSize );
+        try ( GBPTree<KEY,VALUE> index = index();
+              BulkLoader<KEY,VALUE> bulkLoader = index.bulkLoader( 1, NULL ) )
+        {
+            bulkLoader.add( key( 1 ), value( 1 ) );
+            assertThrows( IllegalArgumentException.class, () -> bulkLoader.add( key( 1 ), value( 1 ) ) );
+            assertThrows( IllegalArgumentException.class, () -> bulkLoader.add( key( 0 ), value( 0 ) ) );
+        }
+    }
+
     private static Stream<Integer> pageSizes()
     {
         return Stream.of( PAGE_SIZE_8K, PAGE_SIZE_16K, PAGE_SIZE_32K, PAGE_SIZE_64K, PAGE_SIZE_4M );
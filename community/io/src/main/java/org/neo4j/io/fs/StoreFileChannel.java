@@ -26,6 +26,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 
@@ -334,4 +335,12 @@ public class StoreFileChannel implements StoreChannel
     {
         force( false );
     }
+
+    /**
+     * Map a region of this channel's file directly into memory, see {@link FileChannel#map(FileChannel.MapMode, long, long)}.
+     */
+    public MappedByteBuffer map( FileChannel.MapMode mode, long position, long size ) throws IOException
+    {
+        return channel.map( mode, position, size );
+    }
 }
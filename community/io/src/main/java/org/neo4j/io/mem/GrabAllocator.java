@@ -19,17 +19,23 @@
  */
 package org.neo4j.io.mem;
 
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.memory.MemoryTracker;
 
 import java.lang.ref.Cleaner;
 
 import static org.neo4j.io.ByteUnit.kibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
 import static org.neo4j.util.FeatureToggles.getInteger;
 
 /**
  * This memory allocator is allocating memory in large segments, called "grabs", and the memory returned by the memory
  * manager is page aligned, and plays well with transparent huge pages and other operating system optimisations.
+ * <p>
+ * Every grab is placed according to the {@link MemoryPlacement} of the allocator, before any of it is handed out. When huge pages are
+ * requested, grabs are made large enough to contain many huge pages.
  */
 public final class GrabAllocator implements MemoryAllocator
 {
@@ -48,7 +54,24 @@ public final class GrabAllocator implements MemoryAllocator
      */
     GrabAllocator( long expectedMaxMemory, MemoryTracker memoryTracker )
     {
-        this.grabs = new Grabs( expectedMaxMemory, memoryTracker );
+        this( expectedMaxMemory, memoryTracker, MemoryPlacement.DEFAULT );
+    }
+
+    /**
+     * Create a new GrabAllocator that will allocate the given amount of memory, and place it according to the given placement.
+     *
+     * @param expectedMaxMemory The maximum amount of memory that this memory manager is expected to allocate.
+     * @param memoryTracker memory usage tracker
+     * @param placement where the operating system should place the allocated memory
+     */
+    GrabAllocator( long expectedMaxMemory, MemoryTracker memoryTracker, MemoryPlacement placement )
+    {
+        this( expectedMaxMemory, memoryTracker, placement, NativeAccessProvider.getNativeAccess() );
+    }
+
+    GrabAllocator( long expectedMaxMemory, MemoryTracker memoryTracker, MemoryPlacement placement, NativeAccess nativeAccess )
+    {
+        this.grabs = new Grabs( expectedMaxMemory, memoryTracker, placement, nativeAccess );
         this.cleanable = globalCleaner.register( this, new GrabsDeallocator( grabs ) );
     }
 
@@ -154,15 +177,61 @@ public final class GrabAllocator implements MemoryAllocator
          * The amount of memory, in bytes, to grab in each Grab.
          */
         private static final long GRAB_SIZE = getInteger( GrabAllocator.class, "GRAB_SIZE", (int) kibiBytes( 512 ) );
+        /**
+         * The amount of memory, in bytes, to grab in each Grab when the memory should be backed by huge pages.
+         * A grab must span several 2 MiB huge pages for the operating system to be able to back it with them.
+         */
+        private static final long HUGE_PAGE_GRAB_SIZE = getInteger( GrabAllocator.class, "HUGE_PAGE_GRAB_SIZE", (int) mebiBytes( 32 ) );
 
         private final MemoryTracker memoryTracker;
+        private final MemoryPlacement placement;
+        private final NativeAccess nativeAccess;
+        private final long standardGrabSize;
+        private final int numaNodes;
         private long expectedMaxMemory;
         private Grab head;
+        private int grabCount;
 
-        Grabs( long expectedMaxMemory, MemoryTracker memoryTracker )
+        Grabs( long expectedMaxMemory, MemoryTracker memoryTracker, MemoryPlacement placement, NativeAccess nativeAccess )
         {
             this.expectedMaxMemory = expectedMaxMemory;
             this.memoryTracker = memoryTracker;
+            this.placement = placement;
+            this.nativeAccess = nativeAccess;
+            this.standardGrabSize = placement.hugePages() ? Math.max( GRAB_SIZE, HUGE_PAGE_GRAB_SIZE ) : GRAB_SIZE;
+            this.numaNodes = placement.numaPolicy() == MemoryPlacement.NumaPolicy.NONE ? 1 : Math.max( 1, nativeAccess.getNumaNodeCount() );
+        }
+
+        private Grab newGrab( Grab next, long size )
+        {
+            Grab grab = new Grab( next, size, memoryTracker );
+            place( grab.address, size );
+            return grab;
+        }
+
+        /**
+         * Advise the operating system about the placement of a new grab. Advice is best effort, so failures are ignored and the memory is then
+         * simply placed the way the operating system would by default.
+         */
+        private void place( long address, long size )
+        {
+            if ( placement.hugePages() )
+            {
+                nativeAccess.tryAdviseHugePages( address, size );
+            }
+            switch ( placement.numaPolicy() )
+            {
+            case INTERLEAVE:
+                nativeAccess.tryInterleaveMemory( address, size );
+                break;
+            case BIND_GRABS:
+                nativeAccess.tryBindMemory( address, size, grabCount % numaNodes );
+                break;
+            case NONE:
+            default:
+                break;
+            }
+            grabCount++;
         }
 
         long usedMemory()
@@ -206,19 +275,19 @@ public final class GrabAllocator implements MemoryAllocator
             {
                 throw new IllegalArgumentException( "Invalid alignment: " + alignment + ". Alignment must be positive." );
             }
-            long grabSize = Math.min( GRAB_SIZE, expectedMaxMemory );
+            long grabSize = Math.min( standardGrabSize, expectedMaxMemory );
             long maxAllocationSize = bytes + alignment - 1;
-            if ( maxAllocationSize > GRAB_SIZE )
+            if ( maxAllocationSize > standardGrabSize )
             {
                 // This is a huge allocation. Put it in its own grab and keep any existing grab at the head.
                 grabSize = bytes;
                 Grab nextGrab = head == null ? null : head.next;
-                Grab allocationGrab = new Grab( nextGrab, grabSize, memoryTracker );
+                Grab allocationGrab = newGrab( nextGrab, grabSize );
                 if ( !allocationGrab.canAllocate( bytes, alignment ) )
                 {
                     allocationGrab.free();
                     grabSize = maxAllocationSize;
-                    allocationGrab = new Grab( nextGrab, grabSize, memoryTracker );
+                    allocationGrab = newGrab( nextGrab, grabSize );
                 }
                 long allocation = allocationGrab.allocate( bytes, alignment );
                 head = head == null ? allocationGrab : head.setNext( allocationGrab );
@@ -231,7 +300,7 @@ public final class GrabAllocator implements MemoryAllocator
                 if ( grabSize < maxAllocationSize )
                 {
                     grabSize = bytes;
-                    Grab grab = new Grab( head, grabSize, memoryTracker );
+                    Grab grab = newGrab( head, grabSize );
                     if ( grab.canAllocate( bytes, alignment ) )
                     {
                         expectedMaxMemory -= grabSize;
@@ -241,7 +310,7 @@ public final class GrabAllocator implements MemoryAllocator
                     grab.free();
                     grabSize = maxAllocationSize;
                 }
-                head = new Grab( head, grabSize, memoryTracker );
+                head = newGrab( head, grabSize );
                 expectedMaxMemory -= grabSize;
             }
             return head.allocate( bytes, alignment );
@@ -31,6 +31,11 @@ public interface MemoryAllocator
         return new GrabAllocator( expectedMemory, memoryTracker );
     }
 
+    static MemoryAllocator createAllocator( long expectedMemory, MemoryTracker memoryTracker, MemoryPlacement placement )
+    {
+        return new GrabAllocator( expectedMemory, memoryTracker, placement );
+    }
+
     /**
      * @return The sum, in bytes, of all the memory currently allocating through this allocator.
      */
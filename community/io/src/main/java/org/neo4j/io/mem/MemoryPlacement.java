@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.mem;
+
+/**
+ * Describes where the operating system should place the memory of a {@link MemoryAllocator}: whether it should be backed by transparent
+ * huge pages, which reduces TLB misses for large randomly accessed memory like the page cache, and how it should be spread over the NUMA
+ * nodes of the machine. Placement is advisory, and is silently ignored on platforms that do not support it.
+ */
+public final class MemoryPlacement
+{
+    public static final MemoryPlacement DEFAULT = new MemoryPlacement( false, NumaPolicy.NONE );
+
+    public enum NumaPolicy
+    {
+        /**
+         * Leave placement to the operating system, which normally places memory on the node of the thread that first touches it.
+         */
+        NONE,
+        /**
+         * Interleave the pages of every grab of memory over all nodes, so that memory bandwidth is spread evenly over the nodes.
+         */
+        INTERLEAVE,
+        /**
+         * Bind each grab of memory to a single node, assigning grabs to nodes round robin, so that every grab is local to one node.
+         */
+        BIND_GRABS
+    }
+
+    private final boolean hugePages;
+    private final NumaPolicy numaPolicy;
+
+    public MemoryPlacement( boolean hugePages, NumaPolicy numaPolicy )
+    {
+        this.hugePages = hugePages;
+        this.numaPolicy = numaPolicy;
+    }
+
+    public boolean hugePages()
+    {
+        return hugePages;
+    }
+
+    public NumaPolicy numaPolicy()
+    {
+        return numaPolicy;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MemoryPlacement[hugePages=" + hugePages + ", numaPolicy=" + numaPolicy + "]";
+    }
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
 
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
 /**
@@ -209,4 +210,12 @@ public interface PagedFile extends AutoCloseable
      * An optional name of the database the mapped file belongs to. This option associates the mapped file with a database.
      */
     Optional<String> getDatabaseName();
+
+    /**
+     * Counters of the page cache activity caused by this file.
+     */
+    default PagedFileCounters counters()
+    {
+        return PagedFileCounters.EMPTY;
+    }
 }
@@ -145,6 +145,20 @@ public class SingleFilePageSwapper implements PageSwapper
         return storeChannel;
     }
 
+    /**
+     * Tell whether the given file can be accessed with direct IO, for the given page size. Direct IO is only supported on Linux,
+     * and only when the page size is a multiple of the block size of the file system the file lives on.
+     */
+    static boolean isDirectIOPossible( FileSystemAbstraction fs, Path file, int filePageSize ) throws IOException
+    {
+        return IS_OS_LINUX && isBlockAligned( filePageSize, fs.getBlockSize( file ) );
+    }
+
+    private static boolean isBlockAligned( int filePageSize, long blockSize )
+    {
+        return blockSize > 0 && filePageSize % blockSize == 0;
+    }
+
     private void validateDirectIOPossibility( Path file, int filePageSize ) throws IOException
     {
         if ( !IS_OS_LINUX )
@@ -152,8 +166,7 @@ public class SingleFilePageSwapper implements PageSwapper
             throw new IllegalArgumentException( "DirectIO support is available only on Linux." );
         }
         final long blockSize = fs.getBlockSize( file );
-        long value = filePageSize / blockSize;
-        if ( value * blockSize != filePageSize )
+        if ( !isBlockAligned( filePageSize, blockSize ) )
         {
             throw new IllegalArgumentException( "Direct IO can be used only when page cache page size is a multiplier of a block size. "
                     + "File page size: " + filePageSize + ", block size: " + blockSize );
@@ -30,16 +30,28 @@ import org.neo4j.io.pagecache.PageSwapperFactory;
 
 /**
  * A factory for SingleFilePageSwapper instances.
+ * <p>
+ * A factory that prefers direct IO opens every file it can with {@code O_DIRECT}, bypassing the operating system page cache so that file data
+ * is not cached twice, once by the OS and once by the page cache. Files where direct IO is not possible, because of the platform or because
+ * the file page size is not a multiple of the file system block size, fall back to buffered IO. Swappers that explicitly ask for direct IO
+ * always get it, or fail to be created.
  *
  * @see org.neo4j.io.pagecache.impl.SingleFilePageSwapper
  */
 public class SingleFilePageSwapperFactory implements PageSwapperFactory
 {
     private final FileSystemAbstraction fs;
+    private final boolean preferDirectIO;
 
     public SingleFilePageSwapperFactory( FileSystemAbstraction fs )
+    {
+        this( fs, false );
+    }
+
+    public SingleFilePageSwapperFactory( FileSystemAbstraction fs, boolean preferDirectIO )
     {
         this.fs = fs;
+        this.preferDirectIO = preferDirectIO;
     }
 
     @Override
@@ -54,7 +66,12 @@ public class SingleFilePageSwapperFactory implements PageSwapperFactory
         {
             throw new NoSuchFileException( file.toString(), null, "Cannot map non-existing file" );
         }
-        return new SingleFilePageSwapper( file, fs, filePageSize, onEviction, useDirectIO );
+        return new SingleFilePageSwapper( file, fs, filePageSize, onEviction, useDirectIO || shouldUseDirectIO( file, filePageSize ) );
+    }
+
+    private boolean shouldUseDirectIO( Path file, int filePageSize ) throws IOException
+    {
+        return preferDirectIO && SingleFilePageSwapper.isDirectIOPossible( fs, file, filePageSize );
     }
 
     @Override
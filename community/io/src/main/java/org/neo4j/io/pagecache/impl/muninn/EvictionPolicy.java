@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+/**
+ * Decides which of the pages that the clock sweep of the {@link MuninnPageCache} finds with an exhausted usage counter actually get evicted.
+ * <p>
+ * The usage counters in the {@link PageList} give every page a few sweeps of grace after it was last used. That is cheap, but a large enough
+ * scan sweeps the clock around often enough to push every page out, however frequently it was used before the scan. A policy can look at
+ * how often a page has been used over a longer period of time, and keep the frequently used pages around in favour of pages only touched
+ * once.
+ * <p>
+ * Policies are called concurrently from page faulting threads and the eviction thread, without any locks held.
+ */
+public interface EvictionPolicy
+{
+    /**
+     * The plain clock sweep: every page whose usage counter runs out is evicted.
+     */
+    Factory CLOCK = maxPages -> new EvictionPolicy()
+    {
+        @Override
+        public void accessed( int swapperId, long filePageId )
+        {
+        }
+
+        @Override
+        public boolean shouldEvict( int swapperId, long filePageId )
+        {
+            return true;
+        }
+    };
+
+    /**
+     * Scan resistant policy keeping pages that are frequently used, as estimated by a {@link FrequencySketchEvictionPolicy compact frequency sketch}.
+     */
+    Factory FREQUENCY_SKETCH = FrequencySketchEvictionPolicy::new;
+
+    /**
+     * Called when a page is used for the first time since it was faulted in, or since the clock sweep wore its usage counter down.
+     *
+     * @param swapperId id of the swapper of the file the page belongs to.
+     * @param filePageId id of the page in that file.
+     */
+    void accessed( int swapperId, long filePageId );
+
+    /**
+     * Called when the clock sweep finds a page whose usage counter has run out.
+     *
+     * @param swapperId id of the swapper of the file the page belongs to.
+     * @param filePageId id of the page in that file.
+     * @return {@code true} if the page should be evicted, {@code false} if it should be kept for at least another sweep.
+     */
+    boolean shouldEvict( int swapperId, long filePageId );
+
+    interface Factory
+    {
+        /**
+         * @param maxPages number of pages in the page cache.
+         * @return a new policy for a page cache with the given number of pages.
+         */
+        EvictionPolicy create( int maxPages );
+    }
+}
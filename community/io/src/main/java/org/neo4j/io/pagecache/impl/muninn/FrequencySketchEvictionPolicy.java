@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import static org.neo4j.util.FeatureToggles.getInteger;
+
+/**
+ * {@link EvictionPolicy} in the spirit of TinyLFU: a count-min sketch of 4-bit counters estimates how often every file page has been
+ * accessed recently, and pages with an estimated frequency at or above a threshold are kept when the clock sweep wants to evict them.
+ * A page only touched by a scan is seen once and is evicted as soon as its usage counter runs out, while frequently used pages survive
+ * the scan.
+ * <p>
+ * Like the usage counters, the sketch is updated without synchronization. Lost updates only make the estimates a little less precise.
+ * To let the sketch follow a changing working set, all counters are halved once a number of events proportional to the size of the
+ * cache has been recorded. Keeping a page counts as such an event, so pages cannot be protected forever if nothing else is accessed.
+ */
+final class FrequencySketchEvictionPolicy implements EvictionPolicy
+{
+    // Pages estimated to have been accessed at least this many times since the counters were last halved are kept by the sweep.
+    private static final int protectedFrequency = getInteger( FrequencySketchEvictionPolicy.class, "protectedFrequency", 3 );
+    // Number of recorded events, per page in the cache, after which all counters are halved.
+    private static final int sampleSizePerPage = getInteger( FrequencySketchEvictionPolicy.class, "sampleSizePerPage", 10 );
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int DEPTH = SEEDS.length;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int events;
+
+    FrequencySketchEvictionPolicy( int maxPages )
+    {
+        // One long holds 16 counters, so one long per page gives every page DEPTH counters with room to spare for collisions.
+        int tableSize = (int) Math.min( Long.highestOneBit( Math.max( maxPages - 1, 1 ) ) << 1, 1 << 30 );
+        table = new long[tableSize];
+        tableMask = tableSize - 1;
+        sampleSize = (int) Math.min( Integer.MAX_VALUE, (long) maxPages * sampleSizePerPage );
+    }
+
+    @Override
+    public void accessed( int swapperId, long filePageId )
+    {
+        long hash = hash( swapperId, filePageId );
+        int start = (int) (hash & 3) << 2;
+        for ( int i = 0; i < DEPTH; i++ )
+        {
+            int index = indexOf( hash, i );
+            int offset = (start + i) << 2;
+            long value = table[index];
+            if ( ((value >>> offset) & 0xfL) != 0xfL )
+            {
+                table[index] = value + (1L << offset);
+            }
+        }
+        recordEvent();
+    }
+
+    @Override
+    public boolean shouldEvict( int swapperId, long filePageId )
+    {
+        if ( frequency( swapperId, filePageId ) < protectedFrequency )
+        {
+            return true;
+        }
+        recordEvent();
+        return false;
+    }
+
+    int frequency( int swapperId, long filePageId )
+    {
+        long hash = hash( swapperId, filePageId );
+        int start = (int) (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for ( int i = 0; i < DEPTH; i++ )
+        {
+            int index = indexOf( hash, i );
+            int offset = (start + i) << 2;
+            frequency = Math.min( frequency, (int) ((table[index] >>> offset) & 0xfL) );
+        }
+        return frequency;
+    }
+
+    private void recordEvent()
+    {
+        if ( ++events >= sampleSize )
+        {
+            events = 0;
+            for ( int i = 0; i < table.length; i++ )
+            {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+        }
+    }
+
+    private int indexOf( long hash, int depth )
+    {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static long hash( int swapperId, long filePageId )
+    {
+        long h = filePageId * 0x9e3779b97f4a7c15L + swapperId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
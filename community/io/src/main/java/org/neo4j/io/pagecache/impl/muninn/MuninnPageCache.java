@@ -37,6 +37,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.io.ByteUnit;
 import org.neo4j.io.mem.MemoryAllocator;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
@@ -67,6 +68,7 @@ import static org.neo4j.scheduler.Group.FILE_IO_HELPER;
 import static org.neo4j.io.pagecache.buffer.IOBufferFactory.DISABLED_BUFFER_FACTORY;
 import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
 import static org.neo4j.util.FeatureToggles.flag;
+import static org.neo4j.util.FeatureToggles.getDouble;
 import static org.neo4j.util.FeatureToggles.getInteger;
 
 /**
@@ -137,6 +139,13 @@ public class MuninnPageCache implements PageCache
     private static final int cooperativeEvictionLiveLockThreshold = getInteger(
             MuninnPageCache.class, "cooperativeEvictionLiveLockThreshold", 100 );
 
+    // The share of the pages that can be reserved for specific files, by all mapped files together.
+    private static final double maxReservedRatio = getDouble(
+            MuninnPageCache.class, "maxReservedRatio", 0.5 );
+
+    // The default upper bound on the memory used to retain older versions of modified pages for snapshot readers.
+    public static final long DEFAULT_MAX_PAGE_VERSIONS_MEMORY = ByteUnit.mebiBytes( 256 );
+
     // This is a pre-allocated constant, so we can throw it without allocating any objects:
     @SuppressWarnings( "ThrowableInstanceNeverThrown" )
     private static final IOException oomException = new IOException(
@@ -172,6 +181,13 @@ public class MuninnPageCache implements PageCache
     private final PageCacheTracer pageCacheTracer;
     private final VersionContextSupplier versionContextSupplier;
     private final IOBufferFactory bufferFactory;
+    private final MemoryTracker memoryTracker;
+    private final EvictionPolicy evictionPolicy;
+    private final PagedFileReservations reservations;
+    private final PageVersions.MemoryLimit pageVersionsMemoryLimit;
+    private final long maxReservedPages;
+    // Number of pages reserved by all currently mapped files. Guarded by this.
+    private long reservedPages;
     final PageList pages;
     // All PageCursors are initialised with their pointers pointing to the victim page. This way, we don't have to throw
     // exceptions on bounds checking failures; we can instead return the victim page pointer, and permit the page
@@ -256,6 +272,26 @@ public class MuninnPageCache implements PageCache
         this( swapperFactory, memoryAllocator, PAGE_SIZE, pageCacheTracer, versionContextSupplier, jobScheduler, clock, memoryTracker, bufferFactory );
     }
 
+    /**
+     * Create page cache.
+     * @param swapperFactory page cache swapper factory
+     * @param memoryAllocator the source of native memory the page cache should use
+     * @param pageCacheTracer global page cache tracer
+     * @param versionContextSupplier supplier of thread local (transaction local) version context that will provide access to thread local version context
+     * @param memoryTracker underlying buffers allocation memory tracker
+     * @param bufferFactory temporal flush buffer factories
+     * @param evictionPolicy policy deciding which of the pages the eviction sweep finds unused get evicted
+     * @param reservations part of the cache to reserve for the pages of specific files
+     * @param maxPageVersionsMemory maximum amount of memory used to retain older versions of modified pages for snapshot readers
+     */
+    public MuninnPageCache( PageSwapperFactory swapperFactory, MemoryAllocator memoryAllocator, PageCacheTracer pageCacheTracer,
+            VersionContextSupplier versionContextSupplier, JobScheduler jobScheduler, SystemNanoClock clock, MemoryTracker memoryTracker,
+            IOBufferFactory bufferFactory, EvictionPolicy.Factory evictionPolicy, PagedFileReservations reservations, long maxPageVersionsMemory )
+    {
+        this( swapperFactory, memoryAllocator, PAGE_SIZE, pageCacheTracer, versionContextSupplier, jobScheduler, clock, memoryTracker, bufferFactory,
+                evictionPolicy, reservations, maxPageVersionsMemory );
+    }
+
     /**
      * Constructor variant that allows setting a non-standard cache page size.
      * Only ever use this for testing.
@@ -265,6 +301,14 @@ public class MuninnPageCache implements PageCache
     public MuninnPageCache( PageSwapperFactory swapperFactory, MemoryAllocator memoryAllocator, int cachePageSize, PageCacheTracer pageCacheTracer,
             VersionContextSupplier versionContextSupplier, JobScheduler jobScheduler, SystemNanoClock clock, MemoryTracker memoryTracker,
             IOBufferFactory bufferFactory )
+    {
+        this( swapperFactory, memoryAllocator, cachePageSize, pageCacheTracer, versionContextSupplier, jobScheduler, clock, memoryTracker, bufferFactory,
+                EvictionPolicy.CLOCK, PagedFileReservations.NONE, DEFAULT_MAX_PAGE_VERSIONS_MEMORY );
+    }
+
+    private MuninnPageCache( PageSwapperFactory swapperFactory, MemoryAllocator memoryAllocator, int cachePageSize, PageCacheTracer pageCacheTracer,
+            VersionContextSupplier versionContextSupplier, JobScheduler jobScheduler, SystemNanoClock clock, MemoryTracker memoryTracker,
+            IOBufferFactory bufferFactory, EvictionPolicy.Factory evictionPolicy, PagedFileReservations reservations, long maxPageVersionsMemory )
     {
         verifyHacks();
         verifyCachePageSizeIsPowerOfTwo( cachePageSize );
@@ -281,10 +325,15 @@ public class MuninnPageCache implements PageCache
         this.versionContextSupplier = versionContextSupplier;
         this.printExceptionsOnClose = true;
         this.bufferFactory = bufferFactory;
+        this.memoryTracker = memoryTracker;
         this.victimPage = VictimPageReference.getVictimPage( cachePageSize, memoryTracker );
         this.pages = new PageList( maxPages, cachePageSize, memoryAllocator, new SwapperSet(), victimPage, UnsafeUtil.pageSize() );
         this.scheduler = jobScheduler;
         this.clock = clock;
+        this.evictionPolicy = evictionPolicy.create( maxPages );
+        this.reservations = reservations;
+        this.pageVersionsMemoryLimit = new PageVersions.MemoryLimit( maxPageVersionsMemory );
+        this.maxReservedPages = (long) (maxPages * maxReservedRatio);
 
         setFreelistHead( new AtomicInteger() );
     }
@@ -401,24 +450,49 @@ public class MuninnPageCache implements PageCache
         }
 
         // there was no existing mapping
-        MuninnPagedFile pagedFile = new MuninnPagedFile(
-                path,
-                this,
-                filePageSize,
-                swapperFactory,
-                pageCacheTracer, versionContextSupplier,
-                createIfNotExists,
-                truncateExisting, useDirectIO,
-                databaseName );
+        long reserved = reservePages( path, databaseName );
+        MuninnPagedFile pagedFile;
+        try
+        {
+            pagedFile = new MuninnPagedFile(
+                    path,
+                    this,
+                    filePageSize,
+                    swapperFactory,
+                    pageCacheTracer, versionContextSupplier,
+                    createIfNotExists,
+                    truncateExisting, useDirectIO,
+                    databaseName,
+                    reserved );
+        }
+        catch ( Throwable t )
+        {
+            reservedPages -= reserved;
+            throw t;
+        }
         pagedFile.incrementRefCount();
         pagedFile.setDeleteOnClose( deleteOnClose );
         current = new FileMapping( path, pagedFile );
         current.next = mappedFiles;
         mappedFiles = current;
-        pageCacheTracer.mappedFile( path );
+        pageCacheTracer.mappedFile( path, pagedFile.counters() );
         return pagedFile;
     }
 
+    // Must be called while holding the monitor lock on this page cache
+    private long reservePages( Path path, String databaseName )
+    {
+        double fraction = reservations.reservedFraction( path, databaseName );
+        if ( fraction <= 0 )
+        {
+            return 0;
+        }
+        long requested = (long) Math.ceil( Math.min( fraction, 1 ) * pages.getPageCount() );
+        long reserved = Math.max( 0, Math.min( requested, maxReservedPages - reservedPages ) );
+        reservedPages += reserved;
+        return reserved;
+    }
+
     @Override
     public synchronized Optional<PagedFile> getExistingMapping( Path path ) throws IOException
     {
@@ -526,6 +600,7 @@ public class MuninnPageCache implements PageCache
                         prev.next = current.next;
                     }
                     pageCacheTracer.unmappedFile( current.path );
+                    reservedPages -= file.reservedPages;
                     flushAndCloseWithoutFail( file );
                     break;
                 }
@@ -737,6 +812,21 @@ public class MuninnPageCache implements PageCache
         return bufferFactory;
     }
 
+    MemoryTracker getMemoryTracker()
+    {
+        return memoryTracker;
+    }
+
+    PageVersions.MemoryLimit getPageVersionsMemoryLimit()
+    {
+        return pageVersionsMemoryLimit;
+    }
+
+    EvictionPolicy getEvictionPolicy()
+    {
+        return evictionPolicy;
+    }
+
     int getPageCacheId()
     {
         return pageCacheId;
@@ -834,7 +924,8 @@ public class MuninnPageCache implements PageCache
             }
 
             pageRef = pages.deref( clockArm );
-            if ( pages.isLoaded( pageRef ) && pages.decrementUsage( pageRef ) )
+            // Only the first lap consults the eviction policy, after that any unused page will do to make progress
+            if ( pages.isLoaded( pageRef ) && pages.decrementUsage( pageRef ) && (iterations > 0 || shouldEvict( pageRef )) )
             {
                 evicted = pages.tryEvict( pageRef, faultEvent );
             }
@@ -894,8 +985,9 @@ public class MuninnPageCache implements PageCache
 
     /**
      * Scan through all the pages, one by one, and decrement their usage stamps.
-     * If a usage reaches zero, we try-write-locking it, and if we get that lock,
-     * we evict the page. If we don't, we move on to the next page.
+     * If a usage reaches zero, and the eviction policy agrees, we try-write-locking
+     * it, and if we get that lock, we evict the page. If we don't, we move on to
+     * the next page.
      * Once we have enough free pages, we park our thread. Page-faulting will
      * unpark our thread as needed.
      */
@@ -983,7 +1075,7 @@ public class MuninnPageCache implements PageCache
             }
 
             long pageRef = pages.deref( clockArm );
-            if ( pages.isLoaded( pageRef ) && pages.decrementUsage( pageRef ) )
+            if ( pages.isLoaded( pageRef ) && pages.decrementUsage( pageRef ) && shouldEvict( pageRef ) )
             {
                 try
                 {
@@ -1015,6 +1107,21 @@ public class MuninnPageCache implements PageCache
         return clockArm;
     }
 
+    private boolean shouldEvict( long pageRef )
+    {
+        // Benignly racy: the page is not locked, so the binding may change under us, but that only makes us consider another page.
+        int swapperId = pages.getSwapperId( pageRef );
+        if ( swapperId != 0 )
+        {
+            SwapperSet.SwapperMapping mapping = pages.getSwappers().getAllocation( swapperId );
+            if ( mapping != null && mapping.pagedFile != null && mapping.pagedFile.isWithinReservation() )
+            {
+                return false;
+            }
+        }
+        return evictionPolicy.shouldEvict( swapperId, pages.getFilePageId( pageRef ) );
+    }
+
     void addFreePageToFreelist( long pageRef )
     {
         Object current;
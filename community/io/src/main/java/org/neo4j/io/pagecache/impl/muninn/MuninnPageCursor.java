@@ -168,12 +168,28 @@ public abstract class MuninnPageCursor extends PageCursor
         {
             return;
         }
-        if ( isPotentiallyReadingDirtyData( lastClosedTransactionId ) )
+        if ( isPotentiallyReadingDirtyData( lastClosedTransactionId ) && !readPageVersion( lastClosedTransactionId ) )
         {
             versionContext.markAsDirty();
         }
     }
 
+    /**
+     * Point this cursor at the contents that its current page had as of the given transaction, if that version of the page is retained.
+     * @param lastClosedTransactionId last closed transaction id
+     * @return true if the cursor now reads the retained version of the page.
+     */
+    boolean readPageVersion( long lastClosedTransactionId )
+    {
+        long versionAddress = pagedFile.getPageVersionAddress( loadPlainCurrentPageId(), lastClosedTransactionId );
+        if ( versionAddress == 0 )
+        {
+            return false;
+        }
+        pointer = versionAddress;
+        return true;
+    }
+
     /**
      * When reading potentially dirty data in case if our page last modification version is higher than
      * requested lastClosedTransactionId; or for this page file we already evict some page with version that is higher
@@ -325,6 +341,7 @@ public abstract class MuninnPageCursor extends PageCursor
                 {
                     pinCursorToPage( pageRef, filePageId, swapper );
                     pinEvent.hit();
+                    pagedFile.pageHit();
                     return;
                 }
                 if ( locked )
@@ -368,6 +385,7 @@ public abstract class MuninnPageCursor extends PageCursor
                 // Sweet, we didn't race with any other fault on this translation table entry.
                 long pageRef = pageFault( filePageId, swapper, chunkOffset, chunk, latch );
                 pinCursorToPage( pageRef, filePageId, swapper );
+                afterPageFault( filePageId );
                 return true;
             }
             // Oops, looks like we raced with another page fault on this file page.
@@ -440,6 +458,7 @@ public abstract class MuninnPageCursor extends PageCursor
             // need for the page cursor.
             convertPageFaultLock( pageRef );
             faultEvent.done();
+            pagedFile.pageFaulted();
             return pageRef;
         }
         finally
@@ -461,6 +480,13 @@ public abstract class MuninnPageCursor extends PageCursor
         return pagedFile.getLastPageId();
     }
 
+    /**
+     * Called when this cursor has faulted in and pinned the given file page.
+     */
+    protected void afterPageFault( long filePageId ) throws IOException
+    {
+    }
+
     protected abstract void unpinCurrentPage();
 
     protected abstract void convertPageFaultLock( long pageRef );
@@ -24,6 +24,8 @@ import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.pagecache.IOLimiter;
@@ -35,6 +37,7 @@ import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.buffer.IOBufferFactory;
 import org.neo4j.io.pagecache.buffer.NativeIOBuffer;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.FlushEvent;
 import org.neo4j.io.pagecache.tracing.FlushEventOpportunity;
 import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
@@ -78,7 +81,16 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     final PageSwapper swapper;
     final int swapperId;
     private final CursorFactory cursorFactory;
+    private final PageVersions pageVersions;
+    private final VersionContextSupplier versionContextSupplier;
+    private final Runnable readClosedListener;
     final String databaseName;
+    private final EvictionPolicy evictionPolicy;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder faults = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong residentPages = new AtomicLong();
+    final long reservedPages;
 
     private volatile boolean deleteOnClose;
 
@@ -120,20 +132,27 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
      * @param truncateExisting should truncate file if it exists
      * @param databaseName an optional name of the database this file belongs to. This option associates the mapped file with a database.
      * This information is currently used only for monitoring purposes.
+     * @param reservedPages number of pages of this file the eviction sweep leaves in memory, see {@link PagedFileReservations}.
      * @throws IOException If the {@link PageSwapper} could not be created.
      */
     MuninnPagedFile( Path path, MuninnPageCache pageCache, int filePageSize, PageSwapperFactory swapperFactory, PageCacheTracer pageCacheTracer,
-            VersionContextSupplier versionContextSupplier, boolean createIfNotExists, boolean truncateExisting, boolean useDirectIo, String databaseName )
-            throws IOException
+            VersionContextSupplier versionContextSupplier, boolean createIfNotExists, boolean truncateExisting, boolean useDirectIo, String databaseName,
+            long reservedPages ) throws IOException
     {
         super( pageCache.pages );
         this.pageCache = pageCache;
         this.filePageSize = filePageSize;
         this.cursorFactory = new CursorFactory( this, versionContextSupplier );
+        this.pageVersions = new PageVersions( filePageSize, versionContextSupplier::oldestReadTransactionId, pageCache.getMemoryTracker(),
+                pageCache.getPageVersionsMemoryLimit() );
+        this.versionContextSupplier = versionContextSupplier;
+        this.readClosedListener = pageVersions::readClosed;
         this.pageCacheTracer = pageCacheTracer;
         this.pageFaultLatches = new LatchMap();
         this.bufferFactory = pageCache.getBufferFactory();
         this.databaseName = databaseName;
+        this.evictionPolicy = pageCache.getEvictionPolicy();
+        this.reservedPages = reservedPages;
 
         // The translation table is an array of arrays of integers that are either UNMAPPED_TTE, or the id of a page in
         // the page list. The table only grows the outer array, and all the inner "chunks" all stay the same size. This
@@ -168,7 +187,8 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         translationTable = tt;
 
         initialiseLastPageId( lastPageId );
-        this.swapperId = getSwappers().allocate( swapper );
+        this.swapperId = getSwappers().allocate( swapper, this );
+        versionContextSupplier.addReadClosedListener( readClosedListener );
     }
 
     @Override
@@ -277,6 +297,8 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                 UnsafeUtil.putIntVolatile( chunk, offset, UNMAPPED_TTE );
             }
         }
+        versionContextSupplier.removeReadClosedListener( readClosedListener );
+        pageVersions.close();
     }
 
     @Override
@@ -783,12 +805,82 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return pageCache.grabFreeAndExclusivelyLockedPage( faultEvent );
     }
 
+    /**
+     * Increment the usage stamp of the given page, bound to the given file page of this file, and tell the eviction policy if it is
+     * the first use since the page was faulted in, or since the clock sweep wore its usage stamp down.
+     */
+    void markAccessed( long pageRef, long filePageId )
+    {
+        if ( incrementUsage( pageRef ) )
+        {
+            evictionPolicy.accessed( swapperId, filePageId );
+        }
+    }
+
+    void pageHit()
+    {
+        hits.increment();
+    }
+
+    void pageFaulted()
+    {
+        faults.increment();
+        residentPages.incrementAndGet();
+    }
+
+    /**
+     * @return {@code true} if this file has no more pages in memory than reserved for it, so its pages should not be evicted.
+     */
+    boolean isWithinReservation()
+    {
+        return reservedPages > 0 && residentPages.get() <= reservedPages;
+    }
+
+    @Override
+    public PagedFileCounters counters()
+    {
+        return new PagedFileCounters()
+        {
+            @Override
+            public long hits()
+            {
+                return hits.sum();
+            }
+
+            @Override
+            public long faults()
+            {
+                return faults.sum();
+            }
+
+            @Override
+            public long evictions()
+            {
+                return evictions.sum();
+            }
+
+            @Override
+            public long residentPages()
+            {
+                return residentPages.get();
+            }
+
+            @Override
+            public long reservedPages()
+            {
+                return reservedPages;
+            }
+        };
+    }
+
     /**
      * Remove the mapping of the given filePageId from the translation table, and return the evicted page object.
      * @param filePageId The id of the file page to evict.
      */
     private void evictPage( long filePageId )
     {
+        evictions.increment();
+        residentPages.decrementAndGet();
         int chunkId = computeChunkId( filePageId );
         long chunkOffset = computeChunkOffset( filePageId );
         int[] chunk = translationTable[chunkId];
@@ -809,6 +901,30 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return UnsafeUtil.getLongVolatile( this, evictedTransactionIdOffset );
     }
 
+    /**
+     * Retain the current contents of the given page for readers of older versions, if there are any, before the page is modified by
+     * the given transaction. The caller must hold the write lock of the page.
+     */
+    void beforeModification( long pageRef, long filePageId, long modifierTxId )
+    {
+        // The contents of a page that was evicted and faulted back in can contain modifications from any evicted transaction.
+        long pageVersion = Math.max( getLastModifiedTxId( pageRef ), getHighestEvictedTransactionId() );
+        pageVersions.beforeModification( filePageId, getAddress( pageRef ), pageVersion, modifierTxId );
+    }
+
+    /**
+     * @return address of the contents of the given page as of the given transaction, or {@code 0} if that version of the page is not retained.
+     */
+    long getPageVersionAddress( long filePageId, long lastClosedTransactionId )
+    {
+        return pageVersions.versionAddress( filePageId, lastClosedTransactionId );
+    }
+
+    long retainedPageVersions()
+    {
+        return pageVersions.retainedVersions();
+    }
+
     /**
      * Expand the translation table such that it can include at least the given chunkId.
      * @param maxChunkId The new translation table must be big enough to include at least this chunkId.
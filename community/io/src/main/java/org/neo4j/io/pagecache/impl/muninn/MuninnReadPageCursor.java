@@ -20,15 +20,43 @@
 package org.neo4j.io.pagecache.impl.muninn;
 
 import java.io.IOException;
+import java.util.Arrays;
 
+import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.tracing.PageFaultEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
+import static org.neo4j.io.pagecache.impl.muninn.MuninnPagedFile.UNMAPPED_TTE;
+import static org.neo4j.util.FeatureToggles.getInteger;
+
 final class MuninnReadPageCursor extends MuninnPageCursor
 {
+    // The most pages a scanning cursor reads ahead of itself in one vectored read. Zero disables read-ahead.
+    private static final int maxReadAheadPages = getInteger( MuninnReadPageCursor.class, "maxReadAheadPages", 32 );
+    private static final int initialReadAheadPages = 4;
+    // Read-ahead never takes more than this fraction of the page cache, so small caches are not emptied by it.
+    private static final int readAheadCacheFractionDivisor = 16;
+
     private long lockStamp;
 
+    // Read-ahead state of cursors opened with PF_READ_AHEAD. When such a cursor page faults while moving to the page right after
+    // the previous one, it also faults in the pages following it with a single vectored read. The read-ahead window doubles every
+    // time the cursor got through all pages read ahead before faulting again, and halves when read ahead pages were evicted
+    // before the cursor got to them.
+    private long previousPageId = UNBOUND_PAGE_ID;
+    private boolean sequential;
+    private long lastReadAheadPageId = UNBOUND_PAGE_ID;
+    private int readAheadWindow;
+    private long[] readAheadPageRefs;
+    private long[] readAheadAddresses;
+    private int[] readAheadLengths;
+    private int[][] readAheadChunks;
+    private long[] readAheadChunkOffsets;
+    private LatchMap.Latch[] readAheadLatches;
+
     MuninnReadPageCursor( long victimPage, PageCursorTracer pageCursorTracer,
             VersionContextSupplier versionContextSupplier )
     {
@@ -59,12 +87,151 @@ final class MuninnReadPageCursor extends MuninnPageCursor
         storeCurrentPageId( nextPageId );
         nextPageId++;
         long filePageId = loadPlainCurrentPageId();
+        sequential = previousPageId != UNBOUND_PAGE_ID && filePageId == previousPageId + 1 && (pf_flags & PF_READ_AHEAD) == PF_READ_AHEAD;
+        previousPageId = filePageId;
         pinEvent = tracer.beginPin( false, filePageId, swapper );
         pin( filePageId );
         verifyContext();
         return true;
     }
 
+    @Override
+    protected void afterPageFault( long filePageId ) throws IOException
+    {
+        if ( !sequential )
+        {
+            return;
+        }
+        int maxWindow = (int) Math.min( maxReadAheadPages, pagedFile.pageCache.maxCachedPages() / readAheadCacheFractionDivisor );
+        if ( maxWindow <= 0 )
+        {
+            return;
+        }
+        if ( filePageId <= lastReadAheadPageId )
+        {
+            // Pages we read ahead were evicted before we got to them, so we are reading further ahead than the cache can keep up with.
+            readAheadWindow = Math.max( readAheadWindow / 2, 1 );
+        }
+        else
+        {
+            readAheadWindow = readAheadWindow == 0 ? initialReadAheadPages : readAheadWindow * 2;
+        }
+        readAheadWindow = Math.min( readAheadWindow, maxWindow );
+        lastReadAheadPageId = filePageId + readAhead( filePageId + 1, readAheadWindow );
+    }
+
+    /**
+     * Fault in up to the given number of pages, starting at the given file page id, with a single vectored read. Stops at the first
+     * page that is already in memory, or is being faulted in by someone else.
+     *
+     * @return the number of pages faulted in.
+     */
+    private int readAhead( long startFilePageId, int window ) throws IOException
+    {
+        int count = (int) Math.min( window, assertPagedFileStillMappedAndGetIdOfLastPage() - startFilePageId + 1 );
+        if ( count <= 0 )
+        {
+            return 0;
+        }
+        if ( readAheadPageRefs == null || readAheadPageRefs.length < count )
+        {
+            allocateReadAheadBuffers( Math.max( count, maxReadAheadPages ) );
+        }
+
+        // Take the page fault latches of the run of pages we are going to fault in. We never wait for a latch, since someone else
+        // faulting in one of these pages means that we only need to read up to it.
+        int[][] tt = pagedFile.translationTable;
+        int taken = 0;
+        while ( taken < count )
+        {
+            long filePageId = startFilePageId + taken;
+            int chunkId = MuninnPagedFile.computeChunkId( filePageId );
+            if ( chunkId >= tt.length )
+            {
+                break;
+            }
+            int[] chunk = tt[chunkId];
+            long chunkOffset = MuninnPagedFile.computeChunkOffset( filePageId );
+            if ( UnsafeUtil.getIntVolatile( chunk, chunkOffset ) != UNMAPPED_TTE )
+            {
+                break;
+            }
+            LatchMap.Latch latch = pagedFile.pageFaultLatches.tryTakeLatch( filePageId );
+            if ( latch == null )
+            {
+                break;
+            }
+            if ( UnsafeUtil.getIntVolatile( chunk, chunkOffset ) != UNMAPPED_TTE )
+            {
+                latch.release();
+                break;
+            }
+            readAheadLatches[taken] = latch;
+            readAheadChunks[taken] = chunk;
+            readAheadChunkOffsets[taken] = chunkOffset;
+            taken++;
+        }
+        if ( taken == 0 )
+        {
+            return 0;
+        }
+
+        PageFaultEvent faultEvent = pinEvent.beginPageFault();
+        int locked = 0;
+        try
+        {
+            for ( ; locked < taken; locked++ )
+            {
+                long pageRef = pagedFile.grabFreeAndExclusivelyLockedPage( faultEvent );
+                readAheadPageRefs[locked] = pageRef;
+                pagedFile.initBuffer( pageRef );
+            }
+            pagedFile.fault( readAheadPageRefs, readAheadAddresses, readAheadLengths, taken, swapper, swapperId, startFilePageId, faultEvent );
+        }
+        catch ( Throwable throwable )
+        {
+            for ( int i = 0; i < locked; i++ )
+            {
+                // Make sure to unlock the pages, so the eviction thread can pick up our trash.
+                pagedFile.unlockExclusive( readAheadPageRefs[i] );
+            }
+            releaseReadAheadLatches( taken );
+            faultEvent.done( throwable );
+            throw throwable;
+        }
+        for ( int i = 0; i < taken; i++ )
+        {
+            long pageRef = readAheadPageRefs[i];
+            UnsafeUtil.putIntVolatile( readAheadChunks[i], readAheadChunkOffsets[i], pagedFile.toId( pageRef ) );
+            pagedFile.unlockExclusive( pageRef );
+            pagedFile.pageFaulted();
+        }
+        releaseReadAheadLatches( taken );
+        faultEvent.done();
+        return taken;
+    }
+
+    private void allocateReadAheadBuffers( int size )
+    {
+        readAheadPageRefs = new long[size];
+        readAheadAddresses = new long[size];
+        readAheadLengths = new int[size];
+        Arrays.fill( readAheadLengths, pagedFile.pageSize() );
+        readAheadChunks = new int[size][];
+        readAheadChunkOffsets = new long[size];
+        readAheadLatches = new LatchMap.Latch[size];
+    }
+
+    private void releaseReadAheadLatches( int count )
+    {
+        for ( int i = 0; i < count; i++ )
+        {
+            readAheadLatches[i].release();
+            readAheadLatches[i] = null;
+            readAheadChunks[i] = null;
+        }
+    }
+
     @Override
     protected boolean tryLockPage( long pageRef )
     {
@@ -81,7 +248,7 @@ final class MuninnReadPageCursor extends MuninnPageCursor
     protected void pinCursorToPage( long pageRef, long filePageId, PageSwapper swapper )
     {
         reset( pageRef );
-        pagedFile.incrementUsage( pageRef );
+        pagedFile.markAccessed( pageRef, filePageId );
     }
 
     @Override
@@ -148,6 +315,8 @@ final class MuninnReadPageCursor extends MuninnPageCursor
             clearPageReference();
             // Then try pin again.
             pin( loadPlainCurrentPageId() );
+            // Pinning points us at the current contents of the page, which might not be the version we should read.
+            verifyContext();
         }
     }
 
@@ -126,8 +126,17 @@ final class MuninnWritePageCursor extends MuninnPageCursor
         // after the reset() call, which means that if we throw, the cursor will
         // be closed and the page lock will be released.
         assertPagedFileStillMappedAndGetIdOfLastPage();
-        pagedFile.incrementUsage( pageRef );
-        pagedFile.setLastModifiedTxId( pageRef, versionContextSupplier.getVersionContext().committingTransactionId() );
+        pagedFile.markAccessed( pageRef, filePageId );
+        long committingTransactionId = versionContextSupplier.getVersionContext().committingTransactionId();
+        pagedFile.beforeModification( pageRef, filePageId, committingTransactionId );
+        pagedFile.setLastModifiedTxId( pageRef, committingTransactionId );
+    }
+
+    @Override
+    boolean readPageVersion( long lastClosedTransactionId )
+    {
+        // Writes must always go to the current contents of the page.
+        return false;
     }
 
     @Override
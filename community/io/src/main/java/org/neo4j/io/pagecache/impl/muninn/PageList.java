@@ -308,8 +308,10 @@ class PageList
 
     /**
      * Increment the usage stamp to at most 4.
+     * @return {@code true} if this incremented the usage stamp from 0, i.e. it is the first use of the page since it was faulted in,
+     * or since the clock sweep wore its usage stamp down.
      **/
-    void incrementUsage( long pageRef )
+    boolean incrementUsage( long pageRef )
     {
         // This is intentionally left benignly racy for performance.
         long address = offPageBinding( pageRef );
@@ -323,8 +325,9 @@ class PageList
             // Those fields are updated under guard of the exclusive lock, but we *might* race with
             // that here, and in that case we would never want a usage counter update to clobber a page
             // binding update.
-            UnsafeUtil.compareAndSwapLong( null, address, value, update );
+            return UnsafeUtil.compareAndSwapLong( null, address, value, update ) && usage == 0;
         }
+        return false;
     }
 
     /**
@@ -437,6 +440,41 @@ class PageList
         setSwapperId( pageRef, swapperId ); // Page now considered isBoundTo( swapper, filePageId )
     }
 
+    /**
+     * Fault the given number of consecutive file pages, starting at the given file page id, into the given exclusively locked
+     * pages, with a single vectored read. The addresses of the pages are put in the given address array, and the given length
+     * array must hold the number of bytes to read into each page.
+     */
+    void fault( long[] pageRefs, long[] bufferAddresses, int[] bufferLengths, int count, PageSwapper swapper, int swapperId,
+            long startFilePageId, PageFaultEvent event ) throws IOException
+    {
+        if ( swapper == null )
+        {
+            throw swapperCannotBeNull();
+        }
+        for ( int i = 0; i < count; i++ )
+        {
+            long pageRef = pageRefs[i];
+            long filePageId = startFilePageId + i;
+            int currentSwapper = getSwapperId( pageRef );
+            long currentFilePageId = getFilePageId( pageRef );
+            if ( !isExclusivelyLocked( pageRef ) || currentSwapper != 0 || currentFilePageId != PageCursor.UNBOUND_PAGE_ID )
+            {
+                throw cannotFaultException( pageRef, swapper, swapperId, filePageId, currentSwapper, currentFilePageId );
+            }
+            // Same as for single page faults, the file page id is assigned before, and the swapper after the swapping-in.
+            setFilePageId( pageRef, filePageId );
+            bufferAddresses[i] = getAddress( pageRef );
+        }
+        long bytesRead = swapper.read( startFilePageId, bufferAddresses, bufferLengths, count );
+        event.addBytesRead( bytesRead );
+        event.setCachePageId( toId( pageRefs[0] ) );
+        for ( int i = 0; i < count; i++ )
+        {
+            setSwapperId( pageRefs[i], swapperId );
+        }
+    }
+
     private static IllegalArgumentException swapperCannotBeNull()
     {
         return new IllegalArgumentException( "swapper cannot be null" );
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * Older versions of the pages of a file, retained for readers that read the file as of a transaction that is older than the
+ * transactions that have since modified those pages.
+ * <p>
+ * Before a page is modified, the modifying cursor hands its current contents to {@link #beforeModification(long, long, long, long)},
+ * which copies them if any read context is open that is older than the modifying transaction. The copy is valid for readers of
+ * versions from the last modification of the page, up to, but not including, the modifying transaction. Any later modification of the
+ * page by an older transaction, as can happen when transactions are applied concurrently, narrows that range accordingly, so a
+ * retained version is never served to a reader that should see the later modification.
+ * <p>
+ * Versions are reclaimed once the oldest open read context has moved past them, both when the page is next modified and when a read
+ * context is closed. The check is done while holding the monitor lock, and so are look-ups, which guarantees that a version is not freed
+ * while it is being handed to a reader whose context is open.
+ * <p>
+ * The memory used by retained versions is bounded by a {@link MemoryLimit} shared by all files of the page cache. Once it is used up,
+ * modifications no longer retain versions, and readers that would have needed them mark their context as dirty instead.
+ */
+final class PageVersions
+{
+    private final int pageSize;
+    private final LongSupplier oldestReadTransactionId;
+    private final MemoryTracker memoryTracker;
+    private final MemoryLimit memoryLimit;
+    private final MutableLongObjectMap<PageVersion> versions = new LongObjectHashMap<>();
+    private long lowestValidTo = Long.MAX_VALUE; // Guarded by `this`
+    private volatile boolean empty = true;
+
+    PageVersions( int pageSize, LongSupplier oldestReadTransactionId, MemoryTracker memoryTracker, MemoryLimit memoryLimit )
+    {
+        this.pageSize = pageSize;
+        this.oldestReadTransactionId = oldestReadTransactionId;
+        this.memoryTracker = memoryTracker;
+        this.memoryLimit = memoryLimit;
+    }
+
+    /**
+     * Called by a cursor that holds the write lock of the given page, before it modifies the page.
+     *
+     * @param filePageId id of the page in the file.
+     * @param pageAddress address of the page contents.
+     * @param pageVersion highest transaction id that the current contents of the page can contain modifications from.
+     * @param modifierTxId id of the transaction that is about to modify the page.
+     */
+    void beforeModification( long filePageId, long pageAddress, long pageVersion, long modifierTxId )
+    {
+        // Only the holder of the write lock of a page adds versions of it, so if there are none, none can appear concurrently.
+        if ( empty && oldestReadTransactionId.getAsLong() >= modifierTxId )
+        {
+            return;
+        }
+        synchronized ( this )
+        {
+            long oldestRead = oldestReadTransactionId.getAsLong();
+            if ( oldestRead >= lowestValidTo )
+            {
+                reclaim( oldestRead );
+            }
+            PageVersion head = versions.get( filePageId );
+            for ( PageVersion version = head; version != null; version = version.older )
+            {
+                if ( version.validTo > modifierTxId )
+                {
+                    version.validTo = modifierTxId;
+                    lowestValidTo = Math.min( lowestValidTo, modifierTxId );
+                }
+            }
+            if ( oldestRead < modifierTxId && pageVersion < modifierTxId && memoryLimit.tryAcquire( pageSize ) )
+            {
+                long address = UnsafeUtil.allocateMemory( pageSize, memoryTracker );
+                UnsafeUtil.copyMemory( pageAddress, address, pageSize );
+                versions.put( filePageId, new PageVersion( address, pageVersion, modifierTxId, head ) );
+                lowestValidTo = Math.min( lowestValidTo, modifierTxId );
+                empty = false;
+            }
+        }
+    }
+
+    /**
+     * @param filePageId id of the page in the file.
+     * @param readTransactionId last closed transaction id of the reading context.
+     * @return address of the retained contents of the given page as of the given transaction, or {@code 0} if no such version is retained.
+     */
+    long versionAddress( long filePageId, long readTransactionId )
+    {
+        if ( empty )
+        {
+            return 0;
+        }
+        synchronized ( this )
+        {
+            for ( PageVersion version = versions.get( filePageId ); version != null; version = version.older )
+            {
+                if ( version.validFrom <= readTransactionId && readTransactionId < version.validTo )
+                {
+                    return version.address;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Called when a read context is closed, to reclaim the versions that were only retained for it.
+     */
+    void readClosed()
+    {
+        if ( empty )
+        {
+            return;
+        }
+        synchronized ( this )
+        {
+            long oldestRead = oldestReadTransactionId.getAsLong();
+            if ( oldestRead >= lowestValidTo )
+            {
+                reclaim( oldestRead );
+            }
+        }
+    }
+
+    synchronized long retainedVersions()
+    {
+        long count = 0;
+        for ( PageVersion head : versions )
+        {
+            for ( PageVersion version = head; version != null; version = version.older )
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Free all retained versions. Called when the file is unmapped, at which point there can be no more readers.
+     */
+    synchronized void close()
+    {
+        reclaim( Long.MAX_VALUE );
+    }
+
+    private void reclaim( long oldestRead )
+    {
+        // A version is only retained if the page was last modified by an older transaction than the one modifying it now, so each
+        // version is valid to a lower transaction id than the version retained after it. Reclaimable versions are therefore always
+        // found at the old end of the chain.
+        long lowest = Long.MAX_VALUE;
+        var heads = versions.values().iterator();
+        while ( heads.hasNext() )
+        {
+            PageVersion head = heads.next();
+            PageVersion newest = null;
+            PageVersion version = head;
+            while ( version != null && version.validTo > oldestRead )
+            {
+                lowest = Math.min( lowest, version.validTo );
+                newest = version;
+                version = version.older;
+            }
+            if ( newest == null )
+            {
+                heads.remove();
+            }
+            else
+            {
+                newest.older = null;
+            }
+            for ( ; version != null; version = version.older )
+            {
+                UnsafeUtil.free( version.address, pageSize, memoryTracker );
+                memoryLimit.release( pageSize );
+            }
+        }
+        lowestValidTo = lowest;
+        empty = versions.isEmpty();
+    }
+
+    /**
+     * Upper bound on the memory used by the retained versions of all files of a page cache.
+     */
+    static final class MemoryLimit
+    {
+        private final long maxBytes;
+        private final AtomicLong usedBytes = new AtomicLong();
+
+        MemoryLimit( long maxBytes )
+        {
+            this.maxBytes = maxBytes;
+        }
+
+        boolean tryAcquire( long bytes )
+        {
+            long used;
+            do
+            {
+                used = usedBytes.get();
+                if ( used + bytes > maxBytes )
+                {
+                    return false;
+                }
+            }
+            while ( !usedBytes.compareAndSet( used, used + bytes ) );
+            return true;
+        }
+
+        void release( long bytes )
+        {
+            usedBytes.addAndGet( -bytes );
+        }
+
+        long usedBytes()
+        {
+            return usedBytes.get();
+        }
+    }
+
+    private static final class PageVersion
+    {
+        private final long address;
+        private final long validFrom;
+        private long validTo;
+        private PageVersion older;
+
+        PageVersion( long address, long validFrom, long validTo, PageVersion older )
+        {
+            this.address = address;
+            this.validFrom = validFrom;
+            this.validTo = validTo;
+            this.older = older;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.nio.file.Path;
+
+/**
+ * Reserves part of the {@link MuninnPageCache} for the pages of specific files, so that small but critical files are not pushed out of
+ * the cache by large files competing for the same memory. The eviction sweep does not evict pages of a file while the file has no more
+ * pages in memory than reserved for it.
+ * <p>
+ * Reservations are taken when a file is mapped and returned when it is unmapped. To leave room for all other files, the reservations of
+ * all mapped files together are limited to a fixed share of the cache; a file mapped once that share is taken gets what is left, if
+ * anything.
+ */
+@FunctionalInterface
+public interface PagedFileReservations
+{
+    PagedFileReservations NONE = ( path, databaseName ) -> 0;
+
+    /**
+     * @param path the file being mapped.
+     * @param databaseName name of the database the file belongs to, or {@code null} if it does not belong to a database.
+     * @return the fraction of the pages of the page cache, between {@code 0} and {@code 1}, to reserve for the given file.
+     */
+    double reservedFraction( Path path, String databaseName );
+}
@@ -19,6 +19,9 @@
  */
 package org.neo4j.io.pagecache.monitoring;
 
+import java.nio.file.Path;
+import java.util.Map;
+
 /**
  * The PageCacheCounters exposes internal counters from the page cache.
  * The data for these counters is sourced through the PageCacheTracer API.
@@ -95,4 +98,20 @@ public interface PageCacheCounters
      * be determined.
      */
     double usageRatio();
+
+    /**
+     * @return The number of pages loaded by page cache warmups thus far.
+     */
+    default long pagesWarmedUp()
+    {
+        return 0;
+    }
+
+    /**
+     * @return The counters of each of the currently mapped files, by file, or an empty map if they are not tracked.
+     */
+    default Map<Path,PagedFileCounters> mappedFileCounters()
+    {
+        return Map.of();
+    }
 }
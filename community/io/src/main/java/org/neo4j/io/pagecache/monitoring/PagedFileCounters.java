@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.monitoring;
+
+import org.neo4j.io.pagecache.PagedFile;
+
+/**
+ * Counters of the page cache activity caused by a single {@link PagedFile}, for comparing how well the pages of different files are
+ * kept in the cache.
+ */
+public interface PagedFileCounters
+{
+    PagedFileCounters EMPTY = new PagedFileCounters()
+    {
+        @Override
+        public long hits()
+        {
+            return 0;
+        }
+
+        @Override
+        public long faults()
+        {
+            return 0;
+        }
+
+        @Override
+        public long evictions()
+        {
+            return 0;
+        }
+
+        @Override
+        public long residentPages()
+        {
+            return 0;
+        }
+
+        @Override
+        public long reservedPages()
+        {
+            return 0;
+        }
+    };
+
+    /**
+     * @return The number of pins of pages of this file that found the page in memory.
+     */
+    long hits();
+
+    /**
+     * @return The number of pages of this file that had to be read in from the file.
+     */
+    long faults();
+
+    /**
+     * @return The number of pages of this file that have been evicted from the page cache.
+     */
+    long evictions();
+
+    /**
+     * @return The number of pages of this file currently in the page cache.
+     */
+    long residentPages();
+
+    /**
+     * @return The number of pages of this file the page cache does not evict, because they are reserved for this file.
+     */
+    long reservedPages();
+
+    /**
+     * @return The ratio of hits to all pins of pages of this file, or {@code 0} if no pages have been pinned.
+     */
+    default double hitRatio()
+    {
+        long hits = hits();
+        long total = hits + faults();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -21,11 +21,15 @@ package org.neo4j.io.pagecache.tracing;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.neo4j.internal.helpers.MathUtil;
 import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracer;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
@@ -46,7 +50,9 @@ public class DefaultPageCacheTracer implements PageCacheTracer
     protected final LongAdder filesMapped = new LongAdder();
     protected final LongAdder filesUnmapped = new LongAdder();
     protected final LongAdder evictionExceptions = new LongAdder();
+    protected final LongAdder pagesWarmedUp = new LongAdder();
     protected final AtomicLong maxPages = new AtomicLong();
+    private final Map<Path,PagedFileCounters> mappedFileCounters = new ConcurrentHashMap<>();
 
     private final FlushEvent flushEvent = new FlushEvent()
     {
@@ -177,10 +183,36 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         filesMapped.increment();
     }
 
+    @Override
+    public void mappedFile( Path path, PagedFileCounters counters )
+    {
+        mappedFile( path );
+        mappedFileCounters.put( path, counters );
+    }
+
     @Override
     public void unmappedFile( Path path )
     {
         filesUnmapped.increment();
+        mappedFileCounters.remove( path );
+    }
+
+    @Override
+    public void pagesWarmedUp( Path path, long pageCount )
+    {
+        pagesWarmedUp.add( pageCount );
+    }
+
+    @Override
+    public long pagesWarmedUp()
+    {
+        return pagesWarmedUp.sum();
+    }
+
+    @Override
+    public Map<Path,PagedFileCounters> mappedFileCounters()
+    {
+        return Collections.unmodifiableMap( mappedFileCounters );
     }
 
     @Override
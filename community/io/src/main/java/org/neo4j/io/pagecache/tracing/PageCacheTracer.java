@@ -23,6 +23,7 @@ import java.nio.file.Path;
 
 import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.monitoring.PageCacheCounters;
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
 /**
@@ -229,11 +230,27 @@ public interface PageCacheTracer extends PageCacheCounters
      */
     void mappedFile( Path path );
 
+    /**
+     * The given file has been mapped, where no existing mapping for that file existed. The given counters track the page
+     * cache activity of that file for as long as it stays mapped.
+     */
+    default void mappedFile( Path path, PagedFileCounters counters )
+    {
+        mappedFile( path );
+    }
+
     /**
      * The last reference to the given file has been unmapped.
      */
     void unmappedFile( Path path );
 
+    /**
+     * The given number of pages of the given file have been loaded into the page cache by a warmup, ahead of being needed.
+     */
+    default void pagesWarmedUp( Path path, long pageCount )
+    {
+    }
+
     /**
      * A background eviction has begun. Called from the background eviction thread.
      *
@@ -49,6 +49,14 @@ public interface VersionContext
      */
     void initRead();
 
+    /**
+     * Release read context, after which it no longer reads data of the version it was initialised with.
+     * Page versions that were only retained for this context can be reclaimed from here on.
+     */
+    default void closeRead()
+    {
+    }
+
     /**
      * Initialise write context with committingTxId as modification version.
      * @param committingTxId currently committing transaction id
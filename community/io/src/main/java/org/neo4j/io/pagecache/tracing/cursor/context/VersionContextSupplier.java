@@ -39,4 +39,31 @@ public interface VersionContextSupplier
      */
     VersionContext getVersionContext();
 
+    /**
+     * Last closed transaction id of the oldest read context supplied by this supplier that is still open.
+     * Page versions newer than this are retained for readers until that context is closed.
+     * @return oldest read version, or {@link Long#MAX_VALUE} if there are no open read contexts.
+     */
+    default long oldestReadTransactionId()
+    {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Register a listener that is called every time a read context supplied by this supplier is closed.
+     * Page versions that were only retained for that context can be reclaimed from the listener.
+     * @param listener listener to call when a read context is closed.
+     */
+    default void addReadClosedListener( Runnable listener )
+    {
+    }
+
+    /**
+     * Unregister a listener registered by {@link #addReadClosedListener(Runnable)}.
+     * @param listener listener to remove.
+     */
+    default void removeReadClosedListener( Runnable listener )
+    {
+    }
+
 }
@@ -22,6 +22,11 @@ package org.neo4j.io.mem;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.internal.nativeimpl.AbsentNativeAccess;
+import org.neo4j.internal.nativeimpl.NativeCallResult;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.pagecache.PageCache;
@@ -218,6 +223,94 @@ class MemoryAllocatorTest
         UnsafeUtil.getLong( address + ONE_PAGE - Long.BYTES ); // End of allocation.
     }
 
+    @Test
+    void grabsMustBeAdvisedToUseHugePagesAndBeBoundToNumaNodesRoundRobin()
+    {
+        RecordingNativeAccess nativeAccess = new RecordingNativeAccess( 2 );
+        MemoryPlacement placement = new MemoryPlacement( true, MemoryPlacement.NumaPolicy.BIND_GRABS );
+        allocator = new GrabAllocator( MebiByte.toBytes( 256 ), new LocalMemoryTracker(), placement, nativeAccess );
+
+        // Huge page grabs are large enough that all of these pages fit into the first grab.
+        for ( int i = 0; i < 16; i++ )
+        {
+            allocator.allocateAligned( PageCache.PAGE_SIZE, UnsafeUtil.pageSize() );
+        }
+        assertThat( nativeAccess.hugePageAdvice ).isEqualTo( 1 );
+
+        // Grabs larger than the huge page grab size get their own grab.
+        allocator.allocateAligned( MebiByte.toBytes( 40 ), 1 );
+        allocator.allocateAligned( MebiByte.toBytes( 40 ), 1 );
+        assertThat( nativeAccess.hugePageAdvice ).isEqualTo( 3 );
+        assertThat( nativeAccess.boundNodes ).containsExactly( 0, 1, 0 );
+        assertThat( nativeAccess.interleaved ).isEqualTo( 0 );
+    }
+
+    @Test
+    void grabsMustBeInterleavedOverNumaNodes()
+    {
+        RecordingNativeAccess nativeAccess = new RecordingNativeAccess( 4 );
+        MemoryPlacement placement = new MemoryPlacement( false, MemoryPlacement.NumaPolicy.INTERLEAVE );
+        allocator = new GrabAllocator( MebiByte.toBytes( 2 ), new LocalMemoryTracker(), placement, nativeAccess );
+
+        allocator.allocateAligned( MebiByte.toBytes( 1 ), 1 );
+        allocator.allocateAligned( MebiByte.toBytes( 1 ), 1 );
+        assertThat( nativeAccess.interleaved ).isEqualTo( 2 );
+        assertThat( nativeAccess.hugePageAdvice ).isEqualTo( 0 );
+        assertThat( nativeAccess.boundNodes ).isEmpty();
+    }
+
+    @Test
+    void defaultPlacementMustNotAdviseAnything()
+    {
+        RecordingNativeAccess nativeAccess = new RecordingNativeAccess( 2 );
+        allocator = new GrabAllocator( MebiByte.toBytes( 2 ), new LocalMemoryTracker(), MemoryPlacement.DEFAULT, nativeAccess );
+
+        allocator.allocateAligned( MebiByte.toBytes( 1 ), 1 );
+        assertThat( nativeAccess.interleaved ).isEqualTo( 0 );
+        assertThat( nativeAccess.hugePageAdvice ).isEqualTo( 0 );
+        assertThat( nativeAccess.boundNodes ).isEmpty();
+    }
+
+    private static class RecordingNativeAccess extends AbsentNativeAccess
+    {
+        private final int numaNodes;
+        private final List<Integer> boundNodes = new ArrayList<>();
+        private int hugePageAdvice;
+        private int interleaved;
+
+        RecordingNativeAccess( int numaNodes )
+        {
+            this.numaNodes = numaNodes;
+        }
+
+        @Override
+        public NativeCallResult tryAdviseHugePages( long address, long bytes )
+        {
+            hugePageAdvice++;
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public NativeCallResult tryInterleaveMemory( long address, long bytes )
+        {
+            interleaved++;
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public NativeCallResult tryBindMemory( long address, long bytes, int node )
+        {
+            boundNodes.add( node );
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public int getNumaNodeCount()
+        {
+            return numaNodes;
+        }
+    }
+
     private void closeAllocator()
     {
         if ( allocator != null )
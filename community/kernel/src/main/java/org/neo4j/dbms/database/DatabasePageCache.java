@@ -35,6 +35,7 @@ import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.buffer.IOBufferFactory;
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 
@@ -224,6 +225,12 @@ public class DatabasePageCache implements PageCache
             return delegate.getDatabaseName();
         }
 
+        @Override
+        public PagedFileCounters counters()
+        {
+            return delegate.counters();
+        }
+
         @Override
         public boolean equals( Object o )
         {
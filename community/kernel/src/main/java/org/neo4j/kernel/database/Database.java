@@ -99,6 +99,7 @@ import org.neo4j.kernel.impl.factory.KernelTransactionFactory;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.StatementLocksFactory;
 import org.neo4j.kernel.impl.pagecache.PageCacheLifecycle;
+import org.neo4j.kernel.impl.pagecache.PageCacheWarmer;
 import org.neo4j.kernel.impl.query.QueryEngineProvider;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.impl.store.stats.DatabaseEntityCounters;
@@ -110,6 +111,8 @@ import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogicalTransactionStore;
 import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
 import org.neo4j.kernel.impl.transaction.log.TransactionMetadataCache;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.AdaptiveIOLimiter;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.BackgroundFlusher;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointScheduler;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointThreshold;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointerImpl;
@@ -186,6 +189,7 @@ import static org.neo4j.kernel.recovery.Recovery.validateStoreId;
 public class Database extends LifecycleAdapter
 {
     private static final String STORE_ID_VALIDATOR_TAG = "storeIdValidator";
+    private static final int BACKGROUND_FLUSH_MIN_IOPS = 100;
     private final Monitors parentMonitors;
     private final DependencyResolver globalDependencies;
     private final PageCache globalPageCache;
@@ -406,6 +410,7 @@ public class Database extends LifecycleAdapter
                     .withMonitors( databaseMonitors )
                     .withClock( clock )
                     .withCommandReaderFactory( storageEngineFactory.commandReaderFactory() )
+                    .withJobScheduler( scheduler )
                     .build();
 
             databaseMonitors.addMonitorListener( new LoggingLogFileMonitor( msgLog ) );
@@ -428,7 +433,7 @@ public class Database extends LifecycleAdapter
             Supplier<IdController.ConditionSnapshot> transactionsSnapshotSupplier = () -> kernelModule.kernelTransactions().get();
             idController.initialize( transactionsSnapshotSupplier );
 
-            storageEngine = storageEngineFactory.instantiate( fs, databaseLayout, databaseConfig, databasePageCache, tokenHolders, databaseSchemaState,
+            storageEngine = storageEngineFactory.instantiate( fs, databaseLayout, databaseConfig, databasePageCache, scheduler, tokenHolders, databaseSchemaState,
                     constraintSemantics, indexProviderMap, lockService, idGeneratorFactory, idController, databaseHealth, internalLogProvider,
                     recoveryCleanupWorkCollector, pageCacheTracer, !storageExists, otherDatabaseMemoryTracker );
 
@@ -502,6 +507,8 @@ public class Database extends LifecycleAdapter
 
             this.checkpointerLifecycle = new CheckpointerLifecycle( transactionLogModule.checkPointer(), databaseHealth );
 
+            life.add( new PageCacheWarmer( fs, databasePageCache, scheduler, databaseLayout, databaseConfig, pageCacheTracer,
+                    internalLogProvider.getLog( PageCacheWarmer.class ) ) );
             life.add( databaseHealth );
             life.add( databaseAvailabilityGuard );
             life.add( databaseAvailability );
@@ -733,7 +740,7 @@ public class Database extends LifecycleAdapter
         TransactionMetadataCache transactionMetadataCache = new TransactionMetadataCache();
 
         final LogPruning logPruning =
-                new LogPruningImpl( fs, logFiles, logProvider, new LogPruneStrategyFactory(), clock, config );
+                life.add( new LogPruningImpl( fs, logFiles, logProvider, new LogPruneStrategyFactory(), clock, config, scheduler ) );
 
         final LogRotation logRotation = transactionLogRotation( logFiles, clock, databaseHealth, monitors.newMonitor( LogRotationMonitor.class ) );
 
@@ -757,6 +764,15 @@ public class Database extends LifecycleAdapter
         life.add( checkPointer );
         life.add( checkPointScheduler );
 
+        long backgroundFlushIntervalMillis = config.get( GraphDatabaseInternalSettings.check_point_background_flush_interval ).toMillis();
+        if ( backgroundFlushIntervalMillis > 0 )
+        {
+            var backgroundFlushLimiter = new AdaptiveIOLimiter( BACKGROUND_FLUSH_MIN_IOPS,
+                    config.get( GraphDatabaseInternalSettings.check_point_background_flush_max_iops ) );
+            life.add( new BackgroundFlusher( databasePageCache, backgroundFlushLimiter, scheduler, backgroundFlushIntervalMillis, databaseHealth,
+                    logProvider, namedDatabaseId.name() ) );
+        }
+
         databaseDependencies.satisfyDependencies( checkPointer, logFiles, logicalTransactionStore, logRotation, appender );
 
         return new DatabaseTransactionLogModule( checkPointer, appender );
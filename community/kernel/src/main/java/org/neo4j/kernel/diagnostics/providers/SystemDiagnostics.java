@@ -49,6 +49,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.neo4j.internal.diagnostics.DiagnosticsLogger;
@@ -294,6 +295,43 @@ public enum SystemDiagnostics implements DiagnosticsProvider
             logger.log( "Native access details: " + nativeAccess.describe() );
         }
     },
+    MEMORY_PLACEMENT( "Memory placement information" )
+    {
+        private final Path transparentHugePages = Paths.get( "/sys/kernel/mm/transparent_hugepage/enabled" );
+        private final Path memInfo = Paths.get( "/proc/meminfo" );
+        private final Path vmStat = Paths.get( "/proc/vmstat" );
+
+        @Override
+        public void dump( DiagnosticsLogger logger )
+        {
+            logger.log( "NUMA nodes: " + NativeAccessProvider.getNativeAccess().getNumaNodeCount() );
+            try
+            {
+                if ( Files.exists( transparentHugePages ) )
+                {
+                    logger.log( "Transparent huge pages: " + Files.readString( transparentHugePages ).trim() );
+                }
+                logLines( logger, memInfo, line -> line.startsWith( "AnonHugePages" ) || line.startsWith( "Hugepagesize" ) );
+                // Huge page allocations, and local versus remote NUMA node allocations, since boot.
+                logLines( logger, vmStat, line -> line.startsWith( "thp_fault_" ) || line.startsWith( "numa_" ) );
+            }
+            catch ( IOException e )
+            {
+                logger.log( "ERROR: failed to inspect memory placement: " + e.getMessage() );
+            }
+        }
+
+        private void logLines( DiagnosticsLogger logger, Path file, Predicate<String> filter ) throws IOException
+        {
+            if ( Files.exists( file ) )
+            {
+                try ( Stream<String> lines = Files.lines( file ) )
+                {
+                    lines.filter( filter ).forEach( line -> logger.log( line.replaceAll( "\\s+", " " ) ) );
+                }
+            }
+        }
+    },
     CONTAINER( "Container heuristics" )
     {
         @Override
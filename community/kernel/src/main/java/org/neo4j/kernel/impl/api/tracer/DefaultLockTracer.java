@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.tracer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.lock.LockTracer;
+import org.neo4j.lock.LockType;
+import org.neo4j.lock.LockWaitEvent;
+import org.neo4j.lock.ResourceType;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Lock tracer used to count lock contention per {@link ResourceType}: how many lock acquisitions had to wait, and for how long.
+ */
+public class DefaultLockTracer implements LockTracer
+{
+    private final ConcurrentMap<ResourceType,WaitCounters> counters = new ConcurrentHashMap<>();
+    private final SystemNanoClock clock;
+
+    public DefaultLockTracer( SystemNanoClock clock )
+    {
+        this.clock = clock;
+    }
+
+    @Override
+    public LockWaitEvent waitForLock( LockType lockType, ResourceType resourceType, long transactionId, long... resourceIds )
+    {
+        WaitCounters waitCounters = counters.computeIfAbsent( resourceType, type -> new WaitCounters() );
+        long waitStartNanos = clock.nanos();
+        return () -> waitCounters.waited( clock.nanos() - waitStartNanos );
+    }
+
+    @Override
+    public long lockWaits( ResourceType resourceType )
+    {
+        WaitCounters waitCounters = counters.get( resourceType );
+        return waitCounters == null ? 0 : waitCounters.waits.sum();
+    }
+
+    @Override
+    public long lockWaitTimeNanos( ResourceType resourceType )
+    {
+        WaitCounters waitCounters = counters.get( resourceType );
+        return waitCounters == null ? 0 : waitCounters.waitTimeNanos.sum();
+    }
+
+    private static class WaitCounters
+    {
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder waitTimeNanos = new LongAdder();
+
+        void waited( long nanos )
+        {
+            waits.increment();
+            waitTimeNanos.add( nanos );
+        }
+    }
+}
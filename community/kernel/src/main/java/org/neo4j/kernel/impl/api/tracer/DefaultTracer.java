@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.impl.api.tracer;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
@@ -42,7 +43,12 @@ import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_FO
  */
 public class DefaultTracer implements DatabaseTracer
 {
+    private static final int HISTOGRAM_BUCKETS = 32;
+
     private final AtomicLong appendedBytes = new AtomicLong();
+    private final AtomicLong logForces = new AtomicLong();
+    private final PowerOfTwoHistogram logForceBatchSizes = new PowerOfTwoHistogram( HISTOGRAM_BUCKETS );
+    private final PowerOfTwoHistogram logForceDurationsMicros = new PowerOfTwoHistogram( HISTOGRAM_BUCKETS );
 
     private final CountingLogRotateEvent countingLogRotateEvent = new CountingLogRotateEvent();
     private final LogFileCreateEvent logFileCreateEvent = () -> appendedBytes.addAndGet( CURRENT_FORMAT_LOG_HEADER_SIZE );
@@ -86,6 +92,24 @@ public class DefaultTracer implements DatabaseTracer
         return countingLogRotateEvent.lastLogRotationTimeMillis();
     }
 
+    @Override
+    public long numberOfLogForces()
+    {
+        return logForces.get();
+    }
+
+    @Override
+    public long[] logForceBatchSizeHistogram()
+    {
+        return logForceBatchSizes.snapshot();
+    }
+
+    @Override
+    public long[] logForceDurationMicrosHistogram()
+    {
+        return logForceDurationsMicros.snapshot();
+    }
+
     @Override
     public long numberOfCheckPoints()
     {
@@ -220,7 +244,27 @@ public class DefaultTracer implements DatabaseTracer
         @Override
         public LogForceEvent beginLogForce()
         {
-            return LogForceEvent.NULL;
+            return new DefaultLogForceEvent();
+        }
+    }
+
+    private class DefaultLogForceEvent implements LogForceEvent
+    {
+        private final long startNanos = System.nanoTime();
+        private int batchSize;
+
+        @Override
+        public void setBatchSize( int batchSize )
+        {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void close()
+        {
+            logForces.incrementAndGet();
+            logForceBatchSizes.record( batchSize );
+            logForceDurationsMicros.record( TimeUnit.NANOSECONDS.toMicros( System.nanoTime() - startNanos ) );
         }
     }
 }
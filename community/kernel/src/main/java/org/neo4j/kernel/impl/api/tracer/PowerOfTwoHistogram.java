@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.tracer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of non-negative values with power of two buckets: bucket {@code 0} counts zeros, and bucket {@code i}
+ * counts values from {@code 2^(i-1)} up to, but not including, {@code 2^i}. Values beyond the last bucket are counted in the last bucket.
+ */
+class PowerOfTwoHistogram
+{
+    private final AtomicLongArray buckets;
+
+    PowerOfTwoHistogram( int numberOfBuckets )
+    {
+        this.buckets = new AtomicLongArray( numberOfBuckets );
+    }
+
+    void record( long value )
+    {
+        int bucket = value <= 0 ? 0 : Math.min( Long.SIZE - Long.numberOfLeadingZeros( value ), buckets.length() - 1 );
+        buckets.incrementAndGet( bucket );
+    }
+
+    long[] snapshot()
+    {
+        long[] counts = new long[buckets.length()];
+        for ( int i = 0; i < counts.length; i++ )
+        {
+            counts[i] = buckets.get( i );
+        }
+        return counts;
+    }
+}
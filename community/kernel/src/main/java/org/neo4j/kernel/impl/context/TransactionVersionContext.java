@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.context;
 
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.LongSupplier;
 
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
@@ -32,22 +34,50 @@ import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_ID;
 public class TransactionVersionContext implements VersionContext
 {
     private final LongSupplier lastClosedTxIdSupplier;
+    private final Collection<VersionContext> openReadContexts;
+    private final Runnable readClosed;
     private long transactionId = BASE_TX_ID;
     private long lastClosedTxId = Long.MAX_VALUE;
     private boolean dirty;
 
     public TransactionVersionContext( LongSupplier lastClosedTxIdSupplier )
+    {
+        this( lastClosedTxIdSupplier, ConcurrentHashMap.newKeySet(), () -> {} );
+    }
+
+    /**
+     * @param lastClosedTxIdSupplier supplier of the version to read
+     * @param openReadContexts contexts that are currently reading, which this context joins while it is reading
+     * @param readClosed called after this context has stopped reading, once it no longer holds back the oldest read version
+     */
+    TransactionVersionContext( LongSupplier lastClosedTxIdSupplier, Collection<VersionContext> openReadContexts, Runnable readClosed )
     {
         this.lastClosedTxIdSupplier = lastClosedTxIdSupplier;
+        this.openReadContexts = openReadContexts;
+        this.readClosed = readClosed;
     }
 
     @Override
     public void initRead()
     {
+        openReadContexts.remove( this );
         long txId = lastClosedTxIdSupplier.getAsLong();
         assert txId >= BASE_TX_ID;
         lastClosedTxId = txId;
         dirty = false;
+        // Joining after the version is assigned publishes it to writers, which retain older page versions for us from then on.
+        openReadContexts.add( this );
+    }
+
+    @Override
+    public void closeRead()
+    {
+        boolean wasReading = openReadContexts.remove( this );
+        lastClosedTxId = Long.MAX_VALUE;
+        if ( wasReading )
+        {
+            readClosed.run();
+        }
     }
 
     @Override
@@ -19,6 +19,9 @@
  */
 package org.neo4j.kernel.impl.context;
 
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.LongSupplier;
 
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContext;
@@ -31,12 +34,15 @@ import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
  */
 public class TransactionVersionContextSupplier implements VersionContextSupplier
 {
+    private final Collection<VersionContext> openReadContexts = ConcurrentHashMap.newKeySet();
+    private final Collection<Runnable> readClosedListeners = new CopyOnWriteArrayList<>();
     private ThreadLocal<VersionContext> cursorContext;
 
     @Override
     public void init( LongSupplier lastClosedTransactionIdSupplier )
     {
-        this.cursorContext = ThreadLocal.withInitial( () -> new TransactionVersionContext( lastClosedTransactionIdSupplier ) );
+        this.cursorContext = ThreadLocal.withInitial( () -> new TransactionVersionContext( lastClosedTransactionIdSupplier, openReadContexts,
+                this::readClosed ) );
     }
 
     @Override
@@ -45,4 +51,39 @@ public class TransactionVersionContextSupplier implements VersionContextSupplier
         return cursorContext == null ? EmptyVersionContext.EMPTY : cursorContext.get();
     }
 
+    @Override
+    public long oldestReadTransactionId()
+    {
+        if ( openReadContexts.isEmpty() )
+        {
+            return Long.MAX_VALUE;
+        }
+        long oldest = Long.MAX_VALUE;
+        for ( VersionContext context : openReadContexts )
+        {
+            oldest = Math.min( oldest, context.lastClosedTransactionId() );
+        }
+        return oldest;
+    }
+
+    @Override
+    public void addReadClosedListener( Runnable listener )
+    {
+        readClosedListeners.add( listener );
+    }
+
+    @Override
+    public void removeReadClosedListener( Runnable listener )
+    {
+        readClosedListeners.remove( listener );
+    }
+
+    private void readClosed()
+    {
+        for ( Runnable listener : readClosedListeners )
+        {
+            listener.run();
+        }
+    }
+
 }
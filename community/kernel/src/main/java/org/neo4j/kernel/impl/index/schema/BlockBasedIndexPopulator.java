@@ -33,6 +33,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.index.internal.gbptree.BulkLoader;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.index.internal.gbptree.Writer;
@@ -87,6 +88,10 @@ import static org.neo4j.util.concurrent.Runnables.runAll;
 public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,VALUE extends NativeIndexValue> extends NativeIndexPopulator<KEY,VALUE>
 {
     public static final String BLOCK_SIZE_NAME = "blockSize";
+    /**
+     * How much of each tree node to fill when bulk loading the merged scan updates into the tree.
+     */
+    private static final double TREE_FILL_FACTOR = FeatureToggles.getDouble( BlockBasedIndexPopulator.class, "treeFillFactor", 1.0 );
 
     private final boolean archiveFailedIndex;
     private final MemoryTracker memoryTracker;
@@ -437,18 +442,55 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
                 }
             }
 
-            int asMuchAsPossibleToTheLeft = 1;
-            try ( Writer<KEY,VALUE> writer = tree.writer( asMuchAsPossibleToTheLeft, cursorTracer ) )
+            try ( BulkLoader<KEY,VALUE> bulkLoader = tree.bulkLoader( TREE_FILL_FACTOR, cursorTracer ) )
             {
+                KEY previousKey = null;
                 while ( allEntries.next() && !cancellation.cancelled() )
                 {
-                    writeToTree( writer, recordingConflictDetector, allEntries.key(), allEntries.value() );
+                    KEY key = allEntries.key();
+                    if ( previousKey == null )
+                    {
+                        previousKey = layout.newKey();
+                    }
+                    else if ( !bulkLoadNext( previousKey, key, recordingConflictDetector ) )
+                    {
+                        continue;
+                    }
+                    bulkLoader.add( key, allEntries.value() );
+                    layout.copyKey( key, previousKey );
                     numberOfAppliedScanUpdates.incrementAndGet();
                 }
             }
         }
     }
 
+    /**
+     * Merged scan updates are sorted by value and entity id, which is also the order of entries in the tree. Entries are therefore
+     * appended to the tree and conflicts are detected by comparing each entry with the previous one, instead of having
+     * the tree detect them when inserting.
+     *
+     * @return true if key should be added to the tree, false if it's identical to the previous key.
+     */
+    private boolean bulkLoadNext( KEY previousKey, KEY key, RecordingConflictDetector<KEY,VALUE> recordingConflictDetector )
+            throws IndexEntryConflictException
+    {
+        if ( layout.compareValue( previousKey, key ) != 0 )
+        {
+            return true;
+        }
+        if ( previousKey.getEntityId() == key.getEntityId() )
+        {
+            // Same value and entity id is already in the tree, this is what merging it would have resulted in too
+            return false;
+        }
+        if ( descriptor.isUnique() )
+        {
+            // Record the conflict and verify uniqueness for this value later on, just as when merging into the tree
+            recordingConflictDetector.reportConflict( key );
+        }
+        return true;
+    }
+
     @Override
     public IndexUpdater newPopulatingUpdater( PageCursorTracer cursorTracer )
     {
@@ -31,7 +31,7 @@ public class CommunityLockManger implements Locks
 
     public CommunityLockManger( Config config, SystemNanoClock clock )
     {
-        manager = new LockManagerImpl( new RagManager(), config, clock );
+        manager = new LockManagerImpl( new DeadlockDetector(), config, clock );
     }
 
     @Override
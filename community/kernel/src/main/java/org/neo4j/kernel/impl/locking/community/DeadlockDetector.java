@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.community;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.neo4j.kernel.DeadlockDetectedException;
+
+/**
+ * Detects deadlocks between transactions waiting for {@link RWLock}s by edge chasing over a wait-for graph.
+ * <p/>
+ * The graph has two kinds of edges: a resource is held by the transactions that have a lock on it
+ * (R->T) and a transaction waits for at most one resource (T->R). Before a transaction waits for a
+ * resource, {@link #checkWaitOn} publishes its T->R edge and then follows the edges starting from the
+ * holders of that resource. If the waiting transaction is reached again, waiting would deadlock
+ * (T1 wants to wait on R1 and R1->T2->R2->T3->R8->T1 <==> deadlock!).
+ * <p/>
+ * Both kinds of edges are kept in concurrent maps, so no global monitor is taken and transactions only
+ * contend on the {@link RWLock} they actually wait for. The traversal runs on the thread about to wait,
+ * concurrently with the graph changing:
+ * <ul>
+ * <li>Every transaction publishes its own edge before chasing the edges of others, so when several
+ * transactions close a cycle at the same time, at least one of them sees all of it.</li>
+ * <li>A cycle found is checked once more before it is reported, so that edges removed during the traversal
+ * do not abort a transaction that could have waited. See {@link #isStillDeadlocked}.</li>
+ * <li>A waiting transaction runs the check again every time it wakes up without getting the lock.</li>
+ * </ul>
+ * Detection is not asynchronous: the traversal is done by the thread about to wait, before it waits.
+ */
+public class DeadlockDetector
+{
+    // if a runtime exception is thrown from any method it means that the
+    // RWLock class hasn't kept the contract to the DeadlockDetector
+    // The contract is:
+    // o When a transaction gets a lock on a resource and both the readCount and
+    // writeCount for that transaction on the resource was 0
+    // DeadlockDetector.lockAcquired( resource ) must be invoked
+    // o When a tx releases a lock on a resource and both the readCount and
+    // writeCount for that transaction on the resource goes down to zero
+    // DeadlockDetector.lockReleased( resource ) must be invoked
+    // o After invoke to the checkWaitOn( resource ) method that didn't result
+    // in a DeadlockDetectedException the transaction must wait
+    // o When the transaction wakes up from waiting on a resource the
+    // stopWaitOn( resource ) method must be invoked
+    // All of these are invoked while holding the monitor of the resource, so changes to the
+    // holders of one resource are serialized, while traversals read them concurrently.
+
+    private final ConcurrentMap<Object,Set<Object>> resourceMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object,Wait> waitingTxMap = new ConcurrentHashMap<>();
+
+    void lockAcquired( Object resource, Object tx )
+    {
+        Set<Object> lockingTxs = resourceMap.computeIfAbsent( resource, r -> ConcurrentHashMap.newKeySet() );
+        boolean added = lockingTxs.add( tx );
+        assert added;
+    }
+
+    void lockReleased( Object resource, Object tx )
+    {
+        Set<Object> lockingTxs = resourceMap.get( resource );
+        if ( lockingTxs == null )
+        {
+            throw new LockException( resource + " not found in resource map" );
+        }
+
+        if ( !lockingTxs.remove( tx ) )
+        {
+            throw new LockException( tx + "not found in locking tx list" );
+        }
+        if ( lockingTxs.isEmpty() )
+        {
+            resourceMap.remove( resource, lockingTxs );
+        }
+    }
+
+    void stopWaitOn( Object resource, Object tx )
+    {
+        if ( waitingTxMap.remove( tx ) == null )
+        {
+            throw new LockException( tx + " not waiting on " + resource );
+        }
+    }
+
+    // after invoke the transaction must wait on the resource
+    void checkWaitOn( Object resource, Object tx ) throws DeadlockDetectedException
+    {
+        Set<Object> lockingTxs = resourceMap.get( resource );
+        if ( lockingTxs == null )
+        {
+            throw new LockException( "Illegal resource[" + resource + "], not found in map" );
+        }
+
+        if ( waitingTxMap.putIfAbsent( tx, new Wait( resource ) ) != null )
+        {
+            throw new LockException( tx + " already waiting for resource" );
+        }
+
+        // has resource,transaction interleaved, with the resource waited for at the bottom
+        Deque<Object> graphStack = new ArrayDeque<>();
+        Set<Object> checkedTransactions = new HashSet<>();
+        graphStack.push( resource );
+        for ( Object lockingTx : lockingTxs )
+        {
+            // t1 -> r1 -> t1 can happen with RW locks, e.g. t1 upgrading its read lock while t2 also has
+            // one, and is not a deadlock by itself. t1 -> r1 -> t2 -> r1 -> t1 is, and is found through t2.
+            if ( lockingTx.equals( tx ) )
+            {
+                continue;
+            }
+            graphStack.push( lockingTx );
+            if ( chase( lockingTx, tx, checkedTransactions, graphStack ) && isStillDeadlocked( graphStack ) )
+            {
+                waitingTxMap.remove( tx );
+                throw new DeadlockDetectedException( tx + " can't wait on resource " + resource + " since => " + describe( graphStack ) );
+            }
+            graphStack.pop();
+        }
+        // ok no deadlock, we can wait on resource
+    }
+
+    /**
+     * Follows the edges from {@code lockingTx}, leaving the path to {@code waitingTx} on the stack if there is one.
+     *
+     * @return {@code true} if {@code waitingTx} can be reached
+     */
+    private boolean chase( Object lockingTx, Object waitingTx, Set<Object> checkedTransactions, Deque<Object> graphStack )
+    {
+        if ( lockingTx.equals( waitingTx ) )
+        {
+            return true;
+        }
+        if ( !checkedTransactions.add( lockingTx ) )
+        {
+            return false;
+        }
+        Wait wait = waitingTxMap.get( lockingTx );
+        if ( wait == null )
+        {
+            return false;
+        }
+        Object resource = wait.resource;
+        // if the resource doesn't exist in resourceMap all the locks on it have been released since,
+        // and the transaction waiting for it is about to wake up
+        Set<Object> lockingTxs = resourceMap.get( resource );
+        if ( lockingTxs == null )
+        {
+            return false;
+        }
+        graphStack.push( resource );
+        for ( Object nextLockingTx : lockingTxs )
+        {
+            graphStack.push( nextLockingTx );
+            if ( chase( nextLockingTx, waitingTx, checkedTransactions, graphStack ) )
+            {
+                return true;
+            }
+            graphStack.pop();
+        }
+        graphStack.pop();
+        return false;
+    }
+
+    /**
+     * The traversal reads edges that may change while it runs, so the cycle found may never have existed as a whole.
+     * The cycle is confirmed by reading the waits of all its transactions, then the locks they hold, and then their
+     * waits once more. A transaction can't take or release locks while it waits, and every wait is a new
+     * {@link Wait}. If all waits are the same both times, all transactions of the cycle were waiting, holding the
+     * locks checked in between, at the same time.
+     */
+    private boolean isStillDeadlocked( Deque<Object> graphStack )
+    {
+        // the path is resource, transaction, resource, ..., transaction about to wait, with each transaction
+        // holding the resource before it and waiting for the resource after it
+        List<Object> resources = new ArrayList<>();
+        List<Object> transactions = new ArrayList<>();
+        Iterator<Object> path = graphStack.descendingIterator();
+        while ( path.hasNext() )
+        {
+            resources.add( path.next() );
+            transactions.add( path.next() );
+        }
+
+        int length = transactions.size();
+        Wait[] waits = new Wait[length];
+        for ( int i = 0; i < length; i++ )
+        {
+            waits[i] = waitingTxMap.get( transactions.get( i ) );
+            if ( waits[i] == null || !waits[i].resource.equals( resources.get( (i + 1) % length ) ) )
+            {
+                return false;
+            }
+        }
+        for ( int i = 0; i < length; i++ )
+        {
+            Set<Object> lockingTxs = resourceMap.get( resources.get( i ) );
+            if ( lockingTxs == null || !lockingTxs.contains( transactions.get( i ) ) )
+            {
+                return false;
+            }
+        }
+        for ( int i = 0; i < length; i++ )
+        {
+            if ( waitingTxMap.get( transactions.get( i ) ) != waits[i] )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String describe( Deque<Object> graphStack )
+    {
+        StringBuilder circle = new StringBuilder();
+        Iterator<Object> path = graphStack.iterator();
+        while ( path.hasNext() )
+        {
+            Object lockingTx = path.next();
+            Object resource = path.next();
+            if ( circle.length() == 0 )
+            {
+                circle.append( lockingTx ).append( " <-[:HELD_BY]- " ).append( resource );
+            }
+            else
+            {
+                circle.append( " <-[:WAITING_FOR]- " ).append( lockingTx ).append( " <-[:HELD_BY]- " ).append( resource );
+            }
+        }
+        return circle.toString();
+    }
+
+    /**
+     * A transaction waiting for a resource. Each wait is a new instance, which tells two waits for the same
+     * resource apart.
+     */
+    private static final class Wait
+    {
+        private final Object resource;
+
+        Wait( Object resource )
+        {
+            this.resource = resource;
+        }
+    }
+}
@@ -19,8 +19,8 @@
  */
 package org.neo4j.kernel.impl.locking.community;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseSettings;
@@ -33,8 +33,12 @@ import org.neo4j.util.VisibleForTesting;
 
 public class LockManagerImpl
 {
-    private final Map<Object,RWLock> resourceLockMap = new HashMap<>();
-    private final RagManager ragManager;
+    /**
+     * Locks by resource. Looking up, creating and removing locks only contends with other
+     * requests on the same part of the map, rather than on the whole table.
+     */
+    private final ConcurrentMap<Object,RWLock> resourceLockMap = new ConcurrentHashMap<>();
+    private final DeadlockDetector deadlockDetector;
     private final SystemNanoClock clock;
 
     /**
@@ -43,9 +47,9 @@ public class LockManagerImpl
      */
     private final long lockAcquisitionTimeoutNano;
 
-    LockManagerImpl( RagManager ragManager, Config config, SystemNanoClock clock )
+    LockManagerImpl( DeadlockDetector deadlockDetector, Config config, SystemNanoClock clock )
     {
-        this.ragManager = ragManager;
+        this.deadlockDetector = deadlockDetector;
         this.clock = clock;
         this.lockAcquisitionTimeoutNano = config.get( GraphDatabaseSettings.lock_acquisition_timeout ).toNanos();
     }
@@ -109,14 +113,11 @@ public class LockManagerImpl
      */
     public void accept( Visitor<RWLock,RuntimeException> visitor )
     {
-        synchronized ( resourceLockMap )
+        for ( RWLock lock : resourceLockMap.values() )
         {
-            for ( RWLock lock : resourceLockMap.values() )
+            if ( visitor.visit( lock ) )
             {
-                if ( visitor.visit( lock ) )
-                {
-                    break;
-                }
+                break;
             }
         }
     }
@@ -132,39 +133,47 @@ public class LockManagerImpl
     private RWLock getRWLockForAcquiring( LockResource resource, Object tx )
     {
         assertValidArguments( resource, tx );
-        synchronized ( resourceLockMap )
+        while ( true )
         {
-            RWLock lock = resourceLockMap.computeIfAbsent( resource, k -> createLock( resource ) );
+            RWLock lock = resourceLockMap.get( resource );
+            if ( lock == null )
+            {
+                // a new lock is marked before it is published, so that it can't be removed before it is used
+                RWLock newLock = createLock( resource );
+                newLock.mark();
+                lock = resourceLockMap.putIfAbsent( resource, newLock );
+                if ( lock == null )
+                {
+                    return newLock;
+                }
+            }
             lock.mark();
-            return lock;
+            // the lock may have been removed as unused between looking it up and marking it, in which case
+            // the marking is lost with it and we try again with whatever lock is mapped to the resource now
+            if ( resourceLockMap.get( resource ) == lock )
+            {
+                return lock;
+            }
         }
     }
 
     @VisibleForTesting
     protected RWLock createLock( LockResource resource )
     {
-        return new RWLock( resource, ragManager, clock, lockAcquisitionTimeoutNano );
+        return new RWLock( resource, deadlockDetector, clock, lockAcquisitionTimeoutNano );
     }
 
     private RWLock getRWLockForReleasing( Object resource, Object tx, int readCountPrerequisite,
                                           int writeCountPrerequisite, boolean strict )
     {
         assertValidArguments( resource, tx );
-        synchronized ( resourceLockMap )
+        RWLock lock = resourceLockMap.get( resource );
+        if ( lock != null )
         {
-            RWLock lock = resourceLockMap.get( resource );
-            if ( lock == null )
-            {
-                if ( !strict )
-                {
-                    return null;
-                }
-                throw new LockNotFoundException( "Lock not found for: "
-                                                 + resource + " tx:" + tx );
-            }
             // we need to get info from a couple of synchronized methods
             // to make it info consistent we need to synchronized lock to make sure it will not change between
-            // various calls
+            // various calls. Marking is synchronized on the lock as well, so a lock that is removed here can
+            // not have been marked for use in the meantime.
             //noinspection SynchronizationOnLocalVariableOrMethodParameter
             synchronized ( lock )
             {
@@ -172,10 +181,15 @@ public class LockManagerImpl
                      lock.getWriteCount() == writeCountPrerequisite &&
                      lock.getWaitingThreadsCount() == 0 )
                 {
-                    resourceLockMap.remove( resource );
+                    resourceLockMap.remove( resource, lock );
                 }
             }
-            return lock;
         }
+        if ( lock == null && strict )
+        {
+            throw new LockNotFoundException( "Lock not found for: "
+                                             + resource + " tx:" + tx );
+        }
+        return lock;
     }
 }
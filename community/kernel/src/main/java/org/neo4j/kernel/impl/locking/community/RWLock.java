@@ -60,8 +60,8 @@ import static org.neo4j.lock.LockType.SHARED;
  * by T1. T2 cannot wait on R1 because that would lead to a deadlock where T1
  * and T2 waits forever.
  * <p/>
- * Avoiding deadlocks can be done by keeping a resource allocation graph. This
- * class works together with the {@link RagManager} to make sure no deadlocks
+ * Avoiding deadlocks can be done by keeping a wait-for graph. This
+ * class works together with the {@link DeadlockDetector} to make sure no deadlocks
  * occur.
  * <p/>
  * Waiting transactions are put into a queue and when some tx releases the lock
@@ -75,7 +75,7 @@ public class RWLock
     private final LockResource resource; // the resource this RWLock locks
     private final LinkedList<LockRequest> waitingThreadList = new LinkedList<>();
     private final Map<LockTransaction, TxLockElement> txLockElementMap = new HashMap<>();
-    private final RagManager ragManager;
+    private final DeadlockDetector deadlockDetector;
     private final SystemNanoClock clock;
     private final long lockAcquisitionTimeoutNano;
 
@@ -84,10 +84,10 @@ public class RWLock
     private int totalWriteCount;
     private int marked; // synch helper in LockManager
 
-    RWLock( LockResource resource, RagManager ragManager, SystemNanoClock clock, long lockAcquisitionTimeoutNano )
+    RWLock( LockResource resource, DeadlockDetector deadlockDetector, SystemNanoClock clock, long lockAcquisitionTimeoutNano )
     {
         this.resource = resource;
-        this.ragManager = ragManager;
+        this.deadlockDetector = deadlockDetector;
         this.clock = clock;
         this.lockAcquisitionTimeoutNano = lockAcquisitionTimeoutNano;
     }
@@ -188,7 +188,7 @@ public class RWLock
     /**
      * Tries to acquire read lock for a given transaction. If
      * <CODE>this.writeCount</CODE> is greater than the currents tx's write
-     * count the transaction has to wait and the {@link RagManager#checkWaitOn}
+     * count the transaction has to wait and the {@link DeadlockDetector#checkWaitOn}
      * method is invoked for deadlock detection.
      * <p/>
      * If the lock can be acquired the lock count is updated on <CODE>this</CODE>
@@ -217,7 +217,7 @@ public class RWLock
             while ( !tle.isTerminated() && (totalWriteCount > tle.writeCount) )
             {
                 assertNotExpired( waitStartNano );
-                ragManager.checkWaitOn( this, tx );
+                deadlockDetector.checkWaitOn( this, tx );
 
                 if ( addLockRequest )
                 {
@@ -230,7 +230,7 @@ public class RWLock
                     waitEvent = tracer.waitForLock( SHARED, resource.resourceType(), tx.getTransactionId(), resource.resourceId() );
                 }
                 addLockRequest = waitUninterruptedly( waitStartNano );
-                ragManager.stopWaitOn( this, tx );
+                deadlockDetector.stopWaitOn( this, tx );
             }
 
             if ( !tle.isTerminated() )
@@ -309,7 +309,7 @@ public class RWLock
         tle.readCount = MathUtil.decrementExactNotPastZero( tle.readCount );
         if ( tle.isFree() )
         {
-            ragManager.lockReleased( this, tx );
+            deadlockDetector.lockReleased( this, tx );
             if ( tle.hasNoRequests() )
             {
                 txLockElementMap.remove( tx );
@@ -376,7 +376,7 @@ public class RWLock
      * Tries to acquire write lock for a given transaction. If
      * <CODE>this.writeCount</CODE> is greater than the currents tx's write
      * count or the read count is greater than the currents tx's read count the
-     * transaction has to wait and the {@link RagManager#checkWaitOn} method is
+     * transaction has to wait and the {@link DeadlockDetector#checkWaitOn} method is
      * invoked for deadlock detection.
      * <p/>
      * If the lock can be acquires the lock count is updated on <CODE>this</CODE>
@@ -405,7 +405,7 @@ public class RWLock
             while ( !tle.isTerminated() && (totalWriteCount > tle.writeCount || totalReadCount > tle.readCount) )
             {
                 assertNotExpired( waitStartNano );
-                ragManager.checkWaitOn( this, tx );
+                deadlockDetector.checkWaitOn( this, tx );
 
                 if ( addLockRequest )
                 {
@@ -418,7 +418,7 @@ public class RWLock
                     waitEvent = tracer.waitForLock( EXCLUSIVE, resource.resourceType(), tx.getTransactionId(), resource.resourceId() );
                 }
                 addLockRequest = waitUninterruptedly( waitStartNano );
-                ragManager.stopWaitOn( this, tx );
+                deadlockDetector.stopWaitOn( this, tx );
             }
 
             if ( !tle.isTerminated() )
@@ -532,7 +532,7 @@ public class RWLock
         tle.writeCount = MathUtil.decrementExactNotPastZero( tle.writeCount );
         if ( tle.isFree() )
         {
-            ragManager.lockReleased( this, tx );
+            deadlockDetector.lockReleased( this, tx );
             if ( tle.hasNoRequests() )
             {
                 txLockElementMap.remove( tx );
@@ -659,7 +659,7 @@ public class RWLock
     {
         if ( tle.isFree() )
         {
-            ragManager.lockAcquired( this, tx );
+            deadlockDetector.lockAcquired( this, tx );
         }
     }
 
@@ -19,16 +19,25 @@
  */
 package org.neo4j.kernel.impl.pagecache;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.configuration.GraphDatabaseInternalSettings.PageCacheReservation;
 import org.neo4j.configuration.pagecache.ConfigurableIOBufferFactory;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.mem.MemoryPlacement;
 import org.neo4j.io.os.OsBeanUtil;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageSwapperFactory;
 import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.EvictionPolicy;
 import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.impl.muninn.PagedFileReservations;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.logging.Log;
@@ -38,6 +47,7 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.time.SystemNanoClock;
 
+import static org.neo4j.configuration.GraphDatabaseSettings.SYSTEM_DATABASE_NAME;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_memory;
 import static org.neo4j.configuration.SettingValueParsers.BYTES;
 import static org.neo4j.io.mem.MemoryAllocator.createAllocator;
@@ -83,7 +93,7 @@ public class ConfiguringPageCacheFactory
     {
         if ( pageCache == null )
         {
-            this.swapperFactory = createAndConfigureSwapperFactory( fs );
+            this.swapperFactory = createAndConfigureSwapperFactory( fs, config );
             this.pageCache = createPageCache();
         }
         return pageCache;
@@ -96,12 +106,58 @@ public class ConfiguringPageCacheFactory
         var memoryTracker = memoryPool.getPoolMemoryTracker();
         MemoryAllocator memoryAllocator = buildMemoryAllocator( pageCacheMaxMemory, memoryTracker );
         var bufferFactory = new ConfigurableIOBufferFactory( config, memoryTracker );
-        return new MuninnPageCache( swapperFactory, memoryAllocator, pageCacheTracer, versionContextSupplier, scheduler, clock, memoryTracker, bufferFactory );
+        return new MuninnPageCache( swapperFactory, memoryAllocator, pageCacheTracer, versionContextSupplier, scheduler, clock, memoryTracker, bufferFactory,
+                evictionPolicy( config ), reservations( config ),
+                config.get( GraphDatabaseInternalSettings.snapshot_query_max_page_versions_memory ) );
+    }
+
+    private static EvictionPolicy.Factory evictionPolicy( Config config )
+    {
+        switch ( config.get( GraphDatabaseInternalSettings.pagecache_eviction_policy ) )
+        {
+        case FREQUENCY_SKETCH:
+            return EvictionPolicy.FREQUENCY_SKETCH;
+        case CLOCK:
+        default:
+            return EvictionPolicy.CLOCK;
+        }
+    }
+
+    private static PagedFileReservations reservations( Config config )
+    {
+        List<PageCacheReservation> entries = config.get( GraphDatabaseInternalSettings.pagecache_reservations );
+        if ( entries.isEmpty() )
+        {
+            return PagedFileReservations.NONE;
+        }
+        Map<String,Double> fractionByFileName = new HashMap<>();
+        for ( PageCacheReservation entry : entries )
+        {
+            fractionByFileName.put( entry.fileName(), entry.fraction() );
+        }
+        // The system database is mapped first, so it would otherwise take the reservations before any user database gets to them
+        return ( path, databaseName ) ->
+                SYSTEM_DATABASE_NAME.equals( databaseName ) ? 0d : fractionByFileName.getOrDefault( path.getFileName().toString(), 0d );
     }
 
     private MemoryAllocator buildMemoryAllocator( long pageCacheMaxMemory, MemoryTracker memoryTracker )
     {
-        return createAllocator( pageCacheMaxMemory, memoryTracker );
+        return createAllocator( pageCacheMaxMemory, memoryTracker, memoryPlacement( config ) );
+    }
+
+    private static MemoryPlacement memoryPlacement( Config config )
+    {
+        boolean hugePages = config.get( GraphDatabaseInternalSettings.pagecache_huge_pages );
+        switch ( config.get( GraphDatabaseInternalSettings.pagecache_numa_policy ) )
+        {
+        case INTERLEAVE:
+            return new MemoryPlacement( hugePages, MemoryPlacement.NumaPolicy.INTERLEAVE );
+        case BIND:
+            return new MemoryPlacement( hugePages, MemoryPlacement.NumaPolicy.BIND_GRABS );
+        case NONE:
+        default:
+            return new MemoryPlacement( hugePages, MemoryPlacement.NumaPolicy.NONE );
+        }
     }
 
     private long getPageCacheMaxMemory( Config config )
@@ -174,13 +230,14 @@ public class ConfiguringPageCacheFactory
         long maxVmUsageMb = ByteUnit.Byte.toMebiBytes( Runtime.getRuntime().maxMemory() );
         String msg = "Physical mem: " + totalPhysicalMemMb + " MiB," +
                      " Heap size: " + maxVmUsageMb + " MiB," +
-                     " Page cache: " + pageCacheMemory + ".";
+                     " Page cache: " + pageCacheMemory + "," +
+                     " Page cache memory placement: " + memoryPlacement( config ) + ".";
 
         log.info( msg );
     }
 
-    private static PageSwapperFactory createAndConfigureSwapperFactory( FileSystemAbstraction fs )
+    private static PageSwapperFactory createAndConfigureSwapperFactory( FileSystemAbstraction fs, Config config )
     {
-        return new SingleFilePageSwapperFactory( fs );
+        return new SingleFilePageSwapperFactory( fs, config.get( GraphDatabaseInternalSettings.pagecache_swapper_direct_io ) );
     }
 }
@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_enabled;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch_allowlist;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_profiling_interval;
+import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_GROW;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+/**
+ * Keeps the page cache of a database warm across restarts.
+ * <p>
+ * While the database runs, the pages of each of its mapped files that are in memory are periodically recorded in a profile: a compressed
+ * bitmap with one bit per page, stored in the {@link DatabaseLayout#pageCacheProfilesFolder() profiles folder} of the database. When the
+ * database starts, the pages recorded in those profiles are loaded back into the page cache in the background, with a thread per file
+ * reading its pages in file order. Profiling only begins once the warmup is done, so that a half warm cache does not overwrite a good
+ * profile.
+ * <p>
+ * Alternatively, the warmer can be configured to load all pages of the files matching an allowlist, instead of warming up from profiles.
+ */
+public class PageCacheWarmer extends LifecycleAdapter
+{
+    static final String PROFILE_SUFFIX = ".cacheprof";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int PROFILE_FORMAT_VERSION = 1;
+    private static final String WARMUP_TAG = "pageCacheWarmup";
+    private static final String PROFILE_TAG = "pageCacheProfile";
+    private static final int PROGRESS_REPORT_PAGES = 4096;
+
+    private final FileSystemAbstraction fs;
+    private final PageCache pageCache;
+    private final JobScheduler scheduler;
+    private final Path databaseDirectory;
+    private final Path profilesDirectory;
+    private final Config config;
+    private final PageCacheTracer pageCacheTracer;
+    private final Log log;
+    private final String databaseName;
+    // Held by the warmup and profiling jobs, so that stopping can wait for them to let go of the files of the database.
+    private final Lock jobLock = new ReentrantLock();
+
+    private volatile boolean stopped;
+    private volatile JobHandle<?> warmupHandle;
+    private volatile JobHandle<?> profileHandle;
+
+    public PageCacheWarmer( FileSystemAbstraction fs, PageCache pageCache, JobScheduler scheduler, DatabaseLayout databaseLayout, Config config,
+            PageCacheTracer pageCacheTracer, Log log )
+    {
+        this.fs = fs;
+        this.pageCache = pageCache;
+        this.scheduler = scheduler;
+        this.databaseDirectory = databaseLayout.databaseDirectory();
+        this.profilesDirectory = databaseLayout.pageCacheProfilesFolder();
+        this.config = config;
+        this.pageCacheTracer = pageCacheTracer;
+        this.log = log;
+        this.databaseName = databaseLayout.getDatabaseName();
+    }
+
+    @Override
+    public void start()
+    {
+        if ( config.get( pagecache_warmup_enabled ) )
+        {
+            stopped = false;
+            warmupHandle = scheduler.schedule( Group.PAGE_CACHE_WARMUP, systemJob( databaseName, "Page cache warmup" ), this::warmUpAndStartProfiling );
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+        stopped = true;
+        // Running jobs notice that we stopped and let go of the lock soon after, and no new profiling gets scheduled once we have it.
+        jobLock.lock();
+        try
+        {
+            cancel( warmupHandle );
+            cancel( profileHandle );
+            warmupHandle = null;
+            profileHandle = null;
+        }
+        finally
+        {
+            jobLock.unlock();
+        }
+    }
+
+    private static void cancel( JobHandle<?> handle )
+    {
+        if ( handle != null )
+        {
+            handle.cancel();
+        }
+    }
+
+    private void warmUpAndStartProfiling()
+    {
+        jobLock.lock();
+        try
+        {
+            if ( stopped )
+            {
+                return;
+            }
+            boolean preload = config.get( pagecache_warmup_prefetch );
+            long startTime = System.currentTimeMillis();
+            long pagesLoaded = preload ? preload() : warmUp();
+            if ( pagesLoaded > 0 )
+            {
+                log.info( "Page cache warmup loaded %d pages in %d ms.", pagesLoaded, System.currentTimeMillis() - startTime );
+            }
+            if ( !preload && !stopped )
+            {
+                long interval = config.get( pagecache_warmup_profiling_interval ).toMillis();
+                profileHandle = scheduler.scheduleRecurring( Group.PAGE_CACHE_WARMUP, systemJob( databaseName, "Page cache profiling" ),
+                        this::profile, interval, interval, MILLISECONDS );
+            }
+        }
+        catch ( Exception e )
+        {
+            if ( !stopped )
+            {
+                log.warn( "Page cache warmup failed.", e );
+            }
+        }
+        finally
+        {
+            jobLock.unlock();
+        }
+    }
+
+    /**
+     * Load the pages recorded in the profiles of the mapped files.
+     *
+     * @return the number of pages loaded.
+     */
+    long warmUp() throws Exception
+    {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        AtomicLong pageBudget = new AtomicLong( pageCache.maxCachedPages() );
+        for ( PagedFile file : pageCache.listExistingMappings() )
+        {
+            Path profile = profileFile( file.path() );
+            if ( profile != null && fs.fileExists( profile ) )
+            {
+                tasks.add( () -> warmUp( file, profile, pageBudget ) );
+            }
+        }
+        return runInParallel( tasks );
+    }
+
+    /**
+     * Load all pages of the mapped files whose names match the preload allowlist.
+     *
+     * @return the number of pages loaded.
+     */
+    long preload() throws Exception
+    {
+        Pattern allowlist = Pattern.compile( config.get( pagecache_warmup_prefetch_allowlist ) );
+        List<Callable<Long>> tasks = new ArrayList<>();
+        AtomicLong pageBudget = new AtomicLong( pageCache.maxCachedPages() );
+        for ( PagedFile file : pageCache.listExistingMappings() )
+        {
+            if ( allowlist.matcher( file.path().getFileName().toString() ).matches() )
+            {
+                tasks.add( () -> preload( file, pageBudget ) );
+            }
+        }
+        return runInParallel( tasks );
+    }
+
+    private long runInParallel( List<Callable<Long>> tasks ) throws Exception
+    {
+        List<Future<Long>> futures = new ArrayList<>( tasks.size() );
+        for ( Callable<Long> task : tasks )
+        {
+            futures.add( scheduler.executor( Group.FILE_IO_HELPER ).submit( task ) );
+        }
+        long pagesLoaded = 0;
+        for ( Future<Long> future : futures )
+        {
+            pagesLoaded += future.get();
+        }
+        return pagesLoaded;
+    }
+
+    private long warmUp( PagedFile file, Path profile, AtomicLong pageBudget ) throws IOException
+    {
+        try ( DataInputStream in = new DataInputStream( new BufferedInputStream( new GZIPInputStream( fs.openAsInputStream( profile ) ) ) );
+                PageLoader loader = new PageLoader( file, pageBudget ) )
+        {
+            if ( in.readInt() != PROFILE_FORMAT_VERSION )
+            {
+                log.warn( "Ignoring page cache profile %s of unknown format.", profile );
+                return 0;
+            }
+            long pageCount = in.readLong();
+            for ( long pageId = 0; pageId < pageCount; pageId += Byte.SIZE )
+            {
+                int bits = in.readUnsignedByte();
+                for ( int bit = 0; bits != 0; bit++, bits >>>= 1 )
+                {
+                    if ( (bits & 1) != 0 && !loader.load( pageId + bit ) )
+                    {
+                        return loader.pagesLoaded;
+                    }
+                }
+            }
+            return loader.pagesLoaded;
+        }
+    }
+
+    private long preload( PagedFile file, AtomicLong pageBudget ) throws IOException
+    {
+        try ( PageLoader loader = new PageLoader( file, pageBudget ) )
+        {
+            long lastPageId = file.getLastPageId();
+            for ( long pageId = 0; pageId <= lastPageId; pageId++ )
+            {
+                if ( !loader.load( pageId ) )
+                {
+                    break;
+                }
+            }
+            return loader.pagesLoaded;
+        }
+    }
+
+    private void profile()
+    {
+        jobLock.lock();
+        try
+        {
+            for ( PagedFile file : pageCache.listExistingMappings() )
+            {
+                if ( stopped )
+                {
+                    return;
+                }
+                Path profile = profileFile( file.path() );
+                if ( profile != null )
+                {
+                    profile( file, profile );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            if ( !stopped )
+            {
+                log.warn( "Page cache profiling failed.", e );
+            }
+        }
+        finally
+        {
+            jobLock.unlock();
+        }
+    }
+
+    /**
+     * Record which pages of the given file are in memory in the given profile, replacing its previous content.
+     */
+    void profile( PagedFile file, Path profile ) throws IOException
+    {
+        Path tempProfile = profile.resolveSibling( profile.getFileName() + TEMP_SUFFIX );
+        fs.mkdirs( profile.getParent() );
+        long pageCount = file.getLastPageId() + 1;
+        try ( PageCursorTracer cursorTracer = pageCacheTracer.createPageCursorTracer( PROFILE_TAG );
+                PageCursor cursor = file.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT, cursorTracer );
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream( new GZIPOutputStream( fs.openAsOutputStream( tempProfile, false ) ) ) ) )
+        {
+            out.writeInt( PROFILE_FORMAT_VERSION );
+            out.writeLong( pageCount );
+            int bits = 0;
+            for ( long pageId = 0; pageId < pageCount && !stopped; pageId++ )
+            {
+                // With PF_NO_FAULT, the cursor is only bound to pages that are already in memory.
+                if ( cursor.next( pageId ) && cursor.getCurrentPageId() != UNBOUND_PAGE_ID )
+                {
+                    bits |= 1 << (pageId & 7);
+                }
+                if ( (pageId & 7) == 7 )
+                {
+                    out.writeByte( bits );
+                    bits = 0;
+                }
+            }
+            if ( (pageCount & 7) != 0 )
+            {
+                out.writeByte( bits );
+            }
+        }
+        if ( stopped )
+        {
+            fs.deleteFile( tempProfile );
+            return;
+        }
+        fs.renameFile( tempProfile, profile, REPLACE_EXISTING, ATOMIC_MOVE );
+    }
+
+    /**
+     * @return the profile of the given mapped file, or {@code null} if the file is not one of the files of the database.
+     */
+    Path profileFile( Path mappedFile )
+    {
+        if ( !mappedFile.startsWith( databaseDirectory ) || mappedFile.startsWith( profilesDirectory ) )
+        {
+            return null;
+        }
+        return profilesDirectory.resolve( databaseDirectory.relativize( mappedFile ) + PROFILE_SUFFIX );
+    }
+
+    /**
+     * Loads pages of a file in increasing page id order, as long as there is room left in the page cache, and reports its progress.
+     */
+    private class PageLoader implements AutoCloseable
+    {
+        private final PagedFile file;
+        private final AtomicLong pageBudget;
+        private final PageCursorTracer cursorTracer;
+        private final PageCursor cursor;
+        private long pagesLoaded;
+        private long pagesReported;
+
+        PageLoader( PagedFile file, AtomicLong pageBudget ) throws IOException
+        {
+            this.file = file;
+            this.pageBudget = pageBudget;
+            this.cursorTracer = pageCacheTracer.createPageCursorTracer( WARMUP_TAG );
+            this.cursor = file.io( 0, PF_SHARED_READ_LOCK | PF_NO_GROW | PF_READ_AHEAD, cursorTracer );
+        }
+
+        /**
+         * @return {@code true} if loading should go on with the next page, or {@code false} if the warmup stopped, the page cache is
+         * full or the file ended.
+         */
+        boolean load( long pageId ) throws IOException
+        {
+            if ( stopped || pageBudget.getAndDecrement() <= 0 || !cursor.next( pageId ) )
+            {
+                return false;
+            }
+            pagesLoaded++;
+            if ( pagesLoaded - pagesReported == PROGRESS_REPORT_PAGES )
+            {
+                reportProgress();
+            }
+            return true;
+        }
+
+        private void reportProgress()
+        {
+            if ( pagesLoaded > pagesReported )
+            {
+                pageCacheTracer.pagesWarmedUp( file.path(), pagesLoaded - pagesReported );
+                pagesReported = pagesLoaded;
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            reportProgress();
+            cursor.close();
+            cursorTracer.close();
+        }
+    }
+}
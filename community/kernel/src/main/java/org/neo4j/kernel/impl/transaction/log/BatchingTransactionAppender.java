@@ -84,6 +84,7 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
     {
         // Assigned base tx id just to make compiler happy
         long lastTransactionId = TransactionIdStore.BASE_TX_ID;
+        LogPosition lastAppendedPosition = LogPosition.UNSPECIFIED;
         // Synchronized with logFile to get absolute control over concurrent rotations happening
         synchronized ( logFile )
         {
@@ -109,6 +110,7 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
                     tx.logPosition( commitment.logPosition() );
                     tx = tx.next();
                     lastTransactionId = transactionId;
+                    lastAppendedPosition = commitment.logPosition();
                 }
             }
         }
@@ -116,8 +118,9 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
         // At this point we've appended all transactions in this batch, but we can't mark any of them
         // as committed since they haven't been forced to disk yet. So here we force, or potentially
         // piggy-back on another force, but anyway after this call below we can be sure that all our transactions
-        // in this batch exist durably on disk.
-        if ( logFile.forceAfterAppend( logAppendEvent ) )
+        // in this batch exist durably on disk. Any force that emptied the log buffer after our last transaction
+        // was appended is good enough, so we only await that position becoming durable.
+        if ( logFile.forceAfterAppend( lastAppendedPosition, logAppendEvent ) )
         {
             // We got lucky and were the one forcing the log. It's enough if ones of all doing concurrent committers
             // checks the need for log rotation.
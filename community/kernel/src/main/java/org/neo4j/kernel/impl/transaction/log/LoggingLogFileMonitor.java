@@ -47,13 +47,21 @@ public class LoggingLogFileMonitor implements RecoveryMonitor, RecoveryStartInfo
         log.info( "Recovery required from position " + startPosition );
     }
 
+    @Override
+    public void recoveryProgress( long recoveredTransactions, long transactionsToRecover, long elapsedMillis )
+    {
+        log.info( format( "Recovery in progress. %d of %d transactions recovered, last:%d, time spent: %s, %d transactions/s", recoveredTransactions,
+                transactionsToRecover, lastTransactionRecovered, duration( elapsedMillis ), perSecond( recoveredTransactions, elapsedMillis ) ) );
+    }
+
     @Override
     public void recoveryCompleted( int numberOfRecoveredTransactions, long recoveryTimeInMilliseconds )
     {
         if ( numberOfRecoveredTransactions != 0 )
         {
-            log.info( format( "Recovery completed. %d transactions, first:%d, last:%d recovered, time spent: %s", numberOfRecoveredTransactions,
-                    firstTransactionRecovered, lastTransactionRecovered, duration( recoveryTimeInMilliseconds ) ) );
+            log.info( format( "Recovery completed. %d transactions, first:%d, last:%d recovered, time spent: %s, %d transactions/s",
+                    numberOfRecoveredTransactions, firstTransactionRecovered, lastTransactionRecovered, duration( recoveryTimeInMilliseconds ),
+                    perSecond( numberOfRecoveredTransactions, recoveryTimeInMilliseconds ) ) );
         }
         else
         {
@@ -61,6 +69,11 @@ public class LoggingLogFileMonitor implements RecoveryMonitor, RecoveryStartInfo
         }
     }
 
+    private static long perSecond( long count, long millis )
+    {
+        return millis == 0 ? count : count * 1000 / millis;
+    }
+
     @Override
     public void failToRecoverTransactionsAfterCommit( Throwable t, LogEntryCommit commitEntry, LogPosition recoveryToPosition )
     {
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * {@link TransactionCursor} which reads and decodes transactions from a source cursor on a separate thread, keeping up to
+ * a fixed number of decoded transactions ahead of the consumer. This lets reading and deserializing log entries overlap with
+ * applying the transactions already returned, which is what dominates recovery of a long log tail.
+ * <p>
+ * Transactions, the {@link #position() position} after each of them, and any failure of the source cursor are handed over in the
+ * order the source produced them, so a consumer observes exactly what it would have observed reading the source directly.
+ */
+public class ReadAheadTransactionCursor implements TransactionCursor
+{
+    private final TransactionCursor source;
+    private final BlockingQueue<Entry> readAhead;
+    private final CountDownLatch readerDone = new CountDownLatch( 1 );
+    private volatile boolean closed;
+
+    private CommittedTransactionRepresentation current;
+    private LogPosition position;
+    private boolean exhausted;
+
+    /**
+     * @param source cursor to read transactions from. Must not be used by anyone else once handed to this cursor.
+     * @param readAheadTransactions max number of decoded transactions to keep ahead of the consumer.
+     * @param executor executor to run the reading on. Must be able to run the reader in parallel with the caller.
+     */
+    public ReadAheadTransactionCursor( TransactionCursor source, int readAheadTransactions, Executor executor )
+    {
+        this.source = source;
+        this.readAhead = new ArrayBlockingQueue<>( readAheadTransactions );
+        this.position = source.position();
+        executor.execute( this::readTransactions );
+    }
+
+    private void readTransactions()
+    {
+        try
+        {
+            while ( !closed && source.next() )
+            {
+                readAhead.put( new Entry( source.get(), source.position(), null ) );
+            }
+            readAhead.put( new Entry( null, source.position(), null ) );
+        }
+        catch ( InterruptedException e )
+        {
+            // Nothing more will be handed over, the consumer notices that the reader is done
+            Thread.currentThread().interrupt();
+        }
+        catch ( Throwable t )
+        {
+            try
+            {
+                readAhead.put( new Entry( null, null, t ) );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        finally
+        {
+            readerDone.countDown();
+        }
+    }
+
+    @Override
+    public boolean next() throws IOException
+    {
+        current = null;
+        if ( exhausted )
+        {
+            return false;
+        }
+
+        Entry entry = awaitNextEntry();
+
+        if ( entry.failure != null )
+        {
+            exhausted = true;
+            throw rethrow( entry.failure );
+        }
+        position = entry.position;
+        if ( entry.transaction == null )
+        {
+            exhausted = true;
+            return false;
+        }
+        current = entry.transaction;
+        return true;
+    }
+
+    private Entry awaitNextEntry() throws IOException
+    {
+        try
+        {
+            while ( true )
+            {
+                boolean readerStopped = readerDone.getCount() == 0;
+                Entry entry = readAhead.poll( 10, MILLISECONDS );
+                if ( entry != null )
+                {
+                    return entry;
+                }
+                if ( readerStopped )
+                {
+                    throw new IOException( "Reading transactions ahead stopped before reaching the end of the transaction log" );
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ClosedByInterruptException();
+        }
+    }
+
+    @Override
+    public CommittedTransactionRepresentation get()
+    {
+        return current;
+    }
+
+    @Override
+    public LogPosition position()
+    {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        closed = true;
+        boolean interrupted = false;
+        // The reader may be blocked handing over a transaction nobody is going to consume, keep making room for it until it notices
+        while ( readerDone.getCount() > 0 )
+        {
+            readAhead.clear();
+            try
+            {
+                readerDone.await( 10, MILLISECONDS );
+            }
+            catch ( InterruptedException e )
+            {
+                interrupted = true;
+            }
+        }
+        readAhead.clear();
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+        source.close();
+    }
+
+    private static IOException rethrow( Throwable failure )
+    {
+        if ( failure instanceof IOException )
+        {
+            return (IOException) failure;
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+        return new IOException( failure );
+    }
+
+    private static class Entry
+    {
+        private final CommittedTransactionRepresentation transaction;
+        private final LogPosition position;
+        private final Throwable failure;
+
+        Entry( CommittedTransactionRepresentation transaction, LogPosition position, Throwable failure )
+        {
+            this.transaction = transaction;
+            this.position = position;
+            this.failure = failure;
+        }
+    }
+}
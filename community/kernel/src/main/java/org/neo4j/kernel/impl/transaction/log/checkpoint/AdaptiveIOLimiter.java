@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import java.io.Flushable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import org.neo4j.io.pagecache.IOLimiter;
+
+/**
+ * An {@link IOLimiter} with a limit that is adjusted by feedback from the flushes it limits, rather than configured up front.
+ * <p>
+ * IOs are metered in quanta of {@value #QUANTUM_MILLIS} milliseconds. The stamp keeps the number of IOs done in the current quantum in
+ * its upper 32 bits, and the time the quantum started in its lower 32 bits. Whenever a quantum worth of IOs have been done faster than
+ * the limit allows, the flushing thread is put to sleep for the remainder of the quantum.
+ * <p>
+ * After each flush, {@link #adapt(long)} sets the limit to what it would take to do the IOs of that flush within a target duration.
+ * The limit follows an increase in IOs at once, so that the flushing keeps up with the rate at which pages are dirtied, but only
+ * decays gradually, so that a single quiet flush does not throttle the next busy one.
+ */
+public class AdaptiveIOLimiter implements IOLimiter
+{
+    private static final int QUANTUM_MILLIS = 100;
+    private static final int QUANTUMS_PER_SECOND = 1000 / QUANTUM_MILLIS;
+    private static final int TIME_BITS = 32;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final int minIOPS;
+    private final int maxIOPS;
+    private final LongSupplier currentTimeMillis;
+    private final LongConsumer sleeper;
+    private final AtomicInteger disableCounter = new AtomicInteger();
+    private final AtomicLong completedIOs = new AtomicLong();
+    private volatile int iops;
+
+    public AdaptiveIOLimiter( int minIOPS, int maxIOPS )
+    {
+        this( minIOPS, maxIOPS, System::currentTimeMillis, AdaptiveIOLimiter::sleep );
+    }
+
+    AdaptiveIOLimiter( int minIOPS, int maxIOPS, LongSupplier currentTimeMillis, LongConsumer sleeper )
+    {
+        if ( minIOPS < QUANTUMS_PER_SECOND || maxIOPS < minIOPS )
+        {
+            throw new IllegalArgumentException( "Invalid IO limits, min: " + minIOPS + ", max: " + maxIOPS + "." );
+        }
+        this.minIOPS = minIOPS;
+        this.maxIOPS = maxIOPS;
+        this.currentTimeMillis = currentTimeMillis;
+        this.sleeper = sleeper;
+        this.iops = minIOPS;
+    }
+
+    @Override
+    public long maybeLimitIO( long previousStamp, int recentlyCompletedIOs, Flushable flushable )
+    {
+        completedIOs.addAndGet( recentlyCompletedIOs );
+        if ( !isLimited() )
+        {
+            return previousStamp;
+        }
+
+        long now = currentTimeMillis.getAsLong() & TIME_MASK;
+        long quantumStart = previousStamp == INITIAL_STAMP ? now : previousStamp & TIME_MASK;
+        long ios = (previousStamp >>> TIME_BITS) + recentlyCompletedIOs;
+        long iosPerQuantum = iops / QUANTUMS_PER_SECOND;
+        if ( ios < iosPerQuantum )
+        {
+            return composeStamp( ios, quantumStart );
+        }
+
+        long elapsedMillis = (now - quantumStart) & TIME_MASK;
+        long allowedMillis = ios * QUANTUM_MILLIS / iosPerQuantum;
+        if ( allowedMillis > elapsedMillis )
+        {
+            sleeper.accept( allowedMillis - elapsedMillis );
+        }
+        return composeStamp( 0, currentTimeMillis.getAsLong() & TIME_MASK );
+    }
+
+    /**
+     * Adjust the limit after a flush, such that the number of IOs done since the previous adjustment could have been done
+     * within the given target duration.
+     *
+     * @param targetMillis the duration the IOs of a flush should be spread over.
+     * @return the new limit, in IOs per second.
+     */
+    public int adapt( long targetMillis )
+    {
+        long ios = completedIOs.getAndSet( 0 );
+        long requiredIOPS = ios * 1000 / Math.max( 1, targetMillis );
+        long current = iops;
+        long adapted = requiredIOPS >= current ? requiredIOPS : (current + requiredIOPS) / 2;
+        iops = (int) Math.max( minIOPS, Math.min( maxIOPS, adapted ) );
+        return iops;
+    }
+
+    /**
+     * @return the current limit, in IOs per second.
+     */
+    public int currentIOPS()
+    {
+        return iops;
+    }
+
+    @Override
+    public void disableLimit()
+    {
+        disableCounter.getAndIncrement();
+    }
+
+    @Override
+    public void enableLimit()
+    {
+        disableCounter.getAndDecrement();
+    }
+
+    @Override
+    public boolean isLimited()
+    {
+        return disableCounter.get() == 0;
+    }
+
+    private static long composeStamp( long ios, long quantumStart )
+    {
+        return (ios << TIME_BITS) | quantumStart;
+    }
+
+    private static void sleep( long millis )
+    {
+        try
+        {
+            Thread.sleep( millis );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import java.util.function.BooleanSupplier;
+
+import org.neo4j.function.Predicates;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.monitoring.Health;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+/**
+ * Continuously flushes the dirty pages of a database in the background, in between checkpoints.
+ * <p>
+ * A checkpoint has to flush every page that is dirty when it starts, which, when done all at once, makes writes slow down while it runs.
+ * Flushing dirty pages at a steady pace in between leaves the checkpoint with only the pages dirtied since the last background flush.
+ * Flushing is paced by an {@link AdaptiveIOLimiter}, which is adjusted after every flush to spread the IO of the next flush over half
+ * the interval between flushes. Writing a page out ahead of a checkpoint is always safe, since the page cache may do the same when
+ * evicting it.
+ */
+public class BackgroundFlusher extends LifecycleAdapter
+{
+    private final PageCache pageCache;
+    private final AdaptiveIOLimiter ioLimiter;
+    private final JobScheduler scheduler;
+    private final long intervalMillis;
+    private final Health health;
+    private final String databaseName;
+    private final Log log;
+    private final Runnable job = this::flush;
+    private final BooleanSupplier notFlushing = () -> !this.flushing;
+
+    private volatile JobHandle<?> handle;
+    private volatile boolean stopped;
+    private volatile boolean flushing;
+
+    public BackgroundFlusher( PageCache pageCache, AdaptiveIOLimiter ioLimiter, JobScheduler scheduler, long intervalMillis, Health health,
+            LogProvider logProvider, String databaseName )
+    {
+        this.pageCache = pageCache;
+        this.ioLimiter = ioLimiter;
+        this.scheduler = scheduler;
+        this.intervalMillis = intervalMillis;
+        this.health = health;
+        this.databaseName = databaseName;
+        this.log = logProvider.getLog( getClass() );
+    }
+
+    @Override
+    public void start()
+    {
+        stopped = false;
+        schedule();
+    }
+
+    @Override
+    public void stop()
+    {
+        stopped = true;
+        if ( handle != null )
+        {
+            handle.cancel();
+        }
+        // Let an ongoing flush finish at full speed, rather than have shutdown wait for it at the limited pace.
+        ioLimiter.disableLimit();
+        try
+        {
+            Predicates.awaitForever( notFlushing, 10, MILLISECONDS );
+        }
+        finally
+        {
+            ioLimiter.enableLimit();
+        }
+    }
+
+    private void flush()
+    {
+        try
+        {
+            flushing = true;
+            if ( !stopped && health.isHealthy() )
+            {
+                pageCache.flushAndForce( ioLimiter );
+                int iops = ioLimiter.adapt( intervalMillis / 2 );
+                if ( log.isDebugEnabled() )
+                {
+                    log.debug( "Background flush completed. IO limit adapted to " + iops + " IOs per second." );
+                }
+            }
+        }
+        catch ( Throwable t )
+        {
+            // Nothing is lost by a failed background flush, since the next checkpoint flushes the same pages anyway.
+            log.warn( "Background flush of dirty pages failed.", t );
+        }
+        finally
+        {
+            flushing = false;
+        }
+
+        if ( !stopped )
+        {
+            schedule();
+        }
+    }
+
+    private void schedule()
+    {
+        handle = scheduler.schedule( Group.CHECKPOINT, systemJob( databaseName, "Background flush of dirty pages" ), job, intervalMillis, MILLISECONDS );
+    }
+}
@@ -27,6 +27,7 @@ import java.nio.file.Path;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.memory.HeapScopedBuffer;
+import org.neo4j.kernel.impl.transaction.log.files.LogFileCompression;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.StoreId;
 
@@ -50,7 +51,7 @@ public final class LogHeaderReader
 
     public static LogHeader readLogHeader( FileSystemAbstraction fileSystem, Path file, boolean strict, MemoryTracker memoryTracker ) throws IOException
     {
-        try ( StoreChannel channel = fileSystem.read( file );
+        try ( StoreChannel channel = LogFileCompression.openForReading( fileSystem, file );
               var scopedBuffer = new HeapScopedBuffer( CURRENT_FORMAT_LOG_HEADER_SIZE, memoryTracker ) )
         {
             return readLogHeader( scopedBuffer.getBuffer(), channel, strict, file );
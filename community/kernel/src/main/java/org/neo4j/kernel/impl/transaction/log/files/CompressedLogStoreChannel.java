@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+
+import org.neo4j.io.fs.DelegatingStoreChannel;
+import org.neo4j.io.fs.StoreChannel;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static org.neo4j.kernel.impl.transaction.log.files.LogFileCompression.HEADER_SIZE;
+import static org.neo4j.kernel.impl.transaction.log.files.LogFileCompression.MAGIC;
+
+/**
+ * Read only channel over a log file compressed by {@link LogFileCompression}, that presents the uncompressed log. Only the block that is
+ * currently read from is decompressed, and it is kept until the channel moves to another block.
+ */
+class CompressedLogStoreChannel extends DelegatingStoreChannel<StoreChannel>
+{
+    private final long size;
+    private final int blockSize;
+    private final long[] blockOffsets;
+    private final byte[] block;
+    private byte[] compressed;
+    private int currentBlock = -1;
+    private long position;
+
+    CompressedLogStoreChannel( StoreChannel channel ) throws IOException
+    {
+        super( channel );
+        ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE );
+        channel.position( 0 );
+        channel.readAll( header );
+        header.flip();
+        if ( header.getLong() != MAGIC )
+        {
+            throw new IOException( "Not a compressed log file." );
+        }
+        this.size = header.getLong();
+        this.blockSize = header.getInt();
+        int blockCount = header.getInt();
+        ByteBuffer offsets = ByteBuffer.allocate( (blockCount + 1) * Long.BYTES );
+        channel.readAll( offsets );
+        offsets.flip();
+        this.blockOffsets = new long[blockCount + 1];
+        for ( int i = 0; i <= blockCount; i++ )
+        {
+            blockOffsets[i] = offsets.getLong();
+        }
+        this.block = new byte[blockSize];
+        this.compressed = new byte[0];
+    }
+
+    @Override
+    public int read( ByteBuffer dst ) throws IOException
+    {
+        if ( position >= size )
+        {
+            return -1;
+        }
+        int blockIndex = toIntExact( position / blockSize );
+        if ( blockIndex != currentBlock )
+        {
+            loadBlock( blockIndex );
+        }
+        int offsetInBlock = (int) (position - (long) blockIndex * blockSize);
+        int bytes = min( dst.remaining(), blockLength( blockIndex ) - offsetInBlock );
+        dst.put( block, offsetInBlock, bytes );
+        position += bytes;
+        return bytes;
+    }
+
+    @Override
+    public long read( ByteBuffer[] dsts, int offset, int length ) throws IOException
+    {
+        long total = 0;
+        for ( int i = offset; i < offset + length; i++ )
+        {
+            while ( dsts[i].hasRemaining() )
+            {
+                int read = read( dsts[i] );
+                if ( read == -1 )
+                {
+                    return total == 0 ? -1 : total;
+                }
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public long read( ByteBuffer[] dsts ) throws IOException
+    {
+        return read( dsts, 0, dsts.length );
+    }
+
+    @Override
+    public void readAll( ByteBuffer dst ) throws IOException
+    {
+        while ( dst.hasRemaining() )
+        {
+            if ( read( dst ) < 0 )
+            {
+                throw new IllegalStateException( "Channel has reached end-of-stream." );
+            }
+        }
+    }
+
+    @Override
+    public int read( ByteBuffer dst, long position ) throws IOException
+    {
+        long previousPosition = this.position;
+        try
+        {
+            this.position = position;
+            return read( dst );
+        }
+        finally
+        {
+            this.position = previousPosition;
+        }
+    }
+
+    @Override
+    public long position()
+    {
+        return position;
+    }
+
+    @Override
+    public StoreChannel position( long newPosition )
+    {
+        this.position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size()
+    {
+        return size;
+    }
+
+    @Override
+    public int write( ByteBuffer src )
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long write( ByteBuffer[] srcs, int offset, int length )
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long write( ByteBuffer[] srcs )
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public void writeAll( ByteBuffer src )
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public void writeAll( ByteBuffer src, long position )
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public StoreChannel truncate( long size )
+    {
+        throw new NonWritableChannelException();
+    }
+
+    private int blockLength( int blockIndex )
+    {
+        return (int) min( blockSize, size - (long) blockIndex * blockSize );
+    }
+
+    private void loadBlock( int blockIndex ) throws IOException
+    {
+        int compressedLength = toIntExact( blockOffsets[blockIndex + 1] - blockOffsets[blockIndex] );
+        if ( compressed.length < compressedLength )
+        {
+            compressed = new byte[compressedLength];
+        }
+        delegate.position( blockOffsets[blockIndex] );
+        delegate.readAll( ByteBuffer.wrap( compressed, 0, compressedLength ) );
+        int length = blockLength( blockIndex );
+        long decompressed = Zstd.decompressByteArray( block, 0, length, compressed, 0, compressedLength );
+        if ( Zstd.isError( decompressed ) || decompressed != length )
+        {
+            currentBlock = -1;
+            throw new IOException( "Failed to decompress block " + blockIndex + " of compressed log file, expected " + length + " bytes but got " +
+                    (Zstd.isError( decompressed ) ? Zstd.getErrorName( decompressed ) : decompressed) );
+        }
+        currentBlock = blockIndex;
+    }
+}
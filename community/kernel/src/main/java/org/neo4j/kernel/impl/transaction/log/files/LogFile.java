@@ -82,6 +82,14 @@ public interface LogFile extends RotatableFile
 
     Path getLogFileForVersion( long version );
 
+    /**
+     * Hand over a log file that is being pruned, to be reused for a later log version rather than deleted.
+     *
+     * @param file the log file that is being pruned.
+     * @return {@code true} if the file was taken over, or {@code false} if the caller should delete it.
+     */
+    boolean recycle( Path file );
+
     Path getHighestLogFile();
 
     long getHighestLogVersion();
@@ -102,5 +110,15 @@ public interface LogFile extends RotatableFile
 
     boolean forceAfterAppend( LogForceEvents logForceEvents ) throws IOException;
 
+    /**
+     * Makes everything appended up to the given position durable. Unlike {@link #forceAfterAppend(LogForceEvents)} this returns
+     * without forcing when a force that started after the given position was appended has already completed, or completes while waiting.
+     *
+     * @param appendedPosition position right after the last appended entry that must be durable.
+     * @param logForceEvents A trace event for the given log append operation.
+     * @return {@code true} if we were the ones forcing the log.
+     */
+    boolean forceAfterAppend( LogPosition appendedPosition, LogForceEvents logForceEvents ) throws IOException;
+
     void flush() throws IOException;
 }
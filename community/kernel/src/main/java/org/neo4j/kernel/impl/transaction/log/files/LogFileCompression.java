@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static org.neo4j.io.ByteUnit.kibiBytes;
+
+/**
+ * Compression of rotated transaction log files with ZSTD.
+ * <p>
+ * A compressed log file keeps the name of the log file it replaces, and starts with a magic number that can never be the start of a log
+ * header, whose first byte is the log format version. This way readers can tell compressed log files from uncompressed ones, and
+ * {@link #openForReading(FileSystemAbstraction, Path)} decompresses them transparently.
+ * <p>
+ * The log is compressed in independent blocks, with an index of the block offsets right after the header, so that readers can position
+ * themselves anywhere in the log, also backwards as reversed transaction cursors do, by decompressing only the block they read from:
+ * <pre>
+ * [magic:8][uncompressed size:8][block size:4][block count:4][block offsets:8 * (block count + 1)][block 0][block 1]...
+ * </pre>
+ */
+public final class LogFileCompression
+{
+    /**
+     * "NEOLZSTD". The first byte of an uncompressed log is its log format version, which is never anywhere near this large.
+     */
+    static final long MAGIC = 0x4E454F4C5A535444L;
+    static final int HEADER_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    static final int BLOCK_SIZE = (int) kibiBytes( 256 );
+    private static final int COMPRESSION_LEVEL = 3;
+    private static final String TEMPORARY_FILE_PREFIX = "compressing.";
+
+    private LogFileCompression()
+    {
+    }
+
+    /**
+     * Open the given log file for reading. Compressed log files are decompressed transparently, such that positions and sizes of the
+     * returned channel are those of the uncompressed log.
+     */
+    public static StoreChannel openForReading( FileSystemAbstraction fs, Path file ) throws IOException
+    {
+        StoreChannel channel = fs.read( file );
+        try
+        {
+            if ( isCompressed( channel ) )
+            {
+                return new CompressedLogStoreChannel( channel );
+            }
+            return channel;
+        }
+        catch ( Throwable t )
+        {
+            channel.close();
+            throw t;
+        }
+    }
+
+    /**
+     * @return {@code true} if the given log file is compressed.
+     */
+    public static boolean isCompressed( FileSystemAbstraction fs, Path file ) throws IOException
+    {
+        try ( StoreChannel channel = fs.read( file ) )
+        {
+            return isCompressed( channel );
+        }
+    }
+
+    /**
+     * Check if the file of the given channel is compressed. The channel is left at position zero.
+     */
+    static boolean isCompressed( StoreChannel channel ) throws IOException
+    {
+        if ( channel.size() < HEADER_SIZE )
+        {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate( Long.BYTES );
+        channel.position( 0 );
+        channel.readAll( buffer );
+        channel.position( 0 );
+        return buffer.flip().getLong() == MAGIC;
+    }
+
+    /**
+     * Compress the given log file into its {@link #temporaryFile(Path) temporary file}, which then has to be moved over the log file to
+     * replace it. The temporary file is forced before this method returns.
+     *
+     * @return the temporary file holding the compressed log.
+     */
+    public static Path compressToTemporaryFile( FileSystemAbstraction fs, Path file ) throws IOException
+    {
+        Path temporaryFile = temporaryFile( file );
+        fs.deleteFile( temporaryFile );
+        try ( StoreChannel source = fs.read( file );
+              StoreChannel target = fs.write( temporaryFile ) )
+        {
+            long size = source.size();
+            int blockCount = toIntExact( (size + BLOCK_SIZE - 1) / BLOCK_SIZE );
+            ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE + (blockCount + 1) * Long.BYTES );
+            header.putLong( MAGIC ).putLong( size ).putInt( BLOCK_SIZE ).putInt( blockCount );
+
+            byte[] block = new byte[BLOCK_SIZE];
+            byte[] compressed = new byte[toIntExact( Zstd.compressBound( BLOCK_SIZE ) )];
+            long offset = header.capacity();
+            target.position( offset );
+            for ( int i = 0; i < blockCount; i++ )
+            {
+                int length = (int) min( BLOCK_SIZE, size - (long) i * BLOCK_SIZE );
+                source.readAll( ByteBuffer.wrap( block, 0, length ) );
+                long compressedLength = Zstd.compressByteArray( compressed, 0, compressed.length, block, 0, length, COMPRESSION_LEVEL );
+                if ( Zstd.isError( compressedLength ) )
+                {
+                    throw new IOException( "Failed to compress block " + i + " of " + file + ": " + Zstd.getErrorName( compressedLength ) );
+                }
+                target.writeAll( ByteBuffer.wrap( compressed, 0, (int) compressedLength ) );
+                header.putLong( offset );
+                offset += compressedLength;
+            }
+            header.putLong( offset );
+            target.writeAll( header.flip(), 0 );
+            target.force( false );
+        }
+        catch ( Throwable t )
+        {
+            fs.deleteFile( temporaryFile );
+            throw t;
+        }
+        return temporaryFile;
+    }
+
+    /**
+     * @return the file the given log file is compressed into, before it replaces the log file.
+     */
+    public static Path temporaryFile( Path file )
+    {
+        return file.resolveSibling( TEMPORARY_FILE_PREFIX + file.getFileName() );
+    }
+
+    /**
+     * @return {@code true} if the given file is a temporary file of a log file that was being compressed.
+     */
+    public static boolean isTemporaryFile( Path file )
+    {
+        return file.getFileName().toString().startsWith( TEMPORARY_FILE_PREFIX );
+    }
+}
@@ -50,6 +50,7 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.monitoring.Monitors;
 import org.neo4j.monitoring.PanicEventGenerator;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandReaderFactory;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StorageEngineFactory;
@@ -104,6 +105,7 @@ public class LogFilesBuilder
     private StoreId storeId;
     private NativeAccess nativeAccess;
     private TransactionLogVersionProvider transactionLogVersionProvider;
+    private JobScheduler jobScheduler;
 
     private LogFilesBuilder()
     {
@@ -265,6 +267,12 @@ public class LogFilesBuilder
         return this;
     }
 
+    public LogFilesBuilder withJobScheduler( JobScheduler jobScheduler )
+    {
+        this.jobScheduler = jobScheduler;
+        return this;
+    }
+
     public LogFilesBuilder withLogsDirectory( Path logsDirectory )
     {
         this.logsDirectory = logsDirectory;
@@ -332,7 +340,17 @@ public class LogFilesBuilder
         return new TransactionLogFilesContext( rotationThreshold, tryPreallocateTransactionLogs, logEntryReader, lastCommittedIdSupplier,
                 committingTransactionIdSupplier, lastClosedTransactionPositionSupplier, logVersionRepositorySupplier,
                 fileSystem, logProvider, databaseTracers, storeIdSupplier, nativeAccess, memoryTracker, monitors, config.get( fail_on_corrupted_log_files ),
-                health, transactionLogVersionProvider, clock, config );
+                health, transactionLogVersionProvider, clock, config, getJobScheduler() );
+    }
+
+    private JobScheduler getJobScheduler()
+    {
+        // Background work, like preallocating log files, is only of use to log files that transactions are written to.
+        if ( readOnly || fileBasedOperationsOnly )
+        {
+            return null;
+        }
+        return jobScheduler;
     }
 
     private Clock getClock()
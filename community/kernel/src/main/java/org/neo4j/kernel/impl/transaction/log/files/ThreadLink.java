@@ -19,17 +19,33 @@
  */
 package org.neo4j.kernel.impl.transaction.log.files;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
 
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+
 class ThreadLink
 {
+    private static final AtomicIntegerFieldUpdater<ThreadLink> UNCOUNTED = AtomicIntegerFieldUpdater.newUpdater( ThreadLink.class, "uncounted" );
+
     final Thread thread;
+    /**
+     * Position right after the last entry this thread appended and waits to be durable, or {@code null} if not known.
+     */
+    final LogPosition position;
     volatile ThreadLink next;
     volatile boolean done;
+    private volatile int uncounted;
 
     ThreadLink( Thread thread )
+    {
+        this( thread, null );
+    }
+
+    ThreadLink( Thread thread, LogPosition position )
     {
         this.thread = thread;
+        this.position = position;
     }
 
     public void unpark()
@@ -37,7 +53,18 @@ class ThreadLink
         LockSupport.unpark( thread );
     }
 
-    static final ThreadLink END = new ThreadLink( null );
+    /**
+     * Stop counting this link as pending a force. Either the force taking this link or its thread leaving on its own does this,
+     * whichever comes first.
+     *
+     * @return {@code true} if this call was the one to stop counting it.
+     */
+    boolean uncount()
+    {
+        return UNCOUNTED.compareAndSet( this, 0, 1 );
+    }
+
+    static final ThreadLink END = new ThreadLink( null, null );
 
     static
     {
@@ -47,9 +47,16 @@ public class TransactionLogChannelAllocator
     private final LogHeaderCache logHeaderCache;
     private final ChannelNativeAccessor nativeChannelAccessor;
     private final DatabaseTracer databaseTracer;
+    private final TransactionLogFilePool filePool;
 
     public TransactionLogChannelAllocator( TransactionLogFilesContext logFilesContext, TransactionLogFilesHelper fileHelper, LogHeaderCache logHeaderCache,
             ChannelNativeAccessor nativeChannelAccessor )
+    {
+        this( logFilesContext, fileHelper, logHeaderCache, nativeChannelAccessor, null );
+    }
+
+    TransactionLogChannelAllocator( TransactionLogFilesContext logFilesContext, TransactionLogFilesHelper fileHelper, LogHeaderCache logHeaderCache,
+            ChannelNativeAccessor nativeChannelAccessor, TransactionLogFilePool filePool )
     {
         this.logFilesContext = logFilesContext;
         this.fileSystem = logFilesContext.getFileSystem();
@@ -57,6 +64,7 @@ public class TransactionLogChannelAllocator
         this.fileHelper = fileHelper;
         this.logHeaderCache = logHeaderCache;
         this.nativeChannelAccessor = nativeChannelAccessor;
+        this.filePool = filePool;
     }
 
     public PhysicalLogVersionedStoreChannel createLogChannel( long version, LongSupplier lastCommittedTransactionId ) throws IOException
@@ -97,7 +105,7 @@ public class TransactionLogChannelAllocator
         StoreChannel rawChannel = null;
         try
         {
-            rawChannel = fileSystem.read( fileToOpen );
+            rawChannel = LogFileCompression.openForReading( fileSystem, fileToOpen );
             try ( var scopedBuffer = new HeapScopedBuffer( CURRENT_FORMAT_LOG_HEADER_SIZE, logFilesContext.getMemoryTracker() ) )
             {
                 var buffer = scopedBuffer.getBuffer();
@@ -140,12 +148,14 @@ public class TransactionLogChannelAllocator
     {
         Path file = fileHelper.getLogFileForVersion( version );
         boolean fileExist = fileSystem.fileExists( file );
+        // A file from the pool is already allocated and zero-filled, so it is set up just like a newly preallocated file.
+        boolean takenFromPool = !fileExist && filePool != null && filePool.take( file );
         StoreChannel storeChannel = fileSystem.write( file );
         if ( fileExist )
         {
             nativeChannelAccessor.adviseSequentialAccessAndKeepInCache( storeChannel, version );
         }
-        else if ( logFilesContext.getTryPreallocateTransactionLogs().get() )
+        else if ( !takenFromPool && logFilesContext.getTryPreallocateTransactionLogs().get() )
         {
             nativeChannelAccessor.preallocateSpace( storeChannel, version );
         }
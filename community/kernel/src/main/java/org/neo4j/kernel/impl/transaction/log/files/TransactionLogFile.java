@@ -25,6 +25,7 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
@@ -65,6 +66,8 @@ import org.neo4j.storageengine.api.LogVersionRepository;
 
 import static java.lang.Math.min;
 import static java.lang.Runtime.getRuntime;
+import static org.neo4j.configuration.GraphDatabaseSettings.group_commit_max_batch;
+import static org.neo4j.configuration.GraphDatabaseSettings.group_commit_max_wait;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
 
 /**
@@ -75,6 +78,19 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     private static final String TRANSACTION_LOG_FILE_ROTATION_TAG = "transactionLogFileRotation";
     private final AtomicReference<ThreadLink> threadLinkHead = new AtomicReference<>( ThreadLink.END );
     private final Lock forceLock = new ReentrantLock();
+    /**
+     * Number of threads with a {@link ThreadLink} in the stack that have not been forced yet. Only an approximation,
+     * since threads count themselves after they have pushed their link, which is good enough to close a group commit window.
+     */
+    private final AtomicInteger pendingForces = new AtomicInteger();
+    private final long groupCommitMaxWaitNanos;
+    private final int groupCommitMaxBatch;
+    private volatile Thread groupCommitLeader;
+    /**
+     * Everything appended before this position has been written to the channel and forced. Committers that appended
+     * before a force emptied the buffer are released by that force, even if they were not yet waiting when it started.
+     */
+    private final AtomicReference<LogPosition> durablePosition = new AtomicReference<>( LogPosition.UNSPECIFIED );
     private final AtomicLong rotateAtSize;
     private final TransactionLogFilesHelper fileHelper;
     private final TransactionLogFilesContext context;
@@ -82,6 +98,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     private final PageCacheTracer pageCacheTracer;
     private final MemoryTracker memoryTracker;
     private final TransactionLogFileInformation logFileInformation;
+    private final TransactionLogFilePool filePool;
     private final TransactionLogChannelAllocator channelAllocator;
     private final DatabaseHealth databaseHealth;
 
@@ -101,11 +118,14 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         this.fileHelper = new TransactionLogFilesHelper( fileSystem, logFiles.logFilesDirectory(), name );
         this.logHeaderCache = new LogHeaderCache( 1000 );
         this.logFileInformation = new TransactionLogFileInformation( logFiles, logHeaderCache, context );
+        this.filePool = new TransactionLogFilePool( context, logFiles.logFilesDirectory(), name );
         this.channelAllocator = new TransactionLogChannelAllocator( context, fileHelper, logHeaderCache,
-                new LogFileChannelNativeAccessor( fileSystem, context ) );
+                new LogFileChannelNativeAccessor( fileSystem, context ), filePool );
         this.readerLogVersionBridge = new ReaderLogVersionBridge( this );
         this.pageCacheTracer = context.getDatabaseTracers().getPageCacheTracer();
         this.memoryTracker = context.getMemoryTracker();
+        this.groupCommitMaxWaitNanos = context.getConfig().get( group_commit_max_wait ).toNanos();
+        this.groupCommitMaxBatch = context.getConfig().get( group_commit_max_batch );
     }
 
     @Override
@@ -117,6 +137,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     @Override
     public void start() throws IOException
     {
+        filePool.start();
         long currentLogVersion = logVersionRepository.getCurrentLogVersion();
         channel = createLogChannelForVersion( currentLogVersion, context::getLastCommittedTransactionId );
 
@@ -127,6 +148,12 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         transactionLogWriter = new TransactionLogWriter( writer, new DbmsLogEntryWriterFactory( context.getTransactionLogVersionProvider() ) );
     }
 
+    @Override
+    public void stop()
+    {
+        filePool.stop();
+    }
+
     // In order to be able to write into a logfile after life.stop during shutdown sequence
     // we will close channel and writer only during shutdown phase when all pending changes (like last
     // checkpoint) are already in
@@ -215,6 +242,12 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         }
     }
 
+    @Override
+    public boolean recycle( Path file )
+    {
+        return filePool.recycle( file );
+    }
+
     @Override
     public TransactionLogFileInformation getLogFileInformation()
     {
@@ -267,8 +300,13 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
             {
                 return false;
             }
-            try ( StoreChannel channel = fileSystem.read( logFile ) )
+            try ( StoreChannel channel = LogFileCompression.openForReading( fileSystem, logFile ) )
             {
+                if ( channel.size() <= headerSize )
+                {
+                    // A compressed log file can be larger than the header, even if the log it holds is not.
+                    return false;
+                }
                 try ( var scopedBuffer = new HeapScopedBuffer( headerSize + 1, context.getMemoryTracker() ) )
                 {
                     var buffer = scopedBuffer.getBuffer();
@@ -346,11 +384,33 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
      */
     @Override
     public boolean forceAfterAppend( LogForceEvents logForceEvents ) throws IOException
+    {
+        return forceAfterAppend( new ThreadLink( Thread.currentThread() ), logForceEvents );
+    }
+
+    @Override
+    public boolean forceAfterAppend( LogPosition appendedPosition, LogForceEvents logForceEvents ) throws IOException
+    {
+        if ( isDurable( appendedPosition ) )
+        {
+            return false;
+        }
+        return forceAfterAppend( new ThreadLink( Thread.currentThread(), appendedPosition ), logForceEvents );
+    }
+
+    private boolean forceAfterAppend( ThreadLink threadLink, LogForceEvents logForceEvents ) throws IOException
     {
         // There's a benign race here, where we add our link before we update our next pointer.
         // This is okay, however, because unparkAll() spins when it sees a null next pointer.
-        ThreadLink threadLink = new ThreadLink( Thread.currentThread() );
         threadLink.next = threadLinkHead.getAndSet( threadLink );
+        if ( pendingForces.incrementAndGet() >= groupCommitMaxBatch )
+        {
+            Thread leader = groupCommitLeader;
+            if ( leader != null )
+            {
+                LockSupport.unpark( leader );
+            }
+        }
         boolean attemptedForce = false;
 
         try ( LogForceWaitEvent logForceWaitEvent = logForceEvents.beginLogForceWait() )
@@ -359,11 +419,16 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
             {
                 if ( forceLock.tryLock() )
                 {
-                    attemptedForce = true;
                     try
                     {
-                        forceLog( logForceEvents );
-                        // In the event of any failure a database panic will be raised and thrown here
+                        // Our transactions may have been forced by the previous lock holder already
+                        if ( !isForced( threadLink ) )
+                        {
+                            attemptedForce = true;
+                            awaitGroupCommit();
+                            forceLog( logForceEvents );
+                            // In the event of any failure a database panic will be raised and thrown here
+                        }
                     }
                     finally
                     {
@@ -372,9 +437,8 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
                         // We've released the lock, so unpark anyone who might have decided park while we were working.
                         // The most recently parked thread is the one most likely to still have warm caches, so that's
                         // the one we would prefer to unpark. Luckily, the stack nature of the ThreadLinks makes it easy
-                        // to get to.
-                        ThreadLink nextWaiter = threadLinkHead.get();
-                        nextWaiter.unpark();
+                        // to get to. Links of threads that already left because their entries were durable are skipped.
+                        unparkFirstWaiter( threadLinkHead.get() );
                     }
                 }
                 else
@@ -382,7 +446,14 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
                     waitForLogForce();
                 }
             }
-            while ( !threadLink.done );
+            while ( !isForced( threadLink ) );
+
+            // Leaving without our link being taken by a force means it no longer waits for one,
+            // so it must not count towards the group commit batch.
+            if ( threadLink.uncount() )
+            {
+                pendingForces.decrementAndGet();
+            }
 
             // If there were many threads committing simultaneously and I wasn't the lucky one
             // actually doing the forcing (where failure would throw panic exception) I need to
@@ -566,11 +637,51 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         return (int) ByteUnit.kibiBytes( min( (getRuntime().availableProcessors() / 4) + 1, 8 ) * 512 );
     }
 
+    private boolean isForced( ThreadLink threadLink )
+    {
+        return threadLink.done || isDurable( threadLink.position );
+    }
+
+    private boolean isDurable( LogPosition position )
+    {
+        return position != null && position.compareTo( durablePosition.get() ) <= 0;
+    }
+
+    /**
+     * Holding the force lock, give other committing threads the chance to append their transactions and join the
+     * coming force, until either the group commit window has passed or enough threads are waiting for it.
+     */
+    private void awaitGroupCommit()
+    {
+        if ( groupCommitMaxWaitNanos <= 0 )
+        {
+            return;
+        }
+        groupCommitLeader = Thread.currentThread();
+        try
+        {
+            long deadline = System.nanoTime() + groupCommitMaxWaitNanos;
+            long remaining = groupCommitMaxWaitNanos;
+            while ( remaining > 0 && pendingForces.get() < groupCommitMaxBatch )
+            {
+                LockSupport.parkNanos( this, remaining );
+                remaining = deadline - System.nanoTime();
+            }
+        }
+        finally
+        {
+            groupCommitLeader = null;
+        }
+    }
+
     private void forceLog( LogForceEvents logForceEvents ) throws IOException
     {
         ThreadLink links = threadLinkHead.getAndSet( ThreadLink.END );
+        int batchSize = uncountLinks( links );
+        pendingForces.addAndGet( -batchSize );
         try ( LogForceEvent logForceEvent = logForceEvents.beginLogForce() )
         {
+            logForceEvent.setBatchSize( batchSize );
             force();
         }
         catch ( final Throwable panic )
@@ -582,6 +693,74 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         {
             unparkAll( links );
         }
+        unparkDurable( threadLinkHead.get() );
+    }
+
+    /**
+     * Wake up the committers that started waiting while the log was being forced, but whose entries were already
+     * included in that force. They are left in the stack and marked as done by a later force.
+     */
+    private void unparkDurable( ThreadLink links )
+    {
+        while ( links != ThreadLink.END )
+        {
+            if ( isDurable( links.position ) )
+            {
+                links.unpark();
+            }
+            ThreadLink tmp;
+            do
+            {
+                // Spin because of the race:y update when consing.
+                tmp = links.next;
+            }
+            while ( tmp == null );
+            links = tmp;
+        }
+    }
+
+    private void unparkFirstWaiter( ThreadLink links )
+    {
+        while ( links != ThreadLink.END )
+        {
+            if ( !isForced( links ) )
+            {
+                links.unpark();
+                return;
+            }
+            ThreadLink tmp;
+            do
+            {
+                // Spin because of the race:y update when consing.
+                tmp = links.next;
+            }
+            while ( tmp == null );
+            links = tmp;
+        }
+    }
+
+    /**
+     * Counts the links whose threads still waited for this force, i.e. that did not already leave on their own.
+     */
+    private static int uncountLinks( ThreadLink links )
+    {
+        int count = 0;
+        while ( links != ThreadLink.END )
+        {
+            if ( links.uncount() )
+            {
+                count++;
+            }
+            ThreadLink tmp;
+            do
+            {
+                // Spin because of the race:y update when consing.
+                tmp = links.next;
+            }
+            while ( tmp == null );
+            links = tmp;
+        }
+        return count;
     }
 
     private static void unparkAll( ThreadLink links )
@@ -615,9 +794,11 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         // on logFile because it would cause deadlocks. Synchronizing on writer assumes that appenders
         // also synchronize on writer.
         Flushable flushable;
+        LogPosition flushedPosition;
         synchronized ( this )
         {
             databaseHealth.assertHealthy( IOException.class );
+            flushedPosition = writer.getCurrentPosition();
             flushable = writer.prepareForFlush();
         }
         // Force the writer outside of the lock.
@@ -633,6 +814,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
             // successful in emptying the buffer *UNDER THE LOCK* we know that the rotating thread included the changes
             // we emptied into the channel, and thus it is already flushed by that thread.
         }
+        durablePosition.accumulateAndGet( flushedPosition, ( current, flushed ) -> flushed.compareTo( current ) > 0 ? flushed : current );
     }
 
     private static class UncloseableChannel extends DelegatingStoreChannel<LogVersionedStoreChannel> implements LogVersionedStoreChannel
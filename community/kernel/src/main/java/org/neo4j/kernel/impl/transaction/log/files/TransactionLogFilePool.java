@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.memory.NativeScopedBuffer;
+import org.neo4j.logging.Log;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.lang.Math.min;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.preallocated_logical_log_files;
+import static org.neo4j.io.ByteUnit.mebiBytes;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+/**
+ * A pool of spare transaction log files that are preallocated and zero-filled ahead of time, so that rotating to a new log file
+ * only has to rename a spare file, rather than create a file and have the file system allocate space for it while committing
+ * transactions wait for the rotation.
+ * <p>
+ * Spare files are filled in the background, either from scratch or by recycling log files that are being pruned. A spare file is
+ * named {@value #FILLING_PREFIX}{@code <log name>.<n>} while it is being filled, and is renamed to
+ * {@value #READY_PREFIX}{@code <log name>.<n>} once it has been zero-filled up to the rotation threshold and forced. Neither
+ * name matches the log file names, so spare files are never mistaken for logs. A ready file is, once renamed to the next log
+ * version, read as a log that has been preallocated, since both its header and the log entries following it are all zeros.
+ */
+class TransactionLogFilePool
+{
+    static final String FILLING_PREFIX = "filling.";
+    static final String READY_PREFIX = "preallocated.";
+    private static final int ZERO_BUFFER_SIZE = (int) mebiBytes( 1 );
+
+    private final FileSystemAbstraction fileSystem;
+    private final Path directory;
+    private final String name;
+    private final AtomicLong rotationThreshold;
+    private final JobScheduler scheduler;
+    private final MemoryTracker memoryTracker;
+    private final Log log;
+    private final int capacity;
+    private final Deque<Path> readyFiles = new ConcurrentLinkedDeque<>();
+    private final Deque<Path> filesToFill = new ConcurrentLinkedDeque<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicBoolean filling = new AtomicBoolean();
+    private volatile JobHandle<?> fillJob = JobHandle.EMPTY;
+    private volatile boolean started;
+
+    TransactionLogFilePool( TransactionLogFilesContext context, Path directory, String name )
+    {
+        this.fileSystem = context.getFileSystem();
+        this.directory = directory;
+        this.name = name;
+        this.rotationThreshold = context.getRotationThreshold();
+        this.scheduler = context.getJobScheduler();
+        this.memoryTracker = context.getMemoryTracker();
+        this.log = context.getLogProvider().getLog( getClass() );
+        this.capacity = scheduler == null ? 0 : context.getConfig().get( preallocated_logical_log_files );
+    }
+
+    void start() throws IOException
+    {
+        if ( capacity == 0 )
+        {
+            return;
+        }
+        readyFiles.clear();
+        filesToFill.clear();
+        for ( Path file : fileSystem.listFiles( directory, this::isSpareFile ) )
+        {
+            String fileName = file.getFileName().toString();
+            long sequence = Long.parseLong( fileName.substring( fileName.lastIndexOf( '.' ) + 1 ) );
+            nextSequence.accumulateAndGet( sequence + 1, Math::max );
+            // The rotation threshold could have changed since the file was filled, so only files of the right size are ready.
+            if ( fileName.startsWith( READY_PREFIX ) && fileSystem.getFileSize( file ) == rotationThreshold.get() )
+            {
+                readyFiles.add( file );
+            }
+            else
+            {
+                filesToFill.add( file );
+            }
+        }
+        started = true;
+        scheduleFill();
+    }
+
+    void stop()
+    {
+        started = false;
+        try
+        {
+            fillJob.waitTermination();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch ( ExecutionException e )
+        {
+            log.warn( "Preallocation of transaction log files failed.", e );
+        }
+    }
+
+    /**
+     * Move a ready spare file in place as the given log file, which must not exist.
+     *
+     * @param logFile the log file to create.
+     * @return {@code true} if the log file was created from a spare file, which is then already allocated and zero-filled,
+     * or {@code false} if no spare file was ready and the log file has to be created as usual.
+     */
+    boolean take( Path logFile )
+    {
+        if ( !started )
+        {
+            return false;
+        }
+        Path spareFile = readyFiles.pollFirst();
+        if ( spareFile == null )
+        {
+            scheduleFill();
+            return false;
+        }
+        try
+        {
+            fileSystem.renameFile( spareFile, logFile, ATOMIC_MOVE );
+            return true;
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Unable to use preallocated file " + spareFile + " as transaction log file " + logFile + ".", e );
+            filesToFill.add( spareFile );
+            return false;
+        }
+        finally
+        {
+            scheduleFill();
+        }
+    }
+
+    /**
+     * Take over a log file that is being pruned, to be filled with zeros and reused as a spare file, if the pool has room for it.
+     *
+     * @param logFile the pruned log file.
+     * @return {@code true} if the file was taken over by the pool, or {@code false} if the caller should delete it.
+     */
+    boolean recycle( Path logFile )
+    {
+        if ( !started || readyFiles.size() + filesToFill.size() >= capacity )
+        {
+            return false;
+        }
+        try
+        {
+            if ( LogFileCompression.isCompressed( fileSystem, logFile ) )
+            {
+                // Only a fraction of the rotation threshold is allocated to a compressed log, so recycling it saves next to nothing.
+                return false;
+            }
+            Path spareFile = spareFile( FILLING_PREFIX, nextSequence.getAndIncrement() );
+            fileSystem.renameFile( logFile, spareFile, ATOMIC_MOVE );
+            filesToFill.add( spareFile );
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Unable to recycle transaction log file " + logFile + ".", e );
+            return false;
+        }
+        scheduleFill();
+        return true;
+    }
+
+    private void scheduleFill()
+    {
+        if ( started && readyFiles.size() < capacity && filling.compareAndSet( false, true ) )
+        {
+            try
+            {
+                fillJob = scheduler.schedule( Group.STORAGE_MAINTENANCE, systemJob( "Preallocation of transaction log files" ), this::fill );
+            }
+            catch ( RuntimeException e )
+            {
+                filling.set( false );
+                log.warn( "Unable to schedule preallocation of transaction log files.", e );
+            }
+        }
+    }
+
+    private void fill()
+    {
+        boolean failed = false;
+        try
+        {
+            while ( started && readyFiles.size() < capacity )
+            {
+                Path file = filesToFill.pollFirst();
+                long sequence = file == null ? nextSequence.getAndIncrement() : sequence( file );
+                if ( file == null )
+                {
+                    file = spareFile( FILLING_PREFIX, sequence );
+                }
+                if ( !zeroFill( file ) )
+                {
+                    // Stopped half way. The file will be filled again after the next start.
+                    filesToFill.addFirst( file );
+                    break;
+                }
+                Path readyFile = spareFile( READY_PREFIX, sequence );
+                fileSystem.renameFile( file, readyFile, ATOMIC_MOVE );
+                readyFiles.add( readyFile );
+            }
+        }
+        catch ( IOException e )
+        {
+            failed = true;
+            log.warn( "Preallocation of transaction log files failed.", e );
+        }
+        finally
+        {
+            filling.set( false );
+        }
+        if ( !failed )
+        {
+            // A file could have been taken after we checked the pool, but before we let another fill be scheduled.
+            scheduleFill();
+        }
+    }
+
+    private boolean zeroFill( Path file ) throws IOException
+    {
+        long size = rotationThreshold.get();
+        try ( StoreChannel channel = fileSystem.write( file );
+              var scopedBuffer = new NativeScopedBuffer( ZERO_BUFFER_SIZE, memoryTracker ) )
+        {
+            ByteBuffer zeros = scopedBuffer.getBuffer();
+            for ( long position = 0; position < size; position += zeros.limit() )
+            {
+                if ( !started )
+                {
+                    return false;
+                }
+                zeros.clear().limit( (int) min( zeros.capacity(), size - position ) );
+                channel.writeAll( zeros, position );
+            }
+            channel.truncate( size );
+            channel.force( false );
+        }
+        return true;
+    }
+
+    private boolean isSpareFile( Path file )
+    {
+        String fileName = file.getFileName().toString();
+        return isSpareFileName( fileName, FILLING_PREFIX ) || isSpareFileName( fileName, READY_PREFIX );
+    }
+
+    private boolean isSpareFileName( String fileName, String prefix )
+    {
+        String base = prefix + name + ".";
+        return fileName.startsWith( base ) && fileName.length() > base.length() &&
+                fileName.substring( base.length() ).chars().allMatch( Character::isDigit );
+    }
+
+    private Path spareFile( String prefix, long sequence )
+    {
+        return directory.resolve( prefix + name + "." + sequence );
+    }
+
+    private static long sequence( Path spareFile )
+    {
+        String fileName = spareFile.getFileName().toString();
+        return Long.parseLong( fileName.substring( fileName.lastIndexOf( '.' ) + 1 ) );
+    }
+}
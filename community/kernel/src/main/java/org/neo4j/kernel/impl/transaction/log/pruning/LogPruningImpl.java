@@ -19,26 +19,44 @@
  */
 package org.neo4j.kernel.impl.transaction.log.pruning;
 
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.LongConsumer;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.impl.transaction.log.files.LogFile;
+import org.neo4j.kernel.impl.transaction.log.files.LogFileCompression;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.time.SystemNanoClock;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static org.apache.commons.lang3.ArrayUtils.isNotEmpty;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.checkpoint_logical_log_keep_threshold;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.compress_rotated_logical_logs;
 import static org.neo4j.configuration.GraphDatabaseSettings.keep_logical_logs;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
 
 /**
  * This class listens for rotations and does log pruning.
+ * <p>
+ * When {@link org.neo4j.configuration.GraphDatabaseInternalSettings#compress_rotated_logical_logs} is enabled, the log files that remain
+ * after pruning, and that are older than the log of the checkpoint that triggered the pruning, are also compressed in the background.
+ * Those logs are never appended to or truncated again, so they can be replaced by their compressed versions.
  */
-public class LogPruningImpl implements LogPruning
+public class LogPruningImpl extends LifecycleAdapter implements LogPruning
 {
     private final Lock pruneLock = new ReentrantLock();
     private final FileSystemAbstraction fs;
@@ -48,7 +66,12 @@ public class LogPruningImpl implements LogPruning
     private final SystemNanoClock clock;
     private final LogProvider logProvider;
     private final int checkpointFilesToKeep;
+    private final JobScheduler scheduler;
+    private final boolean compressLogs;
+    private final AtomicBoolean compressing = new AtomicBoolean();
     private volatile LogPruneStrategy pruneStrategy;
+    private volatile JobHandle<?> compressionJob = JobHandle.EMPTY;
+    private volatile boolean stopped;
 
     public LogPruningImpl( FileSystemAbstraction fs,
                            LogFiles logFiles,
@@ -56,6 +79,17 @@ public class LogPruningImpl implements LogPruning
                            LogPruneStrategyFactory strategyFactory,
                            SystemNanoClock clock,
                            Config config )
+    {
+        this( fs, logFiles, logProvider, strategyFactory, clock, config, null );
+    }
+
+    public LogPruningImpl( FileSystemAbstraction fs,
+                           LogFiles logFiles,
+                           LogProvider logProvider,
+                           LogPruneStrategyFactory strategyFactory,
+                           SystemNanoClock clock,
+                           Config config,
+                           JobScheduler scheduler )
     {
         this.fs = fs;
         this.logFiles = logFiles;
@@ -65,6 +99,8 @@ public class LogPruningImpl implements LogPruning
         this.clock = clock;
         this.pruneStrategy = strategyFactory.strategyFromConfigValue( fs, logFiles, logProvider, clock, config.get( keep_logical_logs ) );
         this.checkpointFilesToKeep = config.get( checkpoint_logical_log_keep_threshold );
+        this.scheduler = scheduler;
+        this.compressLogs = scheduler != null && config.get( compress_rotated_logical_logs );
 
         // Register listener for updates
         config.addListener( keep_logical_logs, ( prev, update ) -> updateConfiguration( update ) );
@@ -97,6 +133,123 @@ public class LogPruningImpl implements LogPruning
             {
                 pruneLock.unlock();
             }
+            if ( compressLogs )
+            {
+                scheduleCompression( upToVersion );
+            }
+        }
+    }
+
+    @Override
+    public void start() throws IOException
+    {
+        stopped = false;
+        if ( compressLogs )
+        {
+            // Compression that was interrupted by a crash leaves its temporary files behind.
+            for ( Path temporaryFile : fs.listFiles( logFiles.logFilesDirectory(), LogFileCompression::isTemporaryFile ) )
+            {
+                fs.deleteFile( temporaryFile );
+            }
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+        stopped = true;
+        try
+        {
+            // Let a running compression finish the file it is working on, rather than interrupting it half way.
+            compressionJob.waitTermination();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch ( ExecutionException e )
+        {
+            log.warn( "Compression of rotated transaction log files failed.", e );
+        }
+    }
+
+    private void scheduleCompression( long upToVersion )
+    {
+        if ( !stopped && compressing.compareAndSet( false, true ) )
+        {
+            try
+            {
+                compressionJob = scheduler.schedule( Group.STORAGE_MAINTENANCE, systemJob( "Compression of rotated transaction log files" ),
+                        () -> compressLogs( upToVersion ) );
+            }
+            catch ( RuntimeException e )
+            {
+                compressing.set( false );
+                log.warn( "Unable to schedule compression of rotated transaction log files.", e );
+            }
+        }
+    }
+
+    private void compressLogs( long upToVersion )
+    {
+        try
+        {
+            LogFile logFile = logFiles.getLogFile();
+            int compressed = 0;
+            for ( long version = logFile.getLowestLogVersion(); version < upToVersion && !stopped; version++ )
+            {
+                if ( compressLog( logFile.getLogFileForVersion( version ) ) )
+                {
+                    compressed++;
+                }
+            }
+            if ( compressed > 0 )
+            {
+                log.info( "Compressed " + compressed + " rotated transaction log files below log version " + upToVersion + "." );
+            }
+        }
+        catch ( Throwable t )
+        {
+            log.warn( "Compression of rotated transaction log files failed.", t );
+        }
+        finally
+        {
+            compressing.set( false );
+        }
+    }
+
+    private boolean compressLog( Path file ) throws IOException
+    {
+        Path temporaryFile;
+        try
+        {
+            if ( !fs.fileExists( file ) || LogFileCompression.isCompressed( fs, file ) )
+            {
+                return false;
+            }
+            temporaryFile = LogFileCompression.compressToTemporaryFile( fs, file );
+        }
+        catch ( NoSuchFileException e )
+        {
+            // Pruned while we were looking at it.
+            return false;
+        }
+
+        // Pruning deletes log files under the same lock, so a pruned log can not be brought back by moving its compressed version in place.
+        pruneLock.lock();
+        try
+        {
+            if ( !stopped && fs.fileExists( file ) )
+            {
+                fs.renameFile( temporaryFile, file, REPLACE_EXISTING, ATOMIC_MOVE );
+                return true;
+            }
+            fs.deleteFile( temporaryFile );
+            return false;
+        }
+        finally
+        {
+            pruneLock.unlock();
         }
     }
 
@@ -153,8 +306,12 @@ public class LogPruningImpl implements LogPruning
         {
             fromVersion = fromVersion == NO_VERSION ? version : Math.min( fromVersion, version );
             toVersion = toVersion == NO_VERSION ? version : Math.max( toVersion, version );
-            Path logFile = logFiles.getLogFile().getLogFileForVersion( version );
-            fs.deleteFile( logFile );
+            LogFile logFile = logFiles.getLogFile();
+            Path file = logFile.getLogFileForVersion( version );
+            if ( !logFile.recycle( file ) )
+            {
+                fs.deleteFile( file );
+            }
         }
 
         String describeResult( LogPruneStrategy strategy )
@@ -44,4 +44,23 @@ public interface TransactionLogCounters
      * @return last log rotation time in milliseconds
      */
     long lastLogRotationTimeMillis();
+
+    /**
+     * Total number of transaction log forces
+     * @return number of forces
+     */
+    long numberOfLogForces();
+
+    /**
+     * Distribution of the number of committing threads made durable by a single log force. Bucket {@code 0} counts forces without any
+     * committer, and bucket {@code i} counts forces with at least {@code 2^(i-1)} and less than {@code 2^i} committers.
+     * @return log force batch size histogram
+     */
+    long[] logForceBatchSizeHistogram();
+
+    /**
+     * Distribution of the duration of transaction log forces in microseconds, bucketed like {@link #logForceBatchSizeHistogram()}.
+     * @return log force duration histogram
+     */
+    long[] logForceDurationMicrosHistogram();
 }
@@ -21,6 +21,8 @@ package org.neo4j.kernel.impl.transaction.tracing;
 
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+
 public interface DatabaseTracer extends TransactionTracer, CheckPointTracer
 {
     DatabaseTracer NULL = new DatabaseTracer()
@@ -84,6 +86,24 @@ public interface DatabaseTracer extends TransactionTracer, CheckPointTracer
         {
             return 0;
         }
+
+        @Override
+        public long numberOfLogForces()
+        {
+            return 0;
+        }
+
+        @Override
+        public long[] logForceBatchSizeHistogram()
+        {
+            return EMPTY_LONG_ARRAY;
+        }
+
+        @Override
+        public long[] logForceDurationMicrosHistogram()
+        {
+            return EMPTY_LONG_ARRAY;
+        }
     };
 
     LogFileCreateEvent createLogFile();
@@ -30,6 +30,13 @@ public interface LogForceEvent extends AutoCloseable
     {
     };
 
+    /**
+     * Set the number of committing threads whose appended transactions are made durable by this force.
+     */
+    default void setBatchSize( int batchSize )
+    {
+    }
+
     /**
      * Marks the end of the force call on the transaction log file.
      */
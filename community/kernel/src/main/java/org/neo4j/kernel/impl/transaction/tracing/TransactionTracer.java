@@ -22,6 +22,8 @@ package org.neo4j.kernel.impl.transaction.tracing;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.impl.transaction.stats.TransactionLogCounters;
 
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+
 /**
  * The TransactionTracer is the root of the tracer hierarchy that gets notified about the life of transactions. The
  * events encapsulate the entire life of each transaction, but most of the events are concerned with what goes on
@@ -66,6 +68,24 @@ public interface TransactionTracer extends TransactionLogCounters
         {
             return 0;
         }
+
+        @Override
+        public long numberOfLogForces()
+        {
+            return 0;
+        }
+
+        @Override
+        public long[] logForceBatchSizeHistogram()
+        {
+            return EMPTY_LONG_ARRAY;
+        }
+
+        @Override
+        public long[] logForceDurationMicrosHistogram()
+        {
+            return EMPTY_LONG_ARRAY;
+        }
     };
 
     /**
@@ -22,10 +22,12 @@ package org.neo4j.kernel.impl.util.collection;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 
 import org.neo4j.graphdb.Resource;
+import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.api.state.AppendOnlyValuesContainer;
 import org.neo4j.kernel.impl.api.state.ValuesContainer;
 import org.neo4j.kernel.impl.api.state.ValuesMap;
@@ -38,13 +40,31 @@ import static org.neo4j.kernel.impl.util.diffsets.TrackableDiffSets.newMutableLo
 public class OffHeapCollectionsFactory implements CollectionsFactory
 {
     private final MemoryAllocator allocator;
+    private final long valuesSpillThreshold;
+    private final FileSystemAbstraction fs;
+    private final Path spillDirectory;
 
     private final Collection<Resource> resources = new ArrayList<>();
     private ValuesContainer valuesContainer;
+    private SpillingMemoryAllocator valuesSpillAllocator;
 
     public OffHeapCollectionsFactory( OffHeapBlockAllocator blockAllocator )
+    {
+        this( blockAllocator, 0, null, null );
+    }
+
+    /**
+     * @param valuesSpillThreshold number of bytes of property values to keep in off-heap memory, before the rest of the values are spilled
+     * to a temporary file in the given directory, or {@code 0} to never spill.
+     * @param fs file system to create temporary files with, when values are spilled.
+     * @param spillDirectory directory to create temporary files in, when values are spilled.
+     */
+    public OffHeapCollectionsFactory( OffHeapBlockAllocator blockAllocator, long valuesSpillThreshold, FileSystemAbstraction fs, Path spillDirectory )
     {
         this.allocator = new OffHeapMemoryAllocator( blockAllocator );
+        this.valuesSpillThreshold = valuesSpillThreshold;
+        this.fs = fs;
+        this.spillDirectory = spillDirectory;
     }
 
     @Override
@@ -66,7 +86,7 @@ public class OffHeapCollectionsFactory implements CollectionsFactory
     {
         if ( valuesContainer == null )
         {
-            valuesContainer = new AppendOnlyValuesContainer( allocator, memoryTracker );
+            valuesContainer = new AppendOnlyValuesContainer( valuesAllocator(), memoryTracker );
         }
         final LinearProbeLongLongHashMap refs = new LinearProbeLongLongHashMap( allocator, memoryTracker );
         resources.add( refs );
@@ -83,5 +103,20 @@ public class OffHeapCollectionsFactory implements CollectionsFactory
             valuesContainer.close();
             valuesContainer = null;
         }
+        if ( valuesSpillAllocator != null )
+        {
+            valuesSpillAllocator.close();
+            valuesSpillAllocator = null;
+        }
+    }
+
+    private MemoryAllocator valuesAllocator()
+    {
+        if ( valuesSpillThreshold > 0 )
+        {
+            valuesSpillAllocator = new SpillingMemoryAllocator( allocator, valuesSpillThreshold, fs, spillDirectory );
+            return valuesSpillAllocator;
+        }
+        return allocator;
     }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.neo4j.graphdb.Resource;
+import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.fs.StoreFileChannel;
+import org.neo4j.memory.MemoryTracker;
+
+import static java.lang.Math.toIntExact;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+import static org.neo4j.util.Preconditions.checkState;
+
+/**
+ * A {@link MemoryAllocator} that allocates from its delegate until a threshold of bytes has been allocated through it, and after
+ * that spills further allocations to a temporary file, which is mapped into memory.
+ * <p>
+ * Spilled memory is not accounted for by the {@link MemoryTracker}, since the operating system is free to write it out and evict it
+ * whenever it needs the memory. Ranges of the temporary file that have been freed are kept, merged with their free neighbours, and
+ * handed out again to later spilled allocations that fit in them, so that the file only grows when no freed range is large enough.
+ * The allocator must be closed to unmap and delete its file.
+ */
+public class SpillingMemoryAllocator implements MemoryAllocator, Resource
+{
+    private final MemoryAllocator delegate;
+    private final long threshold;
+    private final FileSystemAbstraction fs;
+    private final Path directory;
+    private final List<MappedMemory> mapped = new ArrayList<>();
+    /**
+     * Freed ranges of the spill file, offset to size. Adjacent ranges are always merged.
+     */
+    private final TreeMap<Long,Long> freeRanges = new TreeMap<>();
+    private long allocatedBytes;
+    private StoreFileChannel spillChannel;
+    private long spillFileSize;
+    private boolean closed;
+
+    public SpillingMemoryAllocator( MemoryAllocator delegate, long threshold, FileSystemAbstraction fs, Path directory )
+    {
+        this.delegate = requireNonNull( delegate );
+        this.threshold = threshold;
+        this.fs = requireNonNull( fs );
+        this.directory = requireNonNull( directory );
+    }
+
+    @Override
+    public Memory allocate( long size, boolean zeroed, MemoryTracker memoryTracker )
+    {
+        checkState( !closed, "Allocator is closed" );
+        if ( allocatedBytes + size <= threshold )
+        {
+            allocatedBytes += size;
+            return delegate.allocate( size, zeroed, memoryTracker );
+        }
+        return spill( size, zeroed );
+    }
+
+    /**
+     * @return the size of the temporary file that allocations have been spilled to, including freed ranges that can be reused.
+     */
+    public long spilledBytes()
+    {
+        return spillFileSize;
+    }
+
+    @Override
+    public void close()
+    {
+        if ( closed )
+        {
+            return;
+        }
+        closed = true;
+        mapped.forEach( MappedMemory::unmap );
+        mapped.clear();
+        freeRanges.clear();
+        if ( spillChannel != null )
+        {
+            try
+            {
+                spillChannel.close();
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+            finally
+            {
+                spillChannel = null;
+            }
+        }
+    }
+
+    private Memory spill( long size, boolean zeroed )
+    {
+        try
+        {
+            if ( spillChannel == null )
+            {
+                spillChannel = openSpillFile();
+            }
+            long offset = takeFreeRange( size );
+            boolean reused = offset != -1;
+            if ( !reused )
+            {
+                // Mapping past the end extends the file, so a region at the end is always zero-filled.
+                offset = spillFileSize;
+                spillFileSize += size;
+            }
+            MappedMemory memory = new MappedMemory( spillChannel.map( FileChannel.MapMode.READ_WRITE, offset, size ), offset );
+            mapped.add( memory );
+            if ( reused && zeroed )
+            {
+                memory.clear();
+            }
+            return memory;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( "Unable to spill transaction state to " + directory, e );
+        }
+    }
+
+    private StoreFileChannel openSpillFile() throws IOException
+    {
+        fs.mkdirs( directory );
+        // A new uniquely named file, opened exactly once: it never exists without being ours, and does not outlive the channel.
+        Path spillFile = directory.resolve( "tx-state-" + UUID.randomUUID() + ".spill" );
+        StoreChannel channel = fs.open( spillFile, Set.of( CREATE_NEW, READ, WRITE, DELETE_ON_CLOSE ) );
+        if ( !(channel instanceof StoreFileChannel) )
+        {
+            channel.close();
+            throw new IOException( "Spill file " + spillFile + " can not be memory mapped by " + fs.getClass().getSimpleName() );
+        }
+        return (StoreFileChannel) channel;
+    }
+
+    /**
+     * Take the first freed range that can hold the given size, and put back whatever is left of it.
+     *
+     * @return offset of the taken range, or {@code -1} if no freed range is large enough.
+     */
+    private long takeFreeRange( long size )
+    {
+        for ( Map.Entry<Long,Long> range : freeRanges.entrySet() )
+        {
+            if ( range.getValue() >= size )
+            {
+                long offset = range.getKey();
+                long remaining = range.getValue() - size;
+                freeRanges.remove( offset );
+                if ( remaining > 0 )
+                {
+                    freeRanges.put( offset + size, remaining );
+                }
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private void releaseRange( long offset, long size )
+    {
+        Map.Entry<Long,Long> previous = freeRanges.floorEntry( offset );
+        if ( previous != null && previous.getKey() + previous.getValue() == offset )
+        {
+            offset = previous.getKey();
+            size += previous.getValue();
+        }
+        Long nextSize = freeRanges.remove( offset + size );
+        if ( nextSize != null )
+        {
+            size += nextSize;
+        }
+        freeRanges.put( offset, size );
+    }
+
+    private class MappedMemory implements Memory
+    {
+        private final long fileOffset;
+        private MappedByteBuffer buffer;
+
+        MappedMemory( MappedByteBuffer buffer, long fileOffset )
+        {
+            this.buffer = buffer;
+            this.fileOffset = fileOffset;
+        }
+
+        @Override
+        public long readLong( long offset )
+        {
+            return buffer().getLong( toIntExact( offset ) );
+        }
+
+        @Override
+        public void writeLong( long offset, long value )
+        {
+            buffer().putLong( toIntExact( offset ), value );
+        }
+
+        @Override
+        public void clear()
+        {
+            ByteBuffer buffer = buffer();
+            for ( int i = 0; i < buffer.capacity(); i++ )
+            {
+                buffer.put( i, (byte) 0 );
+            }
+        }
+
+        @Override
+        public long size()
+        {
+            return buffer().capacity();
+        }
+
+        @Override
+        public void free( MemoryTracker memoryTracker )
+        {
+            if ( mapped.remove( this ) )
+            {
+                long size = size();
+                unmap();
+                releaseRange( fileOffset, size );
+            }
+        }
+
+        @Override
+        public Memory copy( MemoryTracker memoryTracker )
+        {
+            Memory copy = allocate( size(), false, memoryTracker );
+            copy.asByteBuffer().put( buffer().duplicate().clear() );
+            return copy;
+        }
+
+        @Override
+        public ByteBuffer asByteBuffer()
+        {
+            return buffer().duplicate().clear();
+        }
+
+        private ByteBuffer buffer()
+        {
+            checkState( buffer != null, "Memory is freed" );
+            return buffer;
+        }
+
+        void unmap()
+        {
+            if ( buffer != null )
+            {
+                UnsafeUtil.invokeCleaner( buffer );
+                buffer = null;
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.recovery;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.impl.api.TransactionToApply;
@@ -27,6 +28,7 @@ import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
+import org.neo4j.kernel.impl.transaction.log.ReadAheadTransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
@@ -47,11 +49,27 @@ public class DefaultRecoveryService implements RecoveryService
     private final LogicalTransactionStore logicalTransactionStore;
     private final LogVersionRepository logVersionRepository;
     private final Log log;
+    private final int readAheadTransactions;
+    private final Executor readAheadExecutor;
 
     DefaultRecoveryService( StorageEngine storageEngine, TransactionIdStore transactionIdStore,
             LogicalTransactionStore logicalTransactionStore, LogVersionRepository logVersionRepository, LogFiles logFiles,
             RecoveryStartInformationProvider.Monitor monitor, Log log )
     {
+        this( storageEngine, transactionIdStore, logicalTransactionStore, logVersionRepository, logFiles, monitor, log, 0, null );
+    }
+
+    /**
+     * @param readAheadTransactions number of transactions to read and decode ahead of the one being recovered, or {@code 0} to read
+     * them on the recovering thread.
+     * @param readAheadExecutor executor running the read ahead, only used if {@code readAheadTransactions} is positive.
+     */
+    DefaultRecoveryService( StorageEngine storageEngine, TransactionIdStore transactionIdStore,
+            LogicalTransactionStore logicalTransactionStore, LogVersionRepository logVersionRepository, LogFiles logFiles,
+            RecoveryStartInformationProvider.Monitor monitor, Log log, int readAheadTransactions, Executor readAheadExecutor )
+    {
+        this.readAheadTransactions = readAheadTransactions;
+        this.readAheadExecutor = readAheadExecutor;
         this.storageEngine = storageEngine;
         this.transactionIdStore = transactionIdStore;
         this.logicalTransactionStore = logicalTransactionStore;
@@ -75,7 +93,8 @@ public class DefaultRecoveryService implements RecoveryService
     @Override
     public TransactionCursor getTransactions( LogPosition position ) throws IOException
     {
-        return logicalTransactionStore.getTransactions( position );
+        TransactionCursor transactions = logicalTransactionStore.getTransactions( position );
+        return readAheadTransactions > 0 ? new ReadAheadTransactionCursor( transactions, readAheadTransactions, readAheadExecutor ) : transactions;
     }
 
     @Override
@@ -34,6 +34,18 @@ public interface RecoveryMonitor
         //noop
     }
 
+    /**
+     * Called periodically while transactions are being recovered.
+     *
+     * @param recoveredTransactions number of transactions recovered so far.
+     * @param transactionsToRecover total number of transactions to recover.
+     * @param elapsedMillis time spent recovering transactions so far.
+     */
+    default void recoveryProgress( long recoveredTransactions, long transactionsToRecover, long elapsedMillis )
+    {
+        //noop
+    }
+
     default void recoveryCompleted( int numberOfRecoveredTransactions, long recoveryTimeInMilliseconds )
     {
         //noop
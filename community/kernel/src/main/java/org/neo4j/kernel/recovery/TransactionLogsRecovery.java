@@ -35,6 +35,7 @@ import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.time.Stopwatch;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.neo4j.kernel.recovery.Recovery.throwUnableToCleanRecover;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.RECOVERY;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.REVERSE_RECOVERY;
@@ -48,6 +49,7 @@ public class TransactionLogsRecovery extends LifecycleAdapter
     private static final String REVERSE_RECOVERY_TAG = "restoreDatabase";
     private static final String RECOVERY_TAG = "recoverDatabase";
     private static final String RECOVERY_COMPLETED_TAG = "databaseRecoveryCompleted";
+    private static final long PROGRESS_REPORT_INTERVAL_MILLIS = SECONDS.toMillis( 10 );
 
     private final RecoveryService recoveryService;
     private final RecoveryMonitor monitor;
@@ -58,6 +60,7 @@ public class TransactionLogsRecovery extends LifecycleAdapter
     private final RecoveryStartupChecker recoveryStartupChecker;
     private final PageCacheTracer pageCacheTracer;
     private int numberOfRecoveredTransactions;
+    private long numberOfTransactionsToRecover;
 
     public TransactionLogsRecovery( RecoveryService recoveryService, CorruptedLogsTruncator logsTruncator, Lifecycle schemaLife,
             RecoveryMonitor monitor, ProgressReporter progressReporter, boolean failOnCorruptedLogFiles, RecoveryStartupChecker recoveryStartupChecker,
@@ -128,6 +131,8 @@ public class TransactionLogsRecovery extends LifecycleAdapter
                         var cursorTracer = pageCacheTracer.createPageCursorTracer( RECOVERY_TAG );
                         RecoveryApplier recoveryVisitor = recoveryService.getRecoveryApplier( RECOVERY, cursorTracer ) )
                 {
+                    Stopwatch applyStartTime = Stopwatch.start();
+                    long nextProgressReportMillis = PROGRESS_REPORT_INTERVAL_MILLIS;
                     while ( transactionsToRecover.next() )
                     {
                         recoveryStartupChecker.checkIfCanceled();
@@ -139,6 +144,12 @@ public class TransactionLogsRecovery extends LifecycleAdapter
                         lastTransactionPosition = transactionsToRecover.position();
                         recoveryToPosition = lastTransactionPosition;
                         reportProgress();
+                        long elapsedMillis = applyStartTime.elapsed( MILLISECONDS );
+                        if ( elapsedMillis >= nextProgressReportMillis )
+                        {
+                            monitor.recoveryProgress( numberOfRecoveredTransactions, numberOfTransactionsToRecover, elapsedMillis );
+                            nextProgressReportMillis = elapsedMillis + PROGRESS_REPORT_INTERVAL_MILLIS;
+                        }
                     }
                     recoveryToPosition = transactionsToRecover.position();
                 }
@@ -180,11 +191,10 @@ public class TransactionLogsRecovery extends LifecycleAdapter
     private void initProgressReporter( RecoveryStartInformation recoveryStartInformation,
             CommittedTransactionRepresentation lastReversedTransaction )
     {
-        long numberOfTransactionToRecover =
-                getNumberOfTransactionToRecover( recoveryStartInformation, lastReversedTransaction );
+        numberOfTransactionsToRecover = getNumberOfTransactionToRecover( recoveryStartInformation, lastReversedTransaction );
         // since we will process each transaction twice (doing reverse and direct detour) we need to
         // multiply number of transactions that we want to recover by 2 to be able to report correct progress
-        progressReporter.start( numberOfTransactionToRecover * 2 );
+        progressReporter.start( numberOfTransactionsToRecover * 2 );
     }
 
     private void reportProgress()
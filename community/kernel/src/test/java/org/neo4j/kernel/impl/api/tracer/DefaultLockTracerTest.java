@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.tracer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.lock.LockTracer;
+import org.neo4j.lock.LockWaitEvent;
+import org.neo4j.lock.ResourceType;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.lock.LockType.EXCLUSIVE;
+import static org.neo4j.lock.LockType.SHARED;
+import static org.neo4j.lock.ResourceTypes.LABEL;
+import static org.neo4j.lock.ResourceTypes.NODE;
+import static org.neo4j.lock.ResourceTypes.RELATIONSHIP;
+
+class DefaultLockTracerTest
+{
+    private final FakeClock clock = Clocks.fakeClock();
+    private final DefaultLockTracer tracer = new DefaultLockTracer( clock );
+
+    @Test
+    void countWaitsAndWaitTimePerResourceType()
+    {
+        waitFor( tracer, 10, NODE );
+        waitFor( tracer, 5, NODE );
+        waitFor( tracer, 7, LABEL );
+
+        assertEquals( 2, tracer.lockWaits( NODE ) );
+        assertEquals( TimeUnit.MILLISECONDS.toNanos( 15 ), tracer.lockWaitTimeNanos( NODE ) );
+        assertEquals( 1, tracer.lockWaits( LABEL ) );
+        assertEquals( TimeUnit.MILLISECONDS.toNanos( 7 ), tracer.lockWaitTimeNanos( LABEL ) );
+        assertEquals( 0, tracer.lockWaits( RELATIONSHIP ) );
+        assertEquals( 0, tracer.lockWaitTimeNanos( RELATIONSHIP ) );
+    }
+
+    @Test
+    void combinedTracerSumsContentionOfAllTracers()
+    {
+        DefaultLockTracer other = new DefaultLockTracer( clock );
+        waitFor( tracer, 3, NODE );
+        waitFor( other, 4, NODE );
+
+        LockTracer combined = tracer.combine( other ).combine( LockTracer.NONE );
+
+        assertEquals( 2, combined.lockWaits( NODE ) );
+        assertEquals( TimeUnit.MILLISECONDS.toNanos( 7 ), combined.lockWaitTimeNanos( NODE ) );
+    }
+
+    private void waitFor( LockTracer lockTracer, long millis, ResourceType resourceType )
+    {
+        try ( LockWaitEvent event = lockTracer.waitForLock( millis % 2 == 0 ? SHARED : EXCLUSIVE, resourceType, 1, 42 ) )
+        {
+            clock.forward( millis, TimeUnit.MILLISECONDS );
+        }
+    }
+}
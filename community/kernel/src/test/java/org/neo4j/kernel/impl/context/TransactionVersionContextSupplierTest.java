@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.context;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionVersionContextSupplierTest
+{
+    @Test
+    void oldestReadTransactionIdOfOpenReadContexts() throws Exception
+    {
+        MutableLong lastClosedTxId = new MutableLong( 5 );
+        TransactionVersionContextSupplier supplier = new TransactionVersionContextSupplier();
+        supplier.init( lastClosedTxId::longValue );
+        assertEquals( Long.MAX_VALUE, supplier.oldestReadTransactionId() );
+
+        VersionContext context = supplier.getVersionContext();
+        context.initRead();
+        assertEquals( 5, supplier.oldestReadTransactionId() );
+
+        lastClosedTxId.setValue( 8 );
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            executor.submit( () -> supplier.getVersionContext().initRead() ).get();
+            assertEquals( 5, supplier.oldestReadTransactionId() );
+
+            context.closeRead();
+            assertEquals( 8, supplier.oldestReadTransactionId() );
+
+            executor.submit( () -> supplier.getVersionContext().closeRead() ).get();
+            assertEquals( Long.MAX_VALUE, supplier.oldestReadTransactionId() );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rereadingMovesReadContextToNewVersion()
+    {
+        MutableLong lastClosedTxId = new MutableLong( 5 );
+        TransactionVersionContextSupplier supplier = new TransactionVersionContextSupplier();
+        supplier.init( lastClosedTxId::longValue );
+
+        VersionContext context = supplier.getVersionContext();
+        context.initRead();
+        lastClosedTxId.setValue( 8 );
+        context.initRead();
+        assertEquals( 8, supplier.oldestReadTransactionId() );
+        assertEquals( 8, context.lastClosedTransactionId() );
+
+        context.closeRead();
+        assertEquals( Long.MAX_VALUE, context.lastClosedTransactionId() );
+    }
+
+    @Test
+    void notifyListenersWhenReadContextIsClosed()
+    {
+        TransactionVersionContextSupplier supplier = new TransactionVersionContextSupplier();
+        supplier.init( () -> 5 );
+        MutableInt closedReads = new MutableInt();
+        Runnable listener = closedReads::increment;
+        supplier.addReadClosedListener( listener );
+
+        VersionContext context = supplier.getVersionContext();
+        context.closeRead();
+        assertEquals( 0, closedReads.intValue() );
+
+        context.initRead();
+        context.closeRead();
+        assertEquals( 1, closedReads.intValue() );
+
+        supplier.removeReadClosedListener( listener );
+        context.initRead();
+        context.closeRead();
+        assertEquals( 1, closedReads.intValue() );
+    }
+}
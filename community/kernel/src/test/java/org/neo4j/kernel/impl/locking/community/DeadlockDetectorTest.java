@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.community;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.kernel.DeadlockDetectedException;
+import org.neo4j.test.Race;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.test.Race.throwing;
+
+class DeadlockDetectorTest
+{
+    private final DeadlockDetector deadlockDetector = new DeadlockDetector();
+
+    @Test
+    void shouldWaitOnResourceHeldByTransactionNotWaiting()
+    {
+        deadlockDetector.lockAcquired( "r1", "t1" );
+        deadlockDetector.lockAcquired( "r2", "t2" );
+
+        assertDoesNotThrow( () -> deadlockDetector.checkWaitOn( "r2", "t1" ) );
+    }
+
+    @Test
+    void shouldDetectDeadlockBetweenTwoTransactions()
+    {
+        // given
+        deadlockDetector.lockAcquired( "r1", "t1" );
+        deadlockDetector.lockAcquired( "r2", "t2" );
+        deadlockDetector.checkWaitOn( "r2", "t1" );
+
+        // then
+        assertThrows( DeadlockDetectedException.class, () -> deadlockDetector.checkWaitOn( "r1", "t2" ) );
+    }
+
+    @Test
+    void shouldDetectDeadlockBetweenThreeTransactions()
+    {
+        // given
+        deadlockDetector.lockAcquired( "r1", "t1" );
+        deadlockDetector.lockAcquired( "r2", "t2" );
+        deadlockDetector.lockAcquired( "r3", "t3" );
+        deadlockDetector.checkWaitOn( "r2", "t1" );
+        deadlockDetector.checkWaitOn( "r3", "t2" );
+
+        // then
+        assertThrows( DeadlockDetectedException.class, () -> deadlockDetector.checkWaitOn( "r1", "t3" ) );
+    }
+
+    @Test
+    void shouldDetectDeadlockBetweenTransactionsUpgradingSharedLock()
+    {
+        // given
+        deadlockDetector.lockAcquired( "r1", "t1" );
+        deadlockDetector.lockAcquired( "r1", "t2" );
+        deadlockDetector.checkWaitOn( "r1", "t1" );
+
+        // then
+        assertThrows( DeadlockDetectedException.class, () -> deadlockDetector.checkWaitOn( "r1", "t2" ) );
+    }
+
+    @Test
+    void shouldNotLeaveDeadlockedTransactionWaiting()
+    {
+        // given
+        deadlockDetector.lockAcquired( "r1", "t1" );
+        deadlockDetector.lockAcquired( "r2", "t2" );
+        deadlockDetector.checkWaitOn( "r2", "t1" );
+        assertThrows( DeadlockDetectedException.class, () -> deadlockDetector.checkWaitOn( "r1", "t2" ) );
+
+        // then
+        assertThrows( LockException.class, () -> deadlockDetector.stopWaitOn( "r1", "t2" ) );
+        deadlockDetector.stopWaitOn( "r2", "t1" );
+        assertDoesNotThrow( () -> deadlockDetector.checkWaitOn( "r1", "t2" ) );
+    }
+
+    @Test
+    void shouldNotDetectDeadlockThroughReleasedLock()
+    {
+        // given
+        deadlockDetector.lockAcquired( "r1", "t1" );
+        deadlockDetector.lockAcquired( "r2", "t2" );
+        deadlockDetector.lockAcquired( "r3", "t3" );
+        deadlockDetector.checkWaitOn( "r2", "t1" );
+        deadlockDetector.checkWaitOn( "r3", "t2" );
+
+        // when
+        deadlockDetector.lockReleased( "r1", "t1" );
+
+        // then
+        assertDoesNotThrow( () -> deadlockDetector.checkWaitOn( "r1", "t3" ) );
+    }
+
+    @Test
+    void shouldNotDetectDeadlockThroughStaleEdgesOfConcurrentReleases() throws Throwable
+    {
+        // given t1 holding r1 and t3 holding r2, which are never released
+        deadlockDetector.lockAcquired( "r1", "t1" );
+        deadlockDetector.lockAcquired( "r2", "t3" );
+
+        // when t1 keeps waiting for r2, while t2 keeps taking r2 and, only after releasing it, waiting for r1.
+        // t1 waiting for r2 held by t2 waiting for r1 held by t1 can be seen by a traversal, but never existed.
+        Race race = new Race();
+        race.addContestant( throwing( () ->
+        {
+            deadlockDetector.checkWaitOn( "r2", "t1" );
+            deadlockDetector.stopWaitOn( "r2", "t1" );
+        } ), 10_000 );
+        race.addContestant( throwing( () ->
+        {
+            deadlockDetector.lockAcquired( "r2", "t2" );
+            deadlockDetector.lockReleased( "r2", "t2" );
+            deadlockDetector.checkWaitOn( "r1", "t2" );
+            deadlockDetector.stopWaitOn( "r1", "t2" );
+        } ), 10_000 );
+
+        // then
+        race.go();
+    }
+}
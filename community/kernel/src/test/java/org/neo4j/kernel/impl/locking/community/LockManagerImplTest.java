@@ -102,7 +102,7 @@ class LockManagerImplTest
         LockResource node = new LockResource( ResourceTypes.NODE, 3 );
         LockTransaction lockTransaction = new LockTransaction();
         RWLock rwLock = Mockito.mock( RWLock.class );
-        LockManagerImpl lockManager = new MockedLockLockManager( new RagManager(), rwLock );
+        LockManagerImpl lockManager = new MockedLockLockManager( new DeadlockDetector(), rwLock );
 
         // expect
         lockManager.tryReadLock( node, lockTransaction );
@@ -115,7 +115,7 @@ class LockManagerImplTest
 
     private static LockManagerImpl createLockManager()
     {
-        return new LockManagerImpl( new RagManager(), Config.defaults(), Clocks.nanoClock() );
+        return new LockManagerImpl( new DeadlockDetector(), Config.defaults(), Clocks.nanoClock() );
     }
 
     private static int countLocks( LockManagerImpl lockManager )
@@ -134,9 +134,9 @@ class LockManagerImplTest
 
         private final RWLock lock;
 
-        MockedLockLockManager( RagManager ragManager, RWLock lock )
+        MockedLockLockManager( DeadlockDetector deadlockDetector, RWLock lock )
         {
-            super( ragManager, Config.defaults(), Clocks.nanoClock() );
+            super( deadlockDetector, Config.defaults(), Clocks.nanoClock() );
             this.lock = lock;
         }
 
@@ -60,9 +60,9 @@ class RWLockTest
     @Test
     void assertWriteLockDoesNotLeakMemory()
     {
-        final RagManager ragManager = new RagManager();
+        final DeadlockDetector deadlockDetector = new DeadlockDetector();
         final LockResource resource = new LockResource( ResourceTypes.NODE, 10 );
-        final RWLock lock = createRWLock( ragManager, resource );
+        final RWLock lock = createRWLock( deadlockDetector, resource );
         var tx = mock( LockTransaction.class );
 
         lock.mark();
@@ -77,9 +77,9 @@ class RWLockTest
     @Test
     void assertReadLockDoesNotLeakMemory()
     {
-        final RagManager ragManager = new RagManager();
+        final DeadlockDetector deadlockDetector = new DeadlockDetector();
         final LockResource resource = new LockResource( ResourceTypes.NODE, 10 );
-        final RWLock lock = createRWLock( ragManager, resource );
+        final RWLock lock = createRWLock( deadlockDetector, resource );
         var tx = mock( LockTransaction.class );
 
         lock.mark();
@@ -98,9 +98,9 @@ class RWLockTest
     @Test
     void testWaitingWriterLock() throws Exception
     {
-        RagManager ragManager = new RagManager();
+        DeadlockDetector deadlockDetector = new DeadlockDetector();
         LockResource resource = new LockResource( ResourceTypes.NODE, 10 );
-        final RWLock lock = createRWLock( ragManager, resource );
+        final RWLock lock = createRWLock( deadlockDetector, resource );
         final LockTransaction lockTransaction = new LockTransaction();
         final LockTransaction anotherTransaction = new LockTransaction();
 
@@ -143,9 +143,9 @@ class RWLockTest
     @Test
     void testWaitingReaderLock() throws Exception
     {
-        RagManager ragManager = new RagManager();
+        DeadlockDetector deadlockDetector = new DeadlockDetector();
         LockResource resource = new LockResource( ResourceTypes.NODE, 10 );
-        final RWLock lock = createRWLock( ragManager, resource );
+        final RWLock lock = createRWLock( deadlockDetector, resource );
         final LockTransaction transaction = new LockTransaction();
         final LockTransaction readerTransaction = new LockTransaction();
 
@@ -182,9 +182,9 @@ class RWLockTest
     @Test
     void testThreadRemovedFromWaitingListOnDeadlock() throws Exception
     {
-        RagManager ragManager = mock( RagManager.class );
+        DeadlockDetector deadlockDetector = mock( DeadlockDetector.class );
         LockResource resource = new LockResource( ResourceTypes.NODE, 10 );
-        final RWLock lock = createRWLock( ragManager, resource );
+        final RWLock lock = createRWLock( deadlockDetector, resource );
         final LockTransaction lockTransaction = new LockTransaction();
         final LockTransaction anotherTransaction = new LockTransaction();
 
@@ -195,7 +195,7 @@ class RWLockTest
         {
             exceptionLatch.countDown();
             throw new DeadlockDetectedException( "Deadlock" );
-        } ).when( ragManager ).checkWaitOn( lock, lockTransaction );
+        } ).when( deadlockDetector ).checkWaitOn( lock, lockTransaction );
 
         lock.mark();
         lock.mark();
@@ -243,9 +243,9 @@ class RWLockTest
     @Test
     void testLockCounters() throws InterruptedException
     {
-        RagManager ragManager = new RagManager();
+        DeadlockDetector deadlockDetector = new DeadlockDetector();
         LockResource resource = new LockResource( ResourceTypes.NODE, 10 );
-        final RWLock lock = createRWLock( ragManager, resource );
+        final RWLock lock = createRWLock( deadlockDetector, resource );
         LockTransaction lockTransaction = new LockTransaction();
         LockTransaction anotherTransaction = new LockTransaction();
         final LockTransaction writeTransaction = new LockTransaction();
@@ -295,14 +295,14 @@ class RWLockTest
     @Test
     void testDeadlockDetection() throws Exception
     {
-        RagManager ragManager = new RagManager();
+        DeadlockDetector deadlockDetector = new DeadlockDetector();
         LockResource node1 = new LockResource( ResourceTypes.NODE, 10 );
         LockResource node2 = new LockResource( ResourceTypes.NODE, 10 );
         LockResource node3 = new LockResource( ResourceTypes.NODE, 10 );
 
-        final RWLock lockNode1 = createRWLock( ragManager, node1 );
-        final RWLock lockNode2 = createRWLock( ragManager, node2 );
-        final RWLock lockNode3 = createRWLock( ragManager, node3 );
+        final RWLock lockNode1 = createRWLock( deadlockDetector, node1 );
+        final RWLock lockNode2 = createRWLock( deadlockDetector, node2 );
+        final RWLock lockNode3 = createRWLock( deadlockDetector, node3 );
 
         final LockTransaction client1Transaction = new LockTransaction();
         final LockTransaction client2Transaction = new LockTransaction();
@@ -336,9 +336,9 @@ class RWLockTest
     void testLockRequestsTermination() throws Exception
     {
         // given
-        RagManager ragManager = new RagManager();
+        DeadlockDetector deadlockDetector = new DeadlockDetector();
         LockResource node1 = new LockResource( ResourceTypes.NODE, 10 );
-        final RWLock lock = createRWLock( ragManager, node1 );
+        final RWLock lock = createRWLock( deadlockDetector, node1 );
         final LockTransaction mainTransaction = new LockTransaction();
 
         final LockTransaction writerTransaction = new LockTransaction();
@@ -430,9 +430,9 @@ class RWLockTest
         };
     }
 
-    private static RWLock createRWLock( RagManager ragManager, LockResource resource )
+    private static RWLock createRWLock( DeadlockDetector deadlockDetector, LockResource resource )
     {
-        return new RWLock( resource, ragManager, Clocks.nanoClock(), 0 );
+        return new RWLock( resource, deadlockDetector, Clocks.nanoClock(), 0 );
     }
 
     private static void waitWaitingThreads( RWLock lock, int expectedThreads ) throws InterruptedException
@@ -24,9 +24,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
 import org.neo4j.configuration.Config;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
@@ -38,7 +43,13 @@ import org.neo4j.test.extension.Inject;
 import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 import org.neo4j.time.Clocks;
 
+import static java.nio.file.StandardOpenOption.CREATE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.collections.api.factory.Sets.immutable;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_reservations;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.GraphDatabaseSettings.SYSTEM_DATABASE_NAME;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_memory;
 
 @ExtendWith( EphemeralFileSystemExtension.class )
@@ -81,4 +92,46 @@ class ConfiguringPageCacheFactoryTest
             assertThat( cache.maxCachedPages() ).isEqualTo( pageCount );
         }
     }
+
+    @Test
+    void shouldReservePagesForUserDatabasesOnly() throws IOException
+    {
+        // Given
+        long memory = MuninnPageCache.memoryRequiredForPages( 100 );
+        Config config = Config.newBuilder()
+                .set( pagecache_memory, Long.toString( memory ) )
+                .setRaw( Map.of( pagecache_reservations.name(), "neostore.nodestore.db=0.1" ) )
+                .build();
+        ConfiguringPageCacheFactory factory = new ConfiguringPageCacheFactory(
+            fs, config, PageCacheTracer.NULL, NullLog.getInstance(), EmptyVersionContextSupplier.EMPTY, jobScheduler, Clocks.nanoClock(), new MemoryPools() );
+        Path systemDirectory = Path.of( SYSTEM_DATABASE_NAME ).toAbsolutePath();
+        Path userDirectory = Path.of( DEFAULT_DATABASE_NAME ).toAbsolutePath();
+        fs.mkdirs( systemDirectory );
+        fs.mkdirs( userDirectory );
+
+        // When
+        try ( PageCache cache = factory.getOrCreatePageCache();
+              PagedFile systemFile = cache.map( systemDirectory.resolve( "neostore.nodestore.db" ), EmptyVersionContextSupplier.EMPTY,
+                      cache.pageSize(), immutable.of( CREATE ), SYSTEM_DATABASE_NAME );
+              PagedFile userFile = cache.map( userDirectory.resolve( "neostore.nodestore.db" ), EmptyVersionContextSupplier.EMPTY,
+                      cache.pageSize(), immutable.of( CREATE ), DEFAULT_DATABASE_NAME );
+              PagedFile otherFile = cache.map( userDirectory.resolve( "neostore.propertystore.db" ), EmptyVersionContextSupplier.EMPTY,
+                      cache.pageSize(), immutable.of( CREATE ), DEFAULT_DATABASE_NAME ) )
+        {
+            // Then
+            assertThat( systemFile.counters().reservedPages() ).isZero();
+            assertThat( userFile.counters().reservedPages() ).isEqualTo( (long) Math.ceil( 0.1 * cache.maxCachedPages() ) );
+            assertThat( otherFile.counters().reservedPages() ).isZero();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidPageCacheReservations()
+    {
+        for ( String reservations : new String[]{"neostore.nodestore.db", "=0.1", "neostore.nodestore.db=1.5", "neostore.nodestore.db=many"} )
+        {
+            assertThrows( IllegalArgumentException.class,
+                    () -> Config.newBuilder().setRaw( Map.of( pagecache_reservations.name(), reservations ) ).build(), reservations );
+        }
+    }
 }
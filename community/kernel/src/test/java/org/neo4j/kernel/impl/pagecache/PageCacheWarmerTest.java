@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.logging.NullLog;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.collections.api.factory.Sets.immutable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch_allowlist;
+import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer.NULL;
+import static org.neo4j.kernel.impl.scheduler.JobSchedulerFactory.createInitialisedScheduler;
+
+@EphemeralTestDirectoryExtension
+class PageCacheWarmerTest
+{
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheExtension = new PageCacheSupportExtension();
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private TestDirectory testDirectory;
+
+    private JobScheduler scheduler;
+    private DatabaseLayout databaseLayout;
+
+    @BeforeEach
+    void setUp()
+    {
+        scheduler = createInitialisedScheduler();
+        databaseLayout = DatabaseLayout.ofFlat( testDirectory.directory( "database" ) );
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        scheduler.close();
+    }
+
+    @Test
+    void warmUpMustLoadPagesThatWereInMemoryWhenProfiled() throws Exception
+    {
+        Path file = databaseLayout.file( "store" );
+        createFile( file, 10 );
+        Path profile;
+        try ( PageCache pageCache = pageCacheExtension.getPageCache( fs );
+                PagedFile pagedFile = pageCache.map( file, pageCache.pageSize() ) )
+        {
+            pin( pagedFile, 2 );
+            pin( pagedFile, 9 );
+            PageCacheWarmer warmer = warmer( pageCache, Config.defaults(), PageCacheTracer.NULL );
+            profile = warmer.profileFile( pagedFile.path() );
+            warmer.profile( pagedFile, profile );
+        }
+        assertTrue( fs.fileExists( profile ) );
+        assertTrue( profile.startsWith( databaseLayout.pageCacheProfilesFolder() ) );
+
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        try ( PageCache pageCache = pageCacheExtension.getPageCache( fs );
+                PagedFile pagedFile = pageCache.map( file, pageCache.pageSize() ) )
+        {
+            assertFalse( isInMemory( pagedFile, 2 ) );
+
+            assertEquals( 2, warmer( pageCache, Config.defaults(), tracer ).warmUp() );
+
+            assertTrue( isInMemory( pagedFile, 2 ) );
+            assertTrue( isInMemory( pagedFile, 9 ) );
+            assertFalse( isInMemory( pagedFile, 3 ) );
+            assertEquals( 2, tracer.pagesWarmedUp() );
+        }
+    }
+
+    @Test
+    void warmUpMustIgnoreFilesWithoutProfile() throws Exception
+    {
+        Path file = databaseLayout.file( "store" );
+        createFile( file, 4 );
+        try ( PageCache pageCache = pageCacheExtension.getPageCache( fs );
+                PagedFile pagedFile = pageCache.map( file, pageCache.pageSize() ) )
+        {
+            assertEquals( 0, warmer( pageCache, Config.defaults(), PageCacheTracer.NULL ).warmUp() );
+            assertFalse( isInMemory( pagedFile, 0 ) );
+        }
+    }
+
+    @Test
+    void preloadMustLoadAllPagesOfAllowedFiles() throws Exception
+    {
+        Path allowed = databaseLayout.file( "allowed" );
+        Path other = databaseLayout.file( "other" );
+        createFile( allowed, 4 );
+        createFile( other, 4 );
+        Config config = Config.newBuilder()
+                .set( pagecache_warmup_prefetch, true )
+                .set( pagecache_warmup_prefetch_allowlist, "allow.*" )
+                .build();
+        try ( PageCache pageCache = pageCacheExtension.getPageCache( fs );
+                PagedFile allowedFile = pageCache.map( allowed, pageCache.pageSize() );
+                PagedFile otherFile = pageCache.map( other, pageCache.pageSize() ) )
+        {
+            assertEquals( 4, warmer( pageCache, config, PageCacheTracer.NULL ).preload() );
+
+            for ( int pageId = 0; pageId < 4; pageId++ )
+            {
+                assertTrue( isInMemory( allowedFile, pageId ) );
+                assertFalse( isInMemory( otherFile, pageId ) );
+            }
+        }
+    }
+
+    @Test
+    void mustNotProfileFilesOutsideOfDatabaseDirectory()
+    {
+        try ( PageCache pageCache = pageCacheExtension.getPageCache( fs ) )
+        {
+            PageCacheWarmer warmer = warmer( pageCache, Config.defaults(), PageCacheTracer.NULL );
+            assertThat( warmer.profileFile( testDirectory.directory( "elsewhere" ).resolve( "store" ) ) ).isNull();
+            assertThat( warmer.profileFile( databaseLayout.file( "schema" ).resolve( "index" ) ) )
+                    .isEqualTo( databaseLayout.pageCacheProfilesFolder().resolve( "schema" ).resolve( "index" + PageCacheWarmer.PROFILE_SUFFIX ) );
+        }
+    }
+
+    private PageCacheWarmer warmer( PageCache pageCache, Config config, PageCacheTracer tracer )
+    {
+        return new PageCacheWarmer( fs, pageCache, scheduler, databaseLayout, config, tracer, NullLog.getInstance() );
+    }
+
+    private void createFile( Path file, int pages ) throws IOException
+    {
+        try ( PageCache pageCache = pageCacheExtension.getPageCache( fs );
+                PagedFile pagedFile = pageCache.map( file, pageCache.pageSize(), immutable.of( CREATE ) );
+                PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+        {
+            for ( int pageId = 0; pageId < pages; pageId++ )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( pageId );
+            }
+        }
+    }
+
+    private static void pin( PagedFile pagedFile, long pageId ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK, NULL ) )
+        {
+            assertTrue( cursor.next() );
+        }
+    }
+
+    private static boolean isInMemory( PagedFile pagedFile, long pageId ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK | PF_NO_FAULT, NULL ) )
+        {
+            return cursor.next() && cursor.getCurrentPageId() != UNBOUND_PAGE_ID;
+        }
+    }
+}
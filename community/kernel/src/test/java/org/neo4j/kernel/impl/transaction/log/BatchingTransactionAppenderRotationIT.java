@@ -150,13 +150,13 @@ class BatchingTransactionAppenderRotationIT
         @Override
         public LogForceWaitEvent beginLogForceWait()
         {
-            return null;
+            return LogForceWaitEvent.NULL;
         }
 
         @Override
         public LogForceEvent beginLogForce()
         {
-            return null;
+            return LogForceEvent.NULL;
         }
 
         @Override
@@ -262,7 +262,7 @@ class BatchingTransactionAppenderTest
             invocation.callRealMethod();
             return flushable;
         } ).when( channel ).prepareForFlush();
-        when( logFile.forceAfterAppend( any() ) ).thenThrow( failure );
+        when( logFile.forceAfterAppend( any(), any() ) ).thenThrow( failure );
         when( logFile.getTransactionLogWriter() ).thenReturn( new TransactionLogWriter( channel, new DbmsLogEntryWriterFactory( LATEST::version ) ) );
 
         TransactionMetadataCache metadataCache = new TransactionMetadataCache();
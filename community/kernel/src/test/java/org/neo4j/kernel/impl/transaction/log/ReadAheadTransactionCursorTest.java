@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.neo4j.internal.helpers.collection.Iterators.array;
+import static org.neo4j.kernel.impl.transaction.log.GivenTransactionCursor.exhaust;
+
+class ReadAheadTransactionCursorTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnTransactionsAndPositionsOfSourceInOrder() throws Exception
+    {
+        // GIVEN
+        CommittedTransactionRepresentation tx1 = mock( CommittedTransactionRepresentation.class );
+        CommittedTransactionRepresentation tx2 = mock( CommittedTransactionRepresentation.class );
+        CommittedTransactionRepresentation tx3 = mock( CommittedTransactionRepresentation.class );
+        PositionedTransactionCursor source = new PositionedTransactionCursor( null, tx1, tx2, tx3 );
+
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 1, executor ) )
+        {
+            // WHEN/THEN
+            assertEquals( new LogPosition( 0, 0 ), cursor.position() );
+            for ( int i = 1; i <= 3; i++ )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( new LogPosition( 0, i ), cursor.position() );
+            }
+            assertFalse( cursor.next() );
+            assertEquals( new LogPosition( 0, 4 ), cursor.position() );
+            assertFalse( cursor.next() );
+        }
+        assertTrue( source.closed );
+    }
+
+    @Test
+    void shouldReturnAllTransactionsOfSource() throws Exception
+    {
+        // GIVEN
+        CommittedTransactionRepresentation tx1 = mock( CommittedTransactionRepresentation.class );
+        CommittedTransactionRepresentation tx2 = mock( CommittedTransactionRepresentation.class );
+        CommittedTransactionRepresentation tx3 = mock( CommittedTransactionRepresentation.class );
+
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( new PositionedTransactionCursor( null, tx1, tx2, tx3 ), 2, executor ) )
+        {
+            // WHEN
+            CommittedTransactionRepresentation[] transactions = exhaust( cursor );
+
+            // THEN
+            assertArrayEquals( array( tx1, tx2, tx3 ), transactions );
+        }
+    }
+
+    @Test
+    void shouldFailOnlyAfterReturningTransactionsReadBeforeTheFailure() throws Exception
+    {
+        // GIVEN
+        CommittedTransactionRepresentation tx1 = mock( CommittedTransactionRepresentation.class );
+        IOException failure = new IOException( "Corrupted log entry" );
+
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( new PositionedTransactionCursor( failure, tx1 ), 4, executor ) )
+        {
+            // WHEN/THEN
+            assertTrue( cursor.next() );
+            assertSame( tx1, cursor.get() );
+            assertSame( failure, assertThrows( IOException.class, cursor::next ) );
+        }
+    }
+
+    @Test
+    void shouldCloseSourceWhileReaderWaitsForConsumer() throws Exception
+    {
+        // GIVEN
+        CommittedTransactionRepresentation[] transactions = new CommittedTransactionRepresentation[100];
+        for ( int i = 0; i < transactions.length; i++ )
+        {
+            transactions[i] = mock( CommittedTransactionRepresentation.class );
+        }
+        PositionedTransactionCursor source = new PositionedTransactionCursor( null, transactions );
+        ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 1, executor );
+        assertTrue( cursor.next() );
+
+        // WHEN
+        cursor.close();
+
+        // THEN
+        assertTrue( source.closed );
+    }
+
+    private static class PositionedTransactionCursor implements TransactionCursor
+    {
+        private final IOException failureAtEnd;
+        private final CommittedTransactionRepresentation[] transactions;
+        private int index = -1;
+        private volatile boolean closed;
+
+        PositionedTransactionCursor( IOException failureAtEnd, CommittedTransactionRepresentation... transactions )
+        {
+            this.failureAtEnd = failureAtEnd;
+            this.transactions = transactions;
+        }
+
+        @Override
+        public CommittedTransactionRepresentation get()
+        {
+            return transactions[index];
+        }
+
+        @Override
+        public boolean next() throws IOException
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Closed" );
+            }
+            if ( index + 1 < transactions.length )
+            {
+                index++;
+                return true;
+            }
+            if ( failureAtEnd != null )
+            {
+                throw failureAtEnd;
+            }
+            index = transactions.length;
+            return false;
+        }
+
+        @Override
+        public LogPosition position()
+        {
+            return new LogPosition( 0, index + 1 );
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+    }
+}
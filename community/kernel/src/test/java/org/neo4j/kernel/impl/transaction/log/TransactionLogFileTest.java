@@ -26,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -34,6 +35,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.internal.nativeimpl.NativeAccess;
 import org.neo4j.internal.nativeimpl.NativeCallResult;
 import org.neo4j.io.ByteUnit;
@@ -43,6 +46,7 @@ import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.ReadableChannel;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.kernel.impl.api.tracer.DefaultTracer;
 import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
 import org.neo4j.kernel.impl.transaction.log.entry.IncompleteLogHeaderException;
@@ -66,6 +70,7 @@ import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -450,6 +455,78 @@ class TransactionLogFileTest
         assertThat( capturingChannel.getFlushCounter().get() - flushesBefore ).isEqualTo( 2 );
     }
 
+    @Test
+    void shouldNotForceAgainWhenAppendedPositionIsAlreadyDurable() throws Throwable
+    {
+        LogFiles logFiles = buildLogFiles();
+        life.start();
+        life.add( logFiles );
+
+        LogFile logFile = logFiles.getLogFile();
+        var capturingChannel = wrappingFileSystem.getCapturingChannel();
+        var flushesBefore = capturingChannel.getFlushCounter().get();
+
+        TransactionLogWriter writer = logFile.getTransactionLogWriter();
+        writer.getChannel().putLong( 1 );
+        LogPosition firstAppend = writer.getCurrentPosition();
+        writer.getChannel().putLong( 2 );
+        LogPosition secondAppend = writer.getCurrentPosition();
+
+        // the force for the second append also covers the first one
+        assertTrue( logFile.forceAfterAppend( secondAppend, LogAppendEvent.NULL ) );
+        assertFalse( logFile.forceAfterAppend( firstAppend, LogAppendEvent.NULL ) );
+        assertEquals( 1, capturingChannel.getFlushCounter().get() - flushesBefore );
+
+        writer.getChannel().putLong( 3 );
+        assertTrue( logFile.forceAfterAppend( writer.getCurrentPosition(), LogAppendEvent.NULL ) );
+        assertEquals( 2, capturingChannel.getFlushCounter().get() - flushesBefore );
+    }
+
+    @Test
+    void shouldShareOneForceBetweenCommittersWithinGroupCommitWindow() throws Throwable
+    {
+        int executors = 10;
+        Config config = Config.newBuilder()
+                .set( GraphDatabaseSettings.group_commit_max_wait, Duration.ofSeconds( 1 ) )
+                .set( GraphDatabaseSettings.group_commit_max_batch, executors )
+                .build();
+        LogFiles logFiles = LogFilesBuilder.builder( databaseLayout, wrappingFileSystem )
+                .withRotationThreshold( rotationThreshold )
+                .withTransactionIdStore( transactionIdStore )
+                .withLogVersionRepository( logVersionRepository )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withConfig( config )
+                .build();
+        life.start();
+        life.add( logFiles );
+
+        LogFile logFile = logFiles.getLogFile();
+        var capturingChannel = wrappingFileSystem.getCapturingChannel();
+        var flushesBefore = capturingChannel.getFlushCounter().get();
+        DefaultTracer tracer = new DefaultTracer();
+        LogAppendEvent logAppendEvent = tracer.beginTransaction( NULL ).beginCommitEvent().beginLogAppend();
+
+        var executorService = Executors.newFixedThreadPool( executors );
+        try
+        {
+            List<Future<?>> futures = Stream.iterate( 0, i -> i + 1 )
+                    .limit( executors )
+                    .map( v -> executorService.submit( () -> logFile.forceAfterAppend( logAppendEvent ) ) )
+                    .collect( toList() );
+            Futures.getAll( futures );
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+
+        assertEquals( 1, capturingChannel.getFlushCounter().get() - flushesBefore );
+        assertEquals( 1, tracer.numberOfLogForces() );
+        // 10 committers end up in the [8,16) bucket
+        assertEquals( 1, tracer.logForceBatchSizeHistogram()[4] );
+    }
+
     private static byte[] readBytes( ReadableChannel reader, int length ) throws IOException
     {
         byte[] result = new byte[length];
@@ -534,6 +611,30 @@ class TransactionLogFileTest
             return NativeCallResult.SUCCESS;
         }
 
+        @Override
+        public NativeCallResult tryAdviseHugePages( long address, long bytes )
+        {
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public NativeCallResult tryInterleaveMemory( long address, long bytes )
+        {
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public NativeCallResult tryBindMemory( long address, long bytes, int node )
+        {
+            return NativeCallResult.SUCCESS;
+        }
+
+        @Override
+        public int getNumaNodeCount()
+        {
+            return 1;
+        }
+
         @Override
         public String describe()
         {
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Flushable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.pagecache.IOLimiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class AdaptiveIOLimiterTest
+{
+    private final AtomicLong currentTimeMillis = new AtomicLong( 1_000_000 );
+    private final List<Long> sleeps = new ArrayList<>();
+    private final Flushable flushable = mock( Flushable.class );
+    private final AdaptiveIOLimiter limiter = new AdaptiveIOLimiter( 100, 10_000, currentTimeMillis::get, millis ->
+    {
+        sleeps.add( millis );
+        currentTimeMillis.addAndGet( millis );
+    } );
+
+    @Test
+    void shouldStartOutAtMinimumLimit()
+    {
+        assertEquals( 100, limiter.currentIOPS() );
+        assertTrue( limiter.isLimited() );
+    }
+
+    @Test
+    void shouldSleepWhenQuantumIsUsedUpTooFast()
+    {
+        // At 100 IOPS a quantum of 100ms allows 10 IOs.
+        long stamp = IOLimiter.INITIAL_STAMP;
+        for ( int i = 0; i < 9; i++ )
+        {
+            stamp = limiter.maybeLimitIO( stamp, 1, flushable );
+        }
+        assertTrue( sleeps.isEmpty() );
+
+        currentTimeMillis.addAndGet( 30 );
+        limiter.maybeLimitIO( stamp, 1, flushable );
+
+        assertEquals( List.of( 70L ), sleeps );
+    }
+
+    @Test
+    void shouldNotSleepWhenIOIsSlowerThanLimit()
+    {
+        long stamp = IOLimiter.INITIAL_STAMP;
+        for ( int i = 0; i < 100; i++ )
+        {
+            currentTimeMillis.addAndGet( 20 );
+            stamp = limiter.maybeLimitIO( stamp, 1, flushable );
+        }
+        assertTrue( sleeps.isEmpty() );
+    }
+
+    @Test
+    void shouldNotSleepWhenDisabled()
+    {
+        limiter.disableLimit();
+        limiter.disableLimit();
+        limiter.enableLimit();
+        assertFalse( limiter.isLimited() );
+
+        limiter.maybeLimitIO( IOLimiter.INITIAL_STAMP, 1000, flushable );
+        assertTrue( sleeps.isEmpty() );
+
+        limiter.enableLimit();
+        assertTrue( limiter.isLimited() );
+    }
+
+    @Test
+    void shouldFollowIncreasedIOAtOnceAndDecayGradually()
+    {
+        limiter.maybeLimitIO( IOLimiter.INITIAL_STAMP, 5000, flushable );
+        assertEquals( 1000, limiter.adapt( 5000 ) );
+
+        // Counting restarts after every adaptation.
+        limiter.maybeLimitIO( IOLimiter.INITIAL_STAMP, 500, flushable );
+        assertEquals( 550, limiter.adapt( 5000 ) );
+        assertEquals( 275, limiter.adapt( 5000 ) );
+        assertEquals( 137, limiter.adapt( 5000 ) );
+        assertEquals( 100, limiter.adapt( 5000 ) );
+    }
+
+    @Test
+    void shouldStayWithinBounds()
+    {
+        limiter.maybeLimitIO( IOLimiter.INITIAL_STAMP, 1_000_000, flushable );
+        assertEquals( 10_000, limiter.adapt( 1000 ) );
+    }
+
+    @Test
+    void shouldCountIOsWhileDisabled()
+    {
+        limiter.disableLimit();
+        limiter.maybeLimitIO( IOLimiter.INITIAL_STAMP, 2000, flushable );
+        limiter.enableLimit();
+        assertEquals( 2000, limiter.adapt( 1000 ) );
+    }
+
+    @Test
+    void shouldRejectInvalidLimits()
+    {
+        assertThrows( IllegalArgumentException.class, () -> new AdaptiveIOLimiter( 1, 100 ) );
+        assertThrows( IllegalArgumentException.class, () -> new AdaptiveIOLimiter( 200, 100 ) );
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.function.Predicates;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.monitoring.DatabaseHealth;
+import org.neo4j.monitoring.Health;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.test.OnDemandJobScheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BackgroundFlusherTest
+{
+    private final PageCache pageCache = mock( PageCache.class );
+    private final AdaptiveIOLimiter ioLimiter = new AdaptiveIOLimiter( 100, 10_000 );
+    private final OnDemandJobScheduler jobScheduler = spy( new OnDemandJobScheduler() );
+    private final Health health = mock( DatabaseHealth.class );
+
+    @Test
+    void shouldFlushAndAdaptLimitOnEveryRun() throws IOException
+    {
+        when( health.isHealthy() ).thenReturn( true );
+        doAnswer( invocation ->
+        {
+            // Pretend that 20000 IOs were needed, which should be spread over half the one second interval.
+            invocation.<IOLimiter>getArgument( 0 ).maybeLimitIO( IOLimiter.INITIAL_STAMP, 20_000, () -> {} );
+            return null;
+        } ).when( pageCache ).flushAndForce( any( IOLimiter.class ) );
+        ioLimiter.disableLimit();
+        BackgroundFlusher flusher = newFlusher();
+
+        flusher.start();
+        assertNotNull( jobScheduler.getJob() );
+        jobScheduler.runJob();
+
+        verify( pageCache ).flushAndForce( ioLimiter );
+        assertEquals( 10_000, ioLimiter.currentIOPS() );
+        verify( jobScheduler, times( 2 ) ).schedule( eq( Group.CHECKPOINT ), any( JobMonitoringParams.class ), any( Runnable.class ),
+                eq( 1000L ), eq( TimeUnit.MILLISECONDS ) );
+    }
+
+    @Test
+    void shouldNotFlushWhenUnhealthy() throws IOException
+    {
+        when( health.isHealthy() ).thenReturn( false );
+        BackgroundFlusher flusher = newFlusher();
+
+        flusher.start();
+        jobScheduler.runJob();
+
+        verify( pageCache, never() ).flushAndForce( any( IOLimiter.class ) );
+        // ...but keep trying, in case health is restored.
+        assertNotNull( jobScheduler.getJob() );
+    }
+
+    @Test
+    void shouldKeepFlushingAfterFailure() throws IOException
+    {
+        when( health.isHealthy() ).thenReturn( true );
+        doThrow( new IOException( "Test" ) ).when( pageCache ).flushAndForce( any( IOLimiter.class ) );
+        BackgroundFlusher flusher = newFlusher();
+
+        flusher.start();
+        jobScheduler.runJob();
+        jobScheduler.runJob();
+
+        verify( pageCache, times( 2 ) ).flushAndForce( ioLimiter );
+    }
+
+    @Test
+    void shouldNotRescheduleWhenStopped() throws IOException
+    {
+        when( health.isHealthy() ).thenReturn( true );
+        BackgroundFlusher flusher = newFlusher();
+
+        flusher.start();
+        flusher.stop();
+
+        assertNull( jobScheduler.getJob() );
+        assertTrue( ioLimiter.isLimited() );
+        verify( pageCache, never() ).flushAndForce( any( IOLimiter.class ) );
+    }
+
+    @Test
+    void shouldLetOngoingFlushFinishWithoutLimitWhenStopping() throws Exception
+    {
+        when( health.isHealthy() ).thenReturn( true );
+        CountDownLatch flushStarted = new CountDownLatch( 1 );
+        AtomicBoolean limitLiftedDuringFlush = new AtomicBoolean();
+        doAnswer( invocation ->
+        {
+            flushStarted.countDown();
+            Predicates.await( () -> !ioLimiter.isLimited(), 1, TimeUnit.MINUTES );
+            limitLiftedDuringFlush.set( true );
+            return null;
+        } ).when( pageCache ).flushAndForce( any( IOLimiter.class ) );
+        BackgroundFlusher flusher = newFlusher();
+        flusher.start();
+
+        Thread flushThread = new Thread( jobScheduler::runJob );
+        flushThread.start();
+        flushStarted.await();
+        flusher.stop();
+        flushThread.join();
+
+        assertTrue( limitLiftedDuringFlush.get() );
+        assertTrue( ioLimiter.isLimited() );
+        assertNull( jobScheduler.getJob() );
+    }
+
+    private BackgroundFlusher newFlusher()
+    {
+        return new BackgroundFlusher( pageCache, ioLimiter, jobScheduler, 1000, health, NullLogProvider.getInstance(), "test db" );
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.rule.RandomRule;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestDirectoryExtension
+@ExtendWith( RandomExtension.class )
+class LogFileCompressionTest
+{
+    @Inject
+    private DefaultFileSystemAbstraction fs;
+    @Inject
+    private TestDirectory directory;
+    @Inject
+    private RandomRule random;
+
+    @Test
+    void shouldReadCompressedFileTransparently() throws IOException
+    {
+        Path file = directory.homePath().resolve( "neostore.transaction.db.0" );
+        byte[] data = writeLogLikeFile( file, LogFileCompression.BLOCK_SIZE * 3 + 1234 );
+
+        Path compressed = LogFileCompression.compressToTemporaryFile( fs, file );
+        assertThat( fs.getFileSize( compressed ) ).isLessThan( data.length );
+        assertTrue( LogFileCompression.isTemporaryFile( compressed ) );
+        assertFalse( LogFileCompression.isCompressed( fs, file ) );
+        assertTrue( LogFileCompression.isCompressed( fs, compressed ) );
+
+        try ( StoreChannel channel = LogFileCompression.openForReading( fs, compressed ) )
+        {
+            assertEquals( data.length, channel.size() );
+            ByteBuffer buffer = ByteBuffer.allocate( data.length );
+            channel.readAll( buffer );
+            assertArrayEquals( data, buffer.array() );
+            assertEquals( -1, channel.read( ByteBuffer.allocate( 1 ) ) );
+        }
+    }
+
+    @Test
+    void shouldSeekBackwardsAndAcrossBlocksInCompressedFile() throws IOException
+    {
+        Path file = directory.homePath().resolve( "neostore.transaction.db.1" );
+        byte[] data = writeLogLikeFile( file, LogFileCompression.BLOCK_SIZE * 2 + 17 );
+        Path compressed = LogFileCompression.compressToTemporaryFile( fs, file );
+
+        try ( StoreChannel channel = LogFileCompression.openForReading( fs, compressed ) )
+        {
+            // Read chunks from the end towards the start, like the reversed transaction cursors do.
+            int chunkSize = 10_000;
+            for ( long end = data.length; end > 0; end -= chunkSize )
+            {
+                long start = Math.max( 0, end - chunkSize );
+                ByteBuffer buffer = ByteBuffer.allocate( (int) (end - start) );
+                channel.position( start );
+                channel.readAll( buffer );
+                assertArrayEquals( Arrays.copyOfRange( data, (int) start, (int) end ), buffer.array() );
+                assertEquals( end, channel.position() );
+            }
+
+            for ( int i = 0; i < 100; i++ )
+            {
+                int position = random.nextInt( data.length );
+                ByteBuffer buffer = ByteBuffer.allocate( Math.min( random.nextInt( 1, chunkSize ), data.length - position ) );
+                int read = channel.read( buffer, position );
+                assertArrayEquals( Arrays.copyOfRange( data, position, position + read ), Arrays.copyOf( buffer.array(), read ) );
+            }
+        }
+    }
+
+    @Test
+    void shouldOpenUncompressedFileAsIs() throws IOException
+    {
+        Path file = directory.homePath().resolve( "neostore.transaction.db.2" );
+        byte[] data = writeLogLikeFile( file, 100 );
+
+        try ( StoreChannel channel = LogFileCompression.openForReading( fs, file ) )
+        {
+            assertThat( channel ).isNotInstanceOf( CompressedLogStoreChannel.class );
+            assertEquals( data.length, channel.size() );
+            assertEquals( 0, channel.position() );
+        }
+    }
+
+    @Test
+    void shouldNotAllowWritesToCompressedFile() throws IOException
+    {
+        Path file = directory.homePath().resolve( "neostore.transaction.db.3" );
+        writeLogLikeFile( file, 1000 );
+        Path compressed = LogFileCompression.compressToTemporaryFile( fs, file );
+
+        try ( StoreChannel channel = LogFileCompression.openForReading( fs, compressed ) )
+        {
+            assertThrows( NonWritableChannelException.class, () -> channel.writeAll( ByteBuffer.allocate( 1 ) ) );
+            assertThrows( NonWritableChannelException.class, () -> channel.truncate( 0 ) );
+        }
+    }
+
+    @Test
+    void shouldCompressEmptyFile() throws IOException
+    {
+        Path file = directory.homePath().resolve( "neostore.transaction.db.4" );
+        writeLogLikeFile( file, 0 );
+        Path compressed = LogFileCompression.compressToTemporaryFile( fs, file );
+
+        try ( StoreChannel channel = LogFileCompression.openForReading( fs, compressed ) )
+        {
+            assertEquals( 0, channel.size() );
+            assertEquals( -1, channel.read( ByteBuffer.allocate( 1 ) ) );
+        }
+    }
+
+    private byte[] writeLogLikeFile( Path file, int size ) throws IOException
+    {
+        // Transaction logs are repetitive, so use a small alphabet to get something that compresses.
+        byte[] data = new byte[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            data[i] = (byte) random.nextInt( 16 );
+        }
+        try ( StoreChannel channel = fs.write( file ) )
+        {
+            channel.writeAll( ByteBuffer.wrap( data ) );
+        }
+        return data;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.internal.nativeimpl.AbsentNativeAccess;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
+import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
+import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.StoreId;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.LifeExtension;
+import org.neo4j.test.extension.Neo4jLayoutExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.kernel.impl.transaction.log.TestLogEntryReader.logEntryReader;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_FORMAT_LOG_HEADER_SIZE;
+
+@Neo4jLayoutExtension
+@ExtendWith( LifeExtension.class )
+class TransactionLogFilePoolTest
+{
+    private static final long ROTATION_THRESHOLD = ByteUnit.kibiBytes( 128 );
+
+    @Inject
+    private DatabaseLayout databaseLayout;
+    @Inject
+    private FileSystemAbstraction fileSystem;
+    @Inject
+    private LifeSupport life;
+
+    private final List<Runnable> scheduledJobs = new ArrayList<>();
+    private final JobScheduler scheduler = mock( JobScheduler.class );
+    private boolean runJobsImmediately = true;
+
+    @BeforeEach
+    void setUp()
+    {
+        when( scheduler.schedule( eq( Group.STORAGE_MAINTENANCE ), any( JobMonitoringParams.class ), any( Runnable.class ) ) ).thenAnswer( inv ->
+        {
+            Runnable job = inv.getArgument( 2 );
+            if ( runJobsImmediately )
+            {
+                job.run();
+            }
+            else
+            {
+                scheduledJobs.add( job );
+            }
+            return JobHandle.EMPTY;
+        } );
+    }
+
+    @Test
+    void shouldFillPoolOnStartAndRotateIntoSpareFiles() throws IOException
+    {
+        LogFiles logFiles = buildLogFiles( 2 );
+        life.add( logFiles );
+        life.start();
+        assertEquals( 2, readySpareFiles().length );
+
+        LogFile logFile = logFiles.getLogFile();
+        Path rotatedTo = logFile.rotate();
+
+        // The new log is a former spare file, so it is already allocated, which it would not be otherwise without native access.
+        assertEquals( ROTATION_THRESHOLD, fileSystem.getFileSize( rotatedTo ) );
+        assertEquals( 1, logFile.getLogVersion( rotatedTo ) );
+        assertEquals( 1, logFile.extractHeader( 1 ).getLogVersion() );
+        assertFalse( logFile.hasAnyEntries( 1 ) );
+        // ...and the pool has been filled up again.
+        assertEquals( 2, readySpareFiles().length );
+        for ( Path logFilePath : logFile.getMatchedFiles() )
+        {
+            assertFalse( logFilePath.getFileName().toString().startsWith( TransactionLogFilePool.READY_PREFIX ) );
+        }
+    }
+
+    @Test
+    void shouldCreateLogFilesAsUsualWhenPoolIsDisabled() throws IOException
+    {
+        LogFiles logFiles = buildLogFiles( 0 );
+        life.add( logFiles );
+        life.start();
+
+        Path rotatedTo = logFiles.getLogFile().rotate();
+
+        assertEquals( CURRENT_FORMAT_LOG_HEADER_SIZE, fileSystem.getFileSize( rotatedTo ) );
+        assertEquals( 0, readySpareFiles().length );
+        assertFalse( logFiles.getLogFile().recycle( logFiles.getLogFile().getLogFileForVersion( 0 ) ) );
+    }
+
+    @Test
+    void shouldRecyclePrunedLogFilesIntoZeroFilledSpareFiles() throws IOException
+    {
+        runJobsImmediately = false;
+        LogFiles logFiles = buildLogFiles( 1 );
+        life.add( logFiles );
+        life.start();
+        LogFile logFile = logFiles.getLogFile();
+        logFile.getTransactionLogWriter().getChannel().put( new byte[1000], 1000 );
+        logFile.flush();
+        logFile.rotate();
+
+        Path prunedLog = logFile.getLogFileForVersion( 0 );
+        assertTrue( logFile.recycle( prunedLog ) );
+        assertFalse( fileSystem.fileExists( prunedLog ) );
+        // The pool is full, counting files that are yet to be filled.
+        assertFalse( logFile.recycle( logFile.getLogFileForVersion( 1 ) ) );
+
+        runScheduledJobs();
+
+        Path[] spareFiles = readySpareFiles();
+        assertEquals( 1, spareFiles.length );
+        assertEquals( ROTATION_THRESHOLD, fileSystem.getFileSize( spareFiles[0] ) );
+        try ( StoreChannel channel = fileSystem.read( spareFiles[0] ) )
+        {
+            ByteBuffer buffer = ByteBuffer.allocate( (int) ROTATION_THRESHOLD );
+            channel.readAll( buffer );
+            byte[] zeros = new byte[(int) ROTATION_THRESHOLD];
+            assertTrue( Arrays.equals( zeros, buffer.array() ) );
+        }
+    }
+
+    @Test
+    void shouldPickUpSpareFilesAfterRestart() throws IOException
+    {
+        Path logsDirectory = databaseLayout.getTransactionLogsDirectory();
+        fileSystem.mkdirs( logsDirectory );
+        Path halfFilled = logsDirectory.resolve( TransactionLogFilePool.FILLING_PREFIX + TransactionLogFilesHelper.DEFAULT_NAME + ".7" );
+        fileSystem.write( halfFilled ).close();
+
+        runJobsImmediately = false;
+        LogFiles logFiles = buildLogFiles( 1 );
+        life.add( logFiles );
+        life.start();
+        runScheduledJobs();
+
+        assertFalse( fileSystem.fileExists( halfFilled ) );
+        Path[] spareFiles = readySpareFiles();
+        assertEquals( 1, spareFiles.length );
+        assertEquals( TransactionLogFilePool.READY_PREFIX + TransactionLogFilesHelper.DEFAULT_NAME + ".7", spareFiles[0].getFileName().toString() );
+        assertEquals( ROTATION_THRESHOLD, fileSystem.getFileSize( spareFiles[0] ) );
+    }
+
+    private void runScheduledJobs()
+    {
+        while ( !scheduledJobs.isEmpty() )
+        {
+            scheduledJobs.remove( 0 ).run();
+        }
+    }
+
+    private Path[] readySpareFiles()
+    {
+        return fileSystem.listFiles( databaseLayout.getTransactionLogsDirectory(),
+                file -> file.getFileName().toString().startsWith( TransactionLogFilePool.READY_PREFIX ) );
+    }
+
+    private LogFiles buildLogFiles( int preallocatedFiles ) throws IOException
+    {
+        return LogFilesBuilder.builder( databaseLayout, fileSystem )
+                .withConfig( Config.defaults( GraphDatabaseInternalSettings.preallocated_logical_log_files, preallocatedFiles ) )
+                .withRotationThreshold( ROTATION_THRESHOLD )
+                .withTransactionIdStore( new SimpleTransactionIdStore() )
+                .withLogVersionRepository( new SimpleLogVersionRepository() )
+                .withLogEntryReader( logEntryReader() )
+                .withStoreId( StoreId.UNKNOWN )
+                .withNativeAccess( new AbsentNativeAccess() )
+                .withJobScheduler( scheduler )
+                .build();
+    }
+}
@@ -23,28 +23,43 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.stream.LongStream;
 
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.io.fs.EphemeralFileSystemAbstraction;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.kernel.impl.transaction.log.files.LogFile;
+import org.neo4j.kernel.impl.transaction.log.files.LogFileCompression;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.checkpoint.CheckpointFile;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.logging.NullLogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.time.SystemNanoClock;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -115,4 +130,76 @@ class LogPruningTest
         config.setDynamic( GraphDatabaseSettings.keep_logical_logs, "10 files", "" );
         assertEquals( "10 files", pruning.describeCurrentStrategy() );
     }
+
+    @Test
+    void mustCompressRemainingLogFilesBelowCheckpointVersionWhenEnabled() throws IOException
+    {
+        try ( EphemeralFileSystemAbstraction fs = new EphemeralFileSystemAbstraction() )
+        {
+            Path directory = Path.of( "logs" ).toAbsolutePath();
+            fs.mkdirs( directory );
+            LogFile logFile = logFiles.getLogFile();
+            when( logFiles.logFilesDirectory() ).thenReturn( directory );
+            when( logFile.getLowestLogVersion() ).thenReturn( 3L );
+            doAnswer( inv -> directory.resolve( "log." + inv.getArguments()[0] ) ).when( logFile ).getLogFileForVersion( anyLong() );
+            byte[][] contents = new byte[7][];
+            for ( int version = 3; version < 7; version++ )
+            {
+                contents[version] = writeLog( fs, logFile.getLogFileForVersion( version ), version );
+            }
+            Path staleTemporaryFile = LogFileCompression.temporaryFile( logFile.getLogFileForVersion( 2 ) );
+            fs.write( staleTemporaryFile ).close();
+
+            when( factory.strategyFromConfigValue( eq( fs ), eq( logFiles ), eq( logProvider ), eq( clock ), anyString() ) )
+                    .thenReturn( upTo -> LongStream.empty() );
+            JobScheduler scheduler = mock( JobScheduler.class );
+            when( scheduler.schedule( eq( Group.STORAGE_MAINTENANCE ), any( JobMonitoringParams.class ), any( Runnable.class ) ) ).thenAnswer( inv ->
+            {
+                inv.<Runnable>getArgument( 2 ).run();
+                return JobHandle.EMPTY;
+            } );
+            config.set( GraphDatabaseInternalSettings.compress_rotated_logical_logs, true );
+            LogPruningImpl pruning = new LogPruningImpl( fs, logFiles, logProvider, factory, clock, config, scheduler );
+
+            pruning.start();
+            assertFalse( fs.fileExists( staleTemporaryFile ) );
+            pruning.pruneLogs( 5 );
+            pruning.stop();
+
+            for ( int version = 3; version < 7; version++ )
+            {
+                Path file = logFile.getLogFileForVersion( version );
+                // Only logs older than the log of the checkpoint are compressed; the rest might still be appended to or truncated.
+                assertEquals( version < 5, LogFileCompression.isCompressed( fs, file ) );
+                try ( StoreChannel channel = LogFileCompression.openForReading( fs, file ) )
+                {
+                    ByteBuffer buffer = ByteBuffer.allocate( (int) channel.size() );
+                    channel.readAll( buffer );
+                    assertArrayEquals( contents[version], buffer.array() );
+                }
+            }
+        }
+    }
+
+    @Test
+    void mustNotCompressLogFilesByDefault()
+    {
+        when( factory.strategyFromConfigValue( eq( fs ), eq( logFiles ), eq( logProvider ), eq( clock ), anyString() ) )
+                .thenReturn( upTo -> LongStream.empty() );
+        JobScheduler scheduler = mock( JobScheduler.class );
+        LogPruning pruning = new LogPruningImpl( fs, logFiles, logProvider, factory, clock, config, scheduler );
+        pruning.pruneLogs( 5 );
+        verify( scheduler, never() ).schedule( any( Group.class ), any( JobMonitoringParams.class ), any( Runnable.class ) );
+    }
+
+    private static byte[] writeLog( FileSystemAbstraction fs, Path file, int version ) throws IOException
+    {
+        byte[] data = new byte[10_000];
+        Arrays.fill( data, (byte) version );
+        try ( StoreChannel channel = fs.write( file ) )
+        {
+            channel.writeAll( ByteBuffer.wrap( data ) );
+        }
+        return data;
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.impl.api.state.AppendOnlyValuesContainer;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.apache.commons.lang3.StringUtils.repeat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestDirectoryExtension
+class SpillingMemoryAllocatorTest
+{
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private TestDirectory directory;
+
+    private final CachingOffHeapBlockAllocator blockAllocator = new CachingOffHeapBlockAllocator();
+    private final MemoryTracker memoryTracker = new LocalMemoryTracker();
+
+    @AfterEach
+    void afterEach()
+    {
+        assertEquals( 0, memoryTracker.usedNativeMemory(), "Got memory leak" );
+        blockAllocator.release();
+    }
+
+    @Test
+    void shouldSpillAllocationsPastThreshold() throws IOException
+    {
+        Path spillDirectory = directory.directory( "spill" );
+        try ( SpillingMemoryAllocator allocator = new SpillingMemoryAllocator( new OffHeapMemoryAllocator( blockAllocator ), 1024, fs, spillDirectory ) )
+        {
+            Memory offHeap = allocator.allocate( 1024, true, memoryTracker );
+            assertEquals( 1024, memoryTracker.usedNativeMemory() );
+            assertEquals( 0, allocator.spilledBytes() );
+
+            Memory spilled = allocator.allocate( 4096, true, memoryTracker );
+            assertEquals( 1024, memoryTracker.usedNativeMemory() );
+            assertEquals( 4096, allocator.spilledBytes() );
+            assertEquals( 4096, spilled.size() );
+
+            for ( long offset = 0; offset < spilled.size(); offset += Long.BYTES )
+            {
+                assertEquals( 0, spilled.readLong( offset ) );
+                spilled.writeLong( offset, offset );
+            }
+            for ( long offset = 0; offset < spilled.size(); offset += Long.BYTES )
+            {
+                assertEquals( offset, spilled.readLong( offset ) );
+            }
+
+            offHeap.free( memoryTracker );
+            spilled.free( memoryTracker );
+            assertThrows( IllegalStateException.class, () -> spilled.readLong( 0 ) );
+        }
+        assertEquals( 0, countFiles( spillDirectory ) );
+    }
+
+    @Test
+    void shouldKeepValuesReadableWhenSpilled() throws IOException
+    {
+        Path spillDirectory = directory.directory( "spill" );
+        List<Value> values = new ArrayList<>();
+        List<Long> refs = new ArrayList<>();
+        try ( SpillingMemoryAllocator allocator = new SpillingMemoryAllocator( new OffHeapMemoryAllocator( blockAllocator ), 1024, fs, spillDirectory ) )
+        {
+            AppendOnlyValuesContainer container = new AppendOnlyValuesContainer( allocator, memoryTracker );
+            for ( int i = 0; i < 1000; i++ )
+            {
+                Value value = Values.stringValue( repeat( (char) ('a' + i % 26), 1000 ) + i );
+                values.add( value );
+                refs.add( container.add( value ) );
+            }
+            assertTrue( allocator.spilledBytes() > 0 );
+
+            for ( int i = 0; i < values.size(); i++ )
+            {
+                assertEquals( values.get( i ), container.get( refs.get( i ) ) );
+            }
+            container.close();
+        }
+        assertEquals( 0, countFiles( spillDirectory ) );
+    }
+
+    @Test
+    void shouldReuseFreedSpilledMemory() throws IOException
+    {
+        Path spillDirectory = directory.directory( "spill" );
+        try ( SpillingMemoryAllocator allocator = new SpillingMemoryAllocator( new OffHeapMemoryAllocator( blockAllocator ), 0, fs, spillDirectory ) )
+        {
+            Memory first = allocator.allocate( 1024, true, memoryTracker );
+            Memory second = allocator.allocate( 1024, true, memoryTracker );
+            Memory third = allocator.allocate( 1024, true, memoryTracker );
+            assertEquals( 3072, allocator.spilledBytes() );
+            first.writeLong( 0, 42 );
+            second.writeLong( 0, 42 );
+
+            // Freed neighbours are merged, so the range of both can hold an allocation larger than either of them.
+            first.free( memoryTracker );
+            second.free( memoryTracker );
+            Memory reused = allocator.allocate( 2048, true, memoryTracker );
+            assertEquals( 3072, allocator.spilledBytes() );
+            assertEquals( 0, reused.readLong( 0 ) );
+            assertEquals( 0, reused.readLong( 1024 ) );
+
+            Memory extended = allocator.allocate( 1024, false, memoryTracker );
+            assertEquals( 4096, allocator.spilledBytes() );
+
+            reused.free( memoryTracker );
+            third.free( memoryTracker );
+            extended.free( memoryTracker );
+        }
+        assertEquals( 0, countFiles( spillDirectory ) );
+    }
+
+    private static long countFiles( Path directory ) throws IOException
+    {
+        try ( Stream<Path> files = Files.list( directory ) )
+        {
+            return files.count();
+        }
+    }
+}
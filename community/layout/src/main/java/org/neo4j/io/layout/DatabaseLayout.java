@@ -49,6 +49,7 @@ public class DatabaseLayout
 {
     private static final String DATABASE_LOCK_FILENAME = "database_lock";
     private static final String BACKUP_TOOLS_FOLDER = "tools";
+    private static final String PAGE_CACHE_PROFILES_FOLDER = "profiles";
 
     private final Path databaseDirectory;
     private final Neo4jLayout neo4jLayout;
@@ -115,6 +116,11 @@ public class DatabaseLayout
         return databaseDirectory().resolve( BACKUP_TOOLS_FOLDER );
     }
 
+    public Path pageCacheProfilesFolder()
+    {
+        return databaseDirectory().resolve( PAGE_CACHE_PROFILES_FOLDER );
+    }
+
     public Path metadataStore()
     {
         return file( DatabaseFile.METADATA_STORE.getName() );
@@ -48,6 +48,28 @@ final class CombinedTracer implements LockTracer
         return new CombinedEvent( events );
     }
 
+    @Override
+    public long lockWaits( ResourceType resourceType )
+    {
+        long waits = 0;
+        for ( LockTracer tracer : tracers )
+        {
+            waits += tracer.lockWaits( resourceType );
+        }
+        return waits;
+    }
+
+    @Override
+    public long lockWaitTimeNanos( ResourceType resourceType )
+    {
+        long waitTime = 0;
+        for ( LockTracer tracer : tracers )
+        {
+            waitTime += tracer.lockWaitTimeNanos( resourceType );
+        }
+        return waitTime;
+    }
+
     @Override
     public LockTracer combine( LockTracer tracer )
     {
@@ -23,6 +23,24 @@ public interface LockTracer
 {
     LockWaitEvent waitForLock( LockType lockType, ResourceType resourceType, long transactionId, long... resourceIds );
 
+    /**
+     * @param resourceType the type of the locked resources.
+     * @return the number of lock acquisitions on resources of the given type that had to wait, as seen by this tracer.
+     */
+    default long lockWaits( ResourceType resourceType )
+    {
+        return 0;
+    }
+
+    /**
+     * @param resourceType the type of the locked resources.
+     * @return the accumulated time in nanoseconds spent waiting for locks on resources of the given type, as seen by this tracer.
+     */
+    default long lockWaitTimeNanos( ResourceType resourceType )
+    {
+        return 0;
+    }
+
     default LockTracer combine( LockTracer tracer )
     {
         if ( tracer == NONE )
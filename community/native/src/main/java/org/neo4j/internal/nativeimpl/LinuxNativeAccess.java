@@ -24,6 +24,10 @@ import com.sun.jna.Native;
 import com.sun.jna.Platform;
 import com.sun.jna.Pointer;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
 
 public class LinuxNativeAccess implements NativeAccess
@@ -47,21 +51,45 @@ public class LinuxNativeAccess implements NativeAccess
      */
     private static final int POSIX_FADV_DONTNEED = 4;
 
+    /**
+     * Constant defined in mman.h and suggest that the specified memory range should be backed by transparent huge pages.
+     * For more info check man page for madvise.
+     */
+    private static final int MADV_HUGEPAGE = 14;
+
+    /**
+     * Memory policy modes and flags defined in mempolicy.h. For more info check man page for mbind.
+     */
+    private static final int MPOL_BIND = 2;
+    private static final int MPOL_INTERLEAVE = 3;
+    private static final int MPOL_MF_MOVE = 1 << 1;
+
+    /**
+     * mbind has no wrapper in the C library, only in libnuma, so it is called through syscall with the number of the current architecture.
+     */
+    private static final long SYS_MBIND = Platform.is64Bit() ? (Platform.isIntel() ? 237 : Platform.isARM() ? 235 : -1) : -1;
+
+    private static final Path ONLINE_NUMA_NODES = Path.of( "/sys/devices/system/node/online" );
+
     private static final int EINVAL = 22;
     private static final int ERANGE = 34;
 
     private static final boolean NATIVE_ACCESS_AVAILABLE;
     private static final Throwable INITIALIZATION_FAILURE;
+    private static final long OS_PAGE_SIZE;
+    private static final long NUMA_NODE_MASK = readOnlineNumaNodes();
 
     static
     {
         Throwable initFailure = null;
         boolean available = false;
+        long pageSize = 0;
         try
         {
             if ( Platform.isLinux() )
             {
                 Native.register( Platform.C_LIBRARY_NAME );
+                pageSize = getpagesize();
                 available = true;
             }
         }
@@ -71,6 +99,7 @@ public class LinuxNativeAccess implements NativeAccess
         }
         NATIVE_ACCESS_AVAILABLE = available;
         INITIALIZATION_FAILURE = initFailure;
+        OS_PAGE_SIZE = pageSize;
     }
 
     /**
@@ -98,6 +127,36 @@ public class LinuxNativeAccess implements NativeAccess
      */
     private static native int posix_fallocate( int fd, long offset, long len ) throws LastErrorException;
 
+    /**
+     * Advise the kernel about how the memory range starting at address and extending for length bytes is going to be used,
+     * so that it can choose appropriate paging and caching techniques. The address must be aligned to the page size.
+     * @param address start address of the memory range
+     * @param length length of the memory range in bytes
+     * @param advice advise options
+     * @return 0 on success. On error, -1 is returned and errno is set
+     */
+    private static native int madvise( long address, long length, int advice ) throws LastErrorException;
+
+    /**
+     * Indirect system call. Used to call mbind, which sets the NUMA memory policy of the memory range starting at address and extending for
+     * length bytes. The address must be aligned to the page size.
+     * @param number system call number
+     * @param address start address of the memory range
+     * @param length length of the memory range in bytes
+     * @param mode memory policy mode
+     * @param nodeMask pointer to a bit mask of the nodes the policy applies to
+     * @param maxNode number of bits in the node mask, plus one
+     * @param flags memory policy flags
+     * @return 0 on success. On error, -1 is returned and errno is set
+     */
+    private static native long syscall( long number, long address, long length, long mode, long nodeMask, long maxNode, long flags )
+            throws LastErrorException;
+
+    /**
+     * @return the number of bytes in a memory page
+     */
+    private static native int getpagesize();
+
     /**
      * Return pointer to a string describing error number, possibly using the LC_MESSAGES part of the current locale to select the appropriate language.
      * @param errnum error number to describe
@@ -156,6 +215,34 @@ public class LinuxNativeAccess implements NativeAccess
         return wrapResult( () -> posix_fallocate( fd, 0, bytes ) );
     }
 
+    @Override
+    public NativeCallResult tryAdviseHugePages( long address, long bytes )
+    {
+        return onAlignedRegion( address, bytes, ( start, length ) -> madvise( start, length, MADV_HUGEPAGE ) );
+    }
+
+    @Override
+    public NativeCallResult tryInterleaveMemory( long address, long bytes )
+    {
+        return setMemoryPolicy( address, bytes, MPOL_INTERLEAVE, NUMA_NODE_MASK );
+    }
+
+    @Override
+    public NativeCallResult tryBindMemory( long address, long bytes, int node )
+    {
+        if ( node < 0 || node >= getNumaNodeCount() )
+        {
+            return new NativeCallResult( ERROR, "Incorrect NUMA node: " + node + ". Number of nodes: " + getNumaNodeCount() );
+        }
+        return setMemoryPolicy( address, bytes, MPOL_BIND, numaNode( NUMA_NODE_MASK, node ) );
+    }
+
+    @Override
+    public int getNumaNodeCount()
+    {
+        return Long.bitCount( NUMA_NODE_MASK );
+    }
+
     @Override
     public String describe()
     {
@@ -172,6 +259,97 @@ public class LinuxNativeAccess implements NativeAccess
         return descriptionBuilder.toString();
     }
 
+    private static NativeCallResult setMemoryPolicy( long address, long bytes, int mode, long nodeMask )
+    {
+        if ( SYS_MBIND < 0 )
+        {
+            return new NativeCallResult( ERROR, "NUMA memory policies are not supported on this architecture." );
+        }
+        final long maskPointer = Native.malloc( Long.BYTES );
+        if ( maskPointer == 0 )
+        {
+            return new NativeCallResult( ERROR, "Failed to allocate NUMA node mask." );
+        }
+        try
+        {
+            new Pointer( maskPointer ).setLong( 0, nodeMask );
+            return onAlignedRegion( address, bytes,
+                    ( start, length ) -> (int) syscall( SYS_MBIND, start, length, mode, maskPointer, Long.SIZE + 1, MPOL_MF_MOVE ) );
+        }
+        finally
+        {
+            Native.free( maskPointer );
+        }
+    }
+
+    private static NativeCallResult onAlignedRegion( long address, long bytes, RegionCall call )
+    {
+        if ( address <= 0 || bytes <= 0 )
+        {
+            return new NativeCallResult( ERROR, "Incorrect memory region. Address: " + address + ", bytes: " + bytes );
+        }
+        long start = ((address + OS_PAGE_SIZE - 1) / OS_PAGE_SIZE) * OS_PAGE_SIZE;
+        long end = ((address + bytes) / OS_PAGE_SIZE) * OS_PAGE_SIZE;
+        if ( end <= start )
+        {
+            // The region does not cover a single whole page, so there is nothing to advise.
+            return NativeCallResult.SUCCESS;
+        }
+        return wrapResult( () -> call.call( start, end - start ) );
+    }
+
+    /**
+     * Read the online NUMA nodes into a bit mask, see {@link #parseNumaNodes(String)}.
+     */
+    private static long readOnlineNumaNodes()
+    {
+        try
+        {
+            if ( !Files.exists( ONLINE_NUMA_NODES ) )
+            {
+                return 1;
+            }
+            return parseNumaNodes( Files.readString( ONLINE_NUMA_NODES ) );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            return 1;
+        }
+    }
+
+    /**
+     * Parse NUMA nodes, formatted as a list of node ranges like {@code 0-1,3}, into a bit mask. Only the first 64 nodes are considered.
+     * The online nodes are not necessarily contiguous, e.g. {@code 0,2}.
+     */
+    static long parseNumaNodes( String nodes )
+    {
+        long mask = 0;
+        for ( String range : nodes.trim().split( "," ) )
+        {
+            String[] bounds = range.split( "-" );
+            int from = Integer.parseInt( bounds[0].trim() );
+            int to = bounds.length > 1 ? Integer.parseInt( bounds[1].trim() ) : from;
+            for ( int node = from; node <= to && node < Long.SIZE; node++ )
+            {
+                mask |= 1L << node;
+            }
+        }
+        return mask == 0 ? 1 : mask;
+    }
+
+    /**
+     * @return mask of only the {@code index}:th node set in {@code nodeMask}, counting from the lowest node.
+     */
+    static long numaNode( long nodeMask, int index )
+    {
+        long mask = nodeMask;
+        for ( int i = 0; i < index; i++ )
+        {
+            mask &= mask - 1;
+        }
+        return Long.lowestOneBit( mask );
+    }
+
     private static NativeCallResult wrapResult( NativeCall call )
     {
         try
@@ -247,4 +425,10 @@ public class LinuxNativeAccess implements NativeAccess
     {
         int call() throws LastErrorException;
     }
+
+    @FunctionalInterface
+    private interface RegionCall
+    {
+        int call( long address, long length ) throws LastErrorException;
+    }
 }
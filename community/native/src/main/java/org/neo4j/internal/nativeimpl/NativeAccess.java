@@ -69,6 +69,42 @@ public interface NativeAccess
      */
     NativeCallResult tryPreallocateSpace( int fd, long bytes );
 
+    /**
+     * Try to advise that the memory region starting at provided address should be backed by transparent huge pages.
+     * Useful for large, long lived memory regions that are accessed randomly, like the page cache, where huge pages reduce TLB misses.
+     * Only the part of the region that is aligned to operating system pages is advised.
+     * @param address start address of the memory region
+     * @param bytes length of the memory region in bytes
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryAdviseHugePages( long address, long bytes );
+
+    /**
+     * Try to interleave the pages of the memory region starting at provided address over all NUMA nodes of the machine.
+     * Only the part of the region that is aligned to operating system pages is affected.
+     * @param address start address of the memory region
+     * @param bytes length of the memory region in bytes
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryInterleaveMemory( long address, long bytes );
+
+    /**
+     * Try to bind the pages of the memory region starting at provided address to the given NUMA node.
+     * Only the part of the region that is aligned to operating system pages is affected.
+     * @param address start address of the memory region
+     * @param bytes length of the memory region in bytes
+     * @param node index of the NUMA node to bind the memory to among the online nodes, between zero and {@link #getNumaNodeCount()}.
+     * Online nodes are not necessarily numbered contiguously, so this is not necessarily the number of the node.
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryBindMemory( long address, long bytes, int node );
+
+    /**
+     * Number of online NUMA nodes of the machine. Machines without NUMA, or platforms where the topology can not be determined, have one node.
+     * @return number of NUMA nodes
+     */
+    int getNumaNodeCount();
+
     /**
      * Details about native access provider
      * @return details about native access
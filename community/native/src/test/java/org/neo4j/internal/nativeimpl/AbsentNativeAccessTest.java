@@ -50,4 +50,13 @@ class AbsentNativeAccessTest
         assertEquals( SUCCESS, absentNativeAccess.tryPreallocateSpace( 1, 2L ) );
         assertEquals( SUCCESS, absentNativeAccess.tryPreallocateSpace( 3, 4L ) );
     }
+
+    @Test
+    void absentNativeAccessMemoryAdviceAlwaysFinishSuccessfully()
+    {
+        assertEquals( SUCCESS, absentNativeAccess.tryAdviseHugePages( 0, 1L ) );
+        assertEquals( SUCCESS, absentNativeAccess.tryInterleaveMemory( 1, 2L ) );
+        assertEquals( SUCCESS, absentNativeAccess.tryBindMemory( 3, 4L, 5 ) );
+        assertEquals( 1, absentNativeAccess.getNumaNodeCount() );
+    }
 }
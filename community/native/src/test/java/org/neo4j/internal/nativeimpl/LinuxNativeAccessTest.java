@@ -19,6 +19,7 @@
  */
 package org.neo4j.internal.nativeimpl;
 
+import com.sun.jna.Native;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
@@ -56,6 +57,17 @@ class LinuxNativeAccessTest
         assertFalse( nativeAccess.isAvailable() );
     }
 
+    @Test
+    void countAndBindOnlySparseOnlineNumaNodes()
+    {
+        long nodes = LinuxNativeAccess.parseNumaNodes( "0,2-3\n" );
+        assertEquals( 0b1101, nodes );
+        assertEquals( 3, Long.bitCount( nodes ) );
+        assertEquals( 1L, LinuxNativeAccess.numaNode( nodes, 0 ) );
+        assertEquals( 1L << 2, LinuxNativeAccess.numaNode( nodes, 1 ) );
+        assertEquals( 1L << 3, LinuxNativeAccess.numaNode( nodes, 2 ) );
+    }
+
     @Nested
     @EnabledOnOs( OS.LINUX )
     class AccessLinuxMethodsTest
@@ -166,6 +178,32 @@ class LinuxNativeAccessTest
                 assertFalse( nativeAccess.tryEvictFromCache( descriptor ).isError() );
             }
         }
+
+        @Test
+        void failToAdviseMemoryOnLinuxForIncorrectRegion()
+        {
+            assertEquals( ERROR, nativeAccess.tryAdviseHugePages( 0, 1024 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryInterleaveMemory( 1024, 0 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryBindMemory( 1024, 1024, -1 ).getErrorCode() );
+            assertEquals( ERROR, nativeAccess.tryBindMemory( 1024, 1024, nativeAccess.getNumaNodeCount() ).getErrorCode() );
+        }
+
+        @Test
+        void adviseMemoryOnLinuxForAllocatedRegion()
+        {
+            long bytes = 4 * 1024 * 1024;
+            long address = Native.malloc( bytes );
+            try
+            {
+                assertThat( nativeAccess.getNumaNodeCount() ).isPositive();
+                assertFalse( nativeAccess.tryBindMemory( address, bytes, 0 ).isError() );
+                assertFalse( nativeAccess.tryInterleaveMemory( address, bytes ).isError() );
+            }
+            finally
+            {
+                Native.free( address );
+            }
+        }
     }
 
     private void preallocate( Path file, long bytes ) throws IOException, IllegalAccessException, ClassNotFoundException
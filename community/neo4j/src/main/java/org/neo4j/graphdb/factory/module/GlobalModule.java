@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphdb.factory.module;
 
+import java.nio.file.Path;
 import java.util.function.Supplier;
 
 import org.neo4j.annotations.api.IgnoreApiCheck;
@@ -213,7 +214,7 @@ public class GlobalModule
                 logService.getInternalLog( Tracers.class ), globalMonitors, jobScheduler, globalClock ) );
         globalDependencies.satisfyDependency( tracers.getPageCacheTracer() );
 
-        collectionsFactorySupplier = createCollectionsFactorySupplier( globalConfig, globalLife );
+        collectionsFactorySupplier = createCollectionsFactorySupplier( globalConfig, fileSystem, globalLife );
 
         pageCache = tryResolveOrCreate( PageCache.class,
                 () -> createPageCache( fileSystem, globalConfig, logService, tracers, jobScheduler, globalClock, memoryPools ) );
@@ -361,6 +362,7 @@ public class GlobalModule
         jobScheduler.setParallelism( Group.INDEX_POPULATION, globalConfig.get( GraphDatabaseInternalSettings.index_population_parallelism ) );
         jobScheduler.setParallelism( Group.INDEX_POPULATION_WORK, globalConfig.get( GraphDatabaseInternalSettings.index_population_workers ) );
         jobScheduler.setParallelism( Group.PAGE_CACHE_PRE_FETCHER, globalConfig.get( GraphDatabaseSettings.pagecache_scan_prefetch ) );
+        jobScheduler.setParallelism( Group.STORAGE_APPLY, globalConfig.get( GraphDatabaseInternalSettings.parallel_apply_threads ) );
         return jobScheduler;
     }
 
@@ -379,7 +381,7 @@ public class GlobalModule
         return pageCache;
     }
 
-    private static CollectionsFactorySupplier createCollectionsFactorySupplier( Config config, LifeSupport life )
+    private static CollectionsFactorySupplier createCollectionsFactorySupplier( Config config, FileSystemAbstraction fileSystem, LifeSupport life )
     {
         final TransactionStateMemoryAllocation allocation = config.get( tx_state_memory_allocation );
         switch ( allocation )
@@ -401,7 +403,9 @@ public class GlobalModule
                 sharedBlockAllocator = allocator;
             }
             life.add( onShutdown( sharedBlockAllocator::release ) );
-            return () -> new OffHeapCollectionsFactory( sharedBlockAllocator );
+            final long valuesSpillThreshold = config.get( GraphDatabaseInternalSettings.tx_state_values_spill_threshold );
+            final Path spillDirectory = config.get( GraphDatabaseInternalSettings.tx_state_spill_directory );
+            return () -> new OffHeapCollectionsFactory( sharedBlockAllocator, valuesSpillThreshold, fileSystem, spillDirectory );
         default:
             throw new IllegalArgumentException( "Unknown transaction state memory allocation value: " + allocation );
         }
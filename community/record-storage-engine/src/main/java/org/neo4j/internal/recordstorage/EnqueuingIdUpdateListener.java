@@ -19,8 +19,8 @@
  */
 package org.neo4j.internal.recordstorage;
 
-import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.neo4j.internal.id.IdGenerator;
 import org.neo4j.internal.id.IdType;
@@ -31,14 +31,15 @@ import org.neo4j.util.concurrent.WorkSync;
 
 class EnqueuingIdUpdateListener implements IdUpdateListener
 {
-    private final EnumMap<IdType,ChangedIds> idUpdates;
+    // Record changes to different stores may be applied concurrently, see PartitionedStoreUpdates
+    private final Map<IdType,ChangedIds> idUpdates;
     private final Map<IdType,WorkSync<IdGenerator,IdGeneratorUpdateWork>> idGeneratorWorkSyncs;
     private final PageCacheTracer pageCacheTracer;
 
     EnqueuingIdUpdateListener( Map<IdType,WorkSync<IdGenerator,IdGeneratorUpdateWork>> idGeneratorWorkSyncs, PageCacheTracer pageCacheTracer )
     {
         this.pageCacheTracer = pageCacheTracer;
-        this.idUpdates = new EnumMap<>( IdType.class );
+        this.idUpdates = new ConcurrentHashMap<>();
         this.idGeneratorWorkSyncs = idGeneratorWorkSyncs;
     }
 
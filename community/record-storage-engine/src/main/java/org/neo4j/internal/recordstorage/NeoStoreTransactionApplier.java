@@ -50,9 +50,21 @@ public class NeoStoreTransactionApplier extends TransactionApplier.Adapter
     private final LockService lockService;
     private final IdUpdateListener idUpdateListener;
     private final PageCursorTracer cursorTracer;
+    private final PartitionedStoreUpdates partitionedUpdates;
 
     public NeoStoreTransactionApplier( CommandVersion version, NeoStores neoStores, CacheAccessBackDoor cacheAccess, LockService lockService,
             long transactionId, BatchContext batchContext, PageCursorTracer cursorTracer )
+    {
+        this( version, neoStores, cacheAccess, lockService, transactionId, batchContext, cursorTracer, null );
+    }
+
+    /**
+     * @param partitionedUpdates if not {@code null}, node, relationship, property and relationship group records are collected here
+     * while visiting the commands and written before the appliers of the transaction are closed, instead of being written one by one
+     * as they are visited.
+     */
+    NeoStoreTransactionApplier( CommandVersion version, NeoStores neoStores, CacheAccessBackDoor cacheAccess, LockService lockService,
+            long transactionId, BatchContext batchContext, PageCursorTracer cursorTracer, PartitionedStoreUpdates partitionedUpdates )
     {
         this.version = version;
         this.lockGroup = batchContext.getLockGroup();
@@ -62,6 +74,28 @@ public class NeoStoreTransactionApplier extends TransactionApplier.Adapter
         this.cacheAccess = cacheAccess;
         this.idUpdateListener = batchContext.getIdUpdateListener();
         this.cursorTracer = cursorTracer;
+        this.partitionedUpdates = partitionedUpdates;
+    }
+
+    @Override
+    public void beforeClose()
+    {
+        // The index applier reads the records of the transaction from the stores when it is closed.
+        applyPartitionedUpdates();
+    }
+
+    @Override
+    public void close()
+    {
+        applyPartitionedUpdates();
+    }
+
+    private void applyPartitionedUpdates()
+    {
+        if ( partitionedUpdates != null )
+        {
+            partitionedUpdates.apply();
+        }
     }
 
     @Override
@@ -71,6 +105,11 @@ public class NeoStoreTransactionApplier extends TransactionApplier.Adapter
         lockGroup.add( lockService.acquireNodeLock( command.getKey(), EXCLUSIVE ) );
 
         // update store
+        if ( partitionedUpdates != null )
+        {
+            partitionedUpdates.node( selectRecordByCommandVersion( command ) );
+            return false;
+        }
         updateStore( neoStores.getNodeStore(), command );
         return false;
     }
@@ -80,6 +119,11 @@ public class NeoStoreTransactionApplier extends TransactionApplier.Adapter
     {
         lockGroup.add( lockService.acquireRelationshipLock( command.getKey(), EXCLUSIVE ) );
 
+        if ( partitionedUpdates != null )
+        {
+            partitionedUpdates.relationship( selectRecordByCommandVersion( command ) );
+            return false;
+        }
         updateStore( neoStores.getRelationshipStore(), command );
         return false;
     }
@@ -97,6 +141,11 @@ public class NeoStoreTransactionApplier extends TransactionApplier.Adapter
             lockGroup.add( lockService.acquireRelationshipLock( command.getRelId(), EXCLUSIVE ) );
         }
 
+        if ( partitionedUpdates != null )
+        {
+            partitionedUpdates.property( selectRecordByCommandVersion( command ) );
+            return false;
+        }
         updateStore( neoStores.getPropertyStore(), command );
         return false;
     }
@@ -104,6 +153,11 @@ public class NeoStoreTransactionApplier extends TransactionApplier.Adapter
     @Override
     public boolean visitRelationshipGroupCommand( Command.RelationshipGroupCommand command )
     {
+        if ( partitionedUpdates != null )
+        {
+            partitionedUpdates.relationshipGroup( selectRecordByCommandVersion( command ) );
+            return false;
+        }
         updateStore( neoStores.getRelationshipGroupStore(), command );
         return false;
     }
@@ -141,6 +195,8 @@ public class NeoStoreTransactionApplier extends TransactionApplier.Adapter
         //    job might get those as updates
         // 4) the population job will apply those updates as added properties, and might end up with duplicate
         //    entries for the same property
+        // Pending index updates may be applied right after this command, so the records they read must be written first.
+        applyPartitionedUpdates();
         updateStore( neoStores.getSchemaStore(), command );
         SchemaRule schemaRule = command.getSchemaRule();
         boolean isConstraint = command.getAfter().isConstraint();
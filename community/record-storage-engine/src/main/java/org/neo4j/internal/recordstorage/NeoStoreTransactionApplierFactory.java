@@ -19,6 +19,9 @@
  */
 package org.neo4j.internal.recordstorage;
 
+import java.util.concurrent.Executor;
+
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.lock.LockService;
 import org.neo4j.storageengine.api.CommandVersion;
@@ -38,20 +41,36 @@ public class NeoStoreTransactionApplierFactory implements TransactionApplierFact
     // Ideally we don't want any cache access in here, but it is how it is. At least we try to minimize use of it
     private final CacheAccessBackDoor cacheAccess;
     private final LockService lockService;
+    private final Executor parallelApplyExecutor;
+    private final PageCacheTracer cacheTracer;
 
     NeoStoreTransactionApplierFactory( TransactionApplicationMode mode, NeoStores store, CacheAccessBackDoor cacheAccess, LockService lockService )
+    {
+        this( mode, store, cacheAccess, lockService, null, PageCacheTracer.NULL );
+    }
+
+    /**
+     * @param parallelApplyExecutor executor for writing the records of different stores in parallel, or {@code null} to write them on the
+     * applying thread as they are visited.
+     */
+    NeoStoreTransactionApplierFactory( TransactionApplicationMode mode, NeoStores store, CacheAccessBackDoor cacheAccess, LockService lockService,
+            Executor parallelApplyExecutor, PageCacheTracer cacheTracer )
     {
         this.version = mode.version();
         this.neoStores = store;
         this.cacheAccess = cacheAccess;
         this.lockService = lockService;
+        this.parallelApplyExecutor = parallelApplyExecutor;
+        this.cacheTracer = cacheTracer;
     }
 
     @Override
     public TransactionApplier startTx( CommandsToApply transaction, BatchContext batchContext )
     {
+        PartitionedStoreUpdates partitionedUpdates = parallelApplyExecutor == null ? null :
+                new PartitionedStoreUpdates( neoStores, parallelApplyExecutor, cacheTracer, batchContext.getIdUpdateListener(), transaction.cursorTracer() );
         return new NeoStoreTransactionApplier( version, neoStores, cacheAccess, lockService, transaction.transactionId(), batchContext,
-                transaction.cursorTracer() );
+                transaction.cursorTracer(), partitionedUpdates );
     }
 
 }
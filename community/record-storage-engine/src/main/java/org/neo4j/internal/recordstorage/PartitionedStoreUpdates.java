@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
+import org.neo4j.kernel.impl.store.CommonAbstractStore;
+import org.neo4j.kernel.impl.store.IdUpdateListener;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+/**
+ * Record updates of a single transaction, partitioned by the store they are written to. Like the command order of
+ * {@link TransactionRecordState#extractCommands}, the partitions are written in phases so that concurrent readers never follow a node to
+ * records that are not written yet, or that are already removed:
+ * <ol>
+ *     <li>property, relationship and relationship group records that are created or updated,</li>
+ *     <li>node records,</li>
+ *     <li>relationship, relationship group and property records that are removed.</li>
+ * </ol>
+ * Each phase is completely written before the next one starts. Within a phase each store, together with the dynamic stores it owns,
+ * is written by a single thread in command order, but different stores are written concurrently.
+ * Transactions with few updates, or phases with updates to only one store, are written on the calling thread.
+ */
+class PartitionedStoreUpdates
+{
+    static final int PARALLEL_APPLY_THRESHOLD = 1_000;
+    private static final String PARALLEL_APPLY_TAG = "parallelStoreApply";
+
+    private final Executor executor;
+    private final PageCacheTracer cacheTracer;
+    private final IdUpdateListener idUpdateListener;
+    private final PageCursorTracer cursorTracer;
+    private final Partition<NodeRecord> nodes;
+    private final Partition<RelationshipRecord> relationships;
+    private final Partition<RelationshipRecord> removedRelationships;
+    private final Partition<PropertyRecord> properties;
+    private final Partition<PropertyRecord> removedProperties;
+    private final Partition<RelationshipGroupRecord> relationshipGroups;
+    private final Partition<RelationshipGroupRecord> removedRelationshipGroups;
+    private final List<List<Partition<?>>> phases;
+    private int numberOfUpdates;
+
+    PartitionedStoreUpdates( NeoStores neoStores, Executor executor, PageCacheTracer cacheTracer, IdUpdateListener idUpdateListener,
+            PageCursorTracer cursorTracer )
+    {
+        this.executor = executor;
+        this.cacheTracer = cacheTracer;
+        this.idUpdateListener = idUpdateListener;
+        this.cursorTracer = cursorTracer;
+        this.nodes = new Partition<>( neoStores.getNodeStore() );
+        this.relationships = new Partition<>( neoStores.getRelationshipStore() );
+        this.removedRelationships = new Partition<>( neoStores.getRelationshipStore() );
+        this.properties = new Partition<>( neoStores.getPropertyStore() );
+        this.removedProperties = new Partition<>( neoStores.getPropertyStore() );
+        this.relationshipGroups = new Partition<>( neoStores.getRelationshipGroupStore() );
+        this.removedRelationshipGroups = new Partition<>( neoStores.getRelationshipGroupStore() );
+        this.phases = List.of(
+                List.of( properties, relationships, relationshipGroups ),
+                List.of( nodes ),
+                List.of( removedRelationships, removedRelationshipGroups, removedProperties ) );
+    }
+
+    void node( NodeRecord record )
+    {
+        add( nodes, record );
+    }
+
+    void relationship( RelationshipRecord record )
+    {
+        add( record.inUse() ? relationships : removedRelationships, record );
+    }
+
+    void property( PropertyRecord record )
+    {
+        add( record.inUse() ? properties : removedProperties, record );
+    }
+
+    void relationshipGroup( RelationshipGroupRecord record )
+    {
+        add( record.inUse() ? relationshipGroups : removedRelationshipGroups, record );
+    }
+
+    private <RECORD extends AbstractBaseRecord> void add( Partition<RECORD> partition, RECORD record )
+    {
+        partition.records.add( record );
+        numberOfUpdates++;
+    }
+
+    /**
+     * Writes all collected updates to their stores and returns when all of them have been written.
+     */
+    void apply()
+    {
+        if ( numberOfUpdates == 0 )
+        {
+            return;
+        }
+        boolean parallel = numberOfUpdates >= PARALLEL_APPLY_THRESHOLD;
+        numberOfUpdates = 0;
+        for ( List<Partition<?>> phase : phases )
+        {
+            applyPhase( phase, parallel );
+        }
+    }
+
+    private void applyPhase( List<Partition<?>> phase, boolean parallel )
+    {
+        List<Partition<?>> nonEmpty = new ArrayList<>( phase.size() );
+        for ( Partition<?> partition : phase )
+        {
+            if ( !partition.records.isEmpty() )
+            {
+                nonEmpty.add( partition );
+            }
+        }
+
+        if ( !parallel || nonEmpty.size() <= 1 )
+        {
+            for ( Partition<?> partition : nonEmpty )
+            {
+                partition.apply( idUpdateListener, cursorTracer );
+            }
+            return;
+        }
+
+        CompletableFuture<?>[] others = new CompletableFuture[nonEmpty.size() - 1];
+        for ( int i = 1; i < nonEmpty.size(); i++ )
+        {
+            Partition<?> partition = nonEmpty.get( i );
+            others[i - 1] = CompletableFuture.runAsync( () ->
+            {
+                try ( PageCursorTracer partitionCursorTracer = cacheTracer.createPageCursorTracer( PARALLEL_APPLY_TAG ) )
+                {
+                    partition.apply( idUpdateListener, partitionCursorTracer );
+                }
+            }, executor );
+        }
+        // The calling thread writes one partition itself, instead of only waiting for the others.
+        // All of them must be written before the next phase starts, also when one of them fails.
+        try
+        {
+            nonEmpty.get( 0 ).apply( idUpdateListener, cursorTracer );
+        }
+        finally
+        {
+            awaitAll( others );
+        }
+    }
+
+    private static void awaitAll( CompletableFuture<?>[] futures )
+    {
+        try
+        {
+            CompletableFuture.allOf( futures ).join();
+        }
+        catch ( CompletionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Partition<RECORD extends AbstractBaseRecord>
+    {
+        private final CommonAbstractStore<RECORD,?> store;
+        private final List<RECORD> records = new ArrayList<>();
+
+        Partition( CommonAbstractStore<RECORD,?> store )
+        {
+            this.store = store;
+        }
+
+        void apply( IdUpdateListener idUpdateListener, PageCursorTracer cursorTracer )
+        {
+            for ( RECORD record : records )
+            {
+                store.updateRecord( record, idUpdateListener, cursorTracer );
+            }
+            records.clear();
+        }
+    }
+}
@@ -267,8 +267,14 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
             int criteriaMet = 0;
             boolean typeLimited = selection.isTypeLimited();
             int numCriteria = selection.numberOfCriteria();
+            int highestType = RecordRelationshipGroupCursor.highestSelectedType( selection );
             while ( groupCursor.next() )
             {
+                if ( groupCursor.getType() > highestType )
+                {
+                    // The groups are sorted by type, so none of the remaining groups can be selected
+                    break;
+                }
                 if ( selection.test( groupCursor.getType() ) )
                 {
                     int outgoing = 0;
@@ -214,10 +214,11 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
         case CHAR:
         case SHORT_STRING:
             return ValueGroup.TEXT;
+        case ARRAY:
+            return arrayValueGroup();
         case TEMPORAL:
         case GEOMETRY:
         case SHORT_ARRAY:
-        case ARRAY:
             // value read is needed to get correct value group since type is not fine grained enough to match all ValueGroups
             return propertyValue().valueGroup();
         default:
@@ -225,6 +226,18 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
         }
     }
 
+    private ValueGroup arrayValueGroup()
+    {
+        // The header in the first dynamic record tells the value group, so there is no need to read the whole array
+        long reference = PropertyBlock.fetchLong( currentBlock() );
+        if ( arrayPage == null )
+        {
+            arrayPage = arrayPage( reference );
+        }
+        ValueGroup valueGroup = propertyStore.loadArrayValueGroup( reference, arrayPage, loadMode.orElse( ALWAYS ) );
+        return valueGroup != ValueGroup.UNKNOWN ? valueGroup : propertyValue().valueGroup();
+    }
+
     private PropertyType type()
     {
         return PropertyType.getPropertyTypeOrNull( currentBlock() );
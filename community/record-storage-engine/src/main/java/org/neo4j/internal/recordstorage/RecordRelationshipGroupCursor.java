@@ -26,7 +26,9 @@ import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.record.RecordLoadOverride;
 import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.RelationshipSelection;
 
+import static java.lang.Math.max;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.ALWAYS;
 
 class RecordRelationshipGroupCursor extends RelationshipGroupRecord implements AutoCloseable
@@ -95,6 +97,25 @@ class RecordRelationshipGroupCursor extends RelationshipGroupRecord implements A
         return true;
     }
 
+    /**
+     * The groups of a node are sorted by type, so no group after one with a type higher than the returned one can be selected.
+     *
+     * @return the highest relationship type the given selection can select.
+     */
+    static int highestSelectedType( RelationshipSelection selection )
+    {
+        if ( !selection.isTypeLimited() )
+        {
+            return Integer.MAX_VALUE;
+        }
+        int highestType = -1;
+        for ( int i = 0; i < selection.numberOfCriteria(); i++ )
+        {
+            highestType = max( highestType, selection.criterion( i ).type() );
+        }
+        return highestType;
+    }
+
     int outgoingCount()
     {
         return count( outgoingRawId() );
@@ -45,6 +45,7 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
     }
 
     private RelationshipSelection selection;
+    private int highestSelectedType;
     private long originNodeReference;
     private long next;
     private PageCursor pageCursor;
@@ -123,6 +124,7 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         setId( NO_ID );
         this.next = NO_ID;
         this.groupState = GroupState.INCOMING;
+        this.highestSelectedType = RecordRelationshipGroupCursor.highestSelectedType( selection );
         this.originNodeReference = nodeReference;
         this.group.direct( nodeReference, groupReference );
     }
@@ -229,6 +231,12 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
                 {
                     tracer.dbHit();
                 }
+                if ( group.getType() > highestSelectedType )
+                {
+                    // The groups are sorted by type, so there's no point in reading the remaining groups
+                    assert next == NO_ID;
+                    return;
+                }
                 if ( !selection.test( group.getType() ) )
                 {
                     // This type isn't part of this selection, so skip the whole group
@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import org.neo4j.configuration.Config;
@@ -74,6 +75,8 @@ import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.Health;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.CommandsToApply;
 import org.neo4j.storageengine.api.ConstraintRuleAccessor;
@@ -117,6 +120,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final ConstraintRuleAccessor constraintSemantics;
     private final LockService lockService;
     private final boolean consistencyCheckApply;
+    private final Executor parallelApplyExecutor;
     private WorkSync<EntityTokenUpdateListener,TokenUpdateWork> labelScanStoreSync;
     private WorkSync<EntityTokenUpdateListener,TokenUpdateWork> relationshipTypeScanStoreSync;
     private WorkSync<IndexUpdateListener,IndexUpdatesWork> indexUpdatesSync;
@@ -136,6 +140,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     public RecordStorageEngine( DatabaseLayout databaseLayout,
             Config config,
             PageCache pageCache,
+            JobScheduler jobScheduler,
             FileSystemAbstraction fs,
             LogProvider logProvider,
             TokenHolders tokenHolders,
@@ -181,6 +186,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
             countsStore = openCountsStore( pageCache, fs, databaseLayout, config, logProvider, recoveryCleanupWorkCollector, cacheTracer );
 
             consistencyCheckApply = config.get( GraphDatabaseInternalSettings.consistency_check_on_apply );
+            int parallelApplyThreads = config.get( GraphDatabaseInternalSettings.parallel_apply_threads );
+            // The consistency checking applier reads the stores while visiting commands, so it needs the records written as they are visited
+            parallelApplyExecutor = parallelApplyThreads > 0 && !consistencyCheckApply ? jobScheduler.executor( Group.STORAGE_APPLY ) : null;
         }
         catch ( Throwable failure )
         {
@@ -207,7 +215,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         {
             appliers.add( new ConsistencyCheckingApplierFactory( neoStores ) );
         }
-        appliers.add( new NeoStoreTransactionApplierFactory( mode, neoStores, cacheAccess, lockService( mode ) ) );
+        appliers.add( new NeoStoreTransactionApplierFactory( mode, neoStores, cacheAccess, lockService( mode ), parallelApplyExecutor, cacheTracer ) );
         if ( mode.needsHighIdTracking() )
         {
             appliers.add( new HighIdTransactionApplierFactory( neoStores ) );
@@ -41,6 +41,16 @@ import org.neo4j.storageengine.api.StorageCommand;
  */
 public interface TransactionApplier extends Visitor<StorageCommand,IOException>, CommandVisitor, AutoCloseable
 {
+    /**
+     * Called on all appliers of a transaction when all its commands have been visited, before any of them is {@link #close() closed}.
+     * Appliers that defer writing records to the stores must have written them when this returns, because other appliers
+     * read those records from the stores when they are closed.
+     */
+    default void beforeClose() throws Exception
+    {
+        // Do nothing
+    }
+
     /**
      * Delegates to individual visit methods (see {@link CommandVisitor}) which need to be implemented, as well as
      * {@link #close()} if applicable.
@@ -41,6 +41,10 @@ public class TransactionApplierFacade implements TransactionApplier
     @Override
     public void close() throws Exception
     {
+        for ( TransactionApplier applier : appliers )
+        {
+            applier.beforeClose();
+        }
         // Need to close in reverse order or LuceneRecoveryIT can hang on database shutdown, when
         // errors are thrown
         for ( int i = appliers.length - 1; i >= 0; i-- )
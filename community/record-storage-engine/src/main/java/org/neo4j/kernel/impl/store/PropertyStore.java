@@ -54,6 +54,7 @@ import org.neo4j.values.storable.ArrayValue;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
 import org.neo4j.values.utils.TemporalValueWriterAdapter;
 
@@ -363,6 +364,49 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         readDynamic( arrayStore, reference, propertyCursor, page, loadMode );
     }
 
+    /**
+     * Reads the value group of an array from the header in its first dynamic record, rather than loading the whole array,
+     * which may span many records.
+     *
+     * @return the value group of the array, or {@link ValueGroup#UNKNOWN} if it could not be determined from the header.
+     */
+    public ValueGroup loadArrayValueGroup( long reference, PageCursor page, RecordLoad loadMode )
+    {
+        DynamicRecord record = arrayStore.newRecord();
+        arrayStore.getRecordByCursor( reference, record, loadMode, page );
+        return arrayValueGroup( record.getData() );
+    }
+
+    static ValueGroup arrayValueGroup( byte[] header )
+    {
+        if ( header.length < DynamicArrayStore.TEMPORAL_HEADER_SIZE )
+        {
+            return ValueGroup.UNKNOWN;
+        }
+        byte itemType = header[0];
+        if ( itemType == PropertyType.STRING.byteValue() || itemType == PropertyType.CHAR.byteValue() )
+        {
+            return ValueGroup.TEXT_ARRAY;
+        }
+        else if ( itemType == PropertyType.BOOL.byteValue() )
+        {
+            return ValueGroup.BOOLEAN_ARRAY;
+        }
+        else if ( itemType <= PropertyType.DOUBLE.byteValue() && itemType > 0 )
+        {
+            return ValueGroup.NUMBER_ARRAY;
+        }
+        else if ( itemType == PropertyType.GEOMETRY.byteValue() )
+        {
+            return ValueGroup.GEOMETRY_ARRAY;
+        }
+        else if ( itemType == PropertyType.TEMPORAL.byteValue() )
+        {
+            return TemporalType.arrayValueGroup( header );
+        }
+        return ValueGroup.UNKNOWN;
+    }
+
     private static void readDynamic( AbstractDynamicStore store, long reference, RecordPropertyCursor propertyCursor,
             PageCursor page, RecordLoad loadMode )
     {
@@ -45,6 +45,7 @@ import org.neo4j.values.storable.LongArray;
 import org.neo4j.values.storable.TimeValue;
 import org.neo4j.values.storable.TimeZones;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
 import org.neo4j.values.utils.TemporalUtil;
 
@@ -416,6 +417,31 @@ public enum TemporalType
         return geometryType.calculateNumberOfBlocksUsedForTemporal( firstBlock );
     }
 
+    /**
+     * @param header the header of a temporal array, as written by {@link TemporalHeader}.
+     * @return the value group of the array, or {@link ValueGroup#UNKNOWN} if the header does not name a valid temporal type.
+     */
+    public static ValueGroup arrayValueGroup( byte[] header )
+    {
+        switch ( find( Byte.toUnsignedInt( header[1] ) ) )
+        {
+        case TEMPORAL_DATE:
+            return ValueGroup.DATE_ARRAY;
+        case TEMPORAL_LOCAL_TIME:
+            return ValueGroup.LOCAL_TIME_ARRAY;
+        case TEMPORAL_LOCAL_DATE_TIME:
+            return ValueGroup.LOCAL_DATE_TIME_ARRAY;
+        case TEMPORAL_TIME:
+            return ValueGroup.ZONED_TIME_ARRAY;
+        case TEMPORAL_DATE_TIME:
+            return ValueGroup.ZONED_DATE_TIME_ARRAY;
+        case TEMPORAL_DURATION:
+            return ValueGroup.DURATION_ARRAY;
+        default:
+            return ValueGroup.UNKNOWN;
+        }
+    }
+
     private static TemporalType find( int temporalType )
     {
         if ( temporalType < TYPES.length && temporalType >= 0 )
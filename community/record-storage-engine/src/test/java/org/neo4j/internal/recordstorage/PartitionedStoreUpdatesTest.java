@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.neo4j.exceptions.UnderlyingStorageException;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.CommonAbstractStore;
+import org.neo4j.kernel.impl.store.IdUpdateListener;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.RelationshipGroupStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.internal.recordstorage.PartitionedStoreUpdates.PARALLEL_APPLY_THRESHOLD;
+import static org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer.NULL;
+
+class PartitionedStoreUpdatesTest
+{
+    private final NeoStores neoStores = mock( NeoStores.class );
+    private final Set<Thread> writingThreads = ConcurrentHashMap.newKeySet();
+    private final List<AbstractBaseRecord> nodeWrites = new ArrayList<>();
+    private final List<AbstractBaseRecord> relationshipWrites = new ArrayList<>();
+    private final List<AbstractBaseRecord> propertyWrites = new ArrayList<>();
+    private final List<AbstractBaseRecord> allWrites = Collections.synchronizedList( new ArrayList<>() );
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp()
+    {
+        executor = Executors.newFixedThreadPool( 2 );
+        NodeStore nodeStore = recordingStore( NodeStore.class, nodeWrites );
+        RelationshipStore relationshipStore = recordingStore( RelationshipStore.class, relationshipWrites );
+        PropertyStore propertyStore = recordingStore( PropertyStore.class, propertyWrites );
+        RelationshipGroupStore relationshipGroupStore = recordingStore( RelationshipGroupStore.class, new ArrayList<>() );
+        when( neoStores.getNodeStore() ).thenReturn( nodeStore );
+        when( neoStores.getRelationshipStore() ).thenReturn( relationshipStore );
+        when( neoStores.getPropertyStore() ).thenReturn( propertyStore );
+        when( neoStores.getRelationshipGroupStore() ).thenReturn( relationshipGroupStore );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldWriteSmallTransactionOnCallingThread()
+    {
+        PartitionedStoreUpdates updates = newUpdates();
+        NodeRecord node = new NodeRecord( 1 );
+        RelationshipRecord relationship = new RelationshipRecord( 2 );
+        updates.node( node );
+        updates.relationship( relationship );
+
+        updates.apply();
+
+        assertThat( nodeWrites ).containsExactly( node );
+        assertThat( relationshipWrites ).containsExactly( relationship );
+        assertThat( writingThreads ).containsExactly( Thread.currentThread() );
+    }
+
+    @Test
+    void shouldWriteLargeTransactionStoresInParallelKeepingCommandOrderPerStore()
+    {
+        PartitionedStoreUpdates updates = newUpdates();
+        List<RelationshipRecord> relationships = new ArrayList<>();
+        List<PropertyRecord> properties = new ArrayList<>();
+        for ( int i = 0; i < PARALLEL_APPLY_THRESHOLD; i++ )
+        {
+            RelationshipRecord relationship = inUse( new RelationshipRecord( i ) );
+            PropertyRecord property = inUse( new PropertyRecord( i ) );
+            relationships.add( relationship );
+            properties.add( property );
+            updates.relationship( relationship );
+            updates.property( property );
+        }
+
+        updates.apply();
+
+        assertEquals( relationships, relationshipWrites );
+        assertEquals( properties, propertyWrites );
+        assertThat( writingThreads ).hasSize( 2 ).contains( Thread.currentThread() );
+    }
+
+    @Test
+    void shouldWriteNodesAfterRecordsTheyPointToAndBeforeRemovingRecords()
+    {
+        for ( int numberOfRecords : new int[]{1, PARALLEL_APPLY_THRESHOLD} )
+        {
+            allWrites.clear();
+            PartitionedStoreUpdates updates = newUpdates();
+            // Command order of a transaction that creates nodes with relationships and properties, and deletes others
+            for ( int i = 0; i < numberOfRecords; i++ )
+            {
+                updates.property( inUse( new PropertyRecord( i ) ) );
+                updates.relationship( inUse( new RelationshipRecord( i ) ) );
+                updates.node( inUse( new NodeRecord( i ) ) );
+            }
+            for ( int i = 0; i < numberOfRecords; i++ )
+            {
+                updates.relationship( new RelationshipRecord( numberOfRecords + i ) );
+                updates.node( new NodeRecord( numberOfRecords + i ) );
+                updates.property( new PropertyRecord( numberOfRecords + i ) );
+            }
+
+            updates.apply();
+
+            assertEquals( 6 * numberOfRecords, allWrites.size() );
+            List<AbstractBaseRecord> created = allWrites.subList( 0, 2 * numberOfRecords );
+            List<AbstractBaseRecord> nodes = allWrites.subList( 2 * numberOfRecords, 4 * numberOfRecords );
+            List<AbstractBaseRecord> removed = allWrites.subList( 4 * numberOfRecords, 6 * numberOfRecords );
+            assertThat( created ).allMatch( record -> !(record instanceof NodeRecord) && record.inUse() );
+            assertThat( nodes ).allMatch( record -> record instanceof NodeRecord );
+            assertThat( removed ).allMatch( record -> !(record instanceof NodeRecord) && !record.inUse() );
+        }
+    }
+
+    @Test
+    void shouldPropagateFailureFromOtherThreadBeforeWritingNextPhase()
+    {
+        UnderlyingStorageException failure = new UnderlyingStorageException( "Failing property store" );
+        PropertyStore failingStore = mock( PropertyStore.class );
+        doAnswer( invocation ->
+        {
+            throw failure;
+        } ).when( failingStore ).updateRecord( any(), any(), any() );
+        when( neoStores.getPropertyStore() ).thenReturn( failingStore );
+
+        PartitionedStoreUpdates updates = newUpdates();
+        for ( int i = 0; i < PARALLEL_APPLY_THRESHOLD; i++ )
+        {
+            updates.relationship( inUse( new RelationshipRecord( i ) ) );
+            updates.property( inUse( new PropertyRecord( i ) ) );
+            updates.node( inUse( new NodeRecord( i ) ) );
+        }
+
+        assertSame( failure, assertThrows( UnderlyingStorageException.class, updates::apply ) );
+        assertEquals( PARALLEL_APPLY_THRESHOLD, relationshipWrites.size() );
+        assertThat( nodeWrites ).isEmpty();
+    }
+
+    private PartitionedStoreUpdates newUpdates()
+    {
+        return new PartitionedStoreUpdates( neoStores, executor, PageCacheTracer.NULL, IdUpdateListener.IGNORE, NULL );
+    }
+
+    private <T extends CommonAbstractStore<?,?>> T recordingStore( Class<T> type, List<AbstractBaseRecord> writes )
+    {
+        T store = mock( type );
+        doAnswer( invocation ->
+        {
+            writingThreads.add( Thread.currentThread() );
+            writes.add( invocation.getArgument( 0 ) );
+            allWrites.add( invocation.getArgument( 0 ) );
+            return null;
+        } ).when( store ).updateRecord( any(), any(), any() );
+        return store;
+    }
+
+    private static <RECORD extends AbstractBaseRecord> RECORD inUse( RECORD record )
+    {
+        record.setInUse( true );
+        return record;
+    }
+}
@@ -21,8 +21,14 @@ package org.neo4j.internal.recordstorage;
 
 import org.junit.jupiter.api.Test;
 
+import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RelationshipGroupStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.util.SingleDegree;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -31,8 +37,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.neo4j.graphdb.Direction.OUTGOING;
 import static org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer.NULL;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_RELATIONSHIP;
+import static org.neo4j.storageengine.api.RelationshipSelection.selection;
 
 class RecordNodeCursorTest
 {
@@ -68,4 +79,48 @@ class RecordNodeCursorTest
         assertEquals( 200, cursor.getId() );
         assertFalse( cursor.next() );
     }
+
+    @Test
+    void shouldStopReadingGroupsPastHighestSelectedType()
+    {
+        // given a dense node with groups of type 0, 5 and 9
+        long nodeId = 1;
+        long noId = NO_NEXT_RELATIONSHIP.longValue();
+        RelationshipGroupStore groupStore = mock( RelationshipGroupStore.class );
+        when( groupStore.openPageCursorForReading( anyLong(), any() ) ).thenReturn( mock( PageCursor.class ) );
+        doAnswer( invocationOnMock ->
+        {
+            long id = invocationOnMock.getArgument( 0 );
+            RelationshipGroupRecord record = invocationOnMock.getArgument( 1 );
+            record.setId( id );
+            int type = id == 1 ? 0 : id == 2 ? 5 : 9;
+            record.initialize( true, type, 10 * id, noId, noId, nodeId, id < 3 ? id + 1 : noId );
+            return null;
+        } ).when( groupStore ).getRecordByCursor( anyLong(), any(), any(), any() );
+        RelationshipStore relationshipStore = mock( RelationshipStore.class );
+        when( relationshipStore.openPageCursorForReading( anyLong(), any() ) ).thenReturn( mock( PageCursor.class ) );
+        doAnswer( invocationOnMock ->
+        {
+            long id = invocationOnMock.getArgument( 0 );
+            RelationshipRecord record = invocationOnMock.getArgument( 1 );
+            record.setId( id );
+            record.setFirstNode( nodeId );
+            record.setFirstPrevRel( id );
+            return null;
+        } ).when( relationshipStore ).getRecordByCursor( anyLong(), any(), any(), any() );
+        RecordNodeCursor cursor = new RecordNodeCursor( mock( NodeStore.class ), relationshipStore, groupStore, NULL );
+        cursor.setId( nodeId );
+        cursor.initialize( true, noId, true, 1, 0 );
+
+        // when
+        SingleDegree absent = new SingleDegree();
+        cursor.degrees( selection( 3, OUTGOING ), absent, true );
+        SingleDegree present = new SingleDegree();
+        cursor.degrees( selection( 5, OUTGOING ), present, true );
+
+        // then both lookups read the groups of type 0 and 5, but not 9
+        assertEquals( 0, absent.getTotal() );
+        assertEquals( 20, present.getTotal() );
+        verify( groupStore, times( 4 ) ).getRecordByCursor( anyLong(), any(), any(), any() );
+    }
 }
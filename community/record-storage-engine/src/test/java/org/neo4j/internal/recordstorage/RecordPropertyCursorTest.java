@@ -123,6 +123,27 @@ public class RecordPropertyCursorTest
         assertPropertyChain( valuesB, firstPropertyIdB, cursor );
     }
 
+    @Test
+    void shouldReadValueGroupOfArraysFromHeader()
+    {
+        // given
+        Value[] values = new Value[20];
+        for ( int i = 0; i < values.length; i++ )
+        {
+            values[i] = random.randomValues().nextArray();
+        }
+        long firstPropertyId = storeValuesAsPropertyChain( creator, owner, values );
+
+        // when
+        RecordPropertyCursor cursor = createCursor();
+        cursor.initNodeProperties( firstPropertyId );
+        while ( cursor.next() )
+        {
+            // then
+            assertEquals( values[cursor.propertyKey()].valueGroup(), cursor.propertyType() );
+        }
+    }
+
     @Test
     void closeShouldBeIdempotent()
     {
@@ -52,6 +52,7 @@ import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.ReadTracer;
 import org.neo4j.storageengine.api.RelationshipDirection;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.Neo4jLayoutExtension;
@@ -275,6 +276,37 @@ public class RecordRelationshipTraversalCursorTest
         }
     }
 
+    @Test
+    void shouldStopReadingGroupsOfDenseNodePastHighestSelectedType()
+    {
+        // given
+        long reference = createRelationshipStructure( true, concatArrays(
+                homogenousRelationships( 2, TYPE1, OUTGOING ),
+                homogenousRelationships( 3, TYPE3, OUTGOING ),
+                homogenousRelationships( 1, TYPE3 + 1, OUTGOING ) ) );
+        GroupHitCounter groupHits = new GroupHitCounter();
+
+        try ( RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor() )
+        {
+            cursor.setTracer( groupHits );
+
+            // when
+            cursor.init( FIRST_OWNING_NODE, reference, selection( TYPE2, Direction.OUTGOING ) );
+
+            // then
+            assertRelationships( cursor, 0, Direction.OUTGOING, TYPE2 );
+            assertEquals( 2, groupHits.count );
+
+            // and when
+            groupHits.count = 0;
+            cursor.init( FIRST_OWNING_NODE, reference, selection( TYPE1, Direction.OUTGOING ) );
+
+            // then
+            assertRelationships( cursor, 2, Direction.OUTGOING, TYPE1 );
+            assertEquals( 2, groupHits.count );
+        }
+    }
+
     private void assertRelationships( RecordRelationshipTraversalCursor cursor, int count, Direction direction, int... types )
     {
         IntSet expectedTypes = IntSets.immutable.of( types );
@@ -438,4 +470,35 @@ public class RecordRelationshipTraversalCursorTest
             return Integer.compare( direction.ordinal(), o.direction.ordinal() );
         }
     }
+
+    private static class GroupHitCounter implements ReadTracer
+    {
+        int count;
+
+        @Override
+        public void onNode( long nodeReference )
+        {
+        }
+
+        @Override
+        public void onAllNodesScan()
+        {
+        }
+
+        @Override
+        public void onRelationship( long relationshipReference )
+        {
+        }
+
+        @Override
+        public void onProperty( int propertyKey )
+        {
+        }
+
+        @Override
+        public void dbHit()
+        {
+            count++;
+        }
+    }
 }
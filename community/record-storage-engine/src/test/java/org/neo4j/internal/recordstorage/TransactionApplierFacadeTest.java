@@ -56,6 +56,11 @@ class TransactionApplierFacadeTest
         // THEN
         InOrder inOrder = inOrder( txApplier1, txApplier2 ,txApplier3 );
 
+        // All appliers are prepared before any of them is closed
+        inOrder.verify( txApplier1 ).beforeClose();
+        inOrder.verify( txApplier2 ).beforeClose();
+        inOrder.verify( txApplier3 ).beforeClose();
+
         // Verify reverse order
         inOrder.verify( txApplier3 ).close();
         inOrder.verify( txApplier2 ).close();
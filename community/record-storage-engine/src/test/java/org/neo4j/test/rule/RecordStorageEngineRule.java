@@ -53,6 +53,7 @@ import org.neo4j.storageengine.api.ConstraintRuleAccessor;
 import org.neo4j.storageengine.api.EntityTokenUpdateListener;
 import org.neo4j.storageengine.api.IndexUpdateListener;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
+import org.neo4j.test.scheduler.JobSchedulerAdapter;
 import org.neo4j.token.TokenHolders;
 import org.neo4j.token.api.TokenHolder;
 
@@ -239,7 +240,7 @@ public class RecordStorageEngineRule extends ExternalResource
                 IdGeneratorFactory idGeneratorFactory, IdController idController,
                 Function<TransactionApplierFactoryChain,TransactionApplierFactoryChain> transactionApplierTransformer )
         {
-            super( databaseLayout, config, pageCache, fs, logProvider, tokenHolders, schemaState, constraintSemantics, indexConfigCompleter, lockService,
+            super( databaseLayout, config, pageCache, new JobSchedulerAdapter(), fs, logProvider, tokenHolders, schemaState, constraintSemantics, indexConfigCompleter, lockService,
                     databaseHealth, idGeneratorFactory, idController, RecoveryCleanupWorkCollector.immediate(), PageCacheTracer.NULL, true,
                     EmptyMemoryTracker.INSTANCE );
             this.transactionApplierTransformer = transactionApplierTransformer;
@@ -29,6 +29,7 @@ import org.neo4j.adversaries.Adversary;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
 /**
@@ -126,4 +127,10 @@ public class AdversarialPagedFile implements PagedFile
     {
         return delegate.getDatabaseName();
     }
+
+    @Override
+    public PagedFileCounters counters()
+    {
+        return delegate.counters();
+    }
 }
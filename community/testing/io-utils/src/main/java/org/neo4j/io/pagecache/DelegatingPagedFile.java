@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
 
+import org.neo4j.io.pagecache.monitoring.PagedFileCounters;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
 public class DelegatingPagedFile implements PagedFile
@@ -94,6 +95,12 @@ public class DelegatingPagedFile implements PagedFile
         return delegate.getDatabaseName();
     }
 
+    @Override
+    public PagedFileCounters counters()
+    {
+        return delegate.counters();
+    }
+
     @Override
     public void flushAndForce( IOLimiter limiter ) throws IOException
     {